@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application.view;
+
+import static com.sun.faces.RIConstants.SAVESTATE_FIELD_MARKER;
+import static com.sun.faces.util.RequestStateManager.STREAMING_RENDER_WRITER;
+
+import java.beans.BeanInfo;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.benchmarks.BenchmarkViewHandler;
+import com.sun.faces.benchmarks.ComponentTrees;
+import com.sun.faces.benchmarks.FacesEnvironment;
+import com.sun.faces.renderkit.RenderKitUtils;
+import com.sun.faces.renderkit.ResponseStateManagerImpl;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+import com.sun.faces.util.RequestStateManager;
+
+import jakarta.faces.application.Resource;
+import jakarta.faces.application.StateManager;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
+import jakarta.faces.view.StateManagementStrategy;
+import jakarta.faces.view.ViewDeclarationLanguage;
+import jakarta.faces.view.ViewMetadata;
+
+/**
+ * The time to first byte of a full render in the buffered mode, where everything after the first form is held back
+ * until the state has been saved, and in the streaming mode, where the head is flushed as soon as it is written.
+ *
+ * <p>
+ * This replays what {@link FaceletViewHandlingStrategy} does around the rendering of the view, with a container
+ * response buffer that stops the render when its first bytes are sent. <code>timeToFirstByte</code> measures the time
+ * until then, <code>render</code> the time of the complete render.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingRenderBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Param({ "buffered", "streaming" })
+    public String mode;
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    private FacesEnvironment environment;
+
+    private UIViewRoot viewRoot;
+
+    private ServerSideStateHelper stateHelper;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        ResponseStateManagerImpl responseStateManager = new ResponseStateManagerImpl();
+        stateHelper = (ServerSideStateHelper) responseStateManager.getStateHelper();
+        environment.application.setStateManager(new StateManager() {
+            @Override
+            public void writeState(FacesContext context, Object state) throws IOException {
+                responseStateManager.writeState(context, state);
+            }
+        });
+        environment.application.setViewHandler(new StateWritingViewHandler());
+
+        viewRoot = ComponentTrees.createView(environment.facesContext, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public boolean timeToFirstByte() throws IOException {
+        try {
+            render(new ContainerWriter(true));
+        } catch (FirstBytesSent e) {
+            return true;
+        }
+
+        return false;
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        ContainerWriter container = new ContainerWriter(false);
+        render(container);
+
+        return container.written;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void render(Writer container) throws IOException {
+        FacesContext context = environment.facesContext;
+        context.getAttributes().clear();
+
+        WriteBehindStateWriter stateWriter;
+        if ("streaming".equals(mode)) {
+            stateHelper.reserveStateId(context);
+            RequestStateManager.set(context, STREAMING_RENDER_WRITER, container);
+            stateWriter = new WriteBehindStateWriter(container, context, BUFFER_SIZE, stateHelper);
+        } else {
+            stateWriter = new WriteBehindStateWriter(container, context, BUFFER_SIZE);
+        }
+
+        try {
+            ResponseWriter writer = new HtmlResponseWriter(stateWriter, "text/html", "UTF-8");
+            context.setResponseWriter(writer);
+
+            writer.startDocument();
+            writer.startElement("html", null);
+            writer.startElement("head", null);
+            writer.startElement("title", null);
+            writer.writeText("Benchmark", null);
+            writer.endElement("title");
+            writer.startElement("link", null);
+            writer.writeAttribute("rel", "stylesheet", null);
+            writer.writeURIAttribute("href", "/benchmark/faces/jakarta.faces.resource/benchmark.css", null);
+            writer.endElement("link");
+            writer.endElement("head");
+            // As HeadRenderer does
+            RenderKitUtils.flushStreamingResponse(context);
+
+            writer.startElement("body", null);
+            viewRoot.encodeAll(context);
+            writer.endElement("body");
+            writer.endElement("html");
+            writer.endDocument();
+
+            if (stateWriter.stateWritten()) {
+                stateWriter.flushToWriter();
+            }
+        } finally {
+            stateWriter.release();
+            RequestStateManager.remove(context, STREAMING_RENDER_WRITER);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Thrown by {@link ContainerWriter} when it sends the first bytes to the client.
+     */
+    private static final class FirstBytesSent extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        static final FirstBytesSent INSTANCE = new FirstBytesSent();
+
+        private FirstBytesSent() {
+            super(null, null);
+            setStackTrace(new StackTraceElement[0]);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+    /**
+     * The response buffer of the container, which sends its content when it is flushed or full.
+     */
+    private static final class ContainerWriter extends Writer {
+
+        private final boolean stopOnSend;
+
+        private int buffered;
+
+        long written;
+
+        ContainerWriter(boolean stopOnSend) {
+            this.stopOnSend = stopOnSend;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            buffer(1);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            buffer(len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            buffer(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            send();
+        }
+
+        @Override
+        public void close() throws IOException {
+            send();
+        }
+
+        private void buffer(int len) throws IOException {
+            written += len;
+            buffered += len;
+            if (buffered >= BUFFER_SIZE) {
+                send();
+            }
+        }
+
+        private void send() throws IOException {
+            if (buffered > 0) {
+                buffered = 0;
+                if (stopOnSend) {
+                    throw FirstBytesSent.INSTANCE;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Writes the view state field as {@link MultiViewHandler} does, and saves the view as the Facelets
+     * {@link StateManagementStrategy} does.
+     */
+    private static final class StateWritingViewHandler extends BenchmarkViewHandler {
+
+        private final ViewDeclarationLanguage vdl = new StateSavingViewDeclarationLanguage();
+
+        @Override
+        public void writeState(FacesContext context) {
+            WriteBehindStateWriter writer = WriteBehindStateWriter.getCurrentInstance(context);
+            writer.writingState();
+
+            try {
+                if (writer.isStreaming()) {
+                    context.getApplication().getStateManager().writeState(context, (Object) null);
+                } else {
+                    context.getResponseWriter().write(SAVESTATE_FIELD_MARKER);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ViewDeclarationLanguage getViewDeclarationLanguage(FacesContext context, String viewId) {
+            return vdl;
+        }
+
+    }
+
+    private static final class StateSavingViewDeclarationLanguage extends ViewDeclarationLanguage {
+
+        private final StateManagementStrategy strategy = new StateManagementStrategy() {
+            @Override
+            public Object saveView(FacesContext context) {
+                return new Object[] { null, context.getViewRoot().processSaveState(context) };
+            }
+
+            @Override
+            public UIViewRoot restoreView(FacesContext context, String viewId, String renderKitId) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        @Override
+        public StateManagementStrategy getStateManagementStrategy(FacesContext context, String viewId) {
+            return strategy;
+        }
+
+        @Override
+        public UIViewRoot restoreView(FacesContext context, String viewId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ViewMetadata getViewMetadata(FacesContext context, String viewId) {
+            return null;
+        }
+
+        @Override
+        public UIViewRoot createView(FacesContext context, String viewId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void buildView(FacesContext context, UIViewRoot root) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void renderView(FacesContext context, UIViewRoot view) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BeanInfo getComponentMetadata(FacesContext context, Resource componentResource) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource getScriptComponentResource(FacesContext context, Resource componentResource) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.faces.mock.MockBeanManager;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.AnnotatedMethod;
+import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.util.TypeLiteral;
+
+/**
+ * The {@link MockBeanManager} completed with a fixed set of beans, and the reflective metadata of their classes that
+ * the action and REST mapping matchers read. The metadata is created once per class, as a CDI container does.
+ */
+public class BenchmarkBeanManager extends MockBeanManager {
+
+    private final Set<Bean<?>> beans = new LinkedHashSet<>();
+
+    private final Map<Class<?>, AnnotatedType<?>> annotatedTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Make this bean manager the one returned by <code>CDI.current()</code>.
+     */
+    public void install() {
+        CDI<Object> cdi = new BenchmarkCDI(this);
+        CDI.setCDIProvider(() -> cdi);
+    }
+
+    /**
+     * @param beanClass the class of a bean to add
+     */
+    public void addBean(Class<?> beanClass) {
+        beans.add(proxy(Bean.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getBeanClass":
+                return beanClass;
+            case "toString":
+                return "Bean[" + beanClass.getName() + "]";
+            default:
+                return objectMethod(proxy, method, args);
+            }
+        }));
+    }
+
+    @Override
+    public Set<Bean<?>> getBeans(Type beanType, Annotation... qualifiers) {
+        return beans;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> AnnotatedType<T> createAnnotatedType(Class<T> type) {
+        return (AnnotatedType<T>) annotatedTypes.computeIfAbsent(type, BenchmarkBeanManager::annotatedType);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    @SuppressWarnings("unchecked")
+    private static AnnotatedType<?> annotatedType(Class<?> type) {
+        Set<AnnotatedMethod<?>> methods = new LinkedHashSet<>();
+        for (Method javaMethod : type.getMethods()) {
+            methods.add(proxy(AnnotatedMethod.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                case "getJavaMember":
+                    return javaMethod;
+                case "isAnnotationPresent":
+                    return javaMethod.isAnnotationPresent((Class<? extends Annotation>) args[0]);
+                case "getAnnotation":
+                    return javaMethod.getAnnotation((Class<? extends Annotation>) args[0]);
+                default:
+                    return objectMethod(proxy, method, args);
+                }
+            }));
+        }
+
+        return proxy(AnnotatedType.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getJavaClass":
+                return type;
+            case "getMethods":
+                return methods;
+            default:
+                return objectMethod(proxy, method, args);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkBeanManager.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "toString":
+            return proxy.getClass().getName();
+        default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private static final class BenchmarkCDI extends CDI<Object> {
+
+        private final BeanManager beanManager;
+
+        BenchmarkCDI(BeanManager beanManager) {
+            this.beanManager = beanManager;
+        }
+
+        @Override
+        public BeanManager getBeanManager() {
+            return beanManager;
+        }
+
+        @Override
+        public Object get() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instance<Object> select(Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <U> Instance<U> select(Class<U> subtype, Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <U> Instance<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isUnsatisfied() {
+            return true;
+        }
+
+        @Override
+        public boolean isAmbiguous() {
+            return false;
+        }
+
+        @Override
+        public void destroy(Object instance) {
+        }
+
+        @Override
+        public Handle<Object> getHandle() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<? extends Handle<Object>> handles() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sun.faces.mock.MockExternalContext;
+
+import jakarta.faces.lifecycle.ClientWindow;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The {@link MockExternalContext} completed with what the benchmarked code needs from the request and the response.
+ */
+public class BenchmarkExternalContext extends MockExternalContext {
+
+    private final BenchmarkHttpServletRequest request;
+
+    private String requestPathInfo;
+
+    private Writer responseOutputWriter;
+
+    private OutputStream responseOutputStream;
+
+    public BenchmarkExternalContext(ServletContext context, BenchmarkHttpServletRequest request, HttpServletResponse response) {
+        super(context, request, response);
+        this.request = request;
+        setRequestParameterMap(new HashMap<>());
+    }
+
+    @Override
+    public Object getSession(boolean create) {
+        return request.getSession(create);
+    }
+
+    @Override
+    public String getRequestPathInfo() {
+        return requestPathInfo;
+    }
+
+    public void setRequestPathInfo(String requestPathInfo) {
+        this.requestPathInfo = requestPathInfo;
+    }
+
+    @Override
+    public String getRequestContextPath() {
+        return "/benchmark";
+    }
+
+    @Override
+    public String getRequestServletPath() {
+        return "/faces";
+    }
+
+    @Override
+    public Map getRequestHeaderMap() {
+        return request.getHeaderMap();
+    }
+
+    @Override
+    public String getMimeType(String file) {
+        if (file.endsWith(".js")) {
+            return "application/javascript";
+        } else if (file.endsWith(".css")) {
+            return "text/css";
+        }
+
+        return null;
+    }
+
+    @Override
+    public URL getResource(String path) {
+        // There are no web application resources, only the ones in the classpath
+        return null;
+    }
+
+    @Override
+    public String encodeActionURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodePartialActionURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeResourceURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeNamespace(String name) {
+        return name;
+    }
+
+    @Override
+    public Writer getResponseOutputWriter() {
+        return responseOutputWriter;
+    }
+
+    public void setResponseOutputWriter(Writer responseOutputWriter) {
+        this.responseOutputWriter = responseOutputWriter;
+    }
+
+    @Override
+    public OutputStream getResponseOutputStream() {
+        return responseOutputStream;
+    }
+
+    public void setResponseOutputStream(OutputStream responseOutputStream) {
+        this.responseOutputStream = responseOutputStream;
+    }
+
+    @Override
+    public ClientWindow getClientWindow() {
+        return null;
+    }
+
+    @Override
+    public boolean isResponseCommitted() {
+        return false;
+    }
+
+    // The headers of the response are discarded, like its content
+
+    @Override
+    public void setResponseStatus(int statusCode) {
+    }
+
+    @Override
+    public void setResponseContentType(String contentType) {
+    }
+
+    @Override
+    public void setResponseContentLength(int length) {
+    }
+
+    @Override
+    public void setResponseBufferSize(int size) {
+    }
+
+    @Override
+    public void setResponseHeader(String name, String value) {
+    }
+
+    @Override
+    public void addResponseHeader(String name, String value) {
+    }
+
+}
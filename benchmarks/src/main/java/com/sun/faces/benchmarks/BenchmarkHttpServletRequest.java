@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sun.faces.mock.MockHttpServletRequest;
+
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.MappingMatch;
+
+/**
+ * The {@link MockHttpServletRequest} of a <code>FacesServlet</code> mapped to <code>/faces/*</code>, with settable
+ * headers.
+ */
+public class BenchmarkHttpServletRequest extends MockHttpServletRequest {
+
+    private static final HttpServletMapping MAPPING = new HttpServletMapping() {
+
+        @Override
+        public String getMatchValue() {
+            return "";
+        }
+
+        @Override
+        public String getPattern() {
+            return "/faces/*";
+        }
+
+        @Override
+        public String getServletName() {
+            return "FacesServlet";
+        }
+
+        @Override
+        public MappingMatch getMappingMatch() {
+            return MappingMatch.PATH;
+        }
+
+    };
+
+    private final Map<String, String> headers = new HashMap<>();
+
+    public BenchmarkHttpServletRequest(HttpSession session) {
+        super(session);
+    }
+
+    public Map<String, String> getHeaderMap() {
+        return headers;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = headers.get(name);
+
+        return value == null ? -1 : ZonedDateTime.parse(value, RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return MAPPING;
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import com.sun.faces.mock.MockViewHandler;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * The {@link MockViewHandler} completed with what forms need to be rendered. Writing the state is left to the
+ * benchmarks of the state helpers.
+ */
+public class BenchmarkViewHandler extends MockViewHandler {
+
+    @Override
+    public String getActionURL(FacesContext context, String viewId) {
+        return context.getExternalContext().getRequestContextPath() + context.getExternalContext().getRequestServletPath() + viewId;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.component.visit.VisitResult;
+
+/**
+ * Building, rendering, visiting and saving full views of 1k, 10k and 50k components.
+ *
+ * <p>
+ * The views are built programmatically by {@link ComponentTrees}, because building them from Facelets needs a fully
+ * configured application, which the mocks do not provide. The components and renderers are the real ones.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentTreeBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    public int size;
+
+    private FacesEnvironment environment;
+
+    private UIViewRoot viewRoot;
+
+    private DiscardingWriter out;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+        viewRoot = ComponentTrees.createView(environment.facesContext, size);
+        out = new DiscardingWriter();
+        environment.facesContext.setResponseWriter(new HtmlResponseWriter(out, "text/html", "UTF-8"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public UIViewRoot buildView() {
+        UIViewRoot built = ComponentTrees.createView(environment.facesContext, size);
+        environment.facesContext.setViewRoot(viewRoot);
+
+        return built;
+    }
+
+    @Benchmark
+    public long renderView() throws IOException {
+        viewRoot.encodeAll(environment.facesContext);
+
+        return out.getCount();
+    }
+
+    @Benchmark
+    public void visitTree(Blackhole blackhole) {
+        viewRoot.visitTree(VisitContext.createVisitContext(environment.facesContext), (context, target) -> {
+            blackhole.consume(target.getClientId(environment.facesContext));
+            return VisitResult.ACCEPT;
+        });
+    }
+
+    @Benchmark
+    public Object saveState() {
+        return viewRoot.processSaveState(environment.facesContext);
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.util.List;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.html.HtmlForm;
+import jakarta.faces.component.html.HtmlInputText;
+import jakarta.faces.component.html.HtmlOutputText;
+import jakarta.faces.component.html.HtmlPanelGroup;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKitFactory;
+
+/**
+ * Builds synthetic views shaped like the ones Facelets builds for forms: blocks of ten panel groups, each holding a
+ * label, an input and a message text, with generated ids.
+ */
+public final class ComponentTrees {
+
+    private ComponentTrees() {
+    }
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @param size the approximate number of components of the view
+     * @return the view, which is set as the view root of the context
+     */
+    public static UIViewRoot createView(FacesContext context, int size) {
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/benchmark.xhtml");
+        viewRoot.setRenderKitId(RenderKitFactory.HTML_BASIC_RENDER_KIT);
+        context.setViewRoot(viewRoot);
+
+        HtmlForm form = new HtmlForm();
+        form.setId("form");
+        viewRoot.getChildren().add(form);
+
+        int count = 2;
+        int row = 0;
+        while (count < size) {
+            HtmlPanelGroup block = new HtmlPanelGroup();
+            block.setId(viewRoot.createUniqueId());
+            block.setLayout("block");
+            block.setStyleClass("block");
+            form.getChildren().add(block);
+            count++;
+
+            for (int i = 0; i < 10 && count < size; i++, row++) {
+                count += addRow(viewRoot, block.getChildren(), row);
+            }
+        }
+
+        return viewRoot;
+    }
+
+    private static int addRow(UIViewRoot viewRoot, List<UIComponent> children, int row) {
+        HtmlPanelGroup group = new HtmlPanelGroup();
+        group.setId(viewRoot.createUniqueId());
+        group.setStyleClass("row");
+        children.add(group);
+
+        HtmlOutputText label = new HtmlOutputText();
+        label.setId(viewRoot.createUniqueId());
+        label.setValue("Label <" + row + "> & text");
+        group.getChildren().add(label);
+
+        HtmlInputText input = new HtmlInputText();
+        input.setId("input" + row);
+        input.setValue("Value " + row);
+        input.setSize(20);
+        group.getChildren().add(input);
+
+        HtmlOutputText message = new HtmlOutputText();
+        message.setId(viewRoot.createUniqueId());
+        message.setValue("Message for row " + row);
+        message.setStyleClass("message");
+        group.getChildren().add(message);
+
+        return 4;
+    }
+
+}
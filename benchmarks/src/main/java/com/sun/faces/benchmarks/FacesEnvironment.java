@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import com.sun.faces.config.ConfigManager;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockLifecycle;
+import com.sun.faces.mock.MockRenderKit;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.renderkit.html_basic.FormRenderer;
+import com.sun.faces.renderkit.html_basic.GroupRenderer;
+import com.sun.faces.renderkit.html_basic.TextRenderer;
+import com.sun.faces.vendor.WebContainerInjectionProvider;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.application.ApplicationFactory;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIInput;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.render.RenderKitFactory;
+
+/**
+ * <p>
+ * A Faces environment without a servlet container, built from the mocks of the impl tests the same way as
+ * <code>JUnitFacesTestCaseBase</code> does. The render kit renders forms, text and group components with the real
+ * HTML renderers.
+ * </p>
+ *
+ * <p>
+ * Create it in a <code>@Setup</code> method and {@link #release()} it in the corresponding <code>@TearDown</code>
+ * method. The <code>FacesContext</code> is bound to the thread which created the environment, so the benchmarks using
+ * it must run in a single thread.
+ * </p>
+ */
+public class FacesEnvironment {
+
+    public final MockServletContext servletContext;
+    public final MockHttpSession session;
+    public final BenchmarkHttpServletRequest request;
+    public final MockHttpServletResponse response;
+    public final BenchmarkExternalContext externalContext;
+    public final MockFacesContext facesContext;
+    public final MockApplication application;
+    public final MockRenderKit renderKit;
+
+    /**
+     * @param initParameters the context parameters of the application
+     */
+    public FacesEnvironment(Map<String, String> initParameters) {
+        servletContext = new MockServletContext();
+        initParameters.forEach(servletContext::addInitParameter);
+        session = new MockHttpSession();
+        request = new BenchmarkHttpServletRequest(session);
+        response = new MockHttpServletResponse();
+
+        reInitializeFactoryManager();
+
+        externalContext = new BenchmarkExternalContext(servletContext, request, response);
+        facesContext = new MockFacesContext(externalContext, new MockLifecycle());
+        facesContext.getAttributes().put(ConfigManager.INJECTION_PROVIDER_KEY, new WebContainerInjectionProvider());
+
+        FactoryFinder.setFactory(FactoryFinder.APPLICATION_FACTORY, "com.sun.faces.mock.MockApplicationFactory");
+        FactoryFinder.setFactory(FactoryFinder.RENDER_KIT_FACTORY, "com.sun.faces.mock.MockRenderKitFactory");
+        FactoryFinder.setFactory(FactoryFinder.VISIT_CONTEXT_FACTORY, "com.sun.faces.component.visit.VisitContextFactoryImpl");
+
+        ApplicationFactory applicationFactory = (ApplicationFactory) FactoryFinder.getFactory(FactoryFinder.APPLICATION_FACTORY);
+        application = (MockApplication) applicationFactory.getApplication();
+        application.setViewHandler(new BenchmarkViewHandler());
+        facesContext.setApplication(application);
+
+        renderKit = new MockRenderKit();
+        renderKit.addRenderer(UIOutput.COMPONENT_FAMILY, "jakarta.faces.Text", new TextRenderer());
+        renderKit.addRenderer(UIInput.COMPONENT_FAMILY, "jakarta.faces.Text", new TextRenderer());
+        renderKit.addRenderer(UIPanel.COMPONENT_FAMILY, "jakarta.faces.Group", new GroupRenderer());
+        renderKit.addRenderer(UIForm.COMPONENT_FAMILY, "jakarta.faces.Form", new FormRenderer());
+        RenderKitFactory renderKitFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        renderKitFactory.addRenderKit(RenderKitFactory.HTML_BASIC_RENDER_KIT, renderKit);
+    }
+
+    public void release() {
+        facesContext.release();
+        reInitializeFactoryManager();
+    }
+
+    private static void reInitializeFactoryManager() {
+        FactoryFinder.releaseFactories();
+        try {
+            Method reInitializeFactoryManager = FactoryFinder.class.getDeclaredMethod("reInitializeFactoryManager");
+            reInitializeFactoryManager.setAccessible(true);
+            reInitializeFactoryManager.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
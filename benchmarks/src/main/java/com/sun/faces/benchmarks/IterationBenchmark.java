@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sun.faces.facelets.component.UIRepeat;
+
+import jakarta.el.ExpressionFactory;
+import jakarta.faces.component.UIColumn;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.html.HtmlForm;
+import jakarta.faces.component.html.HtmlInputText;
+import jakarta.faces.component.html.HtmlOutputText;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.component.visit.VisitResult;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKitFactory;
+
+/**
+ * Iterating the rows of {@link UIData} and {@link UIRepeat} while visiting and decoding them, which saves and restores
+ * the state of the row components for every row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterationBenchmark {
+
+    @Param({ "UIData", "UIRepeat" })
+    public String component;
+
+    @Param({ "100", "1000" })
+    public int rows;
+
+    private FacesEnvironment environment;
+
+    private UIViewRoot viewRoot;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+        FacesContext context = environment.facesContext;
+
+        viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/benchmark.xhtml");
+        viewRoot.setRenderKitId(RenderKitFactory.HTML_BASIC_RENDER_KIT);
+        context.setViewRoot(viewRoot);
+
+        HtmlForm form = new HtmlForm();
+        form.setId("form");
+        viewRoot.getChildren().add(form);
+
+        // Decode as if the form was submitted
+        environment.externalContext.getRequestParameterMap().put("form", "form");
+
+        List<Map<String, Object>> value = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", "Name " + i);
+            row.put("amount", String.valueOf(i));
+            value.add(row);
+        }
+
+        UIComponent iterator;
+        List<UIComponent> rowChildren;
+        if ("UIData".equals(component)) {
+            UIData data = new UIData();
+            data.setValue(value);
+            data.setVar("row");
+            UIColumn column = new UIColumn();
+            column.setId("column");
+            data.getChildren().add(column);
+            iterator = data;
+            rowChildren = column.getChildren();
+        } else {
+            UIRepeat repeat = new UIRepeat();
+            repeat.setValue(value);
+            repeat.setVar("row");
+            iterator = repeat;
+            rowChildren = repeat.getChildren();
+        }
+        iterator.setId("rows");
+        form.getChildren().add(iterator);
+
+        ExpressionFactory expressionFactory = context.getApplication().getExpressionFactory();
+
+        HtmlOutputText name = new HtmlOutputText();
+        name.setId("name");
+        name.setValueExpression("value", expressionFactory.createValueExpression(context.getELContext(), "#{row.name}", Object.class));
+        rowChildren.add(name);
+
+        HtmlInputText amount = new HtmlInputText();
+        amount.setId("amount");
+        amount.setValueExpression("value", expressionFactory.createValueExpression(context.getELContext(), "#{row.amount}", Object.class));
+        rowChildren.add(amount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public void visitRows(Blackhole blackhole) {
+        FacesContext context = environment.facesContext;
+        viewRoot.visitTree(VisitContext.createVisitContext(context), (visitContext, target) -> {
+            blackhole.consume(target.getClientId(context));
+            return VisitResult.ACCEPT;
+        });
+    }
+
+    @Benchmark
+    public void decodeRows() {
+        viewRoot.processDecodes(environment.facesContext);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.objenesis.ObjenesisStd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.application.resource.ResourceCache;
+import com.sun.faces.application.resource.ResourceHandlerImpl;
+import com.sun.faces.application.resource.ResourceManager;
+
+import jakarta.faces.application.Resource;
+import jakarta.faces.application.ResourceHandler;
+
+/**
+ * Serving the <code>faces.js</code> resource of the implementation jar with {@link ResourceHandlerImpl}, and creating
+ * the resource for rendering a reference to it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceServingBenchmark {
+
+    /**
+     * Whether the request is conditional and the resource is not modified, so only the headers are sent.
+     */
+    @Param({ "false", "true" })
+    public boolean notModified;
+
+    private FacesEnvironment environment;
+
+    private ResourceHandler resourceHandler;
+
+    private CountingOutputStream out;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        // The ApplicationAssociate can only be constructed while the application is configured, the resource handler only
+        // needs its resource manager.
+        ApplicationAssociate associate = (ApplicationAssociate) new ObjenesisStd().newInstance(ApplicationAssociate.class);
+        associate.setResourceManager(new ResourceManager(environment.externalContext.getApplicationMap(), new ResourceCache()));
+        environment.externalContext.getApplicationMap().put(RIConstants.FACES_PREFIX + "ApplicationAssociate", associate);
+
+        resourceHandler = new ResourceHandlerImpl();
+        environment.application.setResourceHandler(resourceHandler);
+
+        environment.externalContext.setRequestPathInfo(ResourceHandler.RESOURCE_IDENTIFIER + "/faces.js");
+        environment.externalContext.getRequestParameterMap().put("ln", "jakarta.faces");
+        // faces.js contains EL expressions, the mock EL resolver only looks up scoped attributes
+        environment.externalContext.getRequestMap().put("facesContext", environment.facesContext);
+        if (notModified) {
+            environment.request.getHeaderMap().put("If-Modified-Since", RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+        }
+
+        out = new CountingOutputStream();
+        environment.externalContext.setResponseOutputStream(out);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public long handleResourceRequest() throws IOException {
+        resourceHandler.handleResourceRequest(environment.facesContext);
+
+        return out.count;
+    }
+
+    @Benchmark
+    public String createResource() {
+        Resource resource = resourceHandler.createResource("faces.js", "jakarta.faces");
+
+        return resource.getRequestPath();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // the response stays open
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+
+/**
+ * The escaping of text and attribute values by {@link HtmlResponseWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseWriterBenchmark {
+
+    @Param({ "plain", "markup", "unicode" })
+    public String content;
+
+    private FacesEnvironment environment;
+
+    private HtmlResponseWriter writer;
+
+    private String text;
+
+    private char[] chars;
+
+    private String url;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new FacesEnvironment(Collections.emptyMap());
+        writer = new HtmlResponseWriter(new DiscardingWriter(), "text/html", "UTF-8");
+
+        switch (content) {
+            case "plain":
+                text = "The quick brown fox jumps over the lazy dog, again and again and again, without any markup at all.";
+                break;
+            case "markup":
+                text = "<b>Tom & Jerry</b> said \"it's <i>not</i> a <script>alert('x')</script> & it's > all < that\"";
+                break;
+            default:
+                text = "Gr\u00fc\u00dfe aus K\u00f6ln, \u017c\u00f3\u0142\u0107, \u0395\u03bb\u03bb\u03b7\u03bd\u03b9\u03ba\u03ac, \u65e5\u672c\u8a9e\u306e\u30c6\u30ad\u30b9\u30c8, a surrogate pair \ud83d\ude00 and a few ASCII words in between";
+                break;
+        }
+
+        chars = text.toCharArray();
+        url = "/benchmark/page.xhtml?content=" + content + "&text=" + text;
+
+        writer.startDocument();
+        writer.startElement("div", null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.endElement("div");
+        writer.endDocument();
+        environment.release();
+    }
+
+    @Benchmark
+    public void writeText() throws IOException {
+        writer.writeText(text, null);
+    }
+
+    @Benchmark
+    public void writeTextChars() throws IOException {
+        writer.writeText(chars, 0, chars.length);
+    }
+
+    @Benchmark
+    public void writeAttribute() throws IOException {
+        writer.startElement("span", null);
+        writer.writeAttribute("title", text, null);
+        writer.endElement("span");
+    }
+
+    @Benchmark
+    public void writeURIAttribute() throws IOException {
+        writer.startElement("a", null);
+        writer.writeURIAttribute("href", url, null);
+        writer.endElement("a");
+    }
+
+}
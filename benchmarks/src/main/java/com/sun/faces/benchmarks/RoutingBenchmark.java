@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mojarra.action.ActionMapping;
+import org.eclipse.mojarra.action.DefaultActionMappingMatcher;
+import org.eclipse.mojarra.rest.DefaultRestMappingMatcher;
+import org.eclipse.mojarra.rest.RestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matching the path of a request to the methods of the action and REST beans, which the default matchers do by
+ * inspecting every bean of the application for every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+    /**
+     * The number of beans of the application besides the controllers.
+     */
+    @Param({ "10", "100" })
+    public int beans;
+
+    private FacesEnvironment environment;
+
+    private final DefaultActionMappingMatcher actionMatcher = new DefaultActionMappingMatcher();
+
+    private final DefaultRestMappingMatcher restMatcher = new DefaultRestMappingMatcher();
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        BenchmarkBeanManager beanManager = new BenchmarkBeanManager();
+        for (int i = 0; i < beans; i++) {
+            beanManager.addBean(Service.class);
+        }
+        beanManager.addBean(OrderController.class);
+        beanManager.addBean(CustomerController.class);
+        beanManager.addBean(OrderResource.class);
+        beanManager.addBean(CustomerResource.class);
+        beanManager.install();
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public Object matchAction() {
+        environment.externalContext.setRequestPathInfo("/orders/42");
+
+        return actionMatcher.match(environment.facesContext);
+    }
+
+    @Benchmark
+    public Object matchRest() {
+        environment.externalContext.setRequestPathInfo("/api/orders/42");
+
+        return restMatcher.match(environment.facesContext);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    public static class Service {
+
+        public String find(String id) {
+            return id;
+        }
+
+        public void save(String id) {
+        }
+
+    }
+
+    public static class OrderController {
+
+        @ActionMapping("/orders")
+        public String list() {
+            return "/orders.xhtml";
+        }
+
+        @ActionMapping("/orders/*")
+        public String show() {
+            return "/order.xhtml";
+        }
+
+        @ActionMapping("*.csv")
+        public String export() {
+            return "/orders.csv";
+        }
+
+    }
+
+    public static class CustomerController {
+
+        @ActionMapping("/customers")
+        public String list() {
+            return "/customers.xhtml";
+        }
+
+        @ActionMapping("regex:/customers/[0-9]+")
+        public String show() {
+            return "/customer.xhtml";
+        }
+
+    }
+
+    public static class OrderResource {
+
+        @RestPath("/api/orders")
+        public String list() {
+            return "[]";
+        }
+
+        @RestPath("/api/orders/[0-9]+")
+        public String show() {
+            return "{}";
+        }
+
+    }
+
+    public static class CustomerResource {
+
+        @RestPath("/api/customers")
+        public String list() {
+            return "[]";
+        }
+
+        @RestPath("/api/customers/[0-9]+")
+        public String show() {
+            return "{}";
+        }
+
+    }
+
+}
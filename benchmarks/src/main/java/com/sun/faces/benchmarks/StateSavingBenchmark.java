@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.benchmarks;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.CompressViewState;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.SerializeServerState;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.renderkit.ClientSideStateHelper;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+import com.sun.faces.renderkit.StateHelper;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.render.ResponseStateManager;
+
+/**
+ * Writing and restoring the state of a view with client and server side state saving. The server side state is
+ * serialized, like it has to be in a cluster.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateSavingBenchmark {
+
+    @Param({ "client", "server" })
+    public String stateSavingMethod;
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    @Param({ "true", "false" })
+    public boolean compress;
+
+    private FacesEnvironment environment;
+
+    private StateHelper stateHelper;
+
+    private Object[] state;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, String> initParameters = new HashMap<>();
+        initParameters.put(SerializeServerState.getQualifiedName(), "true");
+        initParameters.put(CompressViewState.getQualifiedName(), String.valueOf(compress));
+        environment = new FacesEnvironment(initParameters);
+
+        UIViewRoot viewRoot = ComponentTrees.createView(environment.facesContext, size);
+        state = new Object[] { null, viewRoot.processSaveState(environment.facesContext) };
+        stateHelper = "client".equals(stateSavingMethod) ? new ClientSideStateHelper() : new ServerSideStateHelper();
+
+        // The state restored by restoreState()
+        environment.externalContext.getRequestParameterMap().put(ResponseStateManager.VIEW_STATE_PARAM, writeState());
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public String writeState() throws IOException {
+        // Every request writes its state anew
+        environment.facesContext.getAttributes().clear();
+
+        StringBuilder stateCapture = new StringBuilder();
+        stateHelper.writeState(environment.facesContext, state, stateCapture);
+
+        return stateCapture.toString();
+    }
+
+    @Benchmark
+    public Object restoreState() throws IOException {
+        return stateHelper.getState(environment.facesContext, "/benchmark.xhtml");
+    }
+
+}
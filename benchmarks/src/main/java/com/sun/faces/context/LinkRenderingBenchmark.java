@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.benchmarks.FacesEnvironment;
+
+/**
+ * Building the URLs of the links of a page, as {@link ExternalContextImpl} does for the bookmarkable URLs of
+ * <code>h:link</code> and <code>h:button</code>, and for the partial action URL of the form.
+ *
+ * <p>
+ * <code>plain</code> links have parameters which don't need to be encoded, <code>encoded</code> links have parameters
+ * with reserved and non-ASCII characters, and <code>none</code> links have no parameters.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkRenderingBenchmark {
+
+    private static final String ENCODING = "UTF-8";
+
+    @Param({ "none", "plain", "encoded" })
+    public String parameters;
+
+    /**
+     * The number of links of the page.
+     */
+    @Param({ "1000" })
+    public int links;
+
+    private FacesEnvironment environment;
+
+    private String[] urls;
+
+    private Map<String, List<String>>[] parameterMaps;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        urls = new String[links];
+        parameterMaps = new Map[links];
+        for (int i = 0; i < links; i++) {
+            urls[i] = "/benchmark/faces/catalog/item.xhtml";
+
+            Map<String, List<String>> map = new LinkedHashMap<>();
+            if ("plain".equals(parameters)) {
+                map.put("id", Collections.singletonList(String.valueOf(i)));
+                map.put("category", Collections.singletonList("books"));
+            } else if ("encoded".equals(parameters)) {
+                map.put("id", Collections.singletonList(String.valueOf(i)));
+                map.put("q", Arrays.asList("café & crème " + i, "a/b?c=d"));
+            }
+            parameterMaps[i] = map;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public long bookmarkableUrls() {
+        long length = 0;
+        for (int i = 0; i < links; i++) {
+            Map<String, List<String>> map = parameterMaps[i];
+            UrlBuilder builder = new UrlBuilder(urls[i], map.isEmpty() ? null : ENCODING);
+            builder.addParameters(map);
+            length += builder.createUrl().length();
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public long partialActionUrls() {
+        long length = 0;
+        for (int i = 0; i < links; i++) {
+            length += new UrlBuilder(urls[i], null).createUrl().length();
+        }
+
+        return length;
+    }
+
+}
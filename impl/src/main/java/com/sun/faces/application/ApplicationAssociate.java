@@ -466,6 +466,10 @@ public class ApplicationAssociate {
         return applicationImpl.getApplicationELResolvers();
     }
 
+    public boolean hasApplicationELResolvers() {
+        return applicationImpl.hasApplicationELResolvers();
+    }
+
     public InjectionProvider getInjectionProvider() {
         return injectionProvider;
     }
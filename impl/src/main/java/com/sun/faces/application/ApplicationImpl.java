@@ -212,6 +212,10 @@ public class ApplicationImpl extends Application {
         return expressionLanguage.getApplicationELResolvers();
     }
 
+    public boolean hasApplicationELResolvers() {
+        return expressionLanguage.hasApplicationELResolvers();
+    }
+
     public FacesCompositeELResolver getCompositeELResolver() {
         return expressionLanguage.getCompositeELResolver();
     }
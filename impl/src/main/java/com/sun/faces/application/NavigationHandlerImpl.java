@@ -17,6 +17,7 @@
 package com.sun.faces.application;
 
 import static com.sun.faces.application.SharedUtils.evaluateExpressions;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableNavigationCaseCache;
 import static com.sun.faces.flow.FlowHandlerImpl.FLOW_RETURN_DEPTH_PARAM_NAME;
 import static com.sun.faces.util.Util.notNull;
 import static jakarta.faces.component.UIViewAction.isProcessingBroadcast;
@@ -37,8 +38,8 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,10 +48,14 @@ import java.util.regex.Pattern;
 
 import com.sun.faces.RIConstants;
 import com.sun.faces.config.InitFacesContext;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.flow.FlowHandlerImpl;
 import com.sun.faces.flow.FlowImpl;
 import com.sun.faces.flow.builder.MutableNavigationCase;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
 import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.LRUMap;
 import com.sun.faces.util.MessageUtils;
 import com.sun.faces.util.Util;
 
@@ -122,6 +127,23 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
     private static final Pattern REDIRECT_EQUALS_TRUE = Pattern.compile("(.*)(faces-redirect=true)(.*)");
     private static final Pattern INCLUDE_VIEW_PARAMS_EQUALS_TRUE = Pattern.compile("(.*)(includeViewParams=true)(.*)");
 
+    /**
+     * The maximum number of resolved navigation cases to cache. The outcomes are usually literals in the views, but may be
+     * computed, so the cache must not grow without bound. The least recently used cases are evicted first.
+     */
+    private static final int MAX_CACHED_NAVIGATION_CASES = 1024;
+
+    /**
+     * The resolved navigation cases which depend on nothing but the navigation rules, keyed by the view id, action,
+     * outcome and flow document id they were resolved for.
+     */
+    private final Map<NavigationCaseKey, NavigationCase> navigationCaseCache = Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_NAVIGATION_CASES));
+
+    /**
+     * Flag indicating whether resolved navigation cases are cached.
+     */
+    private boolean navigationCaseCacheEnabled;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -136,11 +158,15 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             LOGGER.log(FINE, "Created NavigationHandler instance ");
         }
 
-        ApplicationAssociate associate = ApplicationAssociate.getInstance(FacesContext.getCurrentInstance().getExternalContext());
+        ExternalContext externalContext = FacesContext.getCurrentInstance().getExternalContext();
+        ApplicationAssociate associate = ApplicationAssociate.getInstance(externalContext);
         if (associate != null) {
             development = associate.isDevModeEnabled();
         }
 
+        // In development, the views and navigation rules may change at any time
+        navigationCaseCacheEnabled = !development && WebConfiguration.getInstance(externalContext).isOptionEnabled(EnableNavigationCaseCache);
+
     }
 
     // ------------------------------ Methods from ConfigurableNavigationHandler
@@ -182,7 +208,8 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         try {
             Map<String, Set<NavigationCase>> result = getNavigationMap(context);
 
-            return result;
+            // The cached navigation cases must not outlive changes to the returned rules
+            return navigationCaseCacheEnabled ? new CacheClearingNavigationMap(result) : result;
         } finally {
             unsetResetFlowHandlerState(context);
         }
@@ -191,6 +218,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
     @Override
     public void inspectFlow(FacesContext context, Flow flow) {
         initializeNavigationFromFlow(context, flow);
+        navigationCaseCache.clear();
     }
 
     // ------------------------------------------ Methods from NavigationHandler
@@ -395,8 +423,8 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         return navigationMaps.get(ROOT_NAVIGATION_MAP_ID).ruleSet;
     }
 
-    private Set<String> getWildCardMatchList(FacesContext context) {
-        Set<String> result = Collections.emptySet();
+    private List<String> getWildCardMatchList(FacesContext context, String viewId) {
+        List<String> result = Collections.emptyList();
         NavigationInfo info = null;
         FlowHandler fh = context.getApplication().getFlowHandler();
         if (null != fh) {
@@ -409,7 +437,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             info = navigationMaps.get(ROOT_NAVIGATION_MAP_ID);
         }
         if (null != info.ruleSet && null != info.ruleSet.wildcardMatchList) {
-            result = info.ruleSet.wildcardMatchList;
+            result = info.ruleSet.wildcardMatchList.getMatches(viewId);
         }
         return result;
     }
@@ -532,6 +560,58 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
      */
     private CaseStruct getViewId(FacesContext ctx, String fromAction, String outcome, String toFlowDocumentId) {
 
+        if (!navigationCaseCacheEnabled) {
+            return resolveViewId(ctx, fromAction, outcome, toFlowDocumentId);
+        }
+
+        // Within a flow, the navigation also depends on the nodes of the flow, e.g. on switch conditions and method calls
+        UIViewRoot root = ctx.getViewRoot();
+        FlowHandler flowHandler = ctx.getApplication().getFlowHandler();
+        if (root == null || root.getViewId() == null || flowHandler != null && flowHandler.getCurrentFlow(ctx) != null) {
+            return resolveViewId(ctx, fromAction, outcome, toFlowDocumentId);
+        }
+
+        LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getCurrentInstance(ctx);
+        NavigationCaseKey key = new NavigationCaseKey(root.getViewId(), fromAction, outcome, toFlowDocumentId);
+        NavigationCase navCase = navigationCaseCache.get(key);
+        if (navCase != null) {
+            if (instrumentation != null) {
+                instrumentation.navigationCaseResolved(ctx, true);
+            }
+
+            CaseStruct caseStruct = new CaseStruct();
+            caseStruct.navCase = navCase;
+            caseStruct.viewId = navCase.getToViewId(ctx);
+            return caseStruct;
+        }
+
+        Map<Object, Object> contextMap = ctx.getAttributes();
+        contextMap.remove(CONDITION_EVALUATED_FLAG);
+        CaseStruct caseStruct = resolveViewId(ctx, fromAction, outcome, toFlowDocumentId);
+        if (instrumentation != null) {
+            instrumentation.navigationCaseResolved(ctx, false);
+        }
+
+        // Only cache cases which neither depend on conditions nor enter or leave a flow
+        if (caseStruct != null && contextMap.remove(CONDITION_EVALUATED_FLAG) == null && caseStruct.currentFlow == null && caseStruct.newFlow == null
+                && caseStruct.facesFlowCallNode == null && !caseStruct.isFlowEntryFromExplicitRule) {
+            navigationCaseCache.put(key, caseStruct.navCase);
+        }
+
+        return caseStruct;
+    }
+
+    /**
+     * This method uses helper methods to determine the new <code>view</code> identifier, without looking at the cached
+     * navigation cases.
+     *
+     * @param ctx the @{link FacesContext} for the current request
+     * @param fromAction The action reference string
+     * @param outcome The outcome string
+     * @return The <code>view</code> identifier.
+     */
+    private CaseStruct resolveViewId(FacesContext ctx, String fromAction, String outcome, String toFlowDocumentId) {
+
         if (navigationMaps == null) {
             synchronized (this) {
                 initializeNavigationFromAssociate();
@@ -699,24 +779,10 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             Map<String, Set<NavigationCase>> navMap) {
         CaseStruct result = null;
 
-        StringBuilder sb = new StringBuilder(32);
-        for (String fromViewId : getWildCardMatchList(ctx)) {
-            // See if the entire wildcard string (without the trailing "*" is
-            // contained in the incoming viewIdToTest.
-            // Ex: /foobar is contained with /foobarbaz
-            // If so, then we have found our largest pattern match..
-            // If not, then continue on to the next case;
-
-            if (!viewId.startsWith(fromViewId)) {
-                continue;
-            }
-
-            // Append the trailing "*" so we can do our map lookup;
-
-            if (sb.length() != 0) {
-                sb.delete(0, sb.length());
-            }
-            String wcFromViewId = sb.append(fromViewId).append('*').toString();
+        // The wildcard strings of which the entire string without the trailing "*"
+        // is contained in the incoming viewIdToTest, from the largest to the smallest.
+        // Ex: /foobar is contained with /foobarbaz
+        for (String wcFromViewId : getWildCardMatchList(ctx, viewId)) {
             Set<NavigationCase> ccaseSet = navMap.get(wcFromViewId);
 
             if (ccaseSet == null) {
@@ -1252,6 +1318,8 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
 
     private static final String DID_TRANSITION_FLAG = RIConstants.FACES_PREFIX + "NavigationHandlerDidTransition";
 
+    private static final String CONDITION_EVALUATED_FLAG = RIConstants.FACES_PREFIX + "NavigationHandlerConditionEvaluated";
+
     private boolean isDidTransition(FacesContext context) {
         boolean result = context.getAttributes().containsKey(DID_TRANSITION_FLAG);
 
@@ -1370,6 +1438,9 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             if (match) {
                 result.viewId = cncToViewId;
                 result.navCase = cnc;
+                if (cncHasCondition) {
+                    ctx.getAttributes().put(CONDITION_EVALUATED_FLAG, Boolean.TRUE);
+                }
                 if (cncHasCondition && Boolean.FALSE.equals(cnc.getCondition(ctx))) {
                     match = false;
                 } else {
@@ -1411,15 +1482,49 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         boolean isFlowEntryFromExplicitRule;
     }
 
+    private static final class NavigationCaseKey {
+        private final String viewId;
+        private final String fromAction;
+        private final String outcome;
+        private final String toFlowDocumentId;
+        private final int hashCode;
+
+        NavigationCaseKey(String viewId, String fromAction, String outcome, String toFlowDocumentId) {
+            this.viewId = viewId;
+            this.fromAction = fromAction;
+            this.outcome = outcome;
+            this.toFlowDocumentId = toFlowDocumentId;
+            hashCode = Objects.hash(viewId, fromAction, outcome, toFlowDocumentId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NavigationCaseKey)) {
+                return false;
+            }
+            NavigationCaseKey other = (NavigationCaseKey) o;
+            return viewId.equals(other.viewId) && Objects.equals(fromAction, other.fromAction) && Objects.equals(outcome, other.outcome)
+                    && Objects.equals(toFlowDocumentId, other.toFlowDocumentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static final class NavigationInfo {
         private NavigationMap ruleSet;
         private Map<String, SwitchNode> switches;
     }
 
-    private static final class NavigationMap extends AbstractMap<String, Set<NavigationCase>> {
+    private final class NavigationMap extends AbstractMap<String, Set<NavigationCase>> {
 
         private HashMap<String, Set<NavigationCase>> mapToLookForNavCase = new HashMap<>();
-        private TreeSet<String> wildcardMatchList = new TreeSet<>((fromViewId1, fromViewId2) -> -fromViewId1.compareTo(fromViewId2));
+        private WildcardViewIdTrie wildcardMatchList = new WildcardViewIdTrie();
 
         // ---------------------------------------------------- Methods from Map
 
@@ -1445,11 +1550,11 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             Set<NavigationCase> existing = mapToLookForNavCase.get(key);
             if (existing == null) {
                 mapToLookForNavCase.put(key, value);
-                return null;
             } else {
                 existing.addAll(value);
-                return existing;
             }
+            navigationCaseCache.clear();
+            return existing;
 
         }
 
@@ -1468,6 +1573,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
                     existing.addAll(entry.getValue());
                 }
             }
+            navigationCaseCache.clear();
         }
 
         @Override
@@ -1583,4 +1689,174 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         }
 
     }
+
+    /**
+     * The navigation rules as returned by {@link #getNavigationCases()}, which clears the cached navigation cases when
+     * the rules are modified, also through the returned case sets.
+     */
+    private final class CacheClearingNavigationMap extends AbstractMap<String, Set<NavigationCase>> {
+
+        private final Map<String, Set<NavigationCase>> rules;
+
+        CacheClearingNavigationMap(Map<String, Set<NavigationCase>> rules) {
+            this.rules = rules;
+        }
+
+        // ---------------------------------------------------- Methods from Map
+
+        @Override
+        public int size() {
+            return rules.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return rules.containsKey(key);
+        }
+
+        @Override
+        public Set<NavigationCase> get(Object key) {
+            Set<NavigationCase> cases = rules.get(key);
+            return cases != null ? new CacheClearingCaseSet(cases) : null;
+        }
+
+        @Override
+        public Set<NavigationCase> put(String key, Set<NavigationCase> value) {
+            Set<NavigationCase> existing = rules.put(key, value);
+            navigationCaseCache.clear();
+            return existing != null ? new CacheClearingCaseSet(existing) : null;
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends Set<NavigationCase>> m) {
+            rules.putAll(m);
+            navigationCaseCache.clear();
+        }
+
+        @Override
+        public Set<NavigationCase> remove(Object key) {
+            Set<NavigationCase> removed = rules.remove(key);
+            navigationCaseCache.clear();
+            return removed;
+        }
+
+        @Override
+        public Set<Entry<String, Set<NavigationCase>>> entrySet() {
+            return new AbstractSet<Entry<String, Set<NavigationCase>>>() {
+
+                @Override
+                public Iterator<Entry<String, Set<NavigationCase>>> iterator() {
+                    return new Iterator<Entry<String, Set<NavigationCase>>>() {
+
+                        Iterator<Entry<String, Set<NavigationCase>>> i = rules.entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            return i.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Set<NavigationCase>> next() {
+                            Entry<String, Set<NavigationCase>> entry = i.next();
+                            return new SimpleEntry<String, Set<NavigationCase>>(entry.getKey(), new CacheClearingCaseSet(entry.getValue())) {
+
+                                private static final long serialVersionUID = 1L;
+
+                                @Override
+                                public Set<NavigationCase> setValue(Set<NavigationCase> value) {
+                                    super.setValue(new CacheClearingCaseSet(value));
+                                    Set<NavigationCase> previous = entry.setValue(value);
+                                    navigationCaseCache.clear();
+                                    return previous;
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            i.remove();
+                            navigationCaseCache.clear();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return rules.size();
+                }
+            };
+        }
+
+    }
+
+    /**
+     * A set of navigation cases as returned by {@link #getNavigationCases()}, which clears the cached navigation cases
+     * when it is modified.
+     */
+    private final class CacheClearingCaseSet extends AbstractSet<NavigationCase> {
+
+        private final Set<NavigationCase> cases;
+
+        CacheClearingCaseSet(Set<NavigationCase> cases) {
+            this.cases = cases;
+        }
+
+        // --------------------------------------------- Methods from Collection
+
+        @Override
+        public int size() {
+            return cases.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return cases.contains(o);
+        }
+
+        @Override
+        public boolean add(NavigationCase navigationCase) {
+            boolean added = cases.add(navigationCase);
+            navigationCaseCache.clear();
+            return added;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean removed = cases.remove(o);
+            navigationCaseCache.clear();
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            cases.clear();
+            navigationCaseCache.clear();
+        }
+
+        @Override
+        public Iterator<NavigationCase> iterator() {
+            return new Iterator<NavigationCase>() {
+
+                Iterator<NavigationCase> i = cases.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return i.hasNext();
+                }
+
+                @Override
+                public NavigationCase next() {
+                    return i.next();
+                }
+
+                @Override
+                public void remove() {
+                    i.remove();
+                    navigationCaseCache.clear();
+                }
+            };
+        }
+
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A prefix trie of the wildcard <code>from-view-id</code>s of the navigation rules, such as <code>/admin/*</code>, so
+ * that the wildcard rules matching a view id are found in time proportional to the length of the view id, instead of
+ * the number of wildcard rules.
+ * </p>
+ */
+final class WildcardViewIdTrie {
+
+    private final Node root = new Node();
+
+    private int size;
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Add the wildcard <code>from-view-id</code> with the given prefix.
+     *
+     * @param prefix the <code>from-view-id</code> up to the last asterisk
+     */
+    void add(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.getOrAddChild(prefix.charAt(i));
+        }
+
+        if (node.fromViewId == null) {
+            node.fromViewId = prefix + '*';
+            size++;
+        }
+    }
+
+    /**
+     * @param viewId a view id
+     * @return the wildcard <code>from-view-id</code>s, including the trailing asterisk, of which the prefix matches the
+     * given view id, from the longest to the shortest prefix
+     */
+    List<String> getMatches(String viewId) {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> matches = null;
+        Node node = root;
+        for (int i = 0; node != null; i++) {
+            if (node.fromViewId != null) {
+                if (matches == null) {
+                    matches = new ArrayList<>(4);
+                }
+                matches.add(node.fromViewId);
+            }
+
+            node = i < viewId.length() ? node.getChild(viewId.charAt(i)) : null;
+        }
+
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    /**
+     * @return the number of wildcard <code>from-view-id</code>s
+     */
+    int size() {
+        return size;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Node {
+
+        private static final char[] NO_LABELS = {};
+
+        private static final Node[] NO_CHILDREN = {};
+
+        /**
+         * The characters leading to the children, in ascending order.
+         */
+        private char[] labels = NO_LABELS;
+
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * The wildcard <code>from-view-id</code> ending at this node, or <code>null</code> if there is none.
+         */
+        private String fromViewId;
+
+        Node getChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        Node getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertion = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            System.arraycopy(labels, insertion, newLabels, insertion + 1, labels.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+
+            Node child = new Node();
+            newLabels[insertion] = label;
+            newChildren[insertion] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.Logger;
 
 import com.sun.faces.application.applicationimpl.events.ComponentSystemEventHelper;
@@ -34,6 +35,7 @@ import com.sun.faces.application.applicationimpl.events.EventInfo;
 import com.sun.faces.application.applicationimpl.events.ReentrantLisneterInvocationGuard;
 import com.sun.faces.application.applicationimpl.events.SystemEventHelper;
 import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.VersionedCopyOnWriteList;
 
 import jakarta.faces.application.Application;
 import jakarta.faces.application.ProjectStage;
@@ -184,23 +186,26 @@ public class Events {
     private SystemEvent invokeViewListenersFor(FacesContext ctx, Class<? extends SystemEvent> systemEventClass, SystemEvent event, Object source) {
         SystemEvent result = event;
 
+        UIViewRoot root = ctx.getViewRoot();
+        if (root == null) {
+            return result;
+        }
+
+        // Most events have no view listeners at all, skip them before touching the guard
+        List<SystemEventListener> listeners = root.getViewListenersForEventClass(systemEventClass);
+        if (listeners == null || listeners.isEmpty()) {
+            return result;
+        }
+
         if (listenerInvocationGuard.isGuardSet(ctx, systemEventClass)) {
             return result;
         }
         listenerInvocationGuard.setGuard(ctx, systemEventClass);
 
-        UIViewRoot root = ctx.getViewRoot();
         try {
-            if (root != null) {
-                List<SystemEventListener> listeners = root.getViewListenersForEventClass(systemEventClass);
-                if (null == listeners) {
-                    return null;
-                }
-
-                EventInfo rootEventInfo = systemEventHelper.getEventInfo(systemEventClass, UIViewRoot.class);
-                // process view listeners
-                result = processListenersAccountingForAdds(listeners, event, source, rootEventInfo);
-            }
+            EventInfo rootEventInfo = systemEventHelper.getEventInfo(systemEventClass, UIViewRoot.class);
+            // process view listeners
+            result = processListenersAccountingForAdds(listeners, event, source, rootEventInfo);
         } finally {
             listenerInvocationGuard.clearGuard(ctx, systemEventClass);
         }
@@ -231,7 +236,10 @@ public class Events {
     private SystemEvent processListeners(Collection<SystemEventListener> listeners, SystemEvent event, Object source, EventInfo eventInfo) {
 
         if (listeners != null && !listeners.isEmpty()) {
-            ArrayList<SystemEventListener> list = new ArrayList<>(listeners);
+            // The iterators of the copy-on-write collections are snapshots already, anything else is copied so that
+            // listeners can safely subscribe or unsubscribe while being invoked
+            Iterable<SystemEventListener> list = listeners instanceof CopyOnWriteArraySet || listeners instanceof VersionedCopyOnWriteList ? listeners
+                    : new ArrayList<>(listeners);
 
             for (SystemEventListener curListener : list) {
                 if (curListener != null && curListener.isListenerForSource(source)) {
@@ -254,6 +262,14 @@ public class Events {
 
         if (listeners != null && !listeners.isEmpty()) {
 
+            if (listeners instanceof VersionedCopyOnWriteList) {
+                Object[] snapshot = ((VersionedCopyOnWriteList<SystemEventListener>) listeners).getSnapshot();
+                if (snapshot.length <= Long.SIZE) {
+                    return processSnapshotAccountingForAdds((VersionedCopyOnWriteList<SystemEventListener>) listeners, snapshot, event, source,
+                            eventInfo);
+                }
+            }
+
             // copy listeners
             // go thru copy completely
             // compare copy to original
@@ -261,50 +277,108 @@ public class Events {
             // The new copy consists of the original list - processed
 
             SystemEventListener listenersCopy[] = new SystemEventListener[listeners.size()];
-            int i = 0;
-            for (i = 0; i < listenersCopy.length; i++) {
+            for (int i = 0; i < listenersCopy.length; i++) {
                 listenersCopy[i] = listeners.get(i);
             }
 
-            Map<SystemEventListener, Boolean> processedListeners = new HashMap<>(listeners.size());
-            boolean processedSomeEvents = false, originalDiffersFromCopy = false;
-
-            do {
-                i = 0;
-                originalDiffersFromCopy = false;
-                if (0 < listenersCopy.length) {
-                    for (i = 0; i < listenersCopy.length; i++) {
-                        SystemEventListener curListener = listenersCopy[i];
-                        if (curListener != null && curListener.isListenerForSource(source)) {
-                            if (event == null) {
-                                event = eventInfo.createSystemEvent(source);
-                            }
-                            assert event != null;
-                            if (!processedListeners.containsKey(curListener) && event.isAppropriateListener(curListener)) {
-                                processedSomeEvents = true;
-                                event.processListener(curListener);
-                                processedListeners.put(curListener, Boolean.TRUE);
-                            }
+            event = processListenersAccountingForAdds(listeners, listenersCopy, new HashMap<>(listeners.size()), false, event, source, eventInfo);
+        }
+
+        return event;
+
+    }
+
+    /**
+     * Dispatch straight from the array backing a {@link VersionedCopyOnWriteList}, which is never modified, tracking the
+     * processed listeners in a bit mask. Only if the list was modified by one of the listeners, fall back to copying the
+     * list without the processed listeners.
+     */
+    private SystemEvent processSnapshotAccountingForAdds(VersionedCopyOnWriteList<SystemEventListener> listeners, Object[] snapshot, SystemEvent event,
+            Object source, EventInfo eventInfo) {
+
+        long processed = 0L;
+        for (int i = 0; i < snapshot.length; i++) {
+            SystemEventListener curListener = (SystemEventListener) snapshot[i];
+            if (curListener != null && curListener.isListenerForSource(source)) {
+                if (event == null) {
+                    event = eventInfo.createSystemEvent(source);
+                }
+                assert event != null;
+                if (!isProcessed(snapshot, processed, i) && event.isAppropriateListener(curListener)) {
+                    event.processListener(curListener);
+                    processed |= 1L << i;
+                }
+            }
+        }
+
+        if (processed == 0L || listeners.getSnapshot() == snapshot || !originalDiffersFromCopy(listeners, snapshot)) {
+            return event;
+        }
+
+        Map<SystemEventListener, Boolean> processedListeners = new HashMap<>(snapshot.length);
+        for (int i = 0; i < snapshot.length; i++) {
+            if ((processed & 1L << i) != 0) {
+                processedListeners.put((SystemEventListener) snapshot[i], Boolean.TRUE);
+            }
+        }
+
+        return processListenersAccountingForAdds(listeners, copyListWithExclusions(listeners, processedListeners), processedListeners, true, event, source,
+                eventInfo);
+
+    }
+
+    private SystemEvent processListenersAccountingForAdds(List<SystemEventListener> listeners, SystemEventListener listenersCopy[],
+            Map<SystemEventListener, Boolean> processedListeners, boolean processedSomeEvents, SystemEvent event, Object source, EventInfo eventInfo) {
+
+        boolean originalDiffersFromCopy = false;
+
+        do {
+            originalDiffersFromCopy = false;
+            if (0 < listenersCopy.length) {
+                for (int i = 0; i < listenersCopy.length; i++) {
+                    SystemEventListener curListener = listenersCopy[i];
+                    if (curListener != null && curListener.isListenerForSource(source)) {
+                        if (event == null) {
+                            event = eventInfo.createSystemEvent(source);
+                        }
+                        assert event != null;
+                        if (!processedListeners.containsKey(curListener) && event.isAppropriateListener(curListener)) {
+                            processedSomeEvents = true;
+                            event.processListener(curListener);
+                            processedListeners.put(curListener, Boolean.TRUE);
                         }
-                    }
-                    if (originalDiffersFromCopy(listeners, listenersCopy)) {
-                        originalDiffersFromCopy = true;
-                        listenersCopy = copyListWithExclusions(listeners, processedListeners);
                     }
                 }
-            } while (originalDiffersFromCopy && processedSomeEvents);
-        }
+                if (originalDiffersFromCopy(listeners, listenersCopy)) {
+                    originalDiffersFromCopy = true;
+                    listenersCopy = copyListWithExclusions(listeners, processedListeners);
+                }
+            }
+        } while (originalDiffersFromCopy && processedSomeEvents);
 
         return event;
 
     }
 
-    private boolean originalDiffersFromCopy(Collection<SystemEventListener> original, SystemEventListener copy[]) {
+    /**
+     * @return <code>true</code> if a listener equal to the one at the given index of the snapshot was already processed
+     */
+    private boolean isProcessed(Object[] snapshot, long processed, int index) {
+        for (int i = 0; i < index; i++) {
+            if ((processed & 1L << i) != 0 && snapshot[i].equals(snapshot[index])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean originalDiffersFromCopy(Collection<SystemEventListener> original, Object copy[]) {
         boolean foundDifference = false;
         int i = 0, originalLen = original.size(), copyLen = copy.length;
 
         if (originalLen == copyLen) {
-            SystemEventListener originalItem, copyItem;
+            Object originalItem, copyItem;
             Iterator<SystemEventListener> iter = original.iterator();
             while (iter.hasNext() && !foundDifference) {
                 originalItem = iter.next();
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.el.DemuxCompositeELResolver;
 import com.sun.faces.el.FacesCompositeELResolver;
 
 import jakarta.el.CompositeELResolver;
@@ -42,6 +43,7 @@ public class ExpressionLanguage {
 
     private List<ELContextListener> elContextListeners;
     private CompositeELResolver elResolvers;
+    private volatile boolean hasELResolvers;
     private volatile FacesCompositeELResolver compositeELResolver;
 
     public ExpressionLanguage(ApplicationAssociate applicationAssociate) {
@@ -107,9 +109,21 @@ public class ExpressionLanguage {
 
         if (!resolver.equals(cdiBeanManager.getELResolver())) {
             elResolvers.add(resolver);
+            hasELResolvers = true;
+
+            if (compositeELResolver instanceof DemuxCompositeELResolver) {
+                ((DemuxCompositeELResolver) compositeELResolver).elResolverChanged(elResolvers);
+            }
         }
     }
 
+    /**
+     * @return <code>true</code> if resolvers were added to the application
+     */
+    public boolean hasApplicationELResolvers() {
+        return hasELResolvers;
+    }
+
     /*
      * @see jakarta.faces.application.Application#getExpressionFactory()
      */
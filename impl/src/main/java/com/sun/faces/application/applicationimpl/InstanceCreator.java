@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.applicationimpl;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ * Creates instances of the components, converters, validators and behaviors registered with the {@link InstanceFactory}
+ * through a {@link MethodHandle} for the public constructor of their class, which is looked up once per class.
+ * </p>
+ *
+ * <p>
+ * The creators are cached in a {@link ClassValue}, so they do not keep the classes of an application from being garbage
+ * collected. If the constructor cannot be accessed through a method handle, the instance is created reflectively so
+ * that the failure is reported the same way it used to be.
+ * </p>
+ *
+ * <p>
+ * The handles wrap what the constructor throws in an {@link InvocationTargetException}, so that it is told apart from
+ * the failures of the handle itself, which are reported as reflection would report them.
+ * </p>
+ */
+final class InstanceCreator {
+
+    private static final MethodType DEFAULT_CONSTRUCTOR = methodType(Object.class);
+
+    private static final MethodType CLASS_CONSTRUCTOR = methodType(Object.class, Class.class);
+
+    private static final MethodHandle WRAP_TARGET_EXCEPTION;
+
+    static {
+        try {
+            WRAP_TARGET_EXCEPTION = MethodHandles.lookup().findStatic(InstanceCreator.class, "wrapTargetException", methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<InstanceCreator> CREATORS = new ClassValue<InstanceCreator>() {
+        @Override
+        protected InstanceCreator computeValue(Class<?> type) {
+            return new InstanceCreator(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final MethodHandle defaultConstructor;
+
+    private final MethodHandle classConstructor;
+
+    // ------------------------------------------------------------ Constructors
+
+    private InstanceCreator(Class<?> type) {
+        this.type = type;
+        defaultConstructor = findConstructor(type, DEFAULT_CONSTRUCTOR);
+        classConstructor = findConstructor(type, CLASS_CONSTRUCTOR);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param type the class to create instances of
+     * @return the creator for the given class
+     */
+    static InstanceCreator forClass(Class<?> type) {
+        return CREATORS.get(type);
+    }
+
+    /**
+     * @return a new instance created with the public no-arguments constructor
+     * @throws ReflectiveOperationException if the class cannot be instantiated, or wrapped in an
+     * {@link InvocationTargetException} anything but an {@link Error} thrown by the constructor
+     */
+    Object newInstance() throws ReflectiveOperationException {
+        if (defaultConstructor == null) {
+            return type.getConstructor().newInstance();
+        }
+
+        try {
+            return defaultConstructor.invokeExact();
+        } catch (InvocationTargetException | Error e) {
+            throw e;
+        } catch (WrongMethodTypeException e) {
+            throw (InstantiationException) new InstantiationException(type.getName()).initCause(e);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException(e);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the class has a public constructor taking the target <code>Class</code> of a
+     * by-type converter
+     */
+    boolean hasClassConstructor() {
+        return classConstructor != null;
+    }
+
+    /**
+     * @param targetClass the argument for the constructor
+     * @return a new instance created with the public constructor taking a <code>Class</code>
+     * @throws InvocationTargetException wrapping anything but an {@link Error} thrown by the constructor
+     * @throws IllegalArgumentException if the handle cannot be invoked with the argument
+     * @throws IllegalStateException if there is no such constructor
+     */
+    Object newInstance(Class<?> targetClass) throws InvocationTargetException {
+        if (classConstructor == null) {
+            throw new IllegalStateException();
+        }
+
+        try {
+            return classConstructor.invokeExact(targetClass);
+        } catch (InvocationTargetException | Error e) {
+            throw e;
+        } catch (WrongMethodTypeException | ClassCastException e) {
+            throw new IllegalArgumentException(e);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static MethodHandle findConstructor(Class<?> type, MethodType genericType) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            // Let reflection report the InstantiationException
+            return null;
+        }
+
+        try {
+            MethodHandle constructor = MethodHandles.publicLookup().findConstructor(type, genericType.changeReturnType(void.class)).asType(genericType);
+            return MethodHandles.catchException(constructor, Throwable.class, WRAP_TARGET_EXCEPTION);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The exception handler of the constructor handles.
+     */
+    private static Object wrapTargetException(Throwable t) throws InvocationTargetException {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+
+        throw new InvocationTargetException(t);
+    }
+
+}
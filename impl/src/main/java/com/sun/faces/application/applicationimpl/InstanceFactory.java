@@ -27,7 +27,6 @@ import static jakarta.faces.application.Resource.COMPONENT_RESOURCE_KEY;
 import static jakarta.faces.component.UIComponent.ATTRS_WITH_DECLARED_DEFAULT_VALUES;
 import static jakarta.faces.component.UIComponent.BEANINFO_KEY;
 import static jakarta.faces.component.UIComponent.COMPOSITE_COMPONENT_TYPE_KEY;
-import static java.beans.Introspector.getBeanInfo;
 import static java.beans.PropertyEditorManager.findEditor;
 import static java.text.MessageFormat.format;
 import static java.util.Collections.unmodifiableMap;
@@ -37,11 +36,9 @@ import static java.util.logging.Level.WARNING;
 
 import java.beans.BeanDescriptor;
 import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorManager;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
 import java.util.Collection;
@@ -62,9 +59,10 @@ import com.sun.faces.application.ConverterPropertyEditorFactory;
 import com.sun.faces.application.ViewMemberInstanceFactoryMetadataMap;
 import com.sun.faces.cdi.CdiUtils;
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.BeanProperties;
+import com.sun.faces.util.BeanProperty;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.MessageUtils;
-import com.sun.faces.util.ReflectionUtils;
 import com.sun.faces.util.Util;
 
 import jakarta.el.ExpressionFactory;
@@ -254,13 +252,13 @@ public class InstanceFactory {
                     if (!associate.isDevModeEnabled()) {
                         componentMap.put(className, clazz);
                     }
-                    result = (UIComponent) clazz.newInstance();
+                    result = (UIComponent) InstanceCreator.forClass(clazz).newInstance();
                 }
             } catch (ClassNotFoundException ex) {
                 if (!associate.isDevModeEnabled()) {
                     componentMap.put(className, ComponentResourceClassNotFound.class);
                 }
-            } catch (InstantiationException | IllegalAccessException | ClassCastException ie) {
+            } catch (ReflectiveOperationException | ClassCastException ie) {
                 throw new FacesException(ie);
             }
         }
@@ -623,8 +621,8 @@ public class InstanceFactory {
             if (!associate.isDevModeEnabled()) {
                 componentMap.put(className, componentClass);
             }
-            result = (UIComponent) componentClass.newInstance();
-        } catch (IllegalAccessException | InstantiationException | ClassNotFoundException ex) {
+            result = (UIComponent) InstanceCreator.forClass(componentClass).newInstance();
+        } catch (ReflectiveOperationException ex) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, null, ex);
             }
@@ -742,7 +740,8 @@ public class InstanceFactory {
      * instanceof Class, proceed. Assert that the value is either instanceof java.lang.Class or java.lang.String.
      * </p>
      * <p>
-     * Now that you have a java.lang.class, call its newInstance and return it as the result of this method.
+     * Now that you have a java.lang.class, create a new instance with its public no-arguments constructor, using the
+     * {@link InstanceCreator} of the class, and return it as the result of this method.
      * </p>
      *
      * @param key Used to look up the value in the <code>Map</code>.
@@ -777,7 +776,7 @@ public class InstanceFactory {
         }
 
         try {
-            result = clazz.newInstance();
+            result = InstanceCreator.forClass(clazz).newInstance();
         } catch (Throwable t) {
             Throwable previousT;
             do {
@@ -805,7 +804,7 @@ public class InstanceFactory {
             ExpressionFactory expressionFactory) {
 
         Collection<String> attributesWithDeclaredDefaultValues = null;
-        PropertyDescriptor[] propertyDescriptors = null;
+        BeanProperties componentProperties = null;
 
         for (PropertyDescriptor propertyDescriptor : componentMetadata.getPropertyDescriptors()) {
             Object defaultValue = propertyDescriptor.getValue("default");
@@ -841,15 +840,11 @@ public class InstanceFactory {
                     // If it is a MethodExpression, it will be dealt with in
                     // retargetMethodExpressions.
                     if (isLiteralText) {
-                        try {
-                            if (propertyDescriptors == null) {
-                                propertyDescriptors = getBeanInfo(component.getClass()).getPropertyDescriptors();
-                            }
-                        } catch (IntrospectionException e) {
-                            throw new FacesException(e);
+                        if (componentProperties == null) {
+                            componentProperties = BeanProperties.forClass(component.getClass());
                         }
 
-                        defaultValue = convertValueToTypeIfNecessary(key, defaultValue, propertyDescriptors, expressionFactory);
+                        defaultValue = convertValueToTypeIfNecessary(key, defaultValue, componentProperties, expressionFactory);
                         attrs.put(key, defaultValue);
                     }
                 }
@@ -858,19 +853,17 @@ public class InstanceFactory {
     }
 
     /**
-     * Helper method to convert a value to a type as defined in PropertyDescriptor(s)
+     * Helper method to convert a value to the type of the bean property with the given name, if any
      *
      * @param name
      * @param value
-     * @param propertyDescriptors
+     * @param properties
      * @return value
      */
-    private Object convertValueToTypeIfNecessary(String name, Object value, PropertyDescriptor[] propertyDescriptors, ExpressionFactory expressionFactory) {
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            if (propertyDescriptor.getName().equals(name)) {
-                value = expressionFactory.coerceToType(value, propertyDescriptor.getPropertyType());
-                break;
-            }
+    private Object convertValueToTypeIfNecessary(String name, Object value, BeanProperties properties, ExpressionFactory expressionFactory) {
+        BeanProperty property = properties.get(name);
+        if (property != null) {
+            value = expressionFactory.coerceToType(value, property.getType());
         }
 
         return value;
@@ -973,7 +966,8 @@ public class InstanceFactory {
      * instanceof Class, proceed. Assert that the value is either instanceof java.lang.Class or java.lang.String.
      * </p>
      * <p>
-     * Now that you have a java.lang.class, call its newInstance and return it as the result of this method.
+     * Now that you have a java.lang.class, create a new instance with its public constructor taking the target class, if
+     * any, else with its public no-arguments constructor, and return it as the result of this method.
      * </p>
      *
      * @param key Used to look up the value in the <code>Map</code>.
@@ -1008,18 +1002,18 @@ public class InstanceFactory {
             clazz = (Class) value;
         }
 
-        Constructor ctor = ReflectionUtils.lookupConstructor(clazz, Class.class);
+        InstanceCreator creator = InstanceCreator.forClass(clazz);
         Throwable cause = null;
-        if (ctor != null) {
+        if (creator.hasClassConstructor()) {
             try {
-                result = ctor.newInstance(targetClass);
-            } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                result = creator.newInstance(targetClass);
+            } catch (IllegalArgumentException | InvocationTargetException e) {
                 cause = e;
             }
         } else {
             try {
-                result = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
+                result = creator.newInstance();
+            } catch (IllegalArgumentException | ReflectiveOperationException e) {
                 cause = e;
             }
         }
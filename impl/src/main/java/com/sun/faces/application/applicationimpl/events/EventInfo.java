@@ -16,11 +16,15 @@
 
 package com.sun.faces.application.applicationimpl.events;
 
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,16 +38,41 @@ import jakarta.faces.event.SystemEventListener;
 /**
  * Represent a logical association between a SystemEvent and a Source. This call will contain the Listeners specific to
  * this association as well as provide a method to construct new SystemEvents as required.
+ *
+ * The events are constructed through a method handle for the event constructor, which is looked up once per source
+ * class. A source class for which the event has no suitable constructor is remembered as well, so that it is not looked
+ * up again for every event.
  */
 public class EventInfo {
 
     private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
 
+    private static final MethodType FACTORY_TYPE = methodType(SystemEvent.class, Object.class);
+
+    /**
+     * Marks a source class for which the event has no suitable constructor.
+     */
+    private static final MethodHandle NO_FACTORY = MethodHandles.constant(SystemEvent.class, null);
+
+    /**
+     * Creates events through reflection, for constructors that cannot be accessed through a method handle.
+     */
+    private static final MethodHandle REFLECTIVE_FACTORY;
+
+    static {
+        try {
+            REFLECTIVE_FACTORY = MethodHandles.lookup().findStatic(EventInfo.class, "newInstance",
+                    methodType(SystemEvent.class, Constructor.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private Class<? extends SystemEvent> systemEvent;
     private Class<?> sourceClass;
     private Set<SystemEventListener> listeners;
-    private Constructor eventConstructor;
-    private Map<Class<?>, Constructor> constructorMap;
+    private MethodHandle eventFactory;
+    private Map<Class<?>, MethodHandle> factoryMap;
 
     // -------------------------------------------------------- Constructors
 
@@ -52,9 +81,12 @@ public class EventInfo {
         this.systemEvent = systemEvent;
         this.sourceClass = sourceClass;
         listeners = new CopyOnWriteArraySet<>();
-        constructorMap = new HashMap<>();
+        factoryMap = new ConcurrentHashMap<>();
         if (!sourceClass.equals(Void.class)) {
-            eventConstructor = getEventConstructor(sourceClass);
+            MethodHandle factory = getEventFactory(sourceClass);
+            if (factory != NO_FACTORY) {
+                eventFactory = factory;
+            }
         }
 
     }
@@ -69,12 +101,12 @@ public class EventInfo {
 
     public SystemEvent createSystemEvent(Object source) {
 
-        Constructor toInvoke = getCachedConstructor(source.getClass());
-        if (toInvoke != null) {
+        MethodHandle toInvoke = getCachedFactory(source.getClass());
+        if (toInvoke != NO_FACTORY) {
             try {
-                return (SystemEvent) toInvoke.newInstance(source);
-            } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new FacesException(e);
+                return (SystemEvent) toInvoke.invokeExact(source);
+            } catch (Throwable t) {
+                throw new FacesException(t);
             }
         }
         return null;
@@ -83,32 +115,45 @@ public class EventInfo {
 
     // ----------------------------------------------------- Private Methods
 
-    private Constructor getCachedConstructor(Class<?> source) {
+    private MethodHandle getCachedFactory(Class<?> source) {
 
-        if (eventConstructor != null) {
-            return eventConstructor;
-        } else {
-            Constructor c = constructorMap.get(source);
-            if (c == null) {
-                c = getEventConstructor(source);
-                if (c != null) {
-                    constructorMap.put(source, c);
-                }
-            }
-            return c;
+        if (eventFactory != null) {
+            return eventFactory;
+        }
+
+        MethodHandle factory = factoryMap.get(source);
+        if (factory == null) {
+            factory = getEventFactory(source);
+            factoryMap.put(source, factory);
         }
+        return factory;
 
     }
 
-    private Constructor getEventConstructor(Class<?> source) {
+    private MethodHandle getEventFactory(Class<?> source) {
+
+        Constructor<?> ctor = getEventConstructor(source);
+        if (ctor == null) {
+            return NO_FACTORY;
+        }
+
+        try {
+            return MethodHandles.publicLookup().unreflectConstructor(ctor).asType(FACTORY_TYPE);
+        } catch (IllegalAccessException e) {
+            // Not accessible through a method handle, e.g. a public constructor of a non-public class
+            return MethodHandles.insertArguments(REFLECTIVE_FACTORY, 0, ctor);
+        }
+
+    }
+
+    private Constructor<?> getEventConstructor(Class<?> source) {
 
-        Constructor ctor = null;
         try {
             return systemEvent.getDeclaredConstructor(source);
         } catch (NoSuchMethodException ignored) {
-            Constructor[] ctors = systemEvent.getConstructors();
+            Constructor<?>[] ctors = systemEvent.getConstructors();
             if (ctors != null) {
-                for (Constructor c : ctors) {
+                for (Constructor<?> c : ctors) {
                     Class<?>[] params = c.getParameterTypes();
                     if (params.length != 1) {
                         continue;
@@ -118,12 +163,18 @@ public class EventInfo {
                     }
                 }
             }
-            if (eventConstructor == null && LOGGER.isLoggable(Level.FINE)) {
+            if (eventFactory == null && LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "Unable to find Constructor within {0} that accepts {1} instances.",
                         new Object[] { systemEvent.getName(), sourceClass.getName() });
             }
         }
-        return ctor;
+        return null;
+
+    }
+
+    private static SystemEvent newInstance(Constructor<?> ctor, Object source) throws ReflectiveOperationException {
+
+        return (SystemEvent) ctor.newInstance(source);
 
     }
 
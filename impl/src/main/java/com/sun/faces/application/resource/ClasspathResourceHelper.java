@@ -57,6 +57,11 @@ public class ClasspathResourceHelper extends ResourceHelper {
         cacheTimestamp = webconfig.isOptionEnabled(CacheResourceModificationTimestamp);
         enableMissingResourceLibraryDetection = webconfig.isOptionEnabled(EnableMissingResourceLibraryDetection);
 
+        // Index the libraries of the JARs at startup rather than while the first request for a library is waiting
+        if (enableMissingResourceLibraryDetection) {
+            libraryScanner = new ZipDirectoryEntryScanner();
+        }
+
     }
 
     @Override
@@ -16,16 +16,21 @@
 
 package com.sun.faces.application.resource;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableMissingResourceCache;
 import static com.sun.faces.util.Util.notNull;
 import static java.util.logging.Level.FINE;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
 import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.LRUMap;
 import com.sun.faces.util.MultiKeyConcurrentHashMap;
 
 import jakarta.servlet.ServletContext;
@@ -43,16 +48,42 @@ import jakarta.servlet.ServletContext;
  * static. If value of this option is <code>less than 0</code>, then no caching will be perfomed. Otherwise, the value
  * of the option will be the number of minutes between modification checks.
  * </p>
+ *
+ * <p>
+ * If the context init param <code>com.sun.faces.enableMissingResourceCache</code> is enabled, the resources which could
+ * not be found are cached as well, so that repeated requests for missing resources don't search the contracts, locales
+ * and libraries again. They are looked up again once the check period has passed, and are never looked up again if the
+ * cache is static. As the names of requested resources are up to the client, only the most recently requested missing
+ * resources are kept.
+ * </p>
  */
 public class ResourceCache {
 
     private static final Logger LOGGER = FacesLogger.RESOURCE.getLogger();
 
+    /**
+     * The maximum number of missing resources to cache, as the names of requested resources are up to the client. The
+     * least recently requested ones are evicted first.
+     */
+    private static final int MAX_MISSING_RESOURCES = 1024;
+
     /**
      * The <code>ResourceInfo<code> cache.
      */
     private MultiKeyConcurrentHashMap<Object, ResourceInfoCheckPeriodProxy> resourceCache;
 
+    /**
+     * The times at which the missing resources are to be looked up again, or <code>null</code> if missing resources are
+     * not cached.
+     */
+    private Map<List<Object>, Long> missingResources;
+
+    /**
+     * The times at which the missing view resources are to be looked up again, or <code>null</code> if missing resources
+     * are not cached.
+     */
+    private Map<List<Object>, Long> missingViewResources;
+
     /**
      * Resource check period in minutes.
      */
@@ -68,7 +99,7 @@ public class ResourceCache {
     }
 
     private ResourceCache(WebConfiguration config) {
-        this(getCheckPeriod(config));
+        this(getCheckPeriod(config), config.isOptionEnabled(EnableMissingResourceCache));
 
         if (LOGGER.isLoggable(FINE)) {
             ServletContext sc = config.getServletContext();
@@ -79,8 +110,17 @@ public class ResourceCache {
 
     // this one is for unit tests
     ResourceCache(long period) {
+        this(period, false);
+    }
+
+    // this one is for unit tests
+    ResourceCache(long period, boolean cacheMissingResources) {
         checkPeriod = period != -1 ? period * 1000L * 60L : -1;
         resourceCache = new MultiKeyConcurrentHashMap<>(30);
+        if (cacheMissingResources && checkPeriod != -1) {
+            missingResources = Collections.synchronizedMap(new LRUMap<>(MAX_MISSING_RESOURCES));
+            missingViewResources = Collections.synchronizedMap(new LRUMap<>(MAX_MISSING_RESOURCES));
+        }
     }
 
     // ---------------------------------------------------------- Public Methods
@@ -124,6 +164,56 @@ public class ResourceCache {
         return proxy != null ? proxy.getResourceInfo() : null;
     }
 
+    /**
+     * Remember that the resource could not be found, if missing resources are cached.
+     *
+     * @param name the resource name
+     * @param libraryName the library name
+     * @param localePrefix the locale prefix
+     * @param contracts the contracts
+     * @param isViewResource whether the resource was looked up as a view resource
+     */
+    public void addMissing(String name, String libraryName, String localePrefix, List<String> contracts, boolean isViewResource) {
+        notNull("name", name);
+
+        Map<List<Object>, Long> missing = isViewResource ? missingViewResources : missingResources;
+        if (missing == null) {
+            return;
+        }
+
+        if (LOGGER.isLoggable(FINE)) {
+            LOGGER.log(FINE, "Caching missing resource: {0}", name);
+        }
+        Long checkTime = checkPeriod != 0 ? System.currentTimeMillis() + checkPeriod : Long.MAX_VALUE;
+        missing.put(Arrays.asList(name, libraryName, localePrefix, new ArrayList<>(contracts)), checkTime);
+    }
+
+    /**
+     * @param name the resource name
+     * @param libraryName the library name
+     * @param localePrefix the locale prefix
+     * @param contracts the contracts
+     * @param isViewResource whether the resource is looked up as a view resource
+     * @return <code>true</code> if the resource is known to be missing, and is not to be looked up again yet.
+     */
+    public boolean isMissing(String name, String libraryName, String localePrefix, List<String> contracts, boolean isViewResource) {
+        notNull("name", name);
+
+        Map<List<Object>, Long> missing = isViewResource ? missingViewResources : missingResources;
+        if (missing == null) {
+            return false;
+        }
+
+        List<Object> key = Arrays.asList(name, libraryName, localePrefix, contracts);
+        Long checkTime = missing.get(key);
+        if (checkTime != null && checkTime < System.currentTimeMillis()) {
+            missing.remove(key);
+            return false;
+        }
+
+        return checkTime != null;
+    }
+
     /**
      * <p>
      * Empty the cache.
@@ -131,6 +221,10 @@ public class ResourceCache {
      */
     public void clear() {
         resourceCache.clear();
+        if (missingResources != null) {
+            missingResources.clear();
+            missingViewResources.clear();
+        }
         LOGGER.log(FINE, "Cache Cleared");
     }
 
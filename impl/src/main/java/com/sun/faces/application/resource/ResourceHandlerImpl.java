@@ -48,6 +48,7 @@ import java.util.stream.Stream;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.context.AsyncWritingResponse;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.RequestStateManager;
 import com.sun.faces.util.Util;
@@ -277,6 +278,12 @@ public class ResourceHandlerImpl extends ResourceHandler {
 
         if (resource != null) {
             if (resource.userAgentNeedsUpdate(context)) {
+                AsyncWritingResponse asyncResponse = AsyncWritingResponse.getInstance(extContext);
+                if (asyncResponse != null) {
+                    handleResourceRequestAsync(context, resource, resourceName, libraryName, asyncResponse);
+                    return;
+                }
+
                 ReadableByteChannel resourceChannel = null;
                 WritableByteChannel out = null;
                 ByteBuffer buf = allocateByteBuffer();
@@ -336,6 +343,34 @@ public class ResourceHandlerImpl extends ResourceHandler {
 
     }
 
+    /**
+     * Hand the body of the resource over to the response, which writes it once the request has been processed.
+     */
+    private void handleResourceRequestAsync(FacesContext context, Resource resource, String resourceName, String libraryName,
+            AsyncWritingResponse asyncResponse) {
+        InputStream in;
+        try {
+            in = resource.getInputStream();
+        } catch (IOException ioe) {
+            send404(context, resourceName, libraryName, ioe, true);
+            return;
+        }
+
+        if (in == null) {
+            send404(context, resourceName, libraryName, true);
+            return;
+        }
+
+        // Hand the stream over first, so it is closed if the headers cannot be set
+        asyncResponse.setBody(in);
+
+        String contentType = resource.getContentType();
+        if (contentType != null) {
+            context.getExternalContext().setResponseContentType(contentType);
+        }
+        handleHeaders(context, resource);
+    }
+
     private boolean libraryNameIsSafe(String libraryName) {
         assert null != libraryName;
         boolean result;
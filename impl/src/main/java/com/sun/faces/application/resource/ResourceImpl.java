@@ -16,6 +16,7 @@
 
 package com.sun.faces.application.resource;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableResourceRequestPathCache;
 import static com.sun.faces.util.Util.getFacesMapping;
 import static com.sun.faces.util.Util.getFirstWildCardMappingToFacesServlet;
 import static com.sun.faces.util.Util.getLastModified;
@@ -49,6 +50,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.FacesLogger;
 
 import jakarta.faces.application.ProjectStage;
@@ -246,6 +248,27 @@ public class ResourceImpl extends Resource implements Externalizable {
         FacesContext context = FacesContext.getCurrentInstance();
         HttpServletMapping mapping = getFacesMapping(context);
 
+        String uri;
+        if (WebConfiguration.getInstance(context.getExternalContext()).isOptionEnabled(EnableResourceRequestPathCache)) {
+            initResourceInfo();
+            uri = resourceInfo.getRequestPath(mapping, getResourceName(), getLibraryName());
+            if (uri == null) {
+                uri = buildRequestPath(context, mapping);
+                resourceInfo.setRequestPath(mapping, getResourceName(), getLibraryName(), uri);
+            }
+        } else {
+            uri = buildRequestPath(context, mapping);
+        }
+
+        return context.getApplication().getViewHandler().getResourceURL(context, uri);
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @param mapping the mapping of the <code>FacesServlet</code> for the current request
+     * @return the request path of this resource, before it is passed to the view handler
+     */
+    private String buildRequestPath(FacesContext context, HttpServletMapping mapping) {
         String uri = null;
 
         // Check for exact mapping first
@@ -329,7 +352,7 @@ public class ResourceImpl extends Resource implements Externalizable {
             }
         }
 
-        return context.getApplication().getViewHandler().getResourceURL(context, uri);
+        return uri;
     }
 
     /**
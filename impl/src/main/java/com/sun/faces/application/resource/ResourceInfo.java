@@ -16,6 +16,11 @@
 
 package com.sun.faces.application.resource;
 
+import java.util.Objects;
+
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.MappingMatch;
+
 public class ResourceInfo {
 
     ResourceHelper helper;
@@ -28,6 +33,12 @@ public class ResourceInfo {
     VersionInfo version;
     boolean doNotCache = false;
 
+    /**
+     * The request path of the resource, before it is passed to the view handler, for the last <code>FacesServlet</code>
+     * mapping it was built for. As this instance is cached by the ResourceCache, it is dropped together with it.
+     */
+    private volatile RequestPath requestPath;
+
     public ResourceInfo(LibraryInfo library, ContractInfo contract, String name, VersionInfo version) {
         this.contract = contract;
         this.library = library;
@@ -66,6 +77,7 @@ public class ResourceInfo {
         name = other.name;
         path = other.path;
         version = other.version;
+        requestPath = null;
     }
 
     @Override
@@ -172,4 +184,48 @@ public class ResourceInfo {
         return version;
     }
 
+    /**
+     * @param mapping the mapping of the <code>FacesServlet</code> for the current request
+     * @param resourceName the resource name of the resource
+     * @param libraryName the library name of the resource, if any
+     * @return the request path built for the given mapping and names, or <code>null</code> if there is none
+     */
+    String getRequestPath(HttpServletMapping mapping, String resourceName, String libraryName) {
+        RequestPath current = requestPath;
+        return current != null && current.matches(mapping, resourceName, libraryName) ? current.path : null;
+    }
+
+    /**
+     * @param mapping the mapping of the <code>FacesServlet</code> for the current request
+     * @param resourceName the resource name of the resource
+     * @param libraryName the library name of the resource, if any
+     * @param path the request path built for the given mapping and names
+     */
+    void setRequestPath(HttpServletMapping mapping, String resourceName, String libraryName, String path) {
+        requestPath = new RequestPath(mapping, resourceName, libraryName, path);
+    }
+
+    private static final class RequestPath {
+
+        private final MappingMatch mappingMatch;
+        private final String pattern;
+        private final String resourceName;
+        private final String libraryName;
+        private final String path;
+
+        RequestPath(HttpServletMapping mapping, String resourceName, String libraryName, String path) {
+            mappingMatch = mapping.getMappingMatch();
+            pattern = mapping.getPattern();
+            this.resourceName = resourceName;
+            this.libraryName = libraryName;
+            this.path = path;
+        }
+
+        boolean matches(HttpServletMapping mapping, String resourceName, String libraryName) {
+            return mappingMatch == mapping.getMappingMatch() && Objects.equals(pattern, mapping.getPattern()) && Objects.equals(this.resourceName, resourceName)
+                    && Objects.equals(this.libraryName, libraryName);
+        }
+
+    }
+
 }
@@ -143,12 +143,16 @@ public class ResourceManager {
 
         ResourceInfo info = getFromCache(resourceName, null, localePrefix, contracts);
 
-        if (info == null) {
+        if (info == null && !isMissing(resourceName, null, localePrefix, contracts, true)) {
             if (isCompressable(contentType, facesContext)) {
                 info = findResourceCompressed(null, resourceName, true, localePrefix, contracts, facesContext);
             } else {
                 info = findResourceNonCompressed(null, resourceName, true, localePrefix, contracts, facesContext);
             }
+
+            if (info == null) {
+                addMissingToCache(resourceName, null, localePrefix, contracts, true);
+            }
         }
 
         return info;
@@ -161,12 +165,16 @@ public class ResourceManager {
 
         ResourceInfo info = getFromCache(resourceName, libraryName, localePrefix, contracts);
 
-        if (info == null) {
+        if (info == null && !isMissing(resourceName, libraryName, localePrefix, contracts, isViewResource)) {
             if (isCompressable(contentType, ctx)) {
                 info = findResourceCompressed(libraryName, resourceName, isViewResource, localePrefix, contracts, ctx);
             } else {
                 info = findResourceNonCompressed(libraryName, resourceName, isViewResource, localePrefix, contracts, ctx);
             }
+
+            if (info == null) {
+                addMissingToCache(resourceName, libraryName, localePrefix, contracts, isViewResource);
+            }
         }
 
         return info;
@@ -375,6 +383,39 @@ public class ResourceManager {
         return cache.get(name, library, localePrefix, contracts);
     }
 
+    /**
+     * @param name the resource name
+     * @param library the library name
+     * @param localePrefix the Locale prefix
+     * @param contracts the contracts
+     * @param isViewResource whether the resource is looked up as a view resource
+     * @return <code>true</code> if the cache knows the resource to be missing
+     */
+    private boolean isMissing(String name, String library, String localePrefix, List<String> contracts, boolean isViewResource) {
+        if (cache == null) {
+            return false;
+        }
+
+        return cache.isMissing(name, library, localePrefix, contracts, isViewResource);
+    }
+
+    /**
+     * Adds the specified missing resource to the cache.
+     *
+     * @param name the resource name
+     * @param library the library name
+     * @param localePrefix the Locale prefix
+     * @param contracts the contracts
+     * @param isViewResource whether the resource was looked up as a view resource
+     */
+    private void addMissingToCache(String name, String library, String localePrefix, List<String> contracts, boolean isViewResource) {
+        if (cache == null) {
+            return;
+        }
+
+        cache.addMissing(name, library, localePrefix, contracts, isViewResource);
+    }
+
     /**
      * Adds the the specified {@link ResourceInfo} to the cache.
      *
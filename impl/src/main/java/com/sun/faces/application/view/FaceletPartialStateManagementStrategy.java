@@ -18,6 +18,8 @@ package com.sun.faces.application.view;
 
 import static com.sun.faces.RIConstants.DYNAMIC_ACTIONS;
 import static com.sun.faces.RIConstants.DYNAMIC_COMPONENT;
+import static com.sun.faces.RIConstants.TREE_HAS_DYNAMIC_COMPONENTS;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnablePositionalStateKeys;
 import static com.sun.faces.util.ComponentStruct.ADD;
 import static com.sun.faces.util.ComponentStruct.REMOVE;
 import static com.sun.faces.util.Util.isEmpty;
@@ -28,15 +30,19 @@ import static jakarta.faces.component.visit.VisitResult.REJECT;
 import static java.util.logging.Level.FINEST;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.component.DirtyComponentTracker;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.context.StateContext;
 import com.sun.faces.renderkit.RenderKitUtils;
 import com.sun.faces.util.ComponentStruct;
@@ -335,9 +341,35 @@ public class FaceletPartialStateManagementStrategy extends StateManagementStrate
             return null;
         }
 
-        @SuppressWarnings("unchecked")
-        final Map<String, Object> state = (Map<String, Object>) rawState[1];
         final StateContext stateContext = StateContext.getStateContext(context);
+        final Map<String, Object> state;
+
+        if (rawState[1] instanceof PositionalState) {
+            PositionalState positionalState = (PositionalState) rawState[1];
+            boolean restored;
+            try {
+                stateContext.setTrackViewModifications(false);
+                context.getAttributes().put(SKIP_ITERATION_HINT, true);
+                restored = positionalState.restore(context, viewRoot);
+            } finally {
+                stateContext.setTrackViewModifications(true);
+                context.getAttributes().remove(SKIP_ITERATION_HINT);
+            }
+
+            if (restored) {
+                context.setProcessingEvents(processingEvents);
+                return viewRoot;
+            }
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "The view built for the postback of view ''{0}'' differs from the saved view, restoring its state by client id", viewId);
+            }
+            state = positionalState.getStateByClientId();
+        } else {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> stateMap = (Map<String, Object>) rawState[1];
+            state = stateMap;
+        }
 
         if (state != null) {
             try {
@@ -358,6 +390,7 @@ public class FaceletPartialStateManagementStrategy extends StateManagementStrate
                         if (restoreStateNow) {
                             try {
                                 target.restoreState(context1.getFacesContext(), stateObj);
+                                DirtyComponentTracker.markDirty(target);
                             } catch (Exception e) {
                                 String msg = MessageUtils.getExceptionMessageString(MessageUtils.PARTIAL_STATE_ERROR_RESTORING_ID, cid, e.toString());
                                 throw new FacesException(msg, e);
@@ -437,29 +470,31 @@ public class FaceletPartialStateManagementStrategy extends StateManagementStrate
         final StateContext stateContext = StateContext.getStateContext(context);
 
         context.getAttributes().put(SKIP_ITERATION_HINT, true);
-        Set<VisitHint> hints = EnumSet.of(VisitHint.SKIP_ITERATION);
-        VisitContext visitContext = VisitContext.createVisitContext(context, null, hints);
-        final FacesContext finalContext = context;
 
         try {
-            viewRoot.visitTree(visitContext, (context1, target) -> {
-                VisitResult result = VisitResult.ACCEPT;
-                Object stateObj;
-                if (!target.isTransient()) {
-                    if (stateContext.componentAddedDynamically(target)) {
-                        target.getAttributes().put(DYNAMIC_COMPONENT, target.getParent().getChildren().indexOf(target));
-                        stateObj = new StateHolderSaver(finalContext, target);
-                    } else {
-                        stateObj = target.saveState(context1.getFacesContext());
-                    }
+            // Only the components which may have state to save need to be visited, if they are tracked
+            List<UIComponent> dirtyComponents = DirtyComponentTracker.getComponents(context, viewRoot);
+            if (isPositionalStateApplicable(context, viewRoot, stateContext)) {
+                Set<UIComponent> components = null;
+                if (dirtyComponents != null) {
+                    components = Collections.newSetFromMap(new IdentityHashMap<>());
+                    components.addAll(dirtyComponents);
+                }
+                Object state = PositionalState.save(context, viewRoot, components);
+                StateContext.release(context);
+                return new Object[] { null, state };
+            }
+
+            if (dirtyComponents != null) {
+                for (UIComponent target : dirtyComponents) {
+                    Object stateObj = target.saveState(context);
                     if (stateObj != null) {
-                        stateMap.put(target.getClientId(context1.getFacesContext()), stateObj);
+                        stateMap.put(target.getClientId(context), stateObj);
                     }
-                } else {
-                    return VisitResult.REJECT;
                 }
-                return result;
-            });
+            } else {
+                saveTree(context, viewRoot, stateContext, stateMap);
+            }
         } finally {
             context.getAttributes().remove(SKIP_ITERATION_HINT);
         }
@@ -468,4 +503,49 @@ public class FaceletPartialStateManagementStrategy extends StateManagementStrate
         StateContext.release(context);
         return new Object[] { null, stateMap };
     }
+
+    /**
+     * Is the state of the view to be keyed by the position of the components instead of their client id.
+     *
+     * @param context the Faces context.
+     * @param viewRoot the view root.
+     * @param stateContext the state context.
+     * @return true if it is, false otherwise.
+     */
+    private boolean isPositionalStateApplicable(FacesContext context, UIViewRoot viewRoot, StateContext stateContext) {
+        return WebConfiguration.getInstance(context.getExternalContext()).isOptionEnabled(EnablePositionalStateKeys)
+                && !viewRoot.getAttributes().containsKey(TREE_HAS_DYNAMIC_COMPONENTS) && isEmpty(stateContext.getDynamicActions());
+    }
+
+    /**
+     * Save the state of all components of the view.
+     *
+     * @param context the Faces context.
+     * @param viewRoot the view root.
+     * @param stateContext the state context.
+     * @param stateMap the state.
+     */
+    private void saveTree(final FacesContext context, UIViewRoot viewRoot, final StateContext stateContext, final Map<String, Object> stateMap) {
+        Set<VisitHint> hints = EnumSet.of(VisitHint.SKIP_ITERATION);
+        VisitContext visitContext = VisitContext.createVisitContext(context, null, hints);
+
+        viewRoot.visitTree(visitContext, (context1, target) -> {
+            VisitResult result = VisitResult.ACCEPT;
+            Object stateObj;
+            if (!target.isTransient()) {
+                if (stateContext.componentAddedDynamically(target)) {
+                    target.getAttributes().put(DYNAMIC_COMPONENT, target.getParent().getChildren().indexOf(target));
+                    stateObj = new StateHolderSaver(context, target);
+                } else {
+                    stateObj = target.saveState(context1.getFacesContext());
+                }
+                if (stateObj != null) {
+                    stateMap.put(target.getClientId(context1.getFacesContext()), stateObj);
+                }
+            } else {
+                return VisitResult.REJECT;
+            }
+            return result;
+        });
+    }
 }
@@ -19,6 +19,8 @@ package com.sun.faces.application.view;
 import static com.sun.faces.RIConstants.DYNAMIC_COMPONENT;
 import static com.sun.faces.RIConstants.FACELETS_ENCODING_KEY;
 import static com.sun.faces.RIConstants.FLOW_DEFINITION_ID_SUFFIX;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableStreamingRender;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableUtf8ByteResponseWriter;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsBufferSize;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsViewMappings;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.StateSavingMethod;
@@ -28,6 +30,8 @@ import static com.sun.faces.renderkit.RenderKitUtils.getResponseStateManager;
 import static com.sun.faces.util.ComponentStruct.ADD;
 import static com.sun.faces.util.ComponentStruct.REMOVE;
 import static com.sun.faces.util.RequestStateManager.FACELET_FACTORY;
+import static com.sun.faces.util.RequestStateManager.STREAMING_RENDER_WRITER;
+import static com.sun.faces.util.RequestStateManager.UTF8_RESPONSE_OUTPUT_WRITER;
 import static com.sun.faces.util.Util.getDOCTYPEFromFacesContextAttributes;
 import static com.sun.faces.util.Util.getXMLDECLFromFacesContextAttributes;
 import static com.sun.faces.util.Util.isEmpty;
@@ -54,6 +58,7 @@ import static jakarta.faces.view.AttachedObjectTarget.ATTACHED_OBJECT_TARGETS_KE
 import static jakarta.faces.view.facelets.FaceletContext.FACELET_CONTEXT_KEY;
 import static jakarta.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
 import static java.util.logging.Level.FINE;
@@ -79,8 +84,11 @@ import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.component.ClientIdIndex;
+import com.sun.faces.component.DirtyComponentTracker;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.context.StateContext;
+import com.sun.faces.context.flash.ELFlash;
 import com.sun.faces.facelets.el.ContextualCompositeMethodExpression;
 import com.sun.faces.facelets.el.VariableMapperWrapper;
 import com.sun.faces.facelets.impl.DefaultFaceletFactory;
@@ -88,7 +96,11 @@ import com.sun.faces.facelets.impl.XMLFrontMatterSaver;
 import com.sun.faces.facelets.tag.composite.CompositeComponentBeanInfo;
 import com.sun.faces.facelets.tag.faces.CompositeComponentTagHandler;
 import com.sun.faces.facelets.tag.ui.UIDebug;
+import com.sun.faces.io.Utf8OutputStreamWriter;
 import com.sun.faces.renderkit.RenderKitUtils;
+import com.sun.faces.renderkit.ResponseStateManagerImpl;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+import com.sun.faces.renderkit.StateHelper;
 import com.sun.faces.renderkit.html_basic.DoctypeRenderer;
 import com.sun.faces.util.Cache;
 import com.sun.faces.util.ComponentStruct;
@@ -117,6 +129,8 @@ import jakarta.faces.component.visit.VisitContext;
 import jakarta.faces.component.visit.VisitResult;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.Flash;
+import jakarta.faces.context.FlashWrapper;
 import jakarta.faces.context.ResponseWriter;
 import jakarta.faces.event.ActionEvent;
 import jakarta.faces.event.MethodExpressionActionListener;
@@ -124,6 +138,7 @@ import jakarta.faces.event.MethodExpressionValueChangeListener;
 import jakarta.faces.event.PostAddToViewEvent;
 import jakarta.faces.event.ValueChangeEvent;
 import jakarta.faces.render.RenderKit;
+import jakarta.faces.render.ResponseStateManager;
 import jakarta.faces.validator.MethodExpressionValidator;
 import jakarta.faces.view.ActionSource2AttachedObjectHandler;
 import jakarta.faces.view.ActionSource2AttachedObjectTarget;
@@ -150,6 +165,11 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
 
     private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
 
+    /**
+     * Context attribute telling <code>UIViewRoot</code> to restore only its view scope.
+     */
+    private static final String RESTORE_VIEW_SCOPE_ONLY = "com.sun.faces.application.view.restoreViewScopeOnly";
+
     private ViewDeclarationLanguageFactory vdlFactory;
 
     private DefaultFaceletFactory faceletFactory;
@@ -169,6 +189,8 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
 
     private int responseBufferSize;
     private boolean responseBufferSizeSet;
+    private boolean utf8ByteResponseWriterEnabled;
+    private boolean streamingRenderEnabled;
 
     private Cache<Resource, BeanInfo> metadataCache;
     private Map<String, List<String>> contractMappings;
@@ -234,16 +256,19 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                 Object[] rawState = (Object[]) RenderKitUtils.getResponseStateManager(context, context.getApplication().getViewHandler().calculateRenderKitId(context)).getState(context, viewId);
 
                 if (rawState != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> state = (Map<String, Object>) rawState[1];
-                    if (state != null) {
-                        String clientId = viewRoot.getClientId(context);
-                        Object stateObj = state.get(clientId);
-                        if (stateObj != null) {
-                            context.getAttributes().put("com.sun.faces.application.view.restoreViewScopeOnly", true);
-                            viewRoot.restoreState(context, stateObj);
-                            context.getAttributes().remove("com.sun.faces.application.view.restoreViewScopeOnly");
-                        }
+                    Object stateObj = null;
+                    if (rawState[1] instanceof PositionalState) {
+                        stateObj = ((PositionalState) rawState[1]).getViewRootState();
+                    } else if (rawState[1] != null) {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> state = (Map<String, Object>) rawState[1];
+                        stateObj = state.get(viewRoot.getClientId(context));
+                    }
+
+                    if (stateObj != null) {
+                        context.getAttributes().put(RESTORE_VIEW_SCOPE_ONLY, true);
+                        viewRoot.restoreState(context, stateObj);
+                        context.getAttributes().remove(RESTORE_VIEW_SCOPE_ONLY);
                     }
                 }
 
@@ -323,6 +348,17 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         RequestStateManager.set(ctx, FACELET_FACTORY, faceletFactory);
         Facelet facelet = faceletFactory.getFacelet(ctx, view.getViewId());
 
+        // Install the client id index, if enabled, before the view is populated
+        // so that it is maintained while the components are added
+        if (ctx.getViewRoot() == view) {
+            ClientIdIndex.getInstance(ctx, view);
+        }
+
+        // Likewise the tracking of the components which have state to save
+        if (stateCtx.isPartialStateSaving(ctx, view.getViewId())) {
+            DirtyComponentTracker.startTracking(ctx, view);
+        }
+
         // populate UIViewRoot
         try {
             ctx.getAttributes().put(IS_BUILDING_INITIAL_STATE, Boolean.TRUE);
@@ -380,6 +416,7 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         }
 
         WriteBehindStateWriter stateWriter = null;
+        Writer responseOutputWriter = null;
         try {
             // Only build the view if this view has not yet been built.
             if (!isViewPopulated(ctx, viewToRender)) {
@@ -405,7 +442,15 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                 getSession(ctx);
             }
 
-            stateWriter = new WriteBehindStateWriter(extContext.getResponseOutputWriter(), ctx, responseBufferSize);
+            responseOutputWriter = getResponseOutputWriter(ctx);
+            ServerSideStateHelper streamingStateHelper = getStreamingStateHelper(ctx, viewToRender);
+            if (streamingStateHelper != null) {
+                streamingStateHelper.reserveStateId(ctx);
+                RequestStateManager.set(ctx, STREAMING_RENDER_WRITER, responseOutputWriter);
+                stateWriter = new WriteBehindStateWriter(responseOutputWriter, ctx, responseBufferSize, streamingStateHelper);
+            } else {
+                stateWriter = new WriteBehindStateWriter(responseOutputWriter, ctx, responseBufferSize);
+            }
 
             ResponseWriter writer = origWriter.cloneWithWriter(stateWriter);
             ctx.setResponseWriter(writer);
@@ -456,14 +501,21 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                 stateWriter.flushToWriter();
             }
 
+            // Drain our own buffer, the container does not know about it
+            if (responseOutputWriter instanceof Utf8OutputStreamWriter) {
+                responseOutputWriter.close();
+            }
+
         } catch (FileNotFoundException fnfe) {
             handleFaceletNotFound(ctx, viewToRender.getViewId(), fnfe.getMessage());
         } catch (Exception e) {
+            drainResponseOutputWriter(responseOutputWriter, e);
             handleRenderException(ctx, e);
         } finally {
             if (stateWriter != null) {
                 stateWriter.release();
             }
+            RequestStateManager.remove(ctx, STREAMING_RENDER_WRITER);
         }
     }
 
@@ -818,6 +870,9 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
             responseBufferSize = Integer.parseInt(FaceletsBufferSize.getDefaultValue());
         }
 
+        utf8ByteResponseWriterEnabled = webConfig.isOptionEnabled(EnableUtf8ByteResponseWriter);
+        streamingRenderEnabled = webConfig.isOptionEnabled(EnableStreamingRender);
+
         LOGGER.fine("Initialization Successful");
 
         vdlFactory = (ViewDeclarationLanguageFactory) FactoryFinder.getFactory(VIEW_DECLARATION_LANGUAGE_FACTORY);
@@ -917,11 +972,130 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         extContext.setResponseCharacterEncoding(encoding);
 
         // Now, clone with the real writer
-        writer = writer.cloneWithWriter(extContext.getResponseOutputWriter());
+        writer = writer.cloneWithWriter(createResponseOutputWriter(context, encoding));
 
         return writer;
     }
 
+    /**
+     * <p>
+     * Obtain the <code>Writer</code> the response is to be rendered to. If
+     * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableUtf8ByteResponseWriter} is
+     * enabled and the response is UTF-8 encoded, a {@link Utf8OutputStreamWriter} writing to
+     * {@link ExternalContext#getResponseOutputStream()} is returned, so pre-encoded static markup bypasses the char to
+     * byte conversion of the container. In all other cases {@link ExternalContext#getResponseOutputWriter()} is returned.
+     * </p>
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param encoding the response encoding
+     * @return the <code>Writer</code> to render the response to
+     * @throws IOException if the writer cannot be obtained
+     */
+    protected Writer createResponseOutputWriter(FacesContext context, String encoding) throws IOException {
+        ExternalContext extContext = context.getExternalContext();
+
+        if (utf8ByteResponseWriterEnabled && UTF_8.name().equalsIgnoreCase(encoding)) {
+            try {
+                Writer writer = new Utf8OutputStreamWriter(extContext.getResponseOutputStream(), responseBufferSize);
+                RequestStateManager.set(context, UTF8_RESPONSE_OUTPUT_WRITER, writer);
+                return writer;
+            } catch (IllegalStateException ise) {
+                // The Writer has already been obtained for this response, keep using it
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Unable to obtain the response output stream, falling back to the response writer", ise);
+                }
+            }
+        }
+
+        return extContext.getResponseOutputWriter();
+    }
+
+    /**
+     * <p>
+     * Determine whether the view can be rendered in streaming mode. This requires
+     * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableStreamingRender} to be enabled, a
+     * full (non partial) render of a non transient view, and server side state saving through the default
+     * {@link ResponseStateManager}, as the state id must be known before the state itself. The flash must not be in use
+     * either, as it writes its cookie once the view has been rendered.
+     * </p>
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param viewToRender the view being rendered
+     * @return the helper to reserve the state id with, or <code>null</code> if the view is to be buffered as usual
+     */
+    private ServerSideStateHelper getStreamingStateHelper(FacesContext context, UIViewRoot viewToRender) {
+        if (!streamingRenderEnabled || !isServerStateSaving() || viewToRender.isTransient() || context.getPartialViewContext().isPartialRequest()
+                || isFlashCookiePending(context)) {
+            return null;
+        }
+
+        ResponseStateManager responseStateManager = context.getRenderKit().getResponseStateManager();
+        if (responseStateManager instanceof ResponseStateManagerImpl) {
+            StateHelper helper = ((ResponseStateManagerImpl) responseStateManager).getStateHelper();
+            if (helper instanceof ServerSideStateHelper) {
+                return (ServerSideStateHelper) helper;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The flash writes or expires its cookie after the view has been rendered, which requires the response not to be
+     * committed by then. A flash which is not known to have nothing to write, such as one from a custom
+     * {@link jakarta.faces.context.FlashFactory}, is taken as pending.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @return <code>true</code> if the flash still has to write its cookie for the current request
+     */
+    static boolean isFlashCookiePending(FacesContext context) {
+        Flash flash;
+        try {
+            flash = context.getExternalContext().getFlash();
+        } catch (UnsupportedOperationException uoe) {
+            return false;
+        }
+
+        while (flash instanceof FlashWrapper) {
+            flash = ((FlashWrapper) flash).getWrapped();
+        }
+
+        return !(flash instanceof ELFlash) || ((ELFlash) flash).isCookiePending(context);
+    }
+
+    /**
+     * Write what a {@link Utf8OutputStreamWriter} still buffers to the response when rendering failed, as the container
+     * would have kept it in its own buffer. The writer stays registered for the request, so that an error page can still
+     * be written through it, the response output stream having been obtained already.
+     *
+     * @param responseOutputWriter the writer the view was rendered to, or <code>null</code>
+     * @param e the exception rendering failed with, to which a failure to drain the writer is added
+     */
+    static void drainResponseOutputWriter(Writer responseOutputWriter, Exception e) {
+        if (responseOutputWriter instanceof Utf8OutputStreamWriter) {
+            try {
+                responseOutputWriter.close();
+            } catch (IOException ioe) {
+                e.addSuppressed(ioe);
+            }
+        }
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @return the byte oriented writer created by {@link #createResponseOutputWriter(FacesContext, String)} for this
+     * request, if any, otherwise {@link ExternalContext#getResponseOutputWriter()}
+     * @throws IOException if the writer cannot be obtained
+     */
+    private Writer getResponseOutputWriter(FacesContext context) throws IOException {
+        Writer writer = RequestStateManager.get(context, UTF8_RESPONSE_OUTPUT_WRITER);
+        if (writer != null) {
+            return writer;
+        }
+
+        return context.getExternalContext().getResponseOutputWriter();
+    }
+
     /**
      * Handles the case where rendering throws an Exception.
      *
@@ -1141,7 +1315,15 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         // to discard tmp and facetComponent. The compcomp metadata
         // should be cacheable and shareable across threads, but this is
         // not yet implemented.
-        return (CompositeComponentBeanInfo) tmp.getAttributes().get(BEANINFO_KEY);
+        CompositeComponentBeanInfo metadata = (CompositeComponentBeanInfo) tmp.getAttributes().get(BEANINFO_KEY);
+
+        // Build the attribute index now, so that it is shared by all
+        // instances of this composite component.
+        if (metadata != null) {
+            metadata.getAttributeIndex();
+        }
+
+        return metadata;
     }
 
     private boolean handlesByPrefixOrSuffix(String viewId) {
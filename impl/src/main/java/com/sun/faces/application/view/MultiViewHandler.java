@@ -235,12 +235,17 @@ public class MultiViewHandler extends ViewHandler {
         if (!context.getPartialViewContext().isAjaxRequest()) {
             LOGGER.fine(() -> "Begin writing marker for viewId " + context.getViewRoot().getViewId());
 
-            WriteBehindStateWriter writer = WriteBehindStateWriter.getCurrentInstance();
+            WriteBehindStateWriter writer = WriteBehindStateWriter.getCurrentInstance(context);
             if (writer != null) {
                 writer.writingState();
             }
 
-            context.getResponseWriter().write(SAVESTATE_FIELD_MARKER);
+            if (writer != null && writer.isStreaming()) {
+                // The state id has been reserved, so the field can be written right away
+                Util.getStateManager(context).writeState(context, (Object) null);
+            } else {
+                context.getResponseWriter().write(SAVESTATE_FIELD_MARKER);
+            }
 
             LOGGER.fine(() -> "End writing marker for viewId " + context.getViewRoot().getViewId());
         }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.view;
+
+import static jakarta.faces.component.visit.VisitHint.SKIP_ITERATION;
+import static jakarta.faces.component.visit.VisitResult.ACCEPT;
+import static jakarta.faces.component.visit.VisitResult.COMPLETE;
+import static jakarta.faces.component.visit.VisitResult.REJECT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.sun.faces.component.DirtyComponentTracker;
+import com.sun.faces.util.MessageUtils;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * The state of the components of a view keyed by their position in the view instead of their client id. The position
+ * of a component is its index in a visit of the view which skips iteration and transient components. The id of each
+ * component is kept with its state, to verify that the view built on postback has the same structure.
+ * </p>
+ *
+ * <p>
+ * The naming container prefix of the client id of each component is kept as well, once per prefix, and referenced by
+ * its index in a variable length encoding. If the view built on postback has another structure, the state can then
+ * still be restored by client id.
+ * </p>
+ *
+ * <p>
+ * As the view built on postback does not contain the dynamically added and removed components, this can only be used
+ * for views without dynamic actions.
+ * </p>
+ */
+final class PositionalState implements Serializable {
+
+    private static final long serialVersionUID = 5912683064017524470L;
+
+    private final int[] positions;
+
+    private final String[] ids;
+
+    private final byte[] prefixIndexes;
+
+    private final String[] prefixes;
+
+    private final Object[] states;
+
+    // ------------------------------------------------------------ Constructors
+
+    private PositionalState(int[] positions, String[] ids, byte[] prefixIndexes, String[] prefixes, Object[] states) {
+        this.positions = positions;
+        this.ids = ids;
+        this.prefixIndexes = prefixIndexes;
+        this.prefixes = prefixes;
+        this.states = states;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Save the state of the components of the view.
+     *
+     * @param context the Faces context.
+     * @param viewRoot the view root.
+     * @param components the components which may have state to save, or <code>null</code> to save all components.
+     * @return the state.
+     */
+    static PositionalState save(FacesContext context, UIViewRoot viewRoot, Set<UIComponent> components) {
+        List<Object> states = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        Map<String, Integer> prefixes = new LinkedHashMap<>();
+        ByteArrayOutputStream prefixIndexes = new ByteArrayOutputStream();
+        int[][] positions = { new int[16] };
+        int[] position = { 0 };
+
+        VisitContext visitContext = VisitContext.createVisitContext(context, null, EnumSet.of(SKIP_ITERATION));
+        viewRoot.visitTree(visitContext, (visitContext1, target) -> {
+            if (target.isTransient()) {
+                return REJECT;
+            }
+
+            if (components == null || components.contains(target)) {
+                Object stateObj = target.saveState(context);
+                if (stateObj != null) {
+                    int index = states.size();
+                    if (index == positions[0].length) {
+                        positions[0] = Arrays.copyOf(positions[0], index << 1);
+                    }
+                    String clientId = target.getClientId(context);
+                    String id = target.getId();
+                    positions[0][index] = position[0];
+                    if (clientId.endsWith(id)) {
+                        writeVarInt(prefixIndexes, prefixes.computeIfAbsent(clientId.substring(0, clientId.length() - id.length()), k -> prefixes.size()) << 1);
+                    } else {
+                        // A client id which is not the id with a prefix is kept as a whole
+                        writeVarInt(prefixIndexes, prefixes.computeIfAbsent(clientId, k -> prefixes.size()) << 1 | 1);
+                    }
+                    ids.add(id);
+                    states.add(stateObj);
+                }
+            }
+
+            position[0]++;
+            return ACCEPT;
+        });
+
+        return new PositionalState(Arrays.copyOf(positions[0], states.size()), ids.toArray(new String[0]), prefixIndexes.toByteArray(),
+                prefixes.keySet().toArray(new String[0]), states.toArray());
+    }
+
+    /**
+     * Restore the state of the components of the view.
+     *
+     * @param context the Faces context.
+     * @param viewRoot the view root, as built for the postback.
+     * @return <code>false</code> if the structure of the view differs from the structure of the saved view.
+     */
+    boolean restore(FacesContext context, UIViewRoot viewRoot) {
+        int[] position = { 0 };
+        int[] next = { 0 };
+        boolean[] matches = { true };
+
+        VisitContext visitContext = VisitContext.createVisitContext(context, null, EnumSet.of(SKIP_ITERATION));
+        viewRoot.visitTree(visitContext, (visitContext1, target) -> {
+            if (target.isTransient()) {
+                return REJECT;
+            }
+
+            if (next[0] == states.length) {
+                return COMPLETE;
+            }
+
+            if (positions[next[0]] == position[0]) {
+                // The view root may have been given another generated id
+                if (position[0] != 0 && !Objects.equals(ids[next[0]], target.getId())) {
+                    matches[0] = false;
+                    return COMPLETE;
+                }
+
+                try {
+                    target.restoreState(context, states[next[0]]);
+                    DirtyComponentTracker.markDirty(target);
+                } catch (Exception e) {
+                    String msg = MessageUtils.getExceptionMessageString(MessageUtils.PARTIAL_STATE_ERROR_RESTORING_ID, target.getClientId(context), e.toString());
+                    throw new FacesException(msg, e);
+                }
+                next[0]++;
+            }
+
+            position[0]++;
+            return ACCEPT;
+        });
+
+        return matches[0] && next[0] == states.length;
+    }
+
+    /**
+     * @return the state of the components keyed by their client id, as saved when the state is not positional.
+     */
+    Map<String, Object> getStateByClientId() {
+        Map<String, Object> stateByClientId = new HashMap<>(states.length << 1);
+        int offset = 0;
+        for (int i = 0; i < states.length; i++) {
+            int prefixIndex = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = prefixIndexes[offset++];
+                prefixIndex |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            String prefix = prefixes[prefixIndex >>> 1];
+            stateByClientId.put((prefixIndex & 1) == 0 ? prefix + ids[i] : prefix, states[i]);
+        }
+
+        return stateByClientId;
+    }
+
+    /**
+     * @return the state of the view root, or <code>null</code> if it has none.
+     */
+    Object getViewRootState() {
+        return positions.length > 0 && positions[0] == 0 ? states[0] : null;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+}
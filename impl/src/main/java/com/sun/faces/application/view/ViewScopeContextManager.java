@@ -28,15 +28,19 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.SessionLocks;
 
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.faces.component.TransientStateHelper;
 import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
@@ -56,9 +60,19 @@ public class ViewScopeContextManager {
      */
     private static final String ACTIVE_VIEW_CONTEXTS = "com.sun.faces.application.view.activeViewContexts";
 
+    /**
+     * Stores the constant to keep track of the context objects of the current view in its transient state.
+     */
+    private static final String VIEW_CONTEXT_OBJECTS = "com.sun.faces.application.view.viewContextObjects";
+
     private final BeanManager beanManager;
     private final boolean distributable;
 
+    /**
+     * Stores the slots of the beans, so that they are resolved only once per contextual.
+     */
+    private final ConcurrentMap<Contextual<?>, BeanSlot> beanSlots = new ConcurrentHashMap<>();
+
     public ViewScopeContextManager() {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         beanManager = getCdiBeanManager(facesContext);
@@ -74,9 +88,9 @@ public class ViewScopeContextManager {
     public void clear(FacesContext facesContext) {
         LOGGER.log(FINEST, "Clearing @ViewScoped CDI beans for current view map");
 
-        Map<String, ViewScopeContextObject> contextMap = getContextMap(facesContext, false);
-        if (contextMap != null) {
-            destroyBeans(facesContext.getViewRoot().getViewMap(false), contextMap);
+        ViewScopeContextObjects contextObjects = getContextObjects(facesContext, false);
+        if (contextObjects != null) {
+            destroyBeans(facesContext.getViewRoot().getViewMap(false), contextObjects);
         }
     }
 
@@ -107,9 +121,25 @@ public class ViewScopeContextManager {
         if (LOGGER.isLoggable(FINEST)) {
             LOGGER.log(FINEST, "Clearing @ViewScoped CDI beans for given view map: {0}");
         }
-        Map<String, ViewScopeContextObject> contextMap = getContextMap(facesContext, viewMapId);
-        if (contextMap != null) {
-            destroyBeans(viewMap, contextMap);
+        ViewScopeContextObjects contextObjects = getContextObjects(facesContext, viewMapId, false);
+        if (contextObjects != null) {
+            destroyBeans(viewMap, contextObjects);
+        }
+    }
+
+    /**
+     * Clear the given view map and forget about the view, because its view map is no longer active.
+     *
+     * @param facesContext the Faces context.
+     * @param viewMapId The ID of the view map
+     * @param viewMap the given view map.
+     */
+    void evict(FacesContext facesContext, String viewMapId, Map<String, Object> viewMap) {
+        clear(facesContext, viewMapId, viewMap);
+
+        ViewScopeContextStore store = getStore(facesContext, facesContext.getExternalContext().getSessionMap());
+        if (store != null) {
+            store.remove(viewMapId);
         }
     }
 
@@ -125,38 +155,34 @@ public class ViewScopeContextManager {
     public <T> T createBean(FacesContext facesContext, Contextual<T> contextual, CreationalContext<T> creational) {
         LOGGER.log(FINEST, "Creating @ViewScoped CDI bean using contextual: {0}", contextual);
 
-        if (!(contextual instanceof PassivationCapable)) {
-            throw new IllegalArgumentException("ViewScoped bean " + contextual.toString() + " must be PassivationCapable, but is not.");
-        }
+        BeanSlot beanSlot = getBeanSlot(contextual);
 
         T contextualInstance = contextual.create(creational);
 
         if (contextualInstance != null) {
-            String name = getName(contextualInstance);
+            String name = beanSlot.getName(contextualInstance);
             facesContext.getViewRoot().getViewMap(true).put(name, contextualInstance);
-            String passivationCapableId = ((PassivationCapable) contextual).getId();
 
-            getContextMap(facesContext).put(passivationCapableId, new ViewScopeContextObject(passivationCapableId, name));
+            getContextObjects(facesContext, true).put(beanSlot.slot, new ViewScopeContextObject(beanSlot.passivationCapableId, name));
         }
 
         return contextualInstance;
     }
 
     /**
-     * Destroy the view scoped beans for the given view and context map.
+     * Destroy the view scoped beans for the given view and context objects.
      *
      * @param viewMap the view map.
-     * @param contextMap the context map.
+     * @param contextObjects the context objects.
      */
-    private void destroyBeans(Map<String, Object> viewMap, Map<String, ViewScopeContextObject> contextMap) {
+    private void destroyBeans(Map<String, Object> viewMap, ViewScopeContextObjects contextObjects) {
         ArrayList<String> removalNameList = new ArrayList<>();
 
-        if (contextMap != null) {
-            for (Map.Entry<String, ViewScopeContextObject> entry : contextMap.entrySet()) {
-                String passivationCapableId = entry.getKey();
+        if (contextObjects != null) {
+            for (ViewScopeContextObject contextObject : contextObjects.getAll()) {
+                String passivationCapableId = contextObject.getPassivationCapableId();
                 Contextual contextual = beanManager.getPassivationCapableBean(passivationCapableId);
 
-                ViewScopeContextObject contextObject = entry.getValue();
                 CreationalContext creationalContext = beanManager.createCreationalContext(contextual);
                 // We can no longer get this from the contextObject. Instead we must call
                 // beanManager.createCreationalContext(contextual)
@@ -166,8 +192,8 @@ public class ViewScopeContextManager {
                 // This can happen when a mid-request navigation happens and a new view root is being set, and then
                 // in the same request a session.invalidate is called.
                 // See https://github.com/javaserverfaces/mojarra/issues/3454
-                // Also see https://github.com/payara/Payara/issues/2506 for why we can't just clean the contextMap
-                // (it contains abstract descriptors for all instances, not just the one we want to destroy here).
+                // Also see https://github.com/payara/Payara/issues/2506 for why we can't just clean the context objects
+                // (they contain abstract descriptors for all instances, not just the one we want to destroy here).
                 if (contextualInstance != null) {
                     contextual.destroy(contextualInstance, creationalContext);
                 }
@@ -195,14 +221,10 @@ public class ViewScopeContextManager {
     @SuppressWarnings("unchecked")
     public <T> T getBean(FacesContext facesContext, Contextual<T> contextual) {
         T result = null;
-        Map<String, ViewScopeContextObject> contextMap = getContextMap(facesContext);
-
-        if (contextMap != null) {
-            if (!(contextual instanceof PassivationCapable)) {
-                throw new IllegalArgumentException("ViewScoped bean " + contextual.toString() + " must be PassivationCapable, but is not.");
-            }
+        ViewScopeContextObjects contextObjects = getContextObjects(facesContext, false);
 
-            ViewScopeContextObject contextObject = contextMap.get(((PassivationCapable) contextual).getId());
+        if (contextObjects != null) {
+            ViewScopeContextObject contextObject = contextObjects.get(getBeanSlot(contextual).slot);
 
             if (contextObject != null) {
                 String name = contextObject.getName();
@@ -215,61 +237,84 @@ public class ViewScopeContextManager {
     }
 
     /**
-     * Get the context map.
+     * Get the slot of the given bean.
+     *
+     * @param contextual the contextual.
+     * @return the slot.
+     */
+    private BeanSlot getBeanSlot(Contextual<?> contextual) {
+        BeanSlot beanSlot = beanSlots.get(contextual);
+
+        if (beanSlot == null) {
+            if (!(contextual instanceof PassivationCapable)) {
+                throw new IllegalArgumentException("ViewScoped bean " + contextual.toString() + " must be PassivationCapable, but is not.");
+            }
+
+            beanSlot = beanSlots.computeIfAbsent(contextual, c -> new BeanSlot(((PassivationCapable) c).getId()));
+        }
+
+        return beanSlot;
+    }
+
+    /**
+     * Get the context objects of the current view. They are kept in the transient state of the view root, so the session
+     * is only consulted once per request.
      *
      * @param facesContext the Faces context.
-     * @return the context map.
+     * @param create flag to indicate if we are creating the context objects.
+     * @return the context objects.
      */
-    private Map<String, ViewScopeContextObject> getContextMap(FacesContext facesContext) {
-        return getContextMap(facesContext, true);
+    private ViewScopeContextObjects getContextObjects(FacesContext facesContext, boolean create) {
+        TransientStateHelper transientState = facesContext.getViewRoot().getTransientStateHelper();
+        String viewMapId = (String) transientState.getTransient(VIEW_MAP_ID);
+        if (viewMapId == null) {
+            return null;
+        }
+
+        ViewScopeContextObjects contextObjects = (ViewScopeContextObjects) transientState.getTransient(VIEW_CONTEXT_OBJECTS);
+        if (contextObjects != null && contextObjects.getViewMapId().equals(viewMapId)) {
+            return contextObjects;
+        }
+
+        contextObjects = getContextObjects(facesContext, viewMapId, create);
+        if (contextObjects != null) {
+            transientState.putTransient(VIEW_CONTEXT_OBJECTS, contextObjects);
+        }
+
+        return contextObjects;
     }
 
     /**
-     * Get the context map.
+     * Get the context objects.
      *
      * @param facesContext the Faces context.
-     * @param create flag to indicate if we are creating the context map.
-     * @return the context map.
+     * @param viewMapId The viewMapId of the context objects.
+     * @param create flag to indicate if we are creating the context objects.
+     * @return the context objects.
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, ViewScopeContextObject> getContextMap(FacesContext facesContext, boolean create) {
-        Map<String, ViewScopeContextObject> result = null;
+    private ViewScopeContextObjects getContextObjects(FacesContext facesContext, String viewMapId, boolean create) {
+        ViewScopeContextObjects result = null;
 
         ExternalContext externalContext = facesContext.getExternalContext();
-        if (externalContext != null) {
+        if (externalContext != null && externalContext.getSession(create) != null) {
             Map<String, Object> sessionMap = externalContext.getSessionMap();
-            Object session = externalContext.getSession(create);
-
-            if (session != null) {
-                Map<Object, Map<String, ViewScopeContextObject>> activeViewScopeContexts = (Map<Object, Map<String, ViewScopeContextObject>>)
-                    sessionMap.get(ACTIVE_VIEW_CONTEXTS);
-                Map<String, Object> viewMap = facesContext.getViewRoot().getViewMap(false);
-                String viewMapId = (String) facesContext.getViewRoot().getTransientStateHelper().getTransient(VIEW_MAP_ID);
-
-                if (activeViewScopeContexts == null && create) {
-                    synchronized (session) {
-                        activeViewScopeContexts = new ConcurrentHashMap<>();
-                        sessionMap.put(ACTIVE_VIEW_CONTEXTS, activeViewScopeContexts);
-                    }
-                }
+            ViewScopeContextStore store = getStore(facesContext, sessionMap);
 
-                if (activeViewScopeContexts != null && viewMapId != null && create) {
-                    synchronized (activeViewScopeContexts) {
-                        if (!activeViewScopeContexts.containsKey(viewMapId)) {
-                            activeViewScopeContexts.put(viewMapId,
-                                    new ConcurrentHashMap<String, ViewScopeContextObject>());
-                            if (distributable) {
-                                // If we are distributable, this will result in a dirtying of the
-                                // session data, forcing replication. If we are not distributable,
-                                // this is a no-op.
-                                sessionMap.put(ACTIVE_VIEW_CONTEXTS, activeViewScopeContexts);
-                            }
-                        }
-                    }
-                }
+            if (store == null && create) {
+                store = createStore(facesContext, sessionMap);
+            }
+
+            if (store != null) {
+                result = store.get(viewMapId);
 
-                if (activeViewScopeContexts != null && viewMapId != null) {
-                    result = activeViewScopeContexts.get(viewMapId);
+                if (result == null && create) {
+                    result = store.getOrCreate(viewMapId, evicted -> destroyEvictedBeans(sessionMap, evicted));
+                    if (distributable) {
+                        // If we are distributable, this will result in a dirtying of the
+                        // session data, forcing replication. If we are not distributable,
+                        // this is a no-op.
+                        sessionMap.put(ACTIVE_VIEW_CONTEXTS, store);
+                    }
                 }
             }
         }
@@ -278,28 +323,52 @@ public class ViewScopeContextManager {
     }
 
     /**
-     * Get the context map.
+     * Destroy the beans of a view evicted from the store, which are still in its view map if that is active.
      *
-     * @param facesContext the Faces context.
-     * @param viewMapId The viewMapId of the map.
-     * @return the context map.
+     * @param sessionMap the session map.
+     * @param contextObjects the context objects of the evicted view.
      */
-    private Map<String, ViewScopeContextObject> getContextMap(FacesContext facesContext, String viewMapId) {
-        Map<String, ViewScopeContextObject> result = null;
+    @SuppressWarnings("unchecked")
+    private void destroyEvictedBeans(Map<String, Object> sessionMap, ViewScopeContextObjects contextObjects) {
+        Map<String, Object> activeViewMaps = (Map<String, Object>) sessionMap.get(ViewScopeManager.ACTIVE_VIEW_MAPS);
+        Map<String, Object> viewMap = activeViewMaps != null ? (Map<String, Object>) activeViewMaps.get(contextObjects.getViewMapId()) : null;
+        if (viewMap != null) {
+            LOGGER.log(FINEST, "Destroying @ViewScoped CDI beans of evicted view map: {0}", contextObjects.getViewMapId());
+            destroyBeans(viewMap, contextObjects);
+        }
+    }
 
-        ExternalContext externalContext = facesContext.getExternalContext();
-        if (externalContext != null) {
-            Map<String, Object> sessionMap = externalContext.getSessionMap();
-            @SuppressWarnings("unchecked")
-            Map<Object, Map<String, ViewScopeContextObject>> activeViewScopeContexts =
-                    (Map<Object, Map<String, ViewScopeContextObject>>) sessionMap.get(ACTIVE_VIEW_CONTEXTS);
+    private ViewScopeContextStore getStore(FacesContext facesContext, Map<String, Object> sessionMap) {
+        Object store = sessionMap.get(ACTIVE_VIEW_CONTEXTS);
+        if (store instanceof ViewScopeContextStore) {
+            return (ViewScopeContextStore) store;
+        }
 
-            if (activeViewScopeContexts != null) {
-                result = activeViewScopeContexts.get(viewMapId);
+        // Sessions of a previous version may still hold a plain map, which is migrated
+        return store instanceof Map ? createStore(facesContext, sessionMap) : null;
+    }
+
+    /**
+     * Create the store of the session, or migrate the plain map of a previous version. This happens once per session,
+     * guarded by the lock of the session.
+     */
+    private ViewScopeContextStore createStore(FacesContext facesContext, Map<String, Object> sessionMap) {
+        Lock lock = SessionLocks.getLock(facesContext.getExternalContext());
+        lock.lock();
+        try {
+            Object store = sessionMap.get(ACTIVE_VIEW_CONTEXTS);
+            if (store instanceof ViewScopeContextStore) {
+                return (ViewScopeContextStore) store;
             }
-        }
 
-        return result;
+            int capacity = ViewScopeManager.getInstance(facesContext).getNumberOfActiveViewMaps(sessionMap);
+            ViewScopeContextStore result = store instanceof Map ? ViewScopeContextStore.migrate((Map<?, ?>) store, capacity) : new ViewScopeContextStore(capacity);
+            sessionMap.put(ACTIVE_VIEW_CONTEXTS, result);
+
+            return result;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -308,7 +377,7 @@ public class ViewScopeContextManager {
      * @param instance the object.
      * @return the name.
      */
-    private String getName(Object instance) {
+    private static String getName(Object instance) {
         String name = instance.getClass().getSimpleName().substring(0, 1).toLowerCase() + instance.getClass().getSimpleName().substring(1);
 
         Named named = instance.getClass().getAnnotation(Named.class);
@@ -332,18 +401,27 @@ public class ViewScopeContextManager {
 
         HttpSession session = httpSessionEvent.getSession();
 
-        Map<Object, Map<String, ViewScopeContextObject>> activeViewScopeContexts = (Map<Object, Map<String, ViewScopeContextObject>>) 
-                session.getAttribute(ACTIVE_VIEW_CONTEXTS);
-        if (activeViewScopeContexts != null) {
+        Object activeViewScopeContexts = session.getAttribute(ACTIVE_VIEW_CONTEXTS);
+        if (activeViewScopeContexts instanceof Map) {
+            // The plain map of a previous version
+            Map<?, ?> contextMaps = (Map<?, ?>) activeViewScopeContexts;
+            activeViewScopeContexts = ViewScopeContextStore.migrate(contextMaps, contextMaps.size());
+        }
+
+        if (activeViewScopeContexts instanceof ViewScopeContextStore) {
+            ViewScopeContextStore store = (ViewScopeContextStore) activeViewScopeContexts;
             Map<String, Object> activeViewMaps = (Map<String, Object>) session.getAttribute(ViewScopeManager.ACTIVE_VIEW_MAPS);
             if (activeViewMaps != null) {
                 for (Map.Entry<String, Object> viewMapEntry : activeViewMaps.entrySet()) {
-                    Map<String, ViewScopeContextObject> contextMap = activeViewScopeContexts.get(viewMapEntry.getKey());
-                    destroyBeans((Map<String, Object>) viewMapEntry.getValue(), contextMap);
+                    ViewScopeContextObjects contextObjects = store.get(viewMapEntry.getKey());
+                    destroyBeans((Map<String, Object>) viewMapEntry.getValue(), contextObjects);
                 }
             }
 
-            activeViewScopeContexts.clear();
+            store.clear();
+        }
+
+        if (activeViewScopeContexts != null) {
             session.removeAttribute(ACTIVE_VIEW_CONTEXTS);
         }
     }
@@ -355,4 +433,29 @@ public class ViewScopeContextManager {
     public void fireDestroyedEvent(FacesContext facesContext, UIViewRoot root) {
         getBeanReference(beanManager, ViewScopedCDIEventFireHelperImpl.class).fireDestroyedEvent(root);
     }
+
+    /**
+     * The slot of a bean, together with the name of its instances in the view map.
+     */
+    private static final class BeanSlot {
+
+        private final String passivationCapableId;
+        private final int slot;
+        private volatile Object[] typeAndName;
+
+        BeanSlot(String passivationCapableId) {
+            this.passivationCapableId = passivationCapableId;
+            slot = ViewScopeContextObjects.getSlot(passivationCapableId);
+        }
+
+        String getName(Object instance) {
+            Object[] current = typeAndName;
+            if (current == null || current[0] != instance.getClass()) {
+                current = new Object[] { instance.getClass(), ViewScopeContextManager.getName(instance) };
+                typeAndName = current;
+            }
+
+            return (String) current[1];
+        }
+    }
 }
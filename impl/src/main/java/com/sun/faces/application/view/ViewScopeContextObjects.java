@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.view;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * The {@link ViewScopeContextObject}s of the CDI @ViewScoped beans of one view. They are stored in an array indexed by
+ * a slot number, which is assigned once per bean, so that looking up a bean is an array access instead of a map lookup.
+ * </p>
+ *
+ * <p>
+ * Reading is lock free. Writing, which only happens when a bean is created, copies the array while synchronized on
+ * this object. Slot numbers are only valid within the running application, so they are not serialized: the context
+ * objects are assigned their slots again when a session is deserialized.
+ * </p>
+ */
+final class ViewScopeContextObjects implements Serializable {
+
+    private static final long serialVersionUID = -2407328925011424473L;
+
+    private static final ViewScopeContextObject[] EMPTY = {};
+
+    private static final ConcurrentMap<String, Integer> SLOTS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    private final String viewMapId;
+
+    private transient volatile ViewScopeContextObject[] objects = EMPTY;
+
+    private volatile long lastAccess;
+
+    // ------------------------------------------------------------ Constructors
+
+    ViewScopeContextObjects(String viewMapId) {
+        this.viewMapId = viewMapId;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param passivationCapableId the id of a passivation capable bean
+     * @return the slot of the bean
+     */
+    static int getSlot(String passivationCapableId) {
+        Integer slot = SLOTS.get(passivationCapableId);
+        if (slot == null) {
+            slot = SLOTS.computeIfAbsent(passivationCapableId, id -> NEXT_SLOT.getAndIncrement());
+        }
+
+        return slot;
+    }
+
+    /**
+     * @return the id of the view map of the view
+     */
+    String getViewMapId() {
+        return viewMapId;
+    }
+
+    /**
+     * @param slot the slot of a bean
+     * @return the context object of the bean, or <code>null</code> if the bean was not created for the view
+     */
+    ViewScopeContextObject get(int slot) {
+        ViewScopeContextObject[] current = objects;
+
+        return slot < current.length ? current[slot] : null;
+    }
+
+    /**
+     * @param slot the slot of a bean
+     * @param contextObject the context object of the bean
+     */
+    synchronized void put(int slot, ViewScopeContextObject contextObject) {
+        ViewScopeContextObject[] replacement = Arrays.copyOf(objects, Math.max(objects.length, slot + 1));
+        replacement[slot] = contextObject;
+        objects = replacement;
+    }
+
+    /**
+     * @return a snapshot of the context objects of the beans created for the view
+     */
+    List<ViewScopeContextObject> getAll() {
+        ViewScopeContextObject[] current = objects;
+        List<ViewScopeContextObject> all = new ArrayList<>(current.length);
+        for (ViewScopeContextObject contextObject : current) {
+            if (contextObject != null) {
+                all.add(contextObject);
+            }
+        }
+
+        return all;
+    }
+
+    /**
+     * @return the tick at which the view was last accessed, for the eviction of the least recently used views
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void setLastAccess(long lastAccess) {
+        this.lastAccess = lastAccess;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(getAll());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        objects = EMPTY;
+        for (ViewScopeContextObject contextObject : (List<ViewScopeContextObject>) in.readObject()) {
+            put(getSlot(contextObject.getPassivationCapableId()), contextObject);
+        }
+    }
+
+}
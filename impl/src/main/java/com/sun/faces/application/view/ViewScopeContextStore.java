@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.view;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The {@link ViewScopeContextObjects} of the views of a session which have CDI @ViewScoped beans, keyed by the id of
+ * the view map of the view.
+ * </p>
+ *
+ * <p>
+ * The store holds at most as many views as {@link ViewScopeManager} keeps active view maps. The views are normally
+ * removed together with their view map, when {@link ViewScopeManager} evicts it. Views whose view map went away
+ * without that, are evicted least recently used first once the store is full, and handed back to have their beans
+ * destroyed.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe and does not lock.
+ * </p>
+ */
+final class ViewScopeContextStore implements Serializable {
+
+    private static final long serialVersionUID = 5386839254780245069L;
+
+    private final int capacity;
+
+    private final ConcurrentMap<String, ViewScopeContextObjects> views = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param capacity the maximum number of active view maps of the session
+     */
+    ViewScopeContextStore(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param viewMapId the id of a view map
+     * @return the context objects of the view, or <code>null</code> if there are none
+     */
+    ViewScopeContextObjects get(String viewMapId) {
+        ViewScopeContextObjects contextObjects = views.get(viewMapId);
+        if (contextObjects != null) {
+            contextObjects.setLastAccess(clock.incrementAndGet());
+        }
+
+        return contextObjects;
+    }
+
+    /**
+     * Create a store holding the context objects of the plain map kept by the sessions of previous versions.
+     *
+     * @param contextMaps the maps of context objects keyed by passivation capable id, keyed by the id of their view map
+     * @param capacity the maximum number of active view maps of the session
+     * @return the store holding the same context objects
+     */
+    static ViewScopeContextStore migrate(Map<?, ?> contextMaps, int capacity) {
+        ViewScopeContextStore store = new ViewScopeContextStore(capacity);
+        for (Map.Entry<?, ?> contextMap : contextMaps.entrySet()) {
+            ViewScopeContextObjects contextObjects = store.views.computeIfAbsent((String) contextMap.getKey(), ViewScopeContextObjects::new);
+            for (Object contextObject : ((Map<?, ?>) contextMap.getValue()).values()) {
+                String passivationCapableId = ((ViewScopeContextObject) contextObject).getPassivationCapableId();
+                contextObjects.put(ViewScopeContextObjects.getSlot(passivationCapableId), (ViewScopeContextObject) contextObject);
+            }
+        }
+
+        return store;
+    }
+
+    /**
+     * @param viewMapId the id of a view map
+     * @param evicted the consumer of the context objects of the views evicted to make room, whose beans must be destroyed
+     * @return the context objects of the view, which are created if there are none yet
+     */
+    ViewScopeContextObjects getOrCreate(String viewMapId, Consumer<ViewScopeContextObjects> evicted) {
+        ViewScopeContextObjects contextObjects = views.computeIfAbsent(viewMapId, ViewScopeContextObjects::new);
+        contextObjects.setLastAccess(clock.incrementAndGet());
+
+        while (views.size() > capacity) {
+            ViewScopeContextObjects eldest = evictEldest(contextObjects);
+            if (eldest == null) {
+                break;
+            }
+
+            evicted.accept(eldest);
+        }
+
+        return contextObjects;
+    }
+
+    /**
+     * @param viewMapId the id of a view map
+     * @return the removed context objects of the view, or <code>null</code> if there were none
+     */
+    ViewScopeContextObjects remove(String viewMapId) {
+        return views.remove(viewMapId);
+    }
+
+    void clear() {
+        views.clear();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private ViewScopeContextObjects evictEldest(ViewScopeContextObjects retained) {
+        Map.Entry<String, ViewScopeContextObjects> eldest = null;
+        for (Map.Entry<String, ViewScopeContextObjects> entry : views.entrySet()) {
+            if (entry.getValue() != retained && (eldest == null || entry.getValue().getLastAccess() < eldest.getValue().getLastAccess())) {
+                eldest = entry;
+            }
+        }
+
+        return eldest != null && views.remove(eldest.getKey(), eldest.getValue()) ? eldest.getValue() : null;
+    }
+
+}
@@ -211,6 +211,25 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
         return contextManager;
     }
 
+    /**
+     * Get the maximum number of active view maps of a session.
+     *
+     * @param sessionMap the session map.
+     * @return the maximum number of active view maps.
+     */
+    int getNumberOfActiveViewMaps(Map<String, Object> sessionMap) {
+        Integer size = (Integer) sessionMap.get(ACTIVE_VIEW_MAPS_SIZE);
+        if (size == null) {
+            size = numberOfActiveViewMapsInWebXml;
+            
+            if (size == null) {
+                size = Integer.parseInt(NumberOfActiveViewMaps.getDefaultValue());
+            }
+        }
+
+        return size;
+    }
+
     /**
      * Get our instance.
      *
@@ -278,14 +297,7 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
 
             if (session != null) {
                 Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
-                Integer size = (Integer) sessionMap.get(ACTIVE_VIEW_MAPS_SIZE);
-                if (size == null) {
-                    size = numberOfActiveViewMapsInWebXml;
-                    
-                    if (size == null) {
-                        size = Integer.parseInt(NumberOfActiveViewMaps.getDefaultValue());
-                    }
-                }
+                int size = getNumberOfActiveViewMaps(sessionMap);
 
                 if (sessionMap.get(ACTIVE_VIEW_MAPS) == null) {
                     sessionMap.put(ACTIVE_VIEW_MAPS, Collections.synchronizedMap(new LRUMap<String, Object>(size)));
@@ -293,6 +305,8 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
 
                 @SuppressWarnings("unchecked")
                 Map<String, Object> viewMaps = (Map<String, Object>) sessionMap.get(ACTIVE_VIEW_MAPS);
+                String eldestViewMapId = null;
+                Map<String, Object> eldestViewMap = null;
                 synchronized (viewMaps) {
                     String viewMapId = UUID.randomUUID().toString();
                     while (viewMaps.containsKey(viewMapId)) {
@@ -300,10 +314,10 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
                     }
 
                     if (viewMaps.size() == size) {
-                        String eldestViewMapId = viewMaps.keySet().iterator().next();
+                        eldestViewMapId = viewMaps.keySet().iterator().next();
                         @SuppressWarnings("unchecked")
-                        Map<String, Object> eldestViewMap = (Map<String, Object>) viewMaps.remove(eldestViewMapId);
-                        removeEldestViewMap(facesContext, eldestViewMapId, eldestViewMap);
+                        Map<String, Object> removed = (Map<String, Object>) viewMaps.remove(eldestViewMapId);
+                        eldestViewMap = removed;
                     }
 
                     viewMaps.put(viewMapId, viewMap);
@@ -317,6 +331,11 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
                     }
                 }
 
+                // The eldest view map is destroyed outside the monitor, as that calls the @PreDestroy methods of its beans
+                if (eldestViewMapId != null) {
+                    removeEldestViewMap(facesContext, eldestViewMapId, eldestViewMap);
+                }
+
                 if (contextManager != null) {
                     contextManager.fireInitializedEvent(facesContext, viewRoot);
                 }
@@ -402,7 +421,7 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
         LOGGER.log(FINEST, "Removing eldest view map: {0}", eldestViewMap);
 
         if (contextManager != null) {
-            contextManager.clear(facesContext, viewMapId, eldestViewMap);
+            contextManager.evict(facesContext, viewMapId, eldestViewMap);
         }
 
         destroyBeans(facesContext, eldestViewMap);
@@ -25,6 +25,10 @@ import java.util.Map;
 
 import com.sun.faces.RIConstants;
 import com.sun.faces.io.FastStringWriter;
+import com.sun.faces.io.PreEncodedText;
+import com.sun.faces.io.PreEncodedWriter;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+import com.sun.faces.util.RequestStateManager;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.application.StateManager;
@@ -35,13 +39,18 @@ import jakarta.faces.view.ViewDeclarationLanguage;
 /**
  * Custom {@link Writer} to efficiently handle the state manager replacement marker written out by
  * {@link MultiViewHandler#writeState(jakarta.faces.context.FacesContext)}.
+ *
+ * <p>
+ * When constructed with a {@link ServerSideStateHelper}, the writer operates in streaming mode: the state id has been
+ * reserved before rendering started, so the view state fields are written in place and nothing is buffered. The state
+ * itself is stored under the reserved id by {@link #flushToWriter()}.
+ * </p>
  */
-final class WriteBehindStateWriter extends Writer {
+final class WriteBehindStateWriter extends Writer implements PreEncodedWriter {
 
     // length of the state marker
     private static final int STATE_MARKER_LEN = RIConstants.SAVESTATE_FIELD_MARKER.length();
 
-    private static final ThreadLocal<WriteBehindStateWriter> CUR_WRITER = new ThreadLocal<>();
     private Writer out;
     private Writer orig;
     private FastStringWriter fWriter;
@@ -50,6 +59,7 @@ final class WriteBehindStateWriter extends Writer {
     private char[] buf;
     private FacesContext context;
     private Object state;
+    private ServerSideStateHelper streamingStateHelper;
 
     // -------------------------------------------------------- Constructors
 
@@ -66,7 +76,21 @@ final class WriteBehindStateWriter extends Writer {
         this.context = context;
         this.bufSize = bufSize;
         buf = new char[bufSize];
-        CUR_WRITER.set(this);
+        RequestStateManager.set(context, RequestStateManager.STATE_WRITER, this);
+    }
+
+    /**
+     * Constructs a new <code>WriteBehindStateWriter</code> instance operating in streaming mode.
+     *
+     * @param out the writer we write content to
+     * @param context the {@link FacesContext} for the current request
+     * @param bufSize the buffer size for post-processing buffered content
+     * @param streamingStateHelper the state helper the state id has been reserved with
+     * @see ServerSideStateHelper#reserveStateId(FacesContext)
+     */
+    public WriteBehindStateWriter(Writer out, FacesContext context, int bufSize, ServerSideStateHelper streamingStateHelper) {
+        this(out, context, bufSize);
+        this.streamingStateHelper = streamingStateHelper;
     }
 
     // ------------------------------------------------- Methods from Writer
@@ -121,6 +145,21 @@ final class WriteBehindStateWriter extends Writer {
         out.write(cbuf, off, len);
     }
 
+    /**
+     * Writes the pre-encoded bytes directly to the current <code>out</code> when it is byte oriented, otherwise writes the
+     * chars of the chunk.
+     *
+     * @see PreEncodedWriter#write(PreEncodedText)
+     */
+    @Override
+    public void write(PreEncodedText text) throws IOException {
+        if (out instanceof PreEncodedWriter) {
+            ((PreEncodedWriter) out).write(text);
+        } else {
+            out.write(text.toString());
+        }
+    }
+
     /**
      * This is a no-op.
      */
@@ -143,27 +182,48 @@ final class WriteBehindStateWriter extends Writer {
      * @return the <code>WriteBehindStateWriter</code> being used for processing this request
      */
     public static WriteBehindStateWriter getCurrentInstance() {
-        return CUR_WRITER.get();
+        return getCurrentInstance(FacesContext.getCurrentInstance());
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @return the <code>WriteBehindStateWriter</code> being used for processing the request
+     */
+    public static WriteBehindStateWriter getCurrentInstance(FacesContext context) {
+        return RequestStateManager.get(context, RequestStateManager.STATE_WRITER);
     }
 
     /**
-     * Clear the ThreadLocal state.
+     * Clear the request state.
      */
     public void release() {
-        CUR_WRITER.remove();
+        RequestStateManager.remove(context, RequestStateManager.STATE_WRITER);
     }
 
     /**
      * When called, the original writer is backed up and replaced with a new FastStringWriter. All content written after
      * this method is called will then be buffered and written out later after the entire view has been rendered.
+     *
+     * <p>
+     * In streaming mode nothing is buffered, this only records that the view has state to be stored.
+     * </p>
      */
     public void writingState() {
         if (!stateWritten) {
             stateWritten = true;
-            out = fWriter = new FastStringWriter(1024);
+            if (!isStreaming()) {
+                out = fWriter = new FastStringWriter(1024);
+            }
         }
     }
 
+    /**
+     * @return <code>true</code> if this writer operates in streaming mode
+     */
+    public boolean isStreaming() {
+        return streamingStateHelper != null;
+    }
+
     /**
      * @return <code>true</code> if {@link #writingState()} has been called, otherwise returns <code>false</code>
      */
@@ -180,6 +240,12 @@ final class WriteBehindStateWriter extends Writer {
      */
     public void flushToWriter() throws IOException {
 
+        if (isStreaming()) {
+            // The content has already been written, only the state is outstanding
+            streamingStateHelper.storeReservedState(context, saveState());
+            return;
+        }
+
         // Save the state to a new instance of StringWriter to
         // avoid multiple serialization steps if the view contains
         // multiple forms.
@@ -277,6 +343,18 @@ final class WriteBehindStateWriter extends Writer {
     private StringBuilder getState(StateManager stateManager, ResponseWriter origWriter) throws IOException {
         FastStringWriter stateWriter = new FastStringWriter(stateManager.isSavingStateInClient(context) ? bufSize : 128);
         context.setResponseWriter(origWriter.cloneWithWriter(stateWriter));
+        stateManager.writeState(context, saveState());
+        context.setResponseWriter(origWriter);
+
+        return stateWriter.getBuffer();
+    }
+
+    /**
+     * Save the view, once per request.
+     *
+     * @return the state of the view
+     */
+    private Object saveState() {
         if (state == null) {
             String viewId = context.getViewRoot().getViewId();
 
@@ -293,10 +371,8 @@ final class WriteBehindStateWriter extends Writer {
                 }
             }
         }
-        stateManager.writeState(context, state);
-        context.setResponseWriter(origWriter);
 
-        return stateWriter.getBuffer();
+        return state;
     }
 
     /**
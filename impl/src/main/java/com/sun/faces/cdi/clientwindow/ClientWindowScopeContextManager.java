@@ -20,6 +20,7 @@ package com.sun.faces.cdi.clientwindow;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.LRUMap;
+import com.sun.faces.util.SessionLocks;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.BeanManager;
@@ -33,6 +34,7 @@ import jakarta.servlet.http.HttpSessionEvent;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableDistributable;
@@ -143,12 +145,20 @@ public class ClientWindowScopeContextManager {
                 String clientWindowId = getCurrentClientWindowId(facesContext);
 
                 if (clientWindowScopeContexts == null && create) {
-                    synchronized (session) {
-                        Integer size = (Integer) sessionMap.get(ClientWindow.NUMBER_OF_CLIENT_WINDOWS_PARAM_NAME);
-                        if (size == null) {
-                            size = 10;
+                    Lock lock = SessionLocks.getLock(externalContext);
+                    lock.lock();
+                    try {
+                        clientWindowScopeContexts = (Map<Object, Map<String, ClientWindowScopeContextObject>>) sessionMap.get(CLIENT_WINDOW_CONTEXTS);
+                        if (clientWindowScopeContexts == null) {
+                            Integer size = (Integer) sessionMap.get(ClientWindow.NUMBER_OF_CLIENT_WINDOWS_PARAM_NAME);
+                            if (size == null) {
+                                size = 10;
+                            }
+                            clientWindowScopeContexts = Collections.synchronizedMap(new LRUMap<Object, Map<String, ClientWindowScopeContextObject>>(size));
+                            sessionMap.put(CLIENT_WINDOW_CONTEXTS, clientWindowScopeContexts);
                         }
-                        sessionMap.put(CLIENT_WINDOW_CONTEXTS, Collections.synchronizedMap(new LRUMap<String, Object>(size)));
+                    } finally {
+                        lock.unlock();
                     }
                 }
 
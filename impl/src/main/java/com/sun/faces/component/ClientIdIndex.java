@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.component;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableClientIdIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.facelets.component.UIRepeat;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.component.ContextCallback;
+import jakarta.faces.component.TransientStateHelper;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * An index of the components of a view by their id, which is used to find the targets of partial requests and of
+ * {@link UIViewRoot#invokeOnComponent(FacesContext, String, ContextCallback)} without walking the whole component tree.
+ * The index is enabled with the <code>com.sun.faces.enableClientIdIndex</code> context parameter.
+ * </p>
+ *
+ * <p>
+ * Client ids are not indexed themselves, because they change whenever the id of a naming container does, and because
+ * the client ids of components within iteration components depend on the current row. Instead, components are indexed
+ * by their id, which is the last segment of their client id. The index is maintained incrementally by
+ * {@link UIComponentBase} as components are added to or removed from the view and when their id changes. A client id is
+ * resolved by looking up the components with its last segment, and checking their client id or, for components within
+ * a {@link UIData} or {@link UIRepeat}, parsing the row index out of the client id.
+ * </p>
+ *
+ * <p>
+ * The index may contain components that no longer belong to the view, and may miss components that were added while
+ * another view was current. Resolved components are therefore always verified, and callers must fall back to a full
+ * tree walk for client ids that cannot be resolved.
+ * </p>
+ */
+public final class ClientIdIndex {
+
+    private static final String CLIENT_ID_INDEX = ClientIdIndex.class.getName();
+
+    /**
+     * Whether a class uses the <code>invokeOnComponent</code> implementation of {@link UIComponent}, which has no side
+     * effects on the way to the target and can therefore be skipped.
+     */
+    private static final ClassValue<Boolean> DEFAULT_INVOKE_ON_COMPONENT = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> declaringClass = type.getMethod("invokeOnComponent", FacesContext.class, String.class, ContextCallback.class).getDeclaringClass();
+                return declaringClass == UIComponent.class || declaringClass == UIComponentBase.class || declaringClass == UIViewRoot.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final UIViewRoot root;
+
+    private final Map<String, List<UIComponent>> componentsById = new HashMap<>();
+
+    // ------------------------------------------------------------ Constructors
+
+    private ClientIdIndex(UIViewRoot root) {
+        this.root = root;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @return the index of the current view, or <code>null</code> if the current view has none
+     */
+    public static ClientIdIndex getCurrentInstance(FacesContext context) {
+        UIViewRoot root = context.getViewRoot();
+        if (root == null) {
+            return null;
+        }
+
+        TransientStateHelper helper = root.getTransientStateHelper(false);
+
+        return helper == null ? null : (ClientIdIndex) helper.getTransient(CLIENT_ID_INDEX);
+    }
+
+    /**
+     * Return the index of the given view, building and installing it if the index is enabled and the view has none yet.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param root the view
+     * @return the index of the view, or <code>null</code> if the index is not enabled
+     */
+    public static ClientIdIndex getInstance(FacesContext context, UIViewRoot root) {
+        TransientStateHelper helper = root.getTransientStateHelper(false);
+        ClientIdIndex index = helper == null ? null : (ClientIdIndex) helper.getTransient(CLIENT_ID_INDEX);
+
+        if (index == null && WebConfiguration.getInstance(context.getExternalContext()).isOptionEnabled(EnableClientIdIndex)) {
+            index = new ClientIdIndex(root);
+            for (Iterator<UIComponent> kids = root.getFacetsAndChildren(); kids.hasNext();) {
+                index.addTree(kids.next());
+            }
+            root.getTransientStateHelper().putTransient(CLIENT_ID_INDEX, index);
+        }
+
+        return index;
+    }
+
+    /**
+     * @param component a component that was added to the view
+     */
+    public void add(UIComponent component) {
+        add(component.getId(), component);
+    }
+
+    /**
+     * @param component a component that was removed from the view
+     */
+    public void remove(UIComponent component) {
+        remove(component.getId(), component);
+    }
+
+    /**
+     * @param component a component of the view whose id changed
+     * @param oldId the previous id of the component
+     */
+    public void idChanged(UIComponent component, String oldId) {
+        remove(oldId, component);
+        add(component.getId(), component);
+    }
+
+    /**
+     * Resolve a client id to the component it identifies.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param clientId the client id
+     * @return the resolved component, or <code>null</code> if the client id cannot be resolved and the component tree
+     * must be walked to find its component
+     */
+    public Match resolve(FacesContext context, String clientId) {
+        char separator = UINamingContainer.getSeparatorChar(context);
+        List<UIComponent> candidates = componentsById.get(clientId.substring(clientId.lastIndexOf(separator) + 1));
+        if (candidates == null) {
+            return null;
+        }
+
+        for (UIComponent candidate : candidates) {
+            if (!candidate.isInView()) {
+                continue;
+            }
+
+            // Find the outermost iteration component and make sure the candidate still belongs to this view
+            UIComponent iteration = null;
+            UIComponent current = candidate;
+            while (current.getParent() != null) {
+                current = current.getParent();
+                if (isIterationComponent(current)) {
+                    iteration = current;
+                }
+            }
+
+            if (current != root) {
+                continue;
+            }
+
+            if (iteration == null) {
+                if (clientId.equals(candidate.getClientId(context))) {
+                    return new Match(candidate, true);
+                }
+            } else if (isInRowOf(context, iteration, clientId, separator)) {
+                return new Match(iteration, false);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Invoke the callback on the component with the given client id in the same way
+     * {@link UIComponent#invokeOnComponent(FacesContext, String, ContextCallback)} would, but starting at the outermost
+     * ancestor of the component which does not use the default implementation of that method.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param clientId the client id
+     * @param callback the callback to invoke
+     * @return <code>true</code> if the component was found, <code>false</code> if the component tree must be walked to
+     * find it
+     */
+    public boolean invokeOnComponent(FacesContext context, String clientId, ContextCallback callback) {
+        Match match = resolve(context, clientId);
+        if (match == null) {
+            return false;
+        }
+
+        UIComponent start = match.isExact() && hasDefaultInvokeOnComponent(match.getComponent()) ? null : match.getComponent();
+        for (UIComponent current = match.getComponent().getParent(); current != root; current = current.getParent()) {
+            if (!hasDefaultInvokeOnComponent(current)) {
+                start = current;
+            }
+        }
+
+        if (start != null) {
+            return start.invokeOnComponent(context, clientId, callback);
+        }
+
+        // Same as UIComponent.invokeOnComponent() does for the component itself
+        UIComponent target = match.getComponent();
+        try {
+            target.pushComponentToEL(context, target);
+            callback.invokeContextCallback(context, target);
+
+            return true;
+        } catch (Exception e) {
+            throw new FacesException(e);
+        } finally {
+            target.popComponentFromEL(context);
+        }
+    }
+
+    /**
+     * @return the view this is the index of
+     */
+    public UIViewRoot getViewRoot() {
+        return root;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void addTree(UIComponent component) {
+        add(component);
+        for (Iterator<UIComponent> kids = component.getFacetsAndChildren(); kids.hasNext();) {
+            addTree(kids.next());
+        }
+    }
+
+    private void add(String id, UIComponent component) {
+        if (id != null) {
+            List<UIComponent> components = componentsById.computeIfAbsent(id, k -> new ArrayList<>(1));
+            if (!containsIdentical(components, component)) {
+                components.add(component);
+            }
+        }
+    }
+
+    private void remove(String id, UIComponent component) {
+        if (id != null) {
+            List<UIComponent> components = componentsById.get(id);
+            if (components != null) {
+                components.removeIf(c -> c == component);
+                if (components.isEmpty()) {
+                    componentsById.remove(id);
+                }
+            }
+        }
+    }
+
+    private static boolean containsIdentical(List<UIComponent> components, UIComponent component) {
+        for (UIComponent c : components) {
+            if (c == component) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isIterationComponent(UIComponent component) {
+        return component instanceof UIData || component instanceof UIRepeat;
+    }
+
+    /**
+     * @return <code>true</code> if the client id is of the form <code>iterationClientId:rowIndex:...</code>
+     */
+    private static boolean isInRowOf(FacesContext context, UIComponent iteration, String clientId, char separator) {
+        String iterationClientId = iteration.getClientId(context);
+        int start = iterationClientId.length() + 1;
+        if (!clientId.startsWith(iterationClientId) || clientId.length() <= start || clientId.charAt(start - 1) != separator) {
+            return false;
+        }
+
+        int end = clientId.indexOf(separator, start);
+        if (end == -1 || end == start) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(clientId.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasDefaultInvokeOnComponent(UIComponent component) {
+        return DEFAULT_INVOKE_ON_COMPONENT.get(component.getClass());
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * A client id resolved by the index.
+     */
+    public static final class Match {
+
+        private final UIComponent component;
+
+        private final boolean exact;
+
+        Match(UIComponent component, boolean exact) {
+            this.component = component;
+            this.exact = exact;
+        }
+
+        /**
+         * @return the component with the client id if the match is exact, otherwise the outermost iteration component
+         * with a row that contains the component with the client id
+         */
+        public UIComponent getComponent() {
+            return component;
+        }
+
+        /**
+         * @return <code>true</code> if the client id is the client id of the component of this match
+         */
+        public boolean isExact() {
+            return exact;
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.component;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableDirtyStateTracking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.config.WebConfiguration;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.component.UIInput;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.html.HtmlInputFile;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Tracks the components of the views built during the current request which may have state to save with partial state
+ * saving, so that saving a view only has to visit those components instead of the whole view. The tracking is enabled
+ * with the <code>com.sun.faces.enableDirtyStateTracking</code> context parameter.
+ * </p>
+ *
+ * <p>
+ * A component is tracked when its state helper records a delta for it, when listeners, behaviors, a converter or
+ * validators are attached to it, when its initial state is cleared, and when state was restored into it. Components of
+ * classes which save state of their own, besides the standard components whose state is known, are always tracked.
+ * Attached objects must not be modified after they were attached, other than through the component.
+ * </p>
+ *
+ * <p>
+ * The tracked components may include components which no longer belong to the view, and components which turn out to
+ * have no state to save. Views with dynamically added components are always saved with a full visit.
+ * </p>
+ */
+public final class DirtyComponentTracker {
+
+    private static final String DIRTY_COMPONENT_TRACKER = DirtyComponentTracker.class.getName();
+
+    /**
+     * Whether a class saves the state of a standard component, which is known to be recorded by the tracked methods.
+     */
+    private static final ClassValue<Boolean> KNOWN_STATE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != UIComponentBase.class; c = c.getSuperclass()) {
+                if (c == null) {
+                    return false;
+                }
+
+                if (c != UIOutput.class && c != UIInput.class && c != HtmlInputFile.class && declaresSaveState(c)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    };
+
+    /**
+     * Whether any application tracks components, so that components don't have to look for the tracker otherwise.
+     */
+    private static volatile boolean active;
+
+    private final Set<UIViewRoot> views = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Set<UIComponent> components = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // ------------------------------------------------------------ Constructors
+
+    private DirtyComponentTracker() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Start tracking the components of the given view, if the tracking is enabled. This must be called before the view is
+     * populated.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param root the view
+     */
+    public static void startTracking(FacesContext context, UIViewRoot root) {
+        if (!WebConfiguration.getInstance(context.getExternalContext()).isOptionEnabled(EnableDirtyStateTracking)) {
+            return;
+        }
+
+        DirtyComponentTracker tracker = getInstance(context);
+        if (tracker == null) {
+            tracker = new DirtyComponentTracker();
+            context.getAttributes().put(DIRTY_COMPONENT_TRACKER, tracker);
+            active = true;
+        }
+
+        tracker.views.add(root);
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @param root a view
+     * @return the tracked components of the view, or <code>null</code> if the view is not tracked, or has dynamically
+     * added components, so that the whole view has to be visited
+     */
+    public static List<UIComponent> getComponents(FacesContext context, UIViewRoot root) {
+        DirtyComponentTracker tracker = getInstance(context);
+        if (tracker == null || !tracker.views.contains(root) || root.getAttributes().containsKey(RIConstants.TREE_HAS_DYNAMIC_COMPONENTS)) {
+            return null;
+        }
+
+        List<UIComponent> result = new ArrayList<>(tracker.components.size() + 1);
+        result.add(root);
+        for (UIComponent component : tracker.components) {
+            if (component != root && isInView(component, root)) {
+                result.add(component);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Called by a component which may have state to save.
+     *
+     * @param component the component
+     */
+    public static void markDirty(UIComponent component) {
+        if (active) {
+            DirtyComponentTracker tracker = getInstance(FacesContext.getCurrentInstance());
+            if (tracker != null) {
+                tracker.components.add(component);
+            }
+        }
+    }
+
+    /**
+     * Called by a component when its initial state was marked.
+     *
+     * @param component the component
+     * @param hasAttachedObjects whether there are listeners or behaviors attached to the component
+     */
+    public static void initialStateMarked(UIComponent component, boolean hasAttachedObjects) {
+        if (active && (hasAttachedObjects || !KNOWN_STATE.get(component.getClass()))) {
+            markDirty(component);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static DirtyComponentTracker getInstance(FacesContext context) {
+        return context == null ? null : (DirtyComponentTracker) context.getAttributes().get(DIRTY_COMPONENT_TRACKER);
+    }
+
+    /**
+     * @return <code>true</code> if the component belongs to the view, and neither it nor one of its parents is transient,
+     * which a visit of the view would reject
+     */
+    private static boolean isInView(UIComponent component, UIViewRoot root) {
+        UIComponent current = component;
+        while (current != null) {
+            if (current.isTransient()) {
+                return false;
+            }
+
+            if (current == root) {
+                return true;
+            }
+
+            current = current.getParent();
+        }
+
+        return false;
+    }
+
+    private static boolean declaresSaveState(Class<?> type) {
+        try {
+            type.getDeclaredMethod("saveState", FacesContext.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
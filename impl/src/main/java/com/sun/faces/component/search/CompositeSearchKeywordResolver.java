@@ -17,19 +17,43 @@
 package com.sun.faces.component.search;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+
+import com.sun.faces.util.LRUMap;
 
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.component.search.SearchExpressionContext;
 import jakarta.faces.component.search.SearchKeywordContext;
 import jakarta.faces.component.search.SearchKeywordResolver;
 
+/**
+ * <p>
+ * The chain of {@link SearchKeywordResolver}s of an application. The first resolver in the chain which is a resolver
+ * for a keyword and resolves it wins.
+ * </p>
+ *
+ * <p>
+ * The resolvers which may resolve a keyword are cached per keyword. The resolvers of Mojarra only look at the keyword
+ * to decide whether they are a resolver for it, so they are checked only once per keyword. Any other resolver may
+ * depend on the {@link SearchExpressionContext} and is still asked every time.
+ * </p>
+ */
 public class CompositeSearchKeywordResolver extends SearchKeywordResolver {
 
     private static final int NUMBER_OF_DEFAULT_IMPLEMENTATIONS = 12;
 
+    /**
+     * Keywords with parameters, like <code>@id(...)</code>, may be built dynamically, so the cache must not grow without
+     * bound, and evicts the least recently used keywords.
+     */
+    private static final int MAX_CACHED_KEYWORDS = 1024;
+
     private final List<SearchKeywordResolver> resolvers;
 
+    private final Map<String, Candidates> candidatesByKeyword = Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_KEYWORDS));
+
     public CompositeSearchKeywordResolver() {
         resolvers = new ArrayList<>(NUMBER_OF_DEFAULT_IMPLEMENTATIONS);
     }
@@ -40,15 +64,17 @@ public class CompositeSearchKeywordResolver extends SearchKeywordResolver {
         }
 
         resolvers.add(0, searchKeywordResolver);
+        candidatesByKeyword.clear();
     }
 
     @Override
     public void resolve(SearchKeywordContext context, UIComponent current, String keyword) {
         context.setKeywordResolved(false);
 
-        for (int i = 0; i < resolvers.size(); i++) {
-            SearchKeywordResolver resolver = resolvers.get(i);
-            if (resolver.isResolverForKeyword(context.getSearchExpressionContext(), keyword)) {
+        Candidates candidates = getCandidates(keyword);
+        for (int i = 0; i < candidates.resolvers.length; i++) {
+            SearchKeywordResolver resolver = candidates.resolvers[i];
+            if (candidates.isResolverForKeyword(i, context.getSearchExpressionContext(), keyword)) {
                 resolver.resolve(context, current, keyword);
                 if (context.isKeywordResolved()) {
                     return;
@@ -59,37 +85,83 @@ public class CompositeSearchKeywordResolver extends SearchKeywordResolver {
 
     @Override
     public boolean isResolverForKeyword(SearchExpressionContext searchExpressionContext, String keyword) {
-        for (int i = 0; i < resolvers.size(); i++) {
-            SearchKeywordResolver resolver = resolvers.get(i);
-            if (resolver.isResolverForKeyword(searchExpressionContext, keyword)) {
-                return true;
-            }
-        }
-
-        return false;
+        return getResolverForKeyword(searchExpressionContext, keyword) != null;
     }
 
     @Override
     public boolean isPassthrough(SearchExpressionContext searchExpressionContext, String keyword) {
-        for (int i = 0; i < resolvers.size(); i++) {
-            SearchKeywordResolver resolver = resolvers.get(i);
-            if (resolver.isResolverForKeyword(searchExpressionContext, keyword)) {
-                return resolver.isPassthrough(searchExpressionContext, keyword);
-            }
-        }
+        SearchKeywordResolver resolver = getResolverForKeyword(searchExpressionContext, keyword);
 
-        return false;
+        return resolver != null && resolver.isPassthrough(searchExpressionContext, keyword);
     }
 
     @Override
     public boolean isLeaf(SearchExpressionContext searchExpressionContext, String keyword) {
-        for (int i = 0; i < resolvers.size(); i++) {
-            SearchKeywordResolver resolver = resolvers.get(i);
-            if (resolver.isResolverForKeyword(searchExpressionContext, keyword)) {
-                return resolver.isLeaf(searchExpressionContext, keyword);
+        SearchKeywordResolver resolver = getResolverForKeyword(searchExpressionContext, keyword);
+
+        return resolver != null && resolver.isLeaf(searchExpressionContext, keyword);
+    }
+
+    private SearchKeywordResolver getResolverForKeyword(SearchExpressionContext searchExpressionContext, String keyword) {
+        Candidates candidates = getCandidates(keyword);
+        for (int i = 0; i < candidates.resolvers.length; i++) {
+            if (candidates.isResolverForKeyword(i, searchExpressionContext, keyword)) {
+                return candidates.resolvers[i];
+            }
+        }
+
+        return null;
+    }
+
+    private Candidates getCandidates(String keyword) {
+        Candidates candidates = candidatesByKeyword.get(keyword);
+        if (candidates == null) {
+            candidates = new Candidates(resolvers, keyword);
+            candidatesByKeyword.put(keyword, candidates);
+        }
+
+        return candidates;
+    }
+
+    /**
+     * The resolvers of the chain which may be resolvers for a keyword, in the order of the chain.
+     */
+    private static final class Candidates {
+
+        private final SearchKeywordResolver[] resolvers;
+
+        /**
+         * Whether the resolver at the same index is known to be a resolver for the keyword, or must still be asked.
+         */
+        private final boolean[] verified;
+
+        Candidates(List<SearchKeywordResolver> chain, String keyword) {
+            List<SearchKeywordResolver> candidates = new ArrayList<>(chain.size());
+            List<Boolean> verifiedCandidates = new ArrayList<>(chain.size());
+
+            for (SearchKeywordResolver resolver : chain) {
+                if (!isKeywordOnly(resolver)) {
+                    candidates.add(resolver);
+                    verifiedCandidates.add(false);
+                } else if (resolver.isResolverForKeyword(null, keyword)) {
+                    candidates.add(resolver);
+                    verifiedCandidates.add(true);
+                }
+            }
+
+            resolvers = candidates.toArray(new SearchKeywordResolver[candidates.size()]);
+            verified = new boolean[resolvers.length];
+            for (int i = 0; i < verified.length; i++) {
+                verified[i] = verifiedCandidates.get(i);
             }
         }
 
-        return false;
+        boolean isResolverForKeyword(int index, SearchExpressionContext searchExpressionContext, String keyword) {
+            return verified[index] || resolvers[index].isResolverForKeyword(searchExpressionContext, keyword);
+        }
+
+        private static boolean isKeywordOnly(SearchKeywordResolver resolver) {
+            return resolver.getClass().getPackage() == CompositeSearchKeywordResolver.class.getPackage();
+        }
     }
 }
@@ -18,11 +18,20 @@ package com.sun.faces.component.search;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.sun.faces.component.search.SearchExpressionPlan.Kind;
+import com.sun.faces.util.LRUMap;
 
 import jakarta.faces.FacesException;
 import jakarta.faces.component.ContextCallback;
+import jakarta.faces.component.TransientStateHelper;
 import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.component.search.ComponentNotFoundException;
 import jakarta.faces.component.search.SearchExpressionContext;
 import jakarta.faces.component.search.SearchExpressionHandler;
@@ -33,6 +42,19 @@ import jakarta.faces.context.FacesContext;
 
 public class SearchExpressionHandlerImpl extends SearchExpressionHandler {
 
+    /**
+     * The maximum number of expressions whose compiled plan and split form are cached. Expressions are usually literals
+     * in the views, but may be built dynamically, so the caches must not grow without bound, and evict the least recently
+     * used expressions.
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 1024;
+
+    private static final String RESOLVED_COMPONENTS = SearchExpressionHandlerImpl.class.getName() + ".RESOLVED_COMPONENTS";
+
+    private final Map<String, SearchExpressionPlan> plans = Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_EXPRESSIONS));
+
+    private final Map<String, String[]> splitExpressionsCache = Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_EXPRESSIONS));
+
     protected void addHint(SearchExpressionContext searchExpressionContext, SearchExpressionHint hint) {
         // It is a Set already
         if (!searchExpressionContext.getExpressionHints().contains(hint)) {
@@ -238,60 +260,56 @@ public class SearchExpressionHandlerImpl extends SearchExpressionHandler {
             return;
         }
 
-        expression = expression.trim();
-
         FacesContext facesContext = searchExpressionContext.getFacesContext();
         SearchExpressionHandler handler = facesContext.getApplication().getSearchExpressionHandler();
 
-        // contains keyword? If not, just try findComponent and don't apply our algorithm
-        if (expression.contains(KEYWORD_PREFIX)) {
-
-            // absolute expression and keyword as first command -> try again from ViewRoot
-            char separatorChar = facesContext.getNamingContainerSeparatorChar();
-            if (expression.charAt(0) == separatorChar && expression.charAt(1) == KEYWORD_PREFIX.charAt(0)) {
-                handler.invokeOnComponent(searchExpressionContext, facesContext.getViewRoot(), expression.substring(1), callback);
-                return;
-            }
+        invokeOnComponent(searchExpressionContext, handler, previous, getPlan(facesContext, expression), callback);
+    }
 
-            String command = extractFirstCommand(facesContext, expression);
+    private void invokeOnComponent(SearchExpressionContext searchExpressionContext, SearchExpressionHandler handler, UIComponent previous,
+            SearchExpressionPlan plan, ContextCallback callback) {
 
-            // check if there are remaining keywords/id's after the first command
-            String remainingExpression = null;
-            if (command.length() < expression.length()) {
-                remainingExpression = expression.substring(command.length() + 1);
-            }
+        FacesContext facesContext = searchExpressionContext.getFacesContext();
 
-            if (command.startsWith(KEYWORD_PREFIX)) {
+        switch (plan.getKind()) {
+        case ABSOLUTE:
+            // absolute expression and keyword as first command -> try again from ViewRoot
+            invokeOnRemainingExpression(searchExpressionContext, handler, facesContext.getViewRoot(), plan, callback);
+            break;
 
-                String keyword = command.substring(KEYWORD_PREFIX.length());
+        case KEYWORD:
+            String keyword = plan.getCommand();
 
-                if (remainingExpression == null) {
-                    invokeKeywordResolvers(searchExpressionContext, previous, keyword, null, callback);
-                } else {
+            if (plan.getRemainingExpression() == null) {
+                invokeKeywordResolvers(searchExpressionContext, previous, keyword, null, callback);
+            } else {
 
-                    if (facesContext.getApplication().getSearchKeywordResolver().isLeaf(searchExpressionContext, keyword)) {
-                        throw new FacesException(
-                                "It's not valid to place a keyword or id after a leaf keyword: " + KEYWORD_PREFIX + keyword + ". Expression: " + expression);
-                    }
+                if (facesContext.getApplication().getSearchKeywordResolver().isLeaf(searchExpressionContext, keyword)) {
+                    throw new FacesException(
+                            "It's not valid to place a keyword or id after a leaf keyword: " + KEYWORD_PREFIX + keyword + ". Expression: " + plan.getExpression());
+                }
 
-                    final String finalRemainingExpression = remainingExpression;
+                invokeKeywordResolvers(searchExpressionContext, previous, keyword, plan.getRemainingExpression(),
+                        (facesContext1, target) -> invokeOnRemainingExpression(searchExpressionContext, handler, target, plan, callback));
+            }
+            break;
 
-                    invokeKeywordResolvers(searchExpressionContext, previous, keyword, remainingExpression, (facesContext1, target) -> handler.invokeOnComponent(searchExpressionContext, target, finalRemainingExpression, callback));
-                }
-            } else {
-                String id = command;
-
-                UIComponent target = previous.findComponent(id);
-                if (target != null) {
-                    if (remainingExpression == null) {
-                        callback.invokeContextCallback(facesContext, target);
-                    } else {
-                        handler.invokeOnComponent(searchExpressionContext, target, remainingExpression, callback);
-                    }
+        case ID:
+            UIComponent target = previous.findComponent(plan.getCommand());
+            if (target != null) {
+                if (plan.getRemainingExpression() == null) {
+                    callback.invokeContextCallback(facesContext, target);
+                } else {
+                    invokeOnRemainingExpression(searchExpressionContext, handler, target, plan, callback);
                 }
             }
-        } else {
-            UIComponent target = previous.findComponent(expression);
+            break;
+
+        default:
+            // no keyword, just try findComponent and don't apply our algorithm
+            String expression = plan.getExpression();
+
+            target = findComponent(facesContext, previous, expression);
             if (target != null) {
                 callback.invokeContextCallback(facesContext, target);
             } else if (!isHintSet(searchExpressionContext, SearchExpressionHint.SKIP_VIRTUAL_COMPONENTS)) {
@@ -307,6 +325,159 @@ public class SearchExpressionHandlerImpl extends SearchExpressionHandler {
         }
     }
 
+    /**
+     * Continue with the expression remaining after the given step. A decorated handler is called with the remaining
+     * expression, like it always was, otherwise the compiled plan of the remaining expression is executed directly.
+     */
+    private void invokeOnRemainingExpression(SearchExpressionContext searchExpressionContext, SearchExpressionHandler handler, UIComponent previous,
+            SearchExpressionPlan plan, ContextCallback callback) {
+
+        if (handler != this) {
+            handler.invokeOnComponent(searchExpressionContext, previous, plan.getRemainingExpression(), callback);
+        } else if (previous != null) {
+            invokeOnComponent(searchExpressionContext, handler, previous, plan.getNext(), callback);
+        }
+    }
+
+    /**
+     * Find the component for an expression without keywords. The result is memoized per view, keyed by the component
+     * the search starts from and the expression, because <code>findComponent</code> may have to walk a large part of
+     * the tree. A memoized component is only used as long as the ancestors of both components and the ids of the
+     * ancestors of the found component are unchanged, which means <code>findComponent</code> would find it again.
+     */
+    private UIComponent findComponent(FacesContext facesContext, UIComponent previous, String expression) {
+        UIViewRoot viewRoot = facesContext.getViewRoot();
+        if (viewRoot == null) {
+            return previous.findComponent(expression);
+        }
+
+        TransientStateHelper helper = viewRoot.getTransientStateHelper(false);
+
+        @SuppressWarnings("unchecked")
+        Map<UIComponent, Map<String, ResolvedComponent>> resolvedComponents = helper == null ? null
+                : (Map<UIComponent, Map<String, ResolvedComponent>>) helper.getTransient(RESOLVED_COMPONENTS);
+
+        if (resolvedComponents != null) {
+            Map<String, ResolvedComponent> resolvedForPrevious = resolvedComponents.get(previous);
+            ResolvedComponent resolved = resolvedForPrevious == null ? null : resolvedForPrevious.get(expression);
+            if (resolved != null && resolved.isValid(previous)) {
+                return resolved.getTarget();
+            }
+        }
+
+        UIComponent target = previous.findComponent(expression);
+        if (target != null && target.isInView()) {
+            if (resolvedComponents == null) {
+                resolvedComponents = new IdentityHashMap<>();
+                viewRoot.getTransientStateHelper().putTransient(RESOLVED_COMPONENTS, resolvedComponents);
+            }
+
+            resolvedComponents.computeIfAbsent(previous, k -> new HashMap<>(4)).put(expression, new ResolvedComponent(previous, target));
+        }
+
+        return target;
+    }
+
+    private static final class ResolvedComponent {
+
+        private final UIComponent[] previousPath;
+        private final UIComponent[] targetPath;
+        private final String[] targetPathIds;
+
+        ResolvedComponent(UIComponent previous, UIComponent target) {
+            previousPath = getPath(previous);
+            targetPath = getPath(target);
+            targetPathIds = new String[targetPath.length];
+            for (int i = 0; i < targetPath.length; i++) {
+                targetPathIds[i] = targetPath[i].getId();
+            }
+        }
+
+        UIComponent getTarget() {
+            return targetPath[0];
+        }
+
+        boolean isValid(UIComponent previous) {
+            UIComponent current = previous;
+            for (UIComponent component : previousPath) {
+                if (current != component) {
+                    return false;
+                }
+                current = current.getParent();
+            }
+
+            if (current != null) {
+                return false;
+            }
+
+            current = targetPath[0];
+            for (int i = 0; i < targetPath.length; i++) {
+                if (current != targetPath[i] || !Objects.equals(current.getId(), targetPathIds[i])) {
+                    return false;
+                }
+                current = current.getParent();
+            }
+
+            return current == null;
+        }
+
+        private static UIComponent[] getPath(UIComponent component) {
+            List<UIComponent> path = new ArrayList<>();
+            for (UIComponent current = component; current != null; current = current.getParent()) {
+                path.add(current);
+            }
+
+            return path.toArray(new UIComponent[path.size()]);
+        }
+    }
+
+    /**
+     * Return the compiled plan of the given expression, from the cache if possible.
+     */
+    private SearchExpressionPlan getPlan(FacesContext facesContext, String expression) {
+        char separatorChar = facesContext.getNamingContainerSeparatorChar();
+
+        SearchExpressionPlan plan = plans.get(expression);
+        if (plan == null || plan.getSeparatorChar() != separatorChar) {
+            plan = compile(facesContext, expression, separatorChar);
+            plans.put(expression, plan);
+        }
+
+        return plan;
+    }
+
+    private SearchExpressionPlan compile(FacesContext facesContext, String expression, char separatorChar) {
+        expression = expression.trim();
+
+        // contains keyword? If not, just try findComponent and don't apply our algorithm
+        if (!expression.contains(KEYWORD_PREFIX)) {
+            return new SearchExpressionPlan(Kind.ID_EXPRESSION, expression, null, null, null, separatorChar);
+        }
+
+        // absolute expression and keyword as first command -> try again from ViewRoot
+        if (expression.charAt(0) == separatorChar && expression.charAt(1) == KEYWORD_PREFIX.charAt(0)) {
+            String remainingExpression = expression.substring(1);
+            return new SearchExpressionPlan(Kind.ABSOLUTE, expression, null, remainingExpression, compile(facesContext, remainingExpression, separatorChar),
+                    separatorChar);
+        }
+
+        String command = extractFirstCommand(facesContext, expression);
+
+        // check if there are remaining keywords/id's after the first command
+        String remainingExpression = null;
+        SearchExpressionPlan next = null;
+        if (command.length() < expression.length()) {
+            remainingExpression = expression.substring(command.length() + 1);
+            next = compile(facesContext, remainingExpression, separatorChar);
+        }
+
+        if (command.startsWith(KEYWORD_PREFIX)) {
+            return new SearchExpressionPlan(Kind.KEYWORD, expression, command.substring(KEYWORD_PREFIX.length()), remainingExpression, next, separatorChar);
+        }
+
+        return new SearchExpressionPlan(Kind.ID, expression, command, remainingExpression, next, separatorChar);
+    }
+
     protected void invokeKeywordResolvers(SearchExpressionContext searchExpressionContext, UIComponent previous, String keyword, String remainingExpression,
             ContextCallback callback) {
         // take the keyword and resolve it using the chain of responsibility pattern.
@@ -317,6 +488,17 @@ public class SearchExpressionHandlerImpl extends SearchExpressionHandler {
 
     @Override
     public String[] splitExpressions(FacesContext context, String expressions) {
+        String[] tokens = splitExpressionsCache.get(expressions);
+        if (tokens == null) {
+            tokens = split(context, expressions);
+            splitExpressionsCache.put(expressions, tokens);
+        }
+
+        // the array is handed out, so it must not be shared
+        return tokens.clone();
+    }
+
+    private String[] split(FacesContext context, String expressions) {
         // we can't use a split(",") or split(" ") as keyword parameters might contain spaces or commas
         List<String> tokens = new ArrayList<>();
         StringBuilder buffer = new StringBuilder();
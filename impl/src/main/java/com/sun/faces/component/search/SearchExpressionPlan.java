@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.component.search;
+
+/**
+ * <p>
+ * A search expression compiled by {@link SearchExpressionHandlerImpl} into the chain of steps that
+ * {@link SearchExpressionHandlerImpl#invokeOnComponent(jakarta.faces.component.search.SearchExpressionContext, jakarta.faces.component.UIComponent, String, jakarta.faces.component.ContextCallback)}
+ * takes to resolve it. Each plan is one step: it holds the command the step executes and the plan of the expression
+ * remaining after that command, so that the expression is parsed only once instead of once per step and per request.
+ * </p>
+ *
+ * <p>
+ * Plans are immutable and shared by all requests of an application.
+ * </p>
+ */
+final class SearchExpressionPlan {
+
+    enum Kind {
+
+        /**
+         * An expression without keywords, which is resolved with <code>findComponent</code>.
+         */
+        ID_EXPRESSION,
+
+        /**
+         * An absolute expression starting with a keyword, which is resolved from the view root.
+         */
+        ABSOLUTE,
+
+        /**
+         * An expression starting with a keyword.
+         */
+        KEYWORD,
+
+        /**
+         * An expression starting with an id, which is followed by a keyword somewhere.
+         */
+        ID
+
+    }
+
+    private final Kind kind;
+
+    private final String expression;
+
+    private final String command;
+
+    private final String remainingExpression;
+
+    private final SearchExpressionPlan next;
+
+    private final char separatorChar;
+
+    // ------------------------------------------------------------ Constructors
+
+    SearchExpressionPlan(Kind kind, String expression, String command, String remainingExpression, SearchExpressionPlan next, char separatorChar) {
+        this.kind = kind;
+        this.expression = expression;
+        this.command = command;
+        this.remainingExpression = remainingExpression;
+        this.next = next;
+        this.separatorChar = separatorChar;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the trimmed expression this step was compiled from
+     */
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return the keyword without prefix for {@link Kind#KEYWORD}, the id for {@link Kind#ID}, otherwise
+     * <code>null</code>
+     */
+    String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return the expression remaining after this step, as passed to the next step, or <code>null</code> if this is the
+     * last step
+     */
+    String getRemainingExpression() {
+        return remainingExpression;
+    }
+
+    /**
+     * @return the plan of {@link #getRemainingExpression()}, or <code>null</code> if this is the last step
+     */
+    SearchExpressionPlan getNext() {
+        return next;
+    }
+
+    /**
+     * @return the naming container separator this plan was compiled with
+     */
+    char getSeparatorChar() {
+        return separatorChar;
+    }
+
+}
@@ -23,13 +23,17 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import com.sun.faces.component.ClientIdIndex;
+
 import jakarta.faces.component.NamingContainer;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.component.visit.VisitCallback;
 import jakarta.faces.component.visit.VisitContext;
 import jakarta.faces.component.visit.VisitHint;
@@ -74,6 +78,13 @@ public class PartialVisitContext extends VisitContext {
 
         this.facesContext = facesContext;
 
+        // Resolve the client ids through the index of the view, if any,
+        // so that subtrees without targets can be skipped
+        UIViewRoot viewRoot = facesContext.getViewRoot();
+        if (viewRoot != null) {
+            clientIdIndex = ClientIdIndex.getInstance(facesContext, viewRoot);
+        }
+
         // Initialize our various collections
         initializeCollections(clientIds);
 
@@ -142,6 +153,19 @@ public class PartialVisitContext extends VisitContext {
     @Override
     public VisitResult invokeVisitCallback(UIComponent component, VisitCallback callback) {
 
+        // Skip subtrees that do not lead to any of the components to
+        // visit, which is only known if the visit started at the view
+        // whose index resolved all of the client ids.
+        if (clientIdIndex != null) {
+            if (!visitStarted && component != clientIdIndex.getViewRoot()) {
+                clientIdIndex = null;
+            } else if (!isOnTargetPath(component)) {
+                visitStarted = true;
+                return VisitResult.REJECT;
+            }
+        }
+        visitStarted = true;
+
         // First sure that we should visit this component - ie.
         // that this component is represented in our id set.
         String clientId = getVisitId(component);
@@ -185,6 +209,9 @@ public class PartialVisitContext extends VisitContext {
 
         // Update the subtree ids collection
         addSubtreeClientId(clientId);
+
+        // Update the paths to the targets
+        addTargetPath(clientId);
     }
 
     // Called by CollectionProxy to notify PartialVisitContext that
@@ -265,6 +292,55 @@ public class PartialVisitContext extends VisitContext {
         return clientIds.contains(clientId) ? clientId : null;
     }
 
+    // Resolves a client id through the index and remembers the
+    // components on the path to it. If the client id cannot be
+    // resolved, no subtree can be skipped.
+    private void addTargetPath(String clientId) {
+
+        if (clientIdIndex == null) {
+            return;
+        }
+
+        ClientIdIndex.Match match = clientIdIndex.resolve(facesContext, clientId);
+        if (match == null) {
+            clientIdIndex = null;
+            return;
+        }
+
+        if (!match.isExact()) {
+            rowTargets.add(match.getComponent());
+        }
+
+        for (UIComponent current = match.getComponent(); current != null; current = current.getParent()) {
+            if (!targetPaths.add(current)) {
+                break;
+            }
+        }
+    }
+
+    // Tests whether the specified component is on the path to a
+    // component to visit, or within an iteration component which
+    // contains a component to visit in one of its rows.
+    private boolean isOnTargetPath(UIComponent component) {
+
+        if (targetPaths.contains(component)) {
+            return true;
+        }
+
+        if (!rowTargets.isEmpty()) {
+            for (UIComponent parent = component.getParent(); parent != null; parent = parent.getParent()) {
+                if (rowTargets.contains(parent)) {
+                    return true;
+                }
+                if (targetPaths.contains(parent)) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+
     // Converts an client id into a plain old id by ripping
     // out the trailing id segmetn.
     private String getIdFromClientId(String clientId) {
@@ -428,6 +504,18 @@ public class PartialVisitContext extends VisitContext {
     // The FacesContext for this request
     private FacesContext facesContext;
 
+    // The index of the view, or null if subtrees cannot be skipped
+    private ClientIdIndex clientIdIndex;
+
+    // The components to visit and their ancestors
+    private Set<UIComponent> targetPaths = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // The iteration components which contain components to visit
+    private Set<UIComponent> rowTargets = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Whether the visit started
+    private boolean visitStarted;
+
     // Our visit hints
     private Set<VisitHint> hints;
 }
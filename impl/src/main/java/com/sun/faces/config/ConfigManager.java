@@ -16,6 +16,7 @@
 package com.sun.faces.config;
 
 import static com.sun.faces.RIConstants.FACES_PREFIX;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableStartupIndex;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableThreading;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.ValidateFacesConfigFiles;
 import static com.sun.faces.config.manager.Documents.getProgrammaticDocuments;
@@ -29,6 +30,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableList;
 import static java.util.logging.Level.FINE;
+import static java.util.stream.Collectors.toList;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -55,6 +57,7 @@ import com.sun.faces.config.configprovider.WebFaceletTaglibResourceProvider;
 import com.sun.faces.config.configprovider.WebFacesConfigResourceProvider;
 import com.sun.faces.config.manager.DbfFactory;
 import com.sun.faces.config.manager.FacesConfigInfo;
+import com.sun.faces.config.manager.StartupIndex;
 import com.sun.faces.config.manager.documents.DocumentInfo;
 import com.sun.faces.config.manager.tasks.FindAnnotatedConfigClasses;
 import com.sun.faces.config.manager.tasks.ProvideMetadataToAnnotationScanTask;
@@ -235,13 +238,16 @@ public class ConfigManager {
                     executor = createExecutorService();
                 }
 
+                StartupIndex startupIndex = webConfig.isOptionEnabled(EnableStartupIndex) ? StartupIndex.load(servletContext) : null;
+
                 // Obtain and merge the XML and Programmatic documents
-                DocumentInfo[] facesDocuments = mergeDocuments(getXMLDocuments(servletContext, getFacesConfigResourceProviders(), executor, validating),
+                DocumentInfo[] facesDocuments = mergeDocuments(
+                        getXMLDocuments(servletContext, withStartupIndex(getFacesConfigResourceProviders(), startupIndex), executor, validating),
                         getProgrammaticDocuments(getConfigPopulators()));
 
                 FacesConfigInfo lastFacesConfigInfo = new FacesConfigInfo(facesDocuments[facesDocuments.length - 1]);
 
-                facesDocuments = sortDocuments(facesDocuments, lastFacesConfigInfo);
+                facesDocuments = sortDocuments(facesDocuments, lastFacesConfigInfo, startupIndex);
 
                 InjectionProvider containerConnector = InjectionProviderFactory.createInstance(facesContext.getExternalContext());
                 facesContext.getAttributes().put(INJECTION_PROVIDER_KEY, containerConnector);
@@ -308,7 +314,11 @@ public class ConfigManager {
                 });
 
                 faceletTaglibConfigProcessor.process(servletContext, facesContext,
-                    getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), executor, validating));
+                    getXMLDocuments(servletContext, withStartupIndex(getFaceletConfigResourceProviders(), startupIndex), executor, validating));
+
+                if (startupIndex != null) {
+                    startupIndex.store();
+                }
 
             } catch (Exception e) {
                 // Clear out any configured factories
@@ -394,6 +404,14 @@ public class ConfigManager {
         return unmodifiableList(providers);
     }
 
+    private List<ConfigurationResourceProvider> withStartupIndex(List<ConfigurationResourceProvider> providers, StartupIndex startupIndex) {
+        if (startupIndex == null) {
+            return providers;
+        }
+
+        return providers.stream().map(startupIndex::wrap).collect(toList());
+    }
+
     private void initializeConfigProcessers(ServletContext servletContext, FacesContext facesContext) {
         configProcessors.stream().parallel().forEach(e -> e.initializeClassMetadataMap(servletContext, facesContext));
     }
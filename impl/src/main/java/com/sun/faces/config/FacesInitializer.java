@@ -20,6 +20,7 @@ package com.sun.faces.config;
 import static com.sun.faces.RIConstants.ANNOTATED_CLASSES;
 import static com.sun.faces.RIConstants.FACES_SERVLET_MAPPINGS;
 import static com.sun.faces.RIConstants.FACES_SERVLET_REGISTRATION;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableAsyncResponseWriting;
 import static com.sun.faces.util.Util.isEmpty;
 import static java.lang.Boolean.parseBoolean;
 
@@ -191,7 +192,11 @@ public class FacesInitializer implements ServletContainerInitializer {
             return;
         }
 
-        ServletRegistration newFacesServletRegistration = servletContext.addServlet(FacesServlet.class.getSimpleName(), FACES_SERVLET_CLASS_NAME);
+        ServletRegistration.Dynamic newFacesServletRegistration = servletContext.addServlet(FacesServlet.class.getSimpleName(), FACES_SERVLET_CLASS_NAME);
+
+        if (parseBoolean(servletContext.getInitParameter(EnableAsyncResponseWriting.getQualifiedName()))) {
+            newFacesServletRegistration.setAsyncSupported(true);
+        }
 
         if (parseBoolean(servletContext.getInitParameter(FacesServlet.DISABLE_FACESSERVLET_TO_XHTML_PARAM_NAME))) {
             newFacesServletRegistration.addMapping(FACES_SERVLET_MAPPINGS_WITHOUT_XHTML);
@@ -751,6 +751,7 @@ public class WebConfiguration {
         NumberOfViews("com.sun.faces.numberOfViewsInSession", "15"),
         NumberOfLogicalViews("com.sun.faces.numberOfLogicalViews", "15"),
         NumberOfActiveViewMaps("com.sun.faces.numberOfActiveViewMaps", "25"),
+        NumberOfFlowClientWindows("com.sun.faces.numberOfFlowClientWindows", "0"),
         NumberOfConcurrentFlashUsers("com.sun.faces.numberOfConcerrentFlashUsers", "5000"),
         NumberOfFlashesBetweenFlashReapings("com.sun.faces.numberOfFlashesBetweenFlashReapings", "5000"),
         InjectionProviderClass("com.sun.faces.injectionProvider", ""),
@@ -759,6 +760,7 @@ public class WebConfiguration {
         FaceletsBufferSize(ViewHandler.FACELETS_BUFFER_SIZE_PARAM_NAME, "1024"),
         ClientStateWriteBufferSize("com.sun.faces.clientStateWriteBufferSize", "8192"),
         ResourceBufferSize("com.sun.faces.resourceBufferSize", "2048"),
+        AsyncResponseWritingBufferSize("com.sun.faces.asyncResponseWritingBufferSize", ""),
         ExpressionFactory("com.sun.faces.expressionFactory", "com.sun.el.ExpressionFactoryImpl"),
         ClientStateTimeout("com.sun.faces.clientStateTimeout", ""),
         DefaultResourceMaxAge("com.sun.faces.defaultResourceMaxAge", "604800000"), // 7 days
@@ -777,6 +779,8 @@ public class WebConfiguration {
         ClientWindowMode(ClientWindow.CLIENT_WINDOW_MODE_PARAM_NAME, "none"),
         WebAppResourcesDirectory(ResourceHandler.WEBAPP_RESOURCES_DIRECTORY_PARAM_NAME, "/resources"),
         WebAppContractsDirectory(ResourceHandler.WEBAPP_CONTRACTS_DIRECTORY_PARAM_NAME, "/contracts"),
+        LifecycleInstrumentationClass("com.sun.faces.lifecycleInstrumentation", ""),
+        LifecycleStatisticsSlowestRenderers("com.sun.faces.lifecycleStatisticsSlowestRenderers", "0"),
         ;
 
         private String defaultValue;
@@ -887,6 +891,22 @@ public class WebConfiguration {
         EnableWebsocketEndpoint(PushContext.ENABLE_WEBSOCKET_ENDPOINT_PARAM_NAME, false),
         DisallowDoctypeDecl("com.sun.faces.disallowDoctypeDecl", false),
         UseFaceletsID("com.sun.faces.useFaceletsID",false),
+        EnableUtf8ByteResponseWriter("com.sun.faces.enableUtf8ByteResponseWriter", false),
+        EnableStreamingRender("com.sun.faces.enableStreamingRender", false),
+        EnableStartupIndex("com.sun.faces.enableStartupIndex", false),
+        EnableClientIdIndex("com.sun.faces.enableClientIdIndex", false),
+        EnableLifecycleStatistics("com.sun.faces.enableLifecycleStatistics", false),
+        EnableContextReuse("com.sun.faces.enableContextReuse", false),
+        EnableContextReuseDebug("com.sun.faces.enableContextReuseDebug", false),
+        EnableAsyncResponseWriting("com.sun.faces.enableAsyncResponseWriting", false),
+        EnableDirtyStateTracking("com.sun.faces.enableDirtyStateTracking", false),
+        EnablePositionalStateKeys("com.sun.faces.enablePositionalStateKeys", false),
+        EnableNavigationCaseCache("com.sun.faces.enableNavigationCaseCache", false),
+        EnableMissingResourceCache("com.sun.faces.enableMissingResourceCache", false),
+        EnableResourceRequestPathCache("com.sun.faces.enableResourceRequestPathCache", false),
+        EnableFlowScopeRequestCache("com.sun.faces.enableFlowScopeRequestCache", false),
+        EnableELResolverMemoization("com.sun.faces.enableELResolverMemoization", false),
+        EnableCdiBeanLookupCache("com.sun.faces.enableCdiBeanLookupCache", false),
         ;
 
         private BooleanWebContextInitParameter alternate;
@@ -181,6 +181,23 @@ public class Documents {
      * @return the sorted documents
      */
     public static DocumentInfo[] sortDocuments(DocumentInfo[] facesDocuments, FacesConfigInfo webInfFacesConfig) {
+        return sortDocuments(facesDocuments, webInfFacesConfig, null);
+    }
+
+    /**
+     * <p>
+     * Sort the <code>faces-config</code> documents found on the classpath and those specified by the
+     * <code>jakarta.faces.CONFIG_FILES</code> context init parameter, reusing the order recorded by the given
+     * {@link StartupIndex} when the ordering metadata of the documents did not change since it was recorded.
+     * </p>
+     *
+     * @param facesDocuments an array of <em>all</em> <code>faces-config</code> documents
+     * @param webInfFacesConfig FacesConfigInfo representing the WEB-INF/faces-config.xml for this app
+     * @param startupIndex the startup index, may be <code>null</code>
+     *
+     * @return the sorted documents
+     */
+    public static DocumentInfo[] sortDocuments(DocumentInfo[] facesDocuments, FacesConfigInfo webInfFacesConfig, StartupIndex startupIndex) {
 
         int len = webInfFacesConfig.isWebInfFacesConfig() ? facesDocuments.length - 1 : facesDocuments.length;
 
@@ -193,22 +210,35 @@ public class Documents {
             }
 
             DocumentOrderingWrapper[] ordering = list.toArray(new DocumentOrderingWrapper[list.size()]);
-            if (absoluteOrdering == null) {
-                DocumentOrderingWrapper.sort(ordering);
+            DocumentOrderingWrapper[] result = startupIndex != null ? startupIndex.getDocumentOrder(ordering, absoluteOrdering) : null;
+
+            if (result == null) {
+                if (absoluteOrdering == null) {
+                    result = ordering.clone();
+                    DocumentOrderingWrapper.sort(result);
+                } else {
+                    result = DocumentOrderingWrapper.sort(ordering, absoluteOrdering);
+                }
 
+                if (startupIndex != null) {
+                    startupIndex.putDocumentOrder(ordering, absoluteOrdering, result);
+                }
+            }
+
+            if (absoluteOrdering == null) {
                 // Sorting complete, now update the appropriate locations within
                 // the original array with the sorted documentation.
                 for (int i = 1; i < len; i++) {
-                    facesDocuments[i] = ordering[i - 1].getDocument();
+                    facesDocuments[i] = result[i - 1].getDocument();
                 }
 
                 return facesDocuments;
             } else {
-                DocumentOrderingWrapper[] result = DocumentOrderingWrapper.sort(ordering, absoluteOrdering);
                 DocumentInfo[] ret = new DocumentInfo[webInfFacesConfig.isWebInfFacesConfig() ? result.length + 2 : result.length + 1];
 
-                for (int i = 1; i < len; i++) {
-                    ret[i] = result[i - 1].getDocument();
+                // The absolute ordering may leave documents out, so the result can be shorter than the input
+                for (int i = 0; i < result.length; i++) {
+                    ret[i + 1] = result[i].getDocument();
                 }
 
                 // Add the impl specific config file
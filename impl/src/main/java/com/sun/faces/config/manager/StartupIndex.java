@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.sun.faces.config.configprovider.MetaInfFaceletTaglibraryConfigProvider;
+import com.sun.faces.config.configprovider.MetaInfFacesConfigResourceProvider;
+import com.sun.faces.config.manager.documents.DocumentOrderingWrapper;
+import com.sun.faces.spi.ConfigurationResourceProvider;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * <p>
+ * Remembers the outcome of the expensive, purely classpath dependent parts of the configuration bootstrap between
+ * restarts of the same application: the configuration resources found by scanning the <code>META-INF</code> directory
+ * of every jar, and the order computed by {@link DocumentOrderingWrapper} for the <code>faces-config</code> documents.
+ * </p>
+ *
+ * <p>
+ * The index is stored as a properties file in the directory referenced by the
+ * <code>jakarta.servlet.context.tempdir</code> context attribute. The scanned resources are only reused when the hash
+ * of the jar set (the location, size and modification time of each jar and <code>META-INF</code> directory visible
+ * to the context class loader) is unchanged. The document order is validated against the ordering metadata of the
+ * documents parsed during the current startup, so it never depends on the hash.
+ * </p>
+ *
+ * <p>
+ * Any problem reading or writing the index is logged and otherwise ignored, in which case the configuration is
+ * bootstrapped as if there were no index.
+ * </p>
+ */
+public final class StartupIndex {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final String TEMP_DIR = "jakarta.servlet.context.tempdir";
+
+    private static final String INDEX_FILE_NAME = "mojarra-startup-index.properties";
+
+    private static final String WEB_INF_CLASSES_META_INF = "/WEB-INF/classes/META-INF";
+
+    private static final String JAR_SET_HASH = "jarSetHash";
+
+    private static final String RESOURCES_PREFIX = "resources.";
+
+    private static final String ORDER_HASH = "order.hash";
+
+    private static final String ORDER = "order";
+
+    private final File indexFile;
+
+    private final String jarSetHash;
+
+    private final Map<String, List<URI>> resources = new ConcurrentHashMap<>();
+
+    private volatile String orderHash;
+
+    private volatile int[] order;
+
+    private volatile boolean dirty;
+
+    // ------------------------------------------------------------ Constructors
+
+    private StartupIndex(File indexFile, String jarSetHash) {
+        this.indexFile = indexFile;
+        this.jarSetHash = jarSetHash;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Load the index stored for the given application. If there is no index yet, or if the jar set changed since it was
+     * stored, an index without scanned resources is returned, which is filled during this startup.
+     *
+     * @param servletContext the <code>ServletContext</code> of the application
+     * @return the index, or <code>null</code> if the application has no usable temp directory or the jar set cannot be
+     * hashed
+     */
+    public static StartupIndex load(ServletContext servletContext) {
+        Object tempDir = servletContext.getAttribute(TEMP_DIR);
+        if (!(tempDir instanceof File) || !((File) tempDir).isDirectory()) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "No usable {0}, the startup index is disabled", TEMP_DIR);
+            }
+            return null;
+        }
+
+        String jarSetHash;
+        try {
+            jarSetHash = hashJarSet(servletContext);
+        } catch (IOException | URISyntaxException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to hash the jar set, the startup index is disabled", e);
+            }
+            return null;
+        }
+        if (jarSetHash == null) {
+            return null;
+        }
+
+        StartupIndex index = new StartupIndex(new File((File) tempDir, INDEX_FILE_NAME), jarSetHash);
+        index.read();
+
+        return index;
+    }
+
+    /**
+     * @param provider a configuration resource provider
+     * @return a provider that answers from this index when the given provider is one of the providers scanning the
+     * classpath, otherwise the given provider
+     */
+    public ConfigurationResourceProvider wrap(ConfigurationResourceProvider provider) {
+        Class<?> providerClass = provider.getClass();
+        if (providerClass == MetaInfFacesConfigResourceProvider.class || providerClass == MetaInfFaceletTaglibraryConfigProvider.class) {
+            return indexed(provider);
+        }
+
+        return provider;
+    }
+
+    /**
+     * @param provider a configuration resource provider
+     * @return a provider that answers from this index, and asks the given provider only if the index has no resources
+     * recorded for it
+     */
+    ConfigurationResourceProvider indexed(ConfigurationResourceProvider provider) {
+        return new IndexedResourceProvider(provider);
+    }
+
+    /**
+     * @param documents the documents to be sorted
+     * @param absoluteOrdering the absolute ordering of the application, may be <code>null</code>
+     * @return the documents in the recorded order, or <code>null</code> if no order has been recorded for documents with
+     * this ordering metadata
+     */
+    public DocumentOrderingWrapper[] getDocumentOrder(DocumentOrderingWrapper[] documents, List<String> absoluteOrdering) {
+        int[] recordedOrder = order;
+        String hash = hashOrderingMetadata(documents, absoluteOrdering);
+        if (recordedOrder == null || hash == null || !hash.equals(orderHash)) {
+            return null;
+        }
+
+        DocumentOrderingWrapper[] result = new DocumentOrderingWrapper[recordedOrder.length];
+        for (int i = 0; i < recordedOrder.length; i++) {
+            if (recordedOrder[i] < 0 || recordedOrder[i] >= documents.length) {
+                return null;
+            }
+            result[i] = documents[recordedOrder[i]];
+        }
+
+        return result;
+    }
+
+    /**
+     * Record the order computed for the given documents.
+     *
+     * @param documents the documents that were sorted
+     * @param absoluteOrdering the absolute ordering of the application, may be <code>null</code>
+     * @param sorted the result of the sort, possibly smaller than <code>documents</code>
+     */
+    public void putDocumentOrder(DocumentOrderingWrapper[] documents, List<String> absoluteOrdering, DocumentOrderingWrapper[] sorted) {
+        String hash = hashOrderingMetadata(documents, absoluteOrdering);
+        if (hash == null) {
+            return;
+        }
+
+        List<DocumentOrderingWrapper> positions = Arrays.asList(documents);
+        int[] newOrder = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            newOrder[i] = positions.indexOf(sorted[i]);
+        }
+
+        orderHash = hash;
+        order = newOrder;
+        dirty = true;
+    }
+
+    /**
+     * Write the index to the temp directory if anything was added to it during this startup.
+     */
+    public void store() {
+        if (!dirty) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(JAR_SET_HASH, jarSetHash);
+        for (Map.Entry<String, List<URI>> entry : resources.entrySet()) {
+            StringBuilder uris = new StringBuilder();
+            for (URI uri : entry.getValue()) {
+                uris.append(uri.toASCIIString()).append(' ');
+            }
+            properties.setProperty(RESOURCES_PREFIX + entry.getKey(), uris.toString().trim());
+        }
+        if (order != null) {
+            properties.setProperty(ORDER_HASH, orderHash);
+            StringBuilder positions = new StringBuilder();
+            for (int position : order) {
+                positions.append(position).append(' ');
+            }
+            properties.setProperty(ORDER, positions.toString().trim());
+        }
+
+        try {
+            File tmp = File.createTempFile(INDEX_FILE_NAME, ".tmp", indexFile.getParentFile());
+            try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+                properties.store(out, null);
+            }
+            Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to store the startup index " + indexFile, e);
+            }
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void read() {
+        if (!indexFile.isFile()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(indexFile.toPath())) {
+            properties.load(in);
+
+            String recordedOrder = properties.getProperty(ORDER);
+            if (recordedOrder != null) {
+                orderHash = properties.getProperty(ORDER_HASH);
+                order = recordedOrder.isEmpty() ? new int[0] : Arrays.stream(recordedOrder.split(" ")).mapToInt(Integer::parseInt).toArray();
+            }
+
+            if (jarSetHash.equals(properties.getProperty(JAR_SET_HASH))) {
+                for (String name : properties.stringPropertyNames()) {
+                    if (name.startsWith(RESOURCES_PREFIX)) {
+                        String uris = properties.getProperty(name);
+                        List<URI> list = new ArrayList<>();
+                        for (String uri : uris.isEmpty() ? new String[0] : uris.split(" ")) {
+                            list.add(new URI(uri));
+                        }
+                        resources.put(name.substring(RESOURCES_PREFIX.length()), list);
+                    }
+                }
+            } else if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "The jar set changed, the classpath will be scanned for configuration resources");
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Ignoring unreadable startup index " + indexFile, e);
+            }
+            resources.clear();
+            order = null;
+            orderHash = null;
+        }
+    }
+
+    /**
+     * Hash each root of the class loader that has a <code>META-INF</code> directory, which are the roots that are scanned
+     * for configuration resources: jars are identified by location, size and modification time, directories by the same
+     * properties of each file below their <code>META-INF</code> directory.
+     *
+     * @return the hash, or <code>null</code> if a root is not on the file system
+     */
+    private static String hashJarSet(ServletContext servletContext) throws IOException, URISyntaxException {
+        ClassLoader loader = Util.getCurrentLoader(StartupIndex.class);
+        Set<String> entries = new TreeSet<>();
+
+        for (String name : new String[] { "META-INF/", "META-INF/MANIFEST.MF" }) {
+            for (Enumeration<URL> urls = loader.getResources(name); urls.hasMoreElements();) {
+                if (!addRoot(entries, urls.nextElement())) {
+                    return null;
+                }
+            }
+        }
+
+        Set<String> paths = servletContext.getResourcePaths(WEB_INF_CLASSES_META_INF);
+        if (paths != null) {
+            entries.addAll(paths);
+        }
+
+        MessageDigest digest = newDigest();
+        for (String entry : entries) {
+            digest.update(entry.getBytes(UTF_8));
+            digest.update((byte) '\n');
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static boolean addRoot(Set<String> entries, URL url) throws IOException, URISyntaxException {
+        String protocol = url.getProtocol();
+        if ("jar".equals(protocol)) {
+            String file = url.getFile();
+            int separator = file.indexOf("!/");
+            URL jarUrl = new URL(separator == -1 ? file : file.substring(0, separator));
+            if (!"file".equals(jarUrl.getProtocol())) {
+                return false;
+            }
+            addFile(entries, new File(URLDecoder.decode(jarUrl.getFile(), "UTF-8")));
+            return true;
+        }
+
+        if ("file".equals(protocol)) {
+            File file = new File(URLDecoder.decode(url.getFile(), "UTF-8"));
+            File metaInf = file.isDirectory() ? file : file.getParentFile();
+            addDirectory(entries, metaInf);
+            return true;
+        }
+
+        return false;
+    }
+
+    private static void addDirectory(Set<String> entries, File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                addDirectory(entries, file);
+            } else {
+                addFile(entries, file);
+            }
+        }
+    }
+
+    private static void addFile(Set<String> entries, File file) {
+        entries.add(file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified());
+    }
+
+    /**
+     * @return a hash over the ordering relevant metadata of the documents, or <code>null</code> if a document has no
+     * source, in which case its position cannot be told apart from another one on the next startup
+     */
+    private static String hashOrderingMetadata(DocumentOrderingWrapper[] documents, List<String> absoluteOrdering) {
+        MessageDigest digest = newDigest();
+        digest.update(String.valueOf(absoluteOrdering).getBytes(UTF_8));
+
+        for (DocumentOrderingWrapper document : documents) {
+            URI source = document.getDocument().getSourceURI();
+            if (source == null) {
+                return null;
+            }
+            String metadata = '\n' + source.toASCIIString() + '|' + document.getDocumentId() + '|' + Arrays.toString(document.getBeforeIds()) + '|'
+                    + Arrays.toString(document.getAfterIds());
+            digest.update(metadata.getBytes(UTF_8));
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return hex.toString();
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Answers with the resources recorded in the index, or asks the wrapped provider and records its answer.
+     */
+    private final class IndexedResourceProvider implements ConfigurationResourceProvider {
+
+        private final ConfigurationResourceProvider wrapped;
+
+        IndexedResourceProvider(ConfigurationResourceProvider wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public Collection<URI> getResources(ServletContext context) {
+            String key = wrapped.getClass().getName();
+            List<URI> indexed = resources.get(key);
+            if (indexed != null) {
+                return indexed;
+            }
+
+            Collection<URI> scanned = wrapped.getResources(context);
+            resources.put(key, new ArrayList<>(scanned));
+            dirty = true;
+
+            return scanned;
+        }
+    }
+
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.context;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableAsyncResponseWriting;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.AsyncResponseWritingBufferSize;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsBufferSize;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * <p>
+ * A response which collects the body while the request is processed, and writes it to the client with a
+ * {@link WriteListener} once the request has been processed. The container thread is then free to process other
+ * requests, instead of blocking until a slow client has read the complete response.
+ * </p>
+ *
+ * <p>
+ * The rendered output is kept in memory, up to the <code>com.sun.faces.asyncResponseWritingBufferSize</code> context
+ * parameter, which defaults to 256 times the Facelets buffer size, or the buffer size of the response if that is larger.
+ * Rendered output which outgrows it is written to the client as usual, blocking the container thread. A resource body is not kept in memory, it is handed
+ * over as a stream with {@link #setBody(InputStream)}, and read while it is written. As long as the complete response is
+ * written at the end, flushing the response while the view is rendered has no effect.
+ * </p>
+ *
+ * <p>
+ * This is enabled with the <code>com.sun.faces.enableAsyncResponseWriting</code> context parameter, and used for
+ * requests of which the <code>FacesServlet</code> supports asynchronous processing. The <code>FacesServlet</code>
+ * registered by the implementation does, one declared in <code>web.xml</code> needs
+ * <code>&lt;async-supported&gt;true&lt;/async-supported&gt;</code>.
+ * </p>
+ */
+public class AsyncWritingResponse extends HttpServletResponseWrapper {
+
+    private static final Logger LOGGER = FacesLogger.CONTEXT.getLogger();
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final int FACELETS_BUFFER_SIZE_MULTIPLE = 256;
+
+    private static final int DEFAULT_BUFFER_LIMIT = FACELETS_BUFFER_SIZE_MULTIPLE * Integer.parseInt(FaceletsBufferSize.getDefaultValue());
+
+    private final HttpServletRequest request;
+
+    private final int bufferLimit;
+
+    private final BufferOutputStream buffer = new BufferOutputStream();
+
+    private PrintWriter writer;
+
+    private boolean outputStreamUsed;
+
+    private InputStream body;
+
+    // ------------------------------------------------------------ Constructors
+
+    private AsyncWritingResponse(HttpServletRequest request, HttpServletResponse response, int bufferLimit) {
+        super(response);
+        this.request = request;
+        this.bufferLimit = Math.max(bufferLimit, CHUNK_SIZE);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param servletContext the <code>ServletContext</code> of the application
+     * @return <code>true</code> if the response of requests are to be written asynchronously
+     */
+    public static boolean isEnabled(ServletContext servletContext) {
+        return WebConfiguration.getInstance(servletContext).isOptionEnabled(EnableAsyncResponseWriting);
+    }
+
+    /**
+     * @param servletContext the <code>ServletContext</code> of the application
+     * @return the number of bytes of rendered output which are collected to be written asynchronously
+     */
+    public static int getBufferLimit(ServletContext servletContext) {
+        WebConfiguration webConfig = WebConfiguration.getInstance(servletContext);
+        try {
+            if (webConfig.isSet(AsyncResponseWritingBufferSize)) {
+                return Integer.parseInt(webConfig.getOptionValue(AsyncResponseWritingBufferSize));
+            }
+
+            return FACELETS_BUFFER_SIZE_MULTIPLE * Integer.parseInt(webConfig.getOptionValue(FaceletsBufferSize));
+        } catch (NumberFormatException e) {
+            LOGGER.log(WARNING, "Cannot parse " + AsyncResponseWritingBufferSize.getQualifiedName(), e);
+            return DEFAULT_BUFFER_LIMIT;
+        }
+    }
+
+    /**
+     * @param request the request being processed
+     * @param response the response of the request
+     * @return a response which is written asynchronously, or <code>null</code> if the request cannot be processed
+     * asynchronously
+     */
+    public static AsyncWritingResponse wrap(HttpServletRequest request, HttpServletResponse response) {
+        return wrap(request, response, DEFAULT_BUFFER_LIMIT);
+    }
+
+    /**
+     * @param request the request being processed
+     * @param response the response of the request
+     * @param bufferLimit the number of bytes of rendered output to collect, see {@link #getBufferLimit(ServletContext)}
+     * @return a response which is written asynchronously, or <code>null</code> if the request cannot be processed
+     * asynchronously
+     */
+    public static AsyncWritingResponse wrap(HttpServletRequest request, HttpServletResponse response, int bufferLimit) {
+        if (!request.isAsyncSupported() || request.isAsyncStarted() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return null;
+        }
+
+        return new AsyncWritingResponse(request, response, bufferLimit);
+    }
+
+    /**
+     * @param externalContext the <code>ExternalContext</code> for the current request
+     * @return the response of the current request if it is written asynchronously, otherwise <code>null</code>
+     */
+    public static AsyncWritingResponse getInstance(ExternalContext externalContext) {
+        Object response = externalContext.getResponse();
+
+        return response instanceof AsyncWritingResponse ? (AsyncWritingResponse) response : null;
+    }
+
+    /**
+     * Set the stream to write after the content written to this response so far. It is closed when it has been
+     * written, or when the client went away.
+     *
+     * @param body the remainder of the response body
+     */
+    public void setBody(InputStream body) {
+        this.body = body;
+    }
+
+    /**
+     * Close the stream set with {@link #setBody(InputStream)} without writing it. This must be called when the request
+     * could not be processed, as the body is then not written.
+     */
+    public void discardBody() {
+        closeBody();
+    }
+
+    /**
+     * Start writing the collected body to the client. This must be called on the container thread, after the request was
+     * processed. Does nothing if there is no body, e.g. for redirects, or if the response was committed by other means.
+     *
+     * @throws IOException if the response cannot be written
+     */
+    public void writeAsync() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        try {
+            if (buffer.isBlocking()) {
+                if (body != null) {
+                    body.transferTo(response.getOutputStream());
+                }
+                closeBody();
+                return;
+            }
+
+            if (response.isCommitted() || buffer.size() == 0 && body == null) {
+                closeBody();
+                return;
+            }
+
+            if (body == null && !response.containsHeader("Content-Length")) {
+                response.setContentLength(buffer.size());
+            }
+
+            AsyncContext asyncContext = request.startAsync(request, response);
+            ServletOutputStream out = response.getOutputStream();
+            out.setWriteListener(new BodyWriter(asyncContext, out));
+        } catch (IOException | RuntimeException e) {
+            closeBody();
+            throw e;
+        }
+    }
+
+    // ------------------------------------ Methods from HttpServletResponseWrapper
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+
+        outputStreamUsed = true;
+        return buffer;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws UnsupportedEncodingException {
+        if (outputStreamUsed) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(buffer, getCharacterEncoding()));
+        }
+
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // The body is written once the request has been processed, unless it outgrew the buffer limit
+        if (writer != null) {
+            writer.flush();
+        }
+
+        if (buffer.isBlocking()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearBuffer();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void clearBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+
+        buffer.reset();
+        closeBody();
+    }
+
+    private void closeBody() {
+        if (body != null) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                LOGGER.log(FINE, "Cannot close the response body", e);
+            }
+            body = null;
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Collects the bytes of the response body, up to the buffer limit. Once the body outgrows it, the collected bytes and
+     * everything written after them are written to the response as usual.
+     */
+    private final class BufferOutputStream extends ServletOutputStream {
+
+        private byte[] bytes = new byte[CHUNK_SIZE];
+
+        private int count;
+
+        private ServletOutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (ensureCapacity(count + 1)) {
+                bytes[count++] = (byte) b;
+            } else {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (ensureCapacity(count + len)) {
+                System.arraycopy(b, off, bytes, count, len);
+                count += len;
+            } else {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("The response is already written asynchronously");
+        }
+
+        int size() {
+            return count;
+        }
+
+        boolean isBlocking() {
+            return out != null;
+        }
+
+        void reset() {
+            count = 0;
+        }
+
+        /**
+         * @return <code>false</code> if the bytes are to be written to the response instead
+         */
+        private boolean ensureCapacity(int capacity) throws IOException {
+            if (out != null) {
+                return false;
+            }
+
+            if (capacity > bytes.length) {
+                int limit = Math.max(bufferLimit, getResponse().getBufferSize());
+                if (capacity > limit) {
+                    out = getResponse().getOutputStream();
+                    out.write(bytes, 0, count);
+                    count = 0;
+                    return false;
+                }
+
+                bytes = Arrays.copyOf(bytes, Math.min(Math.max(capacity, bytes.length << 1), limit));
+            }
+
+            return true;
+        }
+
+    }
+
+    /**
+     * Writes the collected bytes, followed by the body stream if there is one, as far as the client accepts them without
+     * blocking. The container calls {@link #onWritePossible()} again when the client can accept more.
+     */
+    private final class BodyWriter implements WriteListener {
+
+        private final AsyncContext asyncContext;
+
+        private final ServletOutputStream out;
+
+        private int position;
+
+        private byte[] chunk;
+
+        BodyWriter(AsyncContext asyncContext, ServletOutputStream out) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (out.isReady()) {
+                if (position < buffer.count) {
+                    int length = Math.min(CHUNK_SIZE, buffer.count - position);
+                    out.write(buffer.bytes, position, length);
+                    position += length;
+                    continue;
+                }
+
+                if (body != null) {
+                    if (chunk == null) {
+                        chunk = new byte[CHUNK_SIZE];
+                    }
+
+                    int read = body.read(chunk);
+                    if (read != -1) {
+                        out.write(chunk, 0, read);
+                        continue;
+                    }
+
+                    closeBody();
+                }
+
+                asyncContext.complete();
+                return;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.log(FINE, "Cannot write the response body", t);
+            closeBody();
+            asyncContext.complete();
+        }
+
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.context;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableContextReuse;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableContextReuseDebug;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.faces.config.WebConfiguration;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.application.Application;
+import jakarta.faces.application.ApplicationFactory;
+import jakarta.faces.event.AbortProcessingException;
+import jakarta.faces.event.PreDestroyApplicationEvent;
+import jakarta.faces.event.SystemEvent;
+import jakarta.faces.event.SystemEventListener;
+
+/**
+ * <p>
+ * Keeps a released context of the current thread, so that the next request on the thread can reuse it instead of
+ * creating a new one. Each factory has its own pool, so the contexts are never shared between applications.
+ * </p>
+ *
+ * <p>
+ * A released context is only reused once the code holding it has given it up, which is why contexts must not be used
+ * after they were released. In debug mode the released contexts are not reused: a context that is used after its
+ * release then fails with the stack trace of the release, instead of silently seeing the state of a later request.
+ * </p>
+ *
+ * <p>
+ * The threads of the container outlive the application, so the thread locals only hold a JDK {@link AtomicReference}
+ * to the released context, which the pool empties for all threads when the application is destroyed. The released
+ * contexts then no longer keep the application, and its class loader, from being garbage collected.
+ * </p>
+ *
+ * @param <T> the type of the pooled contexts
+ */
+final class ContextPool<T> {
+
+    private final boolean enabled;
+
+    private final boolean debug;
+
+    private final ThreadLocal<AtomicReference<T>> spare = new ThreadLocal<>();
+
+    /**
+     * The spares of all threads, to empty them when the application is destroyed.
+     */
+    private final Map<Thread, AtomicReference<T>> spares = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile boolean closed;
+
+    // ------------------------------------------------------------ Constructors
+
+    ContextPool(boolean enabled, boolean debug) {
+        this.enabled = enabled;
+        this.debug = debug;
+    }
+
+    /**
+     * @param webConfig the configuration of the application
+     * @param <T> the type of the pooled contexts
+     * @return a pool which is enabled as configured by the <code>com.sun.faces.enableContextReuse</code> context
+     * parameter
+     */
+    static <T> ContextPool<T> create(WebConfiguration webConfig) {
+        ContextPool<T> pool = new ContextPool<>(webConfig.isOptionEnabled(EnableContextReuse), webConfig.isOptionEnabled(EnableContextReuseDebug));
+        if (pool.enabled && !pool.debug) {
+            ApplicationFactory applicationFactory = (ApplicationFactory) FactoryFinder.getFactory(FactoryFinder.APPLICATION_FACTORY);
+            applicationFactory.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, Application.class, pool.new PreDestroyApplicationListener());
+        }
+
+        return pool;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return <code>true</code> if released contexts are kept
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return <code>true</code> if released contexts are to record where they were released
+     */
+    boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * @return the released context of the current thread, or <code>null</code> if there is none
+     */
+    T poll() {
+        if (!enabled) {
+            return null;
+        }
+
+        AtomicReference<T> reference = spare.get();
+        return reference != null ? reference.getAndSet(null) : null;
+    }
+
+    /**
+     * @param context a context which was just released, and which may now be reused by the current thread
+     */
+    void offer(T context) {
+        if (!enabled || debug || closed) {
+            return;
+        }
+
+        AtomicReference<T> reference = spare.get();
+        if (reference == null) {
+            reference = new AtomicReference<>();
+            spare.set(reference);
+            spares.put(Thread.currentThread(), reference);
+        }
+
+        reference.set(context);
+        if (closed) {
+            // Closed concurrently, after the spares were emptied
+            reference.set(null);
+        }
+    }
+
+    /**
+     * Drop the released contexts of all threads, and stop keeping released contexts.
+     */
+    void close() {
+        closed = true;
+        synchronized (spares) {
+            for (AtomicReference<T> reference : spares.values()) {
+                reference.set(null);
+            }
+            spares.clear();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private class PreDestroyApplicationListener implements SystemEventListener {
+
+        @Override
+        public boolean isListenerForSource(Object source) {
+            return source instanceof Application;
+        }
+
+        @Override
+        public void processEvent(SystemEvent event) throws AbortProcessingException {
+            close();
+        }
+
+    }
+
+}
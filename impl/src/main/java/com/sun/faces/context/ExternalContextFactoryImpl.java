@@ -16,6 +16,7 @@
 
 package com.sun.faces.context;
 
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.FacesException;
@@ -29,6 +30,8 @@ public class ExternalContextFactoryImpl extends ExternalContextFactory {
 
     public static final String DEFAULT_EXTERNAL_CONTEXT_KEY = ExternalContextFactoryImpl.class.getName() + "_KEY";
 
+    private volatile ContextPool<ExternalContextImpl> pool;
+
     public ExternalContextFactoryImpl() {
         super(null);
     }
@@ -44,7 +47,7 @@ public class ExternalContextFactoryImpl extends ExternalContextFactory {
         Util.notNull("request", request);
         Util.notNull("response", response);
 
-        ExternalContext extContext = new ExternalContextImpl((ServletContext) servletContext, (ServletRequest) request, (ServletResponse) response);
+        ExternalContext extContext = createExternalContext((ServletContext) servletContext, (ServletRequest) request, (ServletResponse) response);
 
         if (request instanceof ServletRequest) {
             ((ServletRequest) request).setAttribute(DEFAULT_EXTERNAL_CONTEXT_KEY, extContext);
@@ -54,6 +57,25 @@ public class ExternalContextFactoryImpl extends ExternalContextFactory {
 
     }
 
+    private ExternalContext createExternalContext(ServletContext servletContext, ServletRequest request, ServletResponse response) {
+        ContextPool<ExternalContextImpl> contextPool = pool;
+        if (contextPool == null) {
+            pool = contextPool = ContextPool.create(WebConfiguration.getInstance(servletContext));
+        }
+
+        if (!contextPool.isEnabled()) {
+            return new ExternalContextImpl(servletContext, request, response);
+        }
+
+        ExternalContextImpl extContext = contextPool.poll();
+        if (extContext == null) {
+            return new ExternalContextImpl(servletContext, request, response, contextPool);
+        }
+
+        extContext.reuse(servletContext, request, response);
+        return extContext;
+    }
+
     // The testcase for this class is TestExternalContextFactory.java
 
 }
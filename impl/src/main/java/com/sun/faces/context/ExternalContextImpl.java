@@ -99,6 +99,10 @@ public class ExternalContextImpl extends ExternalContext {
     private Flash flash;
     private boolean distributable;
 
+    private boolean released;
+    private ContextPool<ExternalContextImpl> pool;
+    private Throwable releasedAt;
+
     private enum PREDEFINED_COOKIE_PROPERTIES {
         domain, maxAge, path, secure, httpOnly
     }
@@ -108,6 +112,39 @@ public class ExternalContextImpl extends ExternalContext {
     // ------------------------------------------------------------ Constructors
 
     public ExternalContextImpl(ServletContext sc, ServletRequest request, ServletResponse response) {
+        init(sc, request, response);
+    }
+
+    /**
+     * @param sc the <code>ServletContext</code> of the application
+     * @param request the current request
+     * @param response the current response
+     * @param pool the pool this context returns to when it is released
+     */
+    ExternalContextImpl(ServletContext sc, ServletRequest request, ServletResponse response, ContextPool<ExternalContextImpl> pool) {
+        this.pool = pool;
+        init(sc, request, response);
+    }
+
+    /**
+     * Make a context which came from the pool the context for the current request. The maps of the application scope
+     * are kept, the maps of the request are created anew as they are needed.
+     *
+     * @param sc the <code>ServletContext</code> of the application
+     * @param request the current request
+     * @param response the current response
+     */
+    void reuse(ServletContext sc, ServletRequest request, ServletResponse response) {
+        released = false;
+        releasedAt = null;
+        if (sc != servletContext) {
+            applicationMap = null;
+            initParameterMap = null;
+        }
+        init(sc, request, response);
+    }
+
+    private void init(ServletContext sc, ServletRequest request, ServletResponse response) {
 
         // Validate the incoming parameters
         Util.notNull("sc", sc);
@@ -126,10 +163,12 @@ public class ExternalContextImpl extends ExternalContext {
 
         distributable = ContextParamUtils.getValue(servletContext, ContextParam.EnableDistributable, Boolean.class);
 
-        fallbackContentTypeMap = new HashMap<>(3, 1.0f);
-        fallbackContentTypeMap.put("js", ScriptRenderer.DEFAULT_CONTENT_TYPE);
-        fallbackContentTypeMap.put("css", StylesheetRenderer.DEFAULT_CONTENT_TYPE);
-        fallbackContentTypeMap.put("properties", "text/plain");
+        if (fallbackContentTypeMap == null) {
+            fallbackContentTypeMap = new HashMap<>(3, 1.0f);
+            fallbackContentTypeMap.put("js", ScriptRenderer.DEFAULT_CONTENT_TYPE);
+            fallbackContentTypeMap.put("css", StylesheetRenderer.DEFAULT_CONTENT_TYPE);
+            fallbackContentTypeMap.put("properties", "text/plain");
+        }
 
     }
 
@@ -140,6 +179,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Object getSession(boolean create) {
+        assertNotReleased();
         return ((HttpServletRequest) request).getSession(create);
     }
 
@@ -177,6 +217,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Object getRequest() {
+        assertNotReleased();
         return request;
     }
 
@@ -209,6 +250,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Object getResponse() {
+        assertNotReleased();
         return response;
     }
 
@@ -261,6 +303,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, Object> getSessionMap() {
+        assertNotReleased();
         if (sessionMap == null) {
             if (distributable) {
                 sessionMap = new AlwaysPuttingSessionMap((HttpServletRequest) request, FacesContext.getCurrentInstance().getApplication().getProjectStage());
@@ -276,6 +319,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, Object> getRequestMap() {
+        assertNotReleased();
         if (requestMap == null) {
             requestMap = new RequestMap(request);
         }
@@ -287,6 +331,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, String> getRequestHeaderMap() {
+        assertNotReleased();
         if (null == requestHeaderMap) {
             requestHeaderMap = Collections.unmodifiableMap(new RequestHeaderMap((HttpServletRequest) request));
         }
@@ -298,6 +343,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, String[]> getRequestHeaderValuesMap() {
+        assertNotReleased();
         if (null == requestHeaderValuesMap) {
             requestHeaderValuesMap = Collections.unmodifiableMap(new RequestHeaderValuesMap((HttpServletRequest) request));
         }
@@ -309,6 +355,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, Object> getRequestCookieMap() {
+        assertNotReleased();
         if (null == cookieMap) {
             cookieMap = Collections.unmodifiableMap(new RequestCookieMap((HttpServletRequest) request));
         }
@@ -331,6 +378,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, String> getRequestParameterMap() {
+        assertNotReleased();
         if (null == requestParameterMap) {
             requestParameterMap = Collections.unmodifiableMap(new RequestParameterMap(request));
         }
@@ -342,6 +390,7 @@ public class ExternalContextImpl extends ExternalContext {
      */
     @Override
     public Map<String, String[]> getRequestParameterValuesMap() {
+        assertNotReleased();
         if (null == requestParameterValuesMap) {
             requestParameterValuesMap = Collections.unmodifiableMap(new RequestParameterValuesMap(request));
         }
@@ -959,13 +1008,8 @@ public class ExternalContextImpl extends ExternalContext {
 
     @Override
     public String encodeBookmarkableURL(String baseUrl, Map<String, List<String>> parameters) {
-        FacesContext context = FacesContext.getCurrentInstance();
-        String encodingFromContext = (String) context.getAttributes().get(RIConstants.FACELETS_ENCODING_KEY);
-        if (null == encodingFromContext) {
-            encodingFromContext = (String) context.getViewRoot().getAttributes().get(RIConstants.FACELETS_ENCODING_KEY);
-        }
-
-        String currentResponseEncoding = null != encodingFromContext ? encodingFromContext : getResponseCharacterEncoding();
+        // The encoding is only needed for the parameters
+        String currentResponseEncoding = parameters == null || parameters.isEmpty() ? null : getUrlEncoding();
 
         UrlBuilder builder = new UrlBuilder(baseUrl, currentResponseEncoding);
         builder.addParameters(parameters);
@@ -975,6 +1019,16 @@ public class ExternalContextImpl extends ExternalContext {
 
     @Override
     public String encodeRedirectURL(String baseUrl, Map<String, List<String>> parameters) {
+        // The encoding is only needed for the parameters
+        String currentResponseEncoding = parameters == null || parameters.isEmpty() ? null : getUrlEncoding();
+
+        UrlBuilder builder = new UrlBuilder(baseUrl, currentResponseEncoding);
+        builder.addParameters(parameters);
+        return builder.createUrl();
+
+    }
+
+    private String getUrlEncoding() {
         FacesContext context = FacesContext.getCurrentInstance();
         String encodingFromContext = (String) context.getAttributes().get(RIConstants.FACELETS_ENCODING_KEY);
         if (null == encodingFromContext) {
@@ -982,11 +1036,7 @@ public class ExternalContextImpl extends ExternalContext {
         }
 
         String currentResponseEncoding = null != encodingFromContext ? encodingFromContext : getResponseCharacterEncoding();
-
-        UrlBuilder builder = new UrlBuilder(baseUrl, currentResponseEncoding);
-        builder.addParameters(parameters);
-        return builder.createUrl();
-
+        return currentResponseEncoding;
     }
 
     /**
@@ -998,20 +1048,15 @@ public class ExternalContextImpl extends ExternalContext {
             String message = MessageUtils.getExceptionMessageString(MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID, "url");
             throw new NullPointerException(message);
         }
-        FacesContext context = FacesContext.getCurrentInstance();
-        String encodingFromContext = (String) context.getAttributes().get(RIConstants.FACELETS_ENCODING_KEY);
-        if (null == encodingFromContext) {
-            encodingFromContext = (String) context.getViewRoot().getAttributes().get(RIConstants.FACELETS_ENCODING_KEY);
-        }
 
-        String currentResponseEncoding = null != encodingFromContext ? encodingFromContext : getResponseCharacterEncoding();
-
-        UrlBuilder builder = new UrlBuilder(url, currentResponseEncoding);
+        // No parameters are added, so the encoding is not needed
+        UrlBuilder builder = new UrlBuilder(url, null);
         return ((HttpServletResponse) response).encodeURL(builder.createUrl());
     }
 
     @Override
     public Flash getFlash() {
+        assertNotReleased();
         if (null == flash) {
             FlashFactory ff = (FlashFactory) FactoryFinder.getFactory(FactoryFinder.FLASH_FACTORY);
             flash = ff.getFlash(true);
@@ -1021,12 +1066,22 @@ public class ExternalContextImpl extends ExternalContext {
 
     @Override
     public void release() {
-        servletContext = null;
+        if (releasedAt != null) {
+            throw new IllegalStateException("The ExternalContext was already released", releasedAt);
+        }
+
+        if (pool != null && released) {
+            // Already released, and possibly pooled or reused by now
+            return;
+        }
+
+        boolean reusable = pool != null;
+        released = true;
+
         request = null;
         response = null;
         clientWindow = null;
 
-        applicationMap = null;
         sessionMap = null;
         requestMap = null;
         requestParameterMap = null;
@@ -1034,9 +1089,29 @@ public class ExternalContextImpl extends ExternalContext {
         requestHeaderMap = null;
         requestHeaderValuesMap = null;
         cookieMap = null;
-        initParameterMap = null;
-        fallbackContentTypeMap = null;
         flash = null;
+
+        if (reusable) {
+            // The maps of the application scope stay valid for the next request
+            if (pool.isDebug()) {
+                releasedAt = new Exception("The ExternalContext was released here");
+            }
+            pool.offer(this);
+        } else {
+            servletContext = null;
+            applicationMap = null;
+            initParameterMap = null;
+            fallbackContentTypeMap = null;
+        }
+    }
+
+    private void assertNotReleased() {
+        if (released) {
+            if (releasedAt != null) {
+                throw new IllegalStateException("The ExternalContext is used after it was released", releasedAt);
+            }
+            throw new IllegalStateException();
+        }
     }
 
     private void pushIfPossibleAndNecessary(String result) {
@@ -43,6 +43,7 @@ public class FacesContextFactoryImpl extends FacesContextFactory {
 
     private final ExceptionHandlerFactory exceptionHandlerFactory;
     private final ExternalContextFactory externalContextFactory;
+    private volatile ContextPool<FacesContextImpl> pool;
 
     // ------------------------------------------------------------ Constructors
 
@@ -63,9 +64,9 @@ public class FacesContextFactoryImpl extends FacesContextFactory {
         Util.notNull("request", request);
         Util.notNull("response", response);
         Util.notNull("lifecycle", lifecycle);
-        ExternalContext extContext;
+        ExternalContext extContext = externalContextFactory.getExternalContext(sc, request, response);
 
-        FacesContext ctx = new FacesContextImpl(extContext = externalContextFactory.getExternalContext(sc, request, response), lifecycle);
+        FacesContext ctx = createFacesContext(extContext, lifecycle);
 
         ctx.setExceptionHandler(exceptionHandlerFactory.getExceptionHandler());
         WebConfiguration webConfig = WebConfiguration.getInstance(extContext);
@@ -75,6 +76,25 @@ public class FacesContextFactoryImpl extends FacesContextFactory {
 
     }
 
+    private FacesContext createFacesContext(ExternalContext extContext, Lifecycle lifecycle) {
+        ContextPool<FacesContextImpl> contextPool = pool;
+        if (contextPool == null) {
+            pool = contextPool = ContextPool.create(WebConfiguration.getInstance(extContext));
+        }
+
+        if (!contextPool.isEnabled()) {
+            return new FacesContextImpl(extContext, lifecycle);
+        }
+
+        FacesContextImpl ctx = contextPool.poll();
+        if (ctx == null) {
+            return new FacesContextImpl(extContext, lifecycle, contextPool);
+        }
+
+        ctx.reuse(extContext, lifecycle);
+        return ctx;
+    }
+
     /*
      * Copy the value of any init params that must be checked during this request to our FacesContext attribute map.
      */
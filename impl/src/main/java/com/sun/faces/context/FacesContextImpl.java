@@ -94,14 +94,41 @@ public class FacesContextImpl extends FacesContext {
      */
     private Map<String, List<FacesMessage>> componentMessageLists;
 
+    /**
+     * The pool this context returns to when it is released, or <code>null</code> if it is not reused.
+     */
+    private ContextPool<FacesContextImpl> pool;
+
+    /**
+     * Where this context was released, recorded in the debug mode of the pool.
+     */
+    private Throwable releasedAt;
+
     public FacesContextImpl(ExternalContext ec, Lifecycle lifecycle) {
-        Util.notNull("ec", ec);
-        Util.notNull("lifecycle", lifecycle);
-        externalContext = ec;
-        this.lifecycle = lifecycle;
-        setCurrentInstance(this);
-        DEFAULT_FACES_CONTEXT.set(this);
-        rkFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        init(ec, lifecycle);
+    }
+
+    /**
+     * @param ec the <code>ExternalContext</code> for the current request
+     * @param lifecycle the <code>Lifecycle</code> for the current request
+     * @param pool the pool this context returns to when it is released
+     */
+    FacesContextImpl(ExternalContext ec, Lifecycle lifecycle, ContextPool<FacesContextImpl> pool) {
+        this.pool = pool;
+        init(ec, lifecycle);
+    }
+
+    /**
+     * Make a context which came from the pool the context for the current request.
+     *
+     * @param ec the <code>ExternalContext</code> for the current request
+     * @param lifecycle the <code>Lifecycle</code> for the current request
+     */
+    void reuse(ExternalContext ec, Lifecycle lifecycle) {
+        released = false;
+        releasedAt = null;
+        setProcessingEvents(true);
+        init(ec, lifecycle);
     }
 
     // ---------------------------------------------- Methods from FacesContext
@@ -507,6 +534,16 @@ public class FacesContextImpl extends FacesContext {
     @Override
     public void release() {
 
+        if (releasedAt != null) {
+            throw new IllegalStateException("The FacesContext was already released", releasedAt);
+        }
+
+        if (pool != null && released) {
+            // Already released, and possibly pooled or reused by now
+            return;
+        }
+
+        boolean reusable = pool != null;
         released = true;
         if (externalContext != null) {
             externalContext.release();
@@ -515,7 +552,11 @@ public class FacesContextImpl extends FacesContext {
         externalContext = null;
         responseStream = null;
         responseWriter = null;
-        componentMessageLists = null;
+        if (reusable && componentMessageLists != null) {
+            componentMessageLists.clear();
+        } else {
+            componentMessageLists = null;
+        }
         renderResponse = false;
         responseComplete = false;
         validationFailed = false;
@@ -525,7 +566,9 @@ public class FacesContextImpl extends FacesContext {
         currentPhaseId = null;
         if (attributes != null) {
             attributes.clear();
-            attributes = null;
+            if (!reusable) {
+                attributes = null;
+            }
         }
         if (null != resourceLibraryContracts) {
             resourceLibraryContracts.clear();
@@ -551,6 +594,13 @@ public class FacesContextImpl extends FacesContext {
         // remove our private ThreadLocal instance.
         DEFAULT_FACES_CONTEXT.remove();
 
+        if (reusable) {
+            if (pool.isDebug()) {
+                releasedAt = new Exception("The FacesContext was released here");
+            }
+            pool.offer(this);
+        }
+
     }
 
     /**
@@ -637,8 +687,21 @@ public class FacesContextImpl extends FacesContext {
 
     // -------------------------------------------------------- Private Methods
 
+    private void init(ExternalContext ec, Lifecycle lifecycle) {
+        Util.notNull("ec", ec);
+        Util.notNull("lifecycle", lifecycle);
+        externalContext = ec;
+        this.lifecycle = lifecycle;
+        setCurrentInstance(this);
+        DEFAULT_FACES_CONTEXT.set(this);
+        rkFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+    }
+
     private void assertNotReleased() {
         if (released) {
+            if (releasedAt != null) {
+                throw new IllegalStateException("The FacesContext is used after it was released", releasedAt);
+            }
             throw new IllegalStateException();
         }
     }
@@ -16,11 +16,14 @@
 
 package com.sun.faces.context;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,7 +44,9 @@ import jakarta.faces.render.ResponseStateManager;
  *
  * <p>
  * Note that this class is optimized to parse the query string lazily so as to avoid unnecessary work if the seed URL
- * differs little from the URL to be built.
+ * differs little from the URL to be built. The URL is assembled in a buffer which is reused by the builders of the
+ * current thread, and parameter values are encoded like {@link URLEncoder} does, without allocating for values which
+ * don't need to be encoded.
  * </p>
  */
 class UrlBuilder {
@@ -51,7 +56,33 @@ class UrlBuilder {
     public static final String FRAGMENT_SEPARATOR = "#";
     public static final String DEFAULT_ENCODING = "UTF-8";
 
-    private static final List<String> NULL_LIST = Arrays.asList((String) null);
+    /**
+     * The largest buffer which is kept for the next URL built on the thread.
+     */
+    private static final int MAX_BUFFER_CAPACITY = 8192;
+
+    private static final ThreadLocal<StringBuilder[]> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder[1]);
+
+    /**
+     * The characters which {@link URLEncoder} does not encode, besides the space, which becomes a plus sign.
+     */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+            UNRESERVED[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['-'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['*'] = true;
+    }
 
     private StringBuilder url;
     private String path;
@@ -59,6 +90,7 @@ class UrlBuilder {
     private String fragment;
     private Map<String, List<String>> parameters;
     private String encoding;
+    private Charset charset;
 
     // ------------------------------------------------------------ Constructors
 
@@ -66,10 +98,8 @@ class UrlBuilder {
         if (url == null || url.trim().length() == 0) {
             throw new IllegalArgumentException("Url cannot be empty");
         }
-        this.url = new StringBuilder(url.length() * 2);
         extractSegments(url);
         this.encoding = encoding;
-        // PERF TL lookup per-instance
     }
 
     public UrlBuilder(String url) {
@@ -93,9 +123,7 @@ class UrlBuilder {
                 if (entry.getKey() == null || entry.getKey().trim().length() == 0) {
                     throw new IllegalArgumentException("Parameter name cannot be empty");
                 }
-                List<String> values = entry.getValue();
-                List<String> retValues = values;
-                addValuesToParameter(entry.getKey().trim(), retValues, true);
+                addValuesToParameter(entry.getKey().trim(), entry.getValue(), true);
             }
         }
 
@@ -131,10 +159,26 @@ class UrlBuilder {
     }
 
     public String createUrl() {
-        appendPath();
-        appendQueryString();
-        appendFragment();
-        return url.toString();
+        // The buffer is taken from the thread while in use, as a client window may build URLs of its own
+        StringBuilder[] holder = BUFFER.get();
+        url = holder[0];
+        holder[0] = null;
+        if (url == null) {
+            url = new StringBuilder(path.length() * 2);
+        }
+
+        try {
+            appendPath();
+            appendQueryString();
+            appendFragment();
+            return url.toString();
+        } finally {
+            if (url.capacity() <= MAX_BUFFER_CAPACITY) {
+                url.setLength(0);
+                holder[0] = url;
+            }
+            url = null;
+        }
     }
 
     // ------------------------------------------------------- Protected Methods
@@ -266,21 +310,13 @@ class UrlBuilder {
     }
 
     protected void addValuesToParameter(String name, List<String> valuesRef, boolean replace) {
-        List<String> values = new ArrayList<>();
+        List<String> values = new ArrayList<>(valuesRef == null ? 0 : valuesRef.size());
         if (valuesRef != null) {
-            for (Iterator<String> it = valuesRef.iterator(); it.hasNext();) {
-                String string = it.next();
-                if (encoding != null) {
-                    try {
-                        values.add(URLEncoder.encode(string, encoding));
-                    } catch (UnsupportedEncodingException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                } else {
-                    values.add(string);
+            for (String string : valuesRef) {
+                if (string != null) {
+                    values.add(encoding != null ? encode(string, getCharset()) : string);
                 }
             }
-            values.removeAll(NULL_LIST);
         }
 
         if (parameters == null) {
@@ -299,8 +335,85 @@ class UrlBuilder {
         }
     }
 
+    // ------------------------------------------------- Package Private Methods
+
+    /**
+     * Encode the given value as {@link URLEncoder#encode(String, Charset)} does.
+     *
+     * @param value the value to encode
+     * @param charset the charset of the encoded characters
+     * @return the encoded value, which is the given value if it has no characters to encode
+     */
+    static String encode(String value, Charset charset) {
+        int length = value.length();
+        int start = 0;
+        while (start < length && isUnreserved(value.charAt(start))) {
+            start++;
+        }
+
+        if (start == length) {
+            return value;
+        }
+
+        // The ASCII characters are encoded as themselves, and can therefore be encoded one by one
+        boolean asciiCompatible = charset.equals(UTF_8) || charset.equals(ISO_8859_1) || charset.equals(US_ASCII);
+
+        StringBuilder encoded = new StringBuilder(length + 16);
+        encoded.append(value, 0, start);
+        int i = start;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                encoded.append(c);
+                i++;
+            } else if (c == ' ') {
+                encoded.append('+');
+                i++;
+            } else if (c < 128 && asciiCompatible) {
+                appendEncodedByte(encoded, c);
+                i++;
+            } else {
+                int end = i + 1;
+                while (end < length) {
+                    char next = value.charAt(end);
+                    if (next == ' ' || isUnreserved(next) || next < 128 && asciiCompatible) {
+                        break;
+                    }
+                    end++;
+                }
+
+                for (byte b : value.substring(i, end).getBytes(charset)) {
+                    appendEncodedByte(encoded, b & 0xFF);
+                }
+                i = end;
+            }
+        }
+
+        return encoded.toString();
+    }
+
     // --------------------------------------------------------- Private Methods
 
+    private Charset getCharset() {
+        if (charset == null) {
+            try {
+                charset = Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException(new UnsupportedEncodingException(encoding));
+            }
+        }
+
+        return charset;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return c < 128 && UNRESERVED[c];
+    }
+
+    private static void appendEncodedByte(StringBuilder encoded, int b) {
+        encoded.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xF]);
+    }
+
     private void cleanFragment() {
         if (fragment != null) {
             String f = fragment;
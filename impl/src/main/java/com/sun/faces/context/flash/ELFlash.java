@@ -611,6 +611,20 @@ public class ELFlash extends Flash {
 
     public static final String ACT_AS_DO_LAST_PHASE_ACTIONS = ELFlash.class.getPackage().getName() + ".ACT_AS_DO_LAST_PHASE_ACTIONS";
 
+    /**
+     * <p>
+     * Whether the flash is in use for the current request and has not written its cookie yet. Such a flash needs the
+     * response to be uncommitted at the end of the request, when {@link #doLastPhaseActions} writes or expires its cookie.
+     * </p>
+     *
+     * @param context the involved faces context
+     * @return <code>true</code> if the flash still has to write its cookie for the current request
+     */
+    public boolean isCookiePending(FacesContext context) {
+        Map<Object, Object> contextMap = context.getAttributes();
+        return getCurrentFlashManager(contextMap, false) != null && !contextMap.containsKey(CONSTANTS.DidWriteCookieAttributeName);
+    }
+
     /**
      * <p>
      * This is the most magic of methods. There are several scenarios in which this method can be called, but the first time
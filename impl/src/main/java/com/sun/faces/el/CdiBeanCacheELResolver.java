@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.el;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.enterprise.inject.AmbiguousResolutionException;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Resolves the root identifiers naming CDI beans as the EL resolver of the bean manager does, but keeps the bean of each
+ * name for the application, and the contextual reference of each normal scoped bean for the request. The contextual
+ * reference of a normal scoped bean is a client proxy, which stays valid for as long as the bean does, so each name is
+ * only looked up once per request, instead of once per evaluation.
+ * </p>
+ *
+ * <p>
+ * The names of dependent beans, of ambiguous beans and of bean namespaces, and all properties of a base object, are left
+ * to the EL resolver of the bean manager.
+ * </p>
+ */
+public class CdiBeanCacheELResolver extends ELResolver {
+
+    private static final String REQUEST_REFERENCES = CdiBeanCacheELResolver.class.getName() + ".REQUEST_REFERENCES";
+
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    /**
+     * The value of the names which are not the name of a bean or a namespace.
+     */
+    private static final Object NO_BEAN = new Object();
+
+    /**
+     * The value of the names which are left to the wrapped resolver.
+     */
+    private static final Object DELEGATE = new Object();
+
+    private final BeanManager beanManager;
+
+    private final ELResolver wrapped;
+
+    /**
+     * The normal scoped bean of each name, or {@link #NO_BEAN} or {@link #DELEGATE}.
+     */
+    private final ConcurrentMap<String, Object> beans = new ConcurrentHashMap<>();
+
+    private volatile Set<String> namespaces;
+
+    // ------------------------------------------------------------ Constructors
+
+    public CdiBeanCacheELResolver(BeanManager beanManager, ELResolver wrapped) {
+        this.beanManager = beanManager;
+        this.wrapped = wrapped;
+    }
+
+    // ------------------------------------------------------ Methods from ELResolver
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        if (base != null || !(property instanceof String)) {
+            return wrapped.getValue(context, base, property);
+        }
+
+        String name = (String) property;
+        Object bean = getBean(name);
+        if (bean == NO_BEAN) {
+            return null;
+        }
+
+        if (bean == DELEGATE) {
+            return wrapped.getValue(context, base, property);
+        }
+
+        Map<String, Object> references = getRequestReferences(context);
+        Object reference = references != null ? references.get(name) : null;
+        if (reference == null) {
+            reference = beanManager.getReference((Bean<?>) bean, Object.class, beanManager.createCreationalContext((Bean<?>) bean));
+            if (references != null) {
+                references.put(name, reference);
+            }
+        }
+
+        context.setPropertyResolved(base, property);
+        return reference;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        return wrapped.getType(context, base, property);
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        wrapped.setValue(context, base, property, value);
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        return wrapped.isReadOnly(context, base, property);
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return wrapped.getCommonPropertyType(context, base);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Object getBean(String name) {
+        Object bean = beans.get(name);
+        if (bean == null) {
+            bean = findBean(name);
+            if (beans.size() < MAX_CACHED_NAMES) {
+                beans.put(name, bean);
+            }
+        }
+
+        return bean;
+    }
+
+    private Object findBean(String name) {
+        Set<Bean<?>> candidates = beanManager.getBeans(name);
+        if (candidates.isEmpty()) {
+            return getNamespaces().contains(name) ? DELEGATE : NO_BEAN;
+        }
+
+        Bean<?> bean;
+        try {
+            bean = beanManager.resolve(candidates);
+        } catch (AmbiguousResolutionException e) {
+            return DELEGATE;
+        }
+
+        if (bean == null || !beanManager.isNormalScope(bean.getScope())) {
+            return DELEGATE;
+        }
+
+        return bean;
+    }
+
+    /*
+     * The namespaces of the bean names, such as "com" and "com.acme" for "com.acme.bean", which are resolved by the CDI
+     * resolver although no bean has their name.
+     */
+    private Set<String> getNamespaces() {
+        Set<String> result = namespaces;
+        if (result == null) {
+            result = new HashSet<>();
+            for (Bean<?> bean : beanManager.getBeans(Object.class, Any.Literal.INSTANCE)) {
+                String name = bean.getName();
+                if (name != null) {
+                    for (int index = name.indexOf('.'); index > 0; index = name.indexOf('.', index + 1)) {
+                        result.add(name.substring(0, index));
+                    }
+                }
+            }
+            namespaces = result;
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getRequestReferences(ELContext context) {
+        FacesContext facesContext = (FacesContext) context.getContext(FacesContext.class);
+        if (facesContext == null) {
+            return null;
+        }
+
+        Map<Object, Object> attributes = facesContext.getAttributes();
+        Map<String, Object> references = (Map<String, Object>) attributes.get(REQUEST_REFERENCES);
+        if (references == null) {
+            references = new HashMap<>();
+            attributes.put(REQUEST_REFERENCES, references);
+        }
+
+        return references;
+    }
+
+}
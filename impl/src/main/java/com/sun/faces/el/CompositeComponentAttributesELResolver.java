@@ -22,7 +22,6 @@ import static com.sun.faces.util.Util.notNull;
 
 import java.beans.BeanInfo;
 import java.beans.FeatureDescriptor;
-import java.beans.PropertyDescriptor;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,6 +30,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import com.sun.faces.component.CompositeComponentStackManager;
+import com.sun.faces.facelets.tag.composite.CompositeComponentAttributeIndex;
 import com.sun.faces.util.FacesLogger;
 
 import jakarta.el.ELContext;
@@ -148,18 +148,10 @@ public class CompositeComponentAttributesELResolver extends ELResolver {
             UIComponent cc = UIComponent.getCurrentCompositeComponent(facesContext);
             BeanInfo metadata = (BeanInfo) cc.getAttributes().get(UIComponent.BEANINFO_KEY);
             assert null != metadata;
-            PropertyDescriptor[] attributes = metadata.getPropertyDescriptors();
-            if (null != attributes) {
-                for (PropertyDescriptor cur : attributes) {
-                    if (property.equals(cur.getName())) {
-                        Object type = cur.getValue("type");
-                        if (null != type) {
-                            assert type instanceof Class;
-                            metaType = (Class) type;
-                            break;
-                        }
-                    }
-                }
+            CompositeComponentAttributeIndex attributes = CompositeComponentAttributeIndex.forMetadata(metadata);
+            int slot = attributes.getSlot(property);
+            if (slot != -1) {
+                metaType = attributes.getType(slot);
             }
         }
         if (metaType != null) {
@@ -277,8 +269,7 @@ public class CompositeComponentAttributesELResolver extends ELResolver {
     private static final class ExpressionEvalMap implements Map<String, Object>, CompositeComponentExpressionHolder {
 
         private Map<String, Object> attributesMap;
-        private PropertyDescriptor[] declaredAttributes;
-        private Map<Object, Object> declaredDefaultValues;
+        private CompositeComponentAttributeIndex declaredAttributes;
         private FacesContext ctx;
         private UIComponent cc;
 
@@ -290,8 +281,7 @@ public class CompositeComponentAttributesELResolver extends ELResolver {
             attributesMap = cc.getAttributes();
             BeanInfo metadata = (BeanInfo) attributesMap.get(UIComponent.BEANINFO_KEY);
             if (null != metadata) {
-                declaredAttributes = metadata.getPropertyDescriptors();
-                declaredDefaultValues = new HashMap<>(5);
+                declaredAttributes = CompositeComponentAttributeIndex.forMetadata(metadata);
             }
             this.ctx = ctx;
 
@@ -392,32 +382,12 @@ public class CompositeComponentAttributesELResolver extends ELResolver {
         }
 
         private Object getDeclaredDefaultValue(Object key) {
-            Object result = null;
-
-            // If it's not in the cache...
-            if (!declaredDefaultValues.containsKey(key)) {
-                // iterate through the property descriptors...
-                boolean found = false;
-                for (PropertyDescriptor cur : declaredAttributes) {
-                    // and if you find a match...
-                    if (cur.getName().equals(key)) {
-                        found = true;
-                        // put it in the cache, returning the value.
-                        declaredDefaultValues.put(key, result = cur.getValue("default"));
-                        break;
-                    }
-                }
-                // Otherwise, if no attribute was declared
-                if (!found) {
-                    // put null into the cache for future lookups.
-                    declaredDefaultValues.put(key, null);
-                }
-            } else {
-                // It's in the cache, just return the value.
-                result = declaredDefaultValues.get(key);
+            if (declaredAttributes == null) {
+                return null;
             }
 
-            return result;
+            int slot = declaredAttributes.getSlot(key);
+            return slot == -1 ? null : declaredAttributes.getDefault(slot);
         }
 
         public void updateFacesContext(FacesContext ctx) {
@@ -17,20 +17,47 @@
 package com.sun.faces.el;
 
 import java.beans.FeatureDescriptor;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
+import jakarta.faces.component.UIComponent;
 
 /**
  * Maintains an ordered composite list of child <code>ELResolver for Faces</code>.
  *
+ * <p>
+ * When memoization is enabled, the index of the resolver which resolved the value of a root identifier, or of a
+ * property of a base class, is remembered, so that the value is resolved directly by that resolver the next time. This
+ * is only done when each resolver before it is predictable, that is, whether it resolves depends on nothing but the
+ * identifier, or the class of the base and the property, and those resolvers therefore decline again. If the
+ * remembered resolver declines, the whole chain is tried.
+ * </p>
  */
 public class DemuxCompositeELResolver extends FacesCompositeELResolver {
+
+    private static final int MAX_MEMOIZED_ROOTS = 1024;
+    private static final int MAX_MEMOIZED_PROPERTIES = 256;
+
     private final ELResolverChainType _chainType;
 
+    private final Set<ELResolver> _predictableELResolvers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private volatile boolean _memoizationEnabled;
+
+    // key: root identifier, value: index of the root resolver
+    private volatile ConcurrentMap<Object, Integer> _rootMemo = new ConcurrentHashMap<>();
+
+    // key: property of the base class, value: index of the property resolver
+    private volatile ClassValue<ConcurrentMap<Object, Integer>> _propertyMemo = _newPropertyMemo();
+
     private ELResolver[] _rootELResolvers = new ELResolver[2];
     private ELResolver[] _propertyELResolvers = new ELResolver[2];
     private ELResolver[] _allELResolvers = new ELResolver[2];
@@ -111,6 +138,7 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
 
         _addRootELResolver(elResolver);
         _addAllELResolver(elResolver);
+        _clearMemo();
     }
 
     @Override
@@ -121,6 +149,7 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
 
         _addPropertyELResolver(elResolver);
         _addAllELResolver(elResolver);
+        _clearMemo();
     }
 
     @Override
@@ -132,13 +161,108 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
         _addRootELResolver(elResolver);
         _addPropertyELResolver(elResolver);
         _addAllELResolver(elResolver);
+        _clearMemo();
+    }
+
+    /**
+     * Enable the memoization of the resolvers which resolved the values of root identifiers and properties.
+     *
+     * @param memoizationEnabled whether the memoization is enabled
+     */
+    void setMemoizationEnabled(boolean memoizationEnabled) {
+        _memoizationEnabled = memoizationEnabled;
+        _clearMemo();
+    }
+
+    /**
+     * @return the resolvers of the chain, in the order in which they were added
+     */
+    ELResolver[] getELResolvers() {
+        return Arrays.copyOf(_allELResolvers, _allELResolverCount);
+    }
+
+    /**
+     * Mark a resolver of the chain as predictable, that is, whether it resolves a value depends on nothing but the root
+     * identifier, or the class of the base and the property.
+     *
+     * @param elResolver a resolver of the chain
+     */
+    void setPredictable(ELResolver elResolver) {
+        _predictableELResolvers.add(elResolver);
+        _clearMemo();
+    }
+
+    /**
+     * Called when the given resolver of the chain changed, e.g. because resolvers were added to it, so that it is no
+     * longer predictable, and the memoized resolutions are discarded.
+     *
+     * @param elResolver a resolver of the chain
+     */
+    public void elResolverChanged(ELResolver elResolver) {
+        _predictableELResolvers.remove(elResolver);
+        _clearMemo();
+    }
+
+    private void _clearMemo() {
+        _rootMemo = new ConcurrentHashMap<>();
+        _propertyMemo = _newPropertyMemo();
+    }
+
+    private static ClassValue<ConcurrentMap<Object, Integer>> _newPropertyMemo() {
+        return new ClassValue<ConcurrentMap<Object, Integer>>() {
+            @Override
+            protected ConcurrentMap<Object, Integer> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private ConcurrentMap<Object, Integer> _getMemo(Object base) {
+        return base == null ? _rootMemo : _propertyMemo.get(base.getClass());
+    }
+
+    private boolean _isPredictable(ELResolver elResolver, Object base) {
+        if (elResolver instanceof CompositeComponentAttributesELResolver) {
+            // Whether a component is a composite component does not depend on its class
+            return !(base instanceof UIComponent) && _predictableELResolvers.contains(elResolver);
+        }
+
+        return _predictableELResolvers.contains(elResolver);
+    }
+
+    private void _memoize(ELResolver[] resolvers, int index, Object base, Object property) {
+        for (int i = 0; i < index; i++) {
+            if (!_isPredictable(resolvers[i], base)) {
+                return;
+            }
+        }
+
+        ConcurrentMap<Object, Integer> memo = _getMemo(base);
+        if (memo.size() < (base == null ? MAX_MEMOIZED_ROOTS : MAX_MEMOIZED_PROPERTIES)) {
+            memo.put(property, index);
+        }
     }
 
     private Object _getValue(int resolverCount, ELResolver[] resolvers, ELContext context, Object base, Object property) throws ELException {
+        boolean memoize = _memoizationEnabled && property instanceof String;
+        if (memoize) {
+            Integer index = _getMemo(base).get(property);
+            if (index != null) {
+                Object result = resolvers[index].getValue(context, base, property);
+
+                if (context.isPropertyResolved()) {
+                    return result;
+                }
+            }
+        }
+
         for (int i = 0; i < resolverCount; i++) {
             Object result = resolvers[i].getValue(context, base, property);
 
             if (context.isPropertyResolved()) {
+                if (memoize && i > 0) {
+                    _memoize(resolvers, i, base, property);
+                }
                 return result;
             }
         }
@@ -16,6 +16,8 @@
 package com.sun.faces.el;
 
 import static com.sun.faces.RIConstants.EMPTY_CLASS_ARGS;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableCdiBeanLookupCache;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableELResolverMemoization;
 import static com.sun.faces.util.MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID;
 import static com.sun.faces.util.MessageUtils.getExceptionMessageString;
 import static com.sun.faces.util.ReflectionUtils.lookupMethod;
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.context.flash.FlashELResolver;
 
 import jakarta.el.ArrayELResolver;
@@ -175,6 +178,10 @@ public class ELUtils {
         composite.addPropertyELResolver(ARRAY_RESOLVER);
         composite.addPropertyELResolver(BEAN_RESOLVER);
         composite.addRootELResolver(SCOPED_RESOLVER);
+
+        if (composite instanceof DemuxCompositeELResolver && WebConfiguration.getInstance().isOptionEnabled(EnableELResolverMemoization)) {
+            enableMemoization((DemuxCompositeELResolver) composite, associate);
+        }
     }
 
     private static void checkNotNull(FacesCompositeELResolver composite, ApplicationAssociate associate) {
@@ -187,10 +194,34 @@ public class ELUtils {
         }
     }
 
+    /*
+     * All resolvers of the chain are predictable, except the ones configured by the application.
+     */
+    private static void enableMemoization(DemuxCompositeELResolver composite, ApplicationAssociate associate) {
+        List<ELResolver> facesConfigELResolvers = associate.getELResolversFromFacesConfig();
+        for (ELResolver elResolver : composite.getELResolvers()) {
+            if (facesConfigELResolvers != null && facesConfigELResolvers.contains(elResolver)) {
+                continue;
+            }
+
+            if (elResolver == associate.getApplicationELResolvers() && associate.hasApplicationELResolvers()) {
+                continue;
+            }
+
+            composite.setPredictable(elResolver);
+        }
+
+        composite.setMemoizationEnabled(true);
+    }
+
     private static void addCDIELResolver(FacesCompositeELResolver composite) {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         BeanManager beanManager = getCdiBeanManager(facesContext);
-        composite.add(beanManager.getELResolver());
+        ELResolver cdiELResolver = beanManager.getELResolver();
+        if (WebConfiguration.getInstance(facesContext.getExternalContext()).isOptionEnabled(EnableCdiBeanLookupCache)) {
+            cdiELResolver = new CdiBeanCacheELResolver(beanManager, cdiELResolver);
+        }
+        composite.add(cdiELResolver);
     }
 
     private static void addEL3_0_Resolvers(FacesCompositeELResolver composite, ApplicationAssociate associate) {
@@ -50,6 +50,9 @@ final class EndElementInstruction implements Instruction {
             RenderKitUtils.renderUnhandledMessages(context);
         }
         context.getResponseWriter().endElement(element);
+        if (HEAD_ELEMENT.equalsIgnoreCase(element)) {
+            RenderKitUtils.flushStreamingResponse(context);
+        }
     }
 
     @Override
@@ -19,24 +19,30 @@ package com.sun.faces.facelets.compiler;
 import java.io.IOException;
 
 import com.sun.faces.config.FaceletsConfiguration;
+import com.sun.faces.io.PreEncodedText;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
 
 import jakarta.el.ELContext;
 import jakarta.el.ExpressionFactory;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
 
 final class LiteralTextInstruction implements Instruction {
-    private final String text;
+    private final PreEncodedText text;
 
     public LiteralTextInstruction(String text) {
-        this.text = text;
+        this.text = new PreEncodedText(text);
     }
 
     @Override
     public void write(FacesContext context) throws IOException {
+        ResponseWriter rw = context.getResponseWriter();
         if (FaceletsConfiguration.getInstance(context).isEscapeInlineText(context)) {
-            context.getResponseWriter().writeText(text, null);
+            rw.writeText(text.toString(), null);
+        } else if (rw instanceof HtmlResponseWriter) {
+            ((HtmlResponseWriter) rw).write(text);
         } else {
-            context.getResponseWriter().write(text);
+            rw.write(text.toString());
         }
     }
 
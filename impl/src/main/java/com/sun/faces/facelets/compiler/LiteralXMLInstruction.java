@@ -18,6 +18,9 @@ package com.sun.faces.facelets.compiler;
 
 import java.io.IOException;
 
+import com.sun.faces.io.PreEncodedText;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+
 import jakarta.el.ELContext;
 import jakarta.el.ExpressionFactory;
 import jakarta.faces.context.FacesContext;
@@ -27,19 +30,21 @@ final class LiteralXMLInstruction implements Instruction {
 
     private final static char[] STOP = new char[0];
 
-    private final char[] instruction;
-    private final int len;
+    private final PreEncodedText instruction;
 
     public LiteralXMLInstruction(String literal) {
-        instruction = literal.toCharArray();
-        len = instruction.length;
+        instruction = new PreEncodedText(literal);
     }
 
     @Override
     public void write(FacesContext context) throws IOException {
         ResponseWriter rw = context.getResponseWriter();
         rw.writeText(STOP, 0, 0); // hack to get closing elements
-        rw.write(instruction, 0, len);
+        if (rw instanceof HtmlResponseWriter) {
+            ((HtmlResponseWriter) rw).write(instruction);
+        } else {
+            rw.write(instruction.toString());
+        }
     }
 
     @Override
@@ -18,14 +18,21 @@ package com.sun.faces.facelets.compiler;
 
 import java.io.IOException;
 
+import com.sun.faces.io.PreEncodedText;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
 
 public final class UILiteralText extends UILeaf {
 
-    private final String text;
+    private final PreEncodedText text;
 
     public UILiteralText(String text) {
+        this(new PreEncodedText(text));
+    }
+
+    UILiteralText(PreEncodedText text) {
         this.text = text;
     }
 
@@ -33,13 +40,17 @@ public final class UILiteralText extends UILeaf {
     public void encodeBegin(FacesContext faces) throws IOException {
         if (isRendered()) {
             ResponseWriter writer = faces.getResponseWriter();
-            writer.write(text);
+            if (writer instanceof HtmlResponseWriter) {
+                ((HtmlResponseWriter) writer).write(text);
+            } else {
+                writer.write(text.toString());
+            }
         }
     }
 
     @Override
     public String toString() {
-        return text;
+        return text.toString();
     }
 
 }
@@ -19,6 +19,7 @@ package com.sun.faces.facelets.compiler;
 import java.io.IOException;
 
 import com.sun.faces.facelets.tag.faces.ComponentSupport;
+import com.sun.faces.io.PreEncodedText;
 
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.component.UniqueIdVendor;
@@ -28,14 +29,17 @@ final class UILiteralTextHandler extends AbstractUIHandler {
 
     protected final String txtString;
 
+    private final PreEncodedText txt;
+
     public UILiteralTextHandler(String txtString) {
         this.txtString = txtString;
+        txt = new PreEncodedText(txtString);
     }
 
     @Override
     public void apply(FaceletContext ctx, UIComponent parent) throws IOException {
         if (parent != null) {
-            UIComponent c = new UILiteralText(txtString);
+            UIComponent c = new UILiteralText(txt);
             String uid;
             UIComponent ancestorNamingContainer = parent.getNamingContainer();
             if (null != ancestorNamingContainer && ancestorNamingContainer instanceof UniqueIdVendor) {
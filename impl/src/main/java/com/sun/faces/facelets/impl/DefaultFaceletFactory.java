@@ -47,6 +47,8 @@ import com.sun.faces.RIConstants;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.context.FacesFileNotFoundException;
 import com.sun.faces.facelets.compiler.Compiler;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
 import com.sun.faces.util.Cache;
 import com.sun.faces.util.FacesLogger;
 
@@ -182,6 +184,11 @@ public class DefaultFaceletFactory {
      * @throws ELException when an EL exception occurs
      */
     public Facelet getFacelet(FacesContext context, URL url) throws IOException {
+        LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getCurrentInstance(context);
+        if (instrumentation != null) {
+            instrumentation.faceletRequested(context, url);
+        }
+
         Facelet result = getCache(context).getFacelet(url);
 
         DefaultFacelet _facelet = null;
@@ -203,6 +210,11 @@ public class DefaultFaceletFactory {
     }
 
     public Facelet getMetadataFacelet(FacesContext context, URL url) throws IOException {
+        LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getCurrentInstance(context);
+        if (instrumentation != null) {
+            instrumentation.faceletRequested(context, url);
+        }
+
         return getCache(context).getViewMetadataFacelet(url);
     }
 
@@ -321,8 +333,14 @@ public class DefaultFaceletFactory {
 
         // Create instance factories for the cache, so that the cache can
         // create Facelets and Metadata Facelets
-        FaceletCache.MemberFactory<DefaultFacelet> faceletFactory = key -> createFacelet(key);
-        FaceletCache.MemberFactory<DefaultFacelet> metadataFaceletFactory = key -> createMetadataFacelet(key);
+        FaceletCache.MemberFactory<DefaultFacelet> faceletFactory = key -> {
+            faceletCompiled(key);
+            return createFacelet(key);
+        };
+        FaceletCache.MemberFactory<DefaultFacelet> metadataFaceletFactory = key -> {
+            faceletCompiled(key);
+            return createMetadataFacelet(key);
+        };
 
         cache.setCacheFactories(faceletFactory, metadataFaceletFactory);
         return cache;
@@ -397,6 +415,15 @@ public class DefaultFaceletFactory {
         }
     }
 
+    // Report the compilation of the given Facelet to the lifecycle instrumentation, if any
+    private static void faceletCompiled(URL url) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        LifecycleInstrumentation instrumentation = context != null ? LifecycleInstrumentationFactory.getCurrentInstance(context) : null;
+        if (instrumentation != null) {
+            instrumentation.faceletCompiled(context, url);
+        }
+    }
+
     private DefaultFacelet createMetadataFacelet(URL url) throws IOException {
         log.fine(() -> "Creating Metadata Facelet for: " + url);
 
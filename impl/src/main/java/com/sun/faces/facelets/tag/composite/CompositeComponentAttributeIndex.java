@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.tag.composite;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+import java.beans.BeanInfo;
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.el.ValueExpression;
+
+/**
+ * <p>
+ * An immutable index of the attributes declared by a composite component, which assigns each declared attribute a slot
+ * number and keeps its default value and type in arrays indexed by that slot.
+ * </p>
+ *
+ * <p>
+ * The index is built once per composite component type, together with its {@link CompositeComponentBeanInfo}, and is
+ * shared by all instances of that composite component, so that resolving <code>#{cc.attrs.foo}</code> no longer scans
+ * the property descriptors of the component metadata.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class CompositeComponentAttributeIndex {
+
+    private static final Object UNRESOLVED = new Object();
+
+    private final Map<String, Integer> slots;
+
+    private final PropertyDescriptor[] descriptors;
+
+    private final Object[] defaults;
+
+    /**
+     * Types declared as a <code>ValueExpression</code> are resolved by the descriptor on first access, so they are
+     * cached lazily. Races are benign, the descriptor always resolves to the same class.
+     */
+    private final Object[] types;
+
+    // ------------------------------------------------------------ Constructors
+
+    CompositeComponentAttributeIndex(List<PropertyDescriptor> declaredAttributes) {
+        int size = declaredAttributes.size();
+        slots = new HashMap<>(size * 2);
+        descriptors = declaredAttributes.toArray(new PropertyDescriptor[size]);
+        defaults = new Object[size];
+        types = new Object[size];
+
+        for (int slot = 0; slot < size; slot++) {
+            PropertyDescriptor descriptor = descriptors[slot];
+            // The first declaration wins, like the linear scans this index replaces
+            slots.putIfAbsent(descriptor.getName(), slot);
+            defaults[slot] = descriptor.getValue("default");
+            types[slot] = UNRESOLVED;
+        }
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param metadata the metadata of a composite component
+     * @return the index of the attributes declared in the given metadata
+     */
+    public static CompositeComponentAttributeIndex forMetadata(BeanInfo metadata) {
+        if (metadata instanceof CompositeComponentBeanInfo) {
+            return ((CompositeComponentBeanInfo) metadata).getAttributeIndex();
+        }
+
+        PropertyDescriptor[] declaredAttributes = metadata.getPropertyDescriptors();
+        return new CompositeComponentAttributeIndex(declaredAttributes == null ? emptyList() : asList(declaredAttributes));
+    }
+
+    /**
+     * @return the number of declared attributes
+     */
+    public int size() {
+        return descriptors.length;
+    }
+
+    /**
+     * @param name the name of an attribute
+     * @return the slot of the attribute with the given name, or <code>-1</code> if there is no such declared attribute
+     */
+    public int getSlot(Object name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot the slot of a declared attribute
+     * @return the default value of the attribute, which is usually a {@link ValueExpression}, or <code>null</code>
+     */
+    public Object getDefault(int slot) {
+        return defaults[slot];
+    }
+
+    /**
+     * @param slot the slot of a declared attribute
+     * @return the declared type of the attribute, or <code>null</code> if no type was declared
+     */
+    public Class<?> getType(int slot) {
+        Object type = types[slot];
+        if (type == UNRESOLVED) {
+            type = descriptors[slot].getValue("type");
+            if (type != null && !(type instanceof Class)) {
+                // Could not be resolved to a class, don't cache anything
+                return null;
+            }
+            types[slot] = type;
+        }
+
+        return (Class<?>) type;
+    }
+
+}
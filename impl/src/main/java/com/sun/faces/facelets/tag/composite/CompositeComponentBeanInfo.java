@@ -61,6 +61,23 @@ public class CompositeComponentBeanInfo extends SimpleBeanInfo implements BeanIn
         return propertyDescriptors;
     }
 
+    private transient volatile CompositeComponentAttributeIndex attributeIndex;
+
+    /**
+     * @return the index of the declared attributes, which is rebuilt if attributes were declared since it was last
+     * obtained
+     */
+    public CompositeComponentAttributeIndex getAttributeIndex() {
+
+        CompositeComponentAttributeIndex index = attributeIndex;
+        List<PropertyDescriptor> list = getPropertyDescriptorsList();
+        if (index == null || index.size() != list.size()) {
+            index = new CompositeComponentAttributeIndex(list);
+            attributeIndex = index;
+        }
+        return index;
+    }
+
     // ----------------------------------------------Methods From Externalizable
 
     @Override
@@ -17,18 +17,29 @@
 package com.sun.faces.flow;
 
 import static com.sun.faces.cdi.CdiUtils.getBeanReference;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableFlowScopeRequestCache;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.NumberOfFlowClientWindows;
 import static com.sun.faces.util.Util.getCdiBeanManager;
+import static java.util.logging.Level.WARNING;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
 
 import com.sun.faces.RIConstants;
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.SessionLocks;
 
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Context;
@@ -50,7 +61,10 @@ import jakarta.servlet.http.HttpSessionEvent;
 public class FlowCDIContext implements Context, Serializable {
 
     private static final long serialVersionUID = -7144653402477623609L;
+    private static final Logger LOGGER = FacesLogger.FLOW.getLogger();
     private static final String FLOW_SCOPE_MAP_KEY = RIConstants.FACES_PREFIX + "FLOW_SCOPE_MAP";
+    private static final String BEANS_SUFFIX = "_beans";
+    private static final String CREATIONAL_SUFFIX = "_creational";
 
     private transient Map<Contextual<?>, FlowBeanInfo> flowIds;
 
@@ -106,6 +120,16 @@ public class FlowCDIContext implements Context, Serializable {
     private static final String PER_SESSION_BEAN_MAP_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_BEAN_MAP_LIST";
     private static final String PER_SESSION_CREATIONAL_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_CREATIONAL_LIST";
 
+    /*
+     * The client windows of the session which have flow scoped beans, from the least to the most recently used, with the
+     * keys of their bean maps. Only kept when the number of client windows with flows is bounded.
+     */
+    private static final String PER_SESSION_CLIENT_WINDOW_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_CLIENT_WINDOW_LIST";
+
+    private static final String REQUEST_FLOW_SCOPE_MAP_HELPER = FlowCDIContext.class.getPackage().getName() + ".REQUEST_FLOW_SCOPE_MAP_HELPER";
+
+    private static final String REQUEST_USED_CLIENT_WINDOW = FlowCDIContext.class.getPackage().getName() + ".REQUEST_USED_CLIENT_WINDOW";
+
     // -------------------------------------------------------- Private Methods
 
 
@@ -117,20 +141,23 @@ public class FlowCDIContext implements Context, Serializable {
         private transient String flowBeansForClientWindowKey;
         private transient String creationalForClientWindowKey;
         private transient final Map<String, Object> sessionMap;
+        private transient final Object session;
+        private transient final Flow flow;
+        private transient final int flowDepth;
+        private transient String clientWindowId;
+        private transient Map<String, Object> flowScopedBeanMap;
+        private transient Map<String, CreationalContext<?>> creationalMap;
 
         private FlowScopeMapHelper(FacesContext facesContext) {
-            ExternalContext extContext = facesContext.getExternalContext();
-            sessionMap = extContext.getSessionMap();
-
-            Flow currentFlow = getCurrentFlow(facesContext);
-            int currentFlowDepth = FlowHandlerImpl.getFlowStack(facesContext).getCurrentFlowDepth();
-
-            generateKeyForCDIBeansBelongToAFlow(facesContext, currentFlow, currentFlowDepth);
+            this(facesContext, getCurrentFlow(facesContext), FlowHandlerImpl.getFlowStack(facesContext).getCurrentFlowDepth());
         }
 
         private FlowScopeMapHelper(FacesContext facesContext, Flow flow, int flowDepth) {
             ExternalContext extContext = facesContext.getExternalContext();
             sessionMap = extContext.getSessionMap();
+            session = extContext.getSession(false);
+            this.flow = flow;
+            this.flowDepth = flowDepth;
 
             generateKeyForCDIBeansBelongToAFlow(facesContext, flow, flowDepth);
         }
@@ -143,15 +170,32 @@ public class FlowCDIContext implements Context, Serializable {
                 }
 
                 final String clientWindow = flow.getClientWindowFlowId(curWindow);
+                clientWindowId = curWindow.getId();
 
-                flowBeansForClientWindowKey = clientWindow + ":" + flowDepth + "_beans";
-                creationalForClientWindowKey = clientWindow + ":" + flowDepth + "_creational";
+                flowBeansForClientWindowKey = clientWindow + ":" + flowDepth + BEANS_SUFFIX;
+                creationalForClientWindowKey = clientWindow + ":" + flowDepth + CREATIONAL_SUFFIX;
 
             } else {
                 flowBeansForClientWindowKey = creationalForClientWindowKey = null;
             }
         }
 
+        /*
+         * Whether this helper was created for the given flow of the current client window and session.
+         */
+        private boolean isFor(FacesContext facesContext, Flow flow, int flowDepth) {
+            if (this.flow != flow || this.flowDepth != flowDepth) {
+                return false;
+            }
+
+            ExternalContext extContext = facesContext.getExternalContext();
+            if (session != extContext.getSession(false)) {
+                return false;
+            }
+
+            return flow == null || clientWindowId.equals(extContext.getClientWindow().getId());
+        }
+
         private void createMaps() {
             getFlowScopedBeanMapForCurrentFlow();
             getFlowScopedCreationalMapForCurrentFlow();
@@ -173,13 +217,17 @@ public class FlowCDIContext implements Context, Serializable {
             if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
                 return Collections.emptyMap();
             }
+            if (null != flowScopedBeanMap) {
+                return flowScopedBeanMap;
+            }
             Map<String, Object> result;
             result = (Map<String, Object>) sessionMap.get(flowBeansForClientWindowKey);
             if (null == result) {
-                result = new ConcurrentHashMap<>();
+                result = new FlowScopedBeanMap();
                 sessionMap.put(flowBeansForClientWindowKey, result);
                 ensureBeanMapCleanupOnSessionDestroyed(sessionMap, flowBeansForClientWindowKey);
             }
+            flowScopedBeanMap = result;
             return result;
         }
 
@@ -187,6 +235,9 @@ public class FlowCDIContext implements Context, Serializable {
             if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
                 return Collections.emptyMap();
             }
+            if (null != creationalMap) {
+                return creationalMap;
+            }
             Map<String, CreationalContext<?>> result;
             result = (Map<String, CreationalContext<?>>) sessionMap.get(creationalForClientWindowKey);
             if (null == result) {
@@ -194,6 +245,7 @@ public class FlowCDIContext implements Context, Serializable {
                 sessionMap.put(creationalForClientWindowKey, result);
                 ensureCreationalCleanupOnSessionDestroyed(sessionMap, creationalForClientWindowKey);
             }
+            creationalMap = result;
             return result;
         }
 
@@ -217,6 +269,18 @@ public class FlowCDIContext implements Context, Serializable {
         }
     }
 
+    /*
+     * The flow scoped beans of one flow of a client window, with the lock guarding their creation. Creating a bean may
+     * take a while, and only blocks the creation of the beans of the same flow, not the rest of the session.
+     */
+    private static final class FlowScopedBeanMap extends ConcurrentHashMap<String, Object> {
+
+        private static final long serialVersionUID = 2263473473459316417L;
+
+        private final ReentrantLock creationLock = new ReentrantLock();
+
+    }
+
     private static void ensureBeanMapCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String flowBeansForClientWindow) {
         @SuppressWarnings("unchecked")
         List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
@@ -239,6 +303,191 @@ public class FlowCDIContext implements Context, Serializable {
         beanMapList.add(creationalForClientWindow);
     }
 
+    /*
+     * Mark the current client window as the most recently used one with flows, and destroy the flow scoped beans and the
+     * flow stack of the least recently used client windows of the session, if there are more than the configured number.
+     * The key of the bean map of an entered flow is recorded with the client window, otherwise it is only marked. The
+     * evicted client windows are removed from the session under the session lock, their beans are destroyed after it was
+     * released.
+     */
+    @SuppressWarnings("unchecked")
+    private static void retainClientWindow(FacesContext facesContext, String clientWindowId, String flowBeansForClientWindowKey) {
+        ExternalContext extContext = facesContext.getExternalContext();
+        Map<String, Object> sessionMap = extContext.getSessionMap();
+        boolean evict = flowBeansForClientWindowKey != null;
+        int numberOfClientWindows = evict ? getNumberOfFlowClientWindows(extContext) : 0;
+        if (evict && numberOfClientWindows <= 0 || !evict && !sessionMap.containsKey(PER_SESSION_CLIENT_WINDOW_LIST)) {
+            return;
+        }
+
+        List<EvictedClientWindow> evicted = new ArrayList<>();
+        Lock lock = SessionLocks.getLock(extContext);
+        lock.lock();
+        try {
+            Map<String, List<String>> clientWindows = (Map<String, List<String>>) sessionMap.get(PER_SESSION_CLIENT_WINDOW_LIST);
+            if (clientWindows == null) {
+                if (!evict) {
+                    return;
+                }
+                clientWindows = new LinkedHashMap<>(16, 0.75f, true);
+            }
+
+            List<String> flowBeansForClientWindowKeys = clientWindows.computeIfAbsent(clientWindowId, k -> new ArrayList<>());
+            if (evict && !flowBeansForClientWindowKeys.contains(flowBeansForClientWindowKey)) {
+                flowBeansForClientWindowKeys.add(flowBeansForClientWindowKey);
+            }
+
+            while (evict && clientWindows.size() > numberOfClientWindows) {
+                Iterator<Entry<String, List<String>>> eldest = clientWindows.entrySet().iterator();
+                Entry<String, List<String>> entry = eldest.next();
+                eldest.remove();
+                evicted.add(removeClientWindow(sessionMap, entry.getKey(), entry.getValue()));
+            }
+
+            sessionMap.put(PER_SESSION_CLIENT_WINDOW_LIST, clientWindows);
+        } finally {
+            lock.unlock();
+        }
+
+        for (EvictedClientWindow clientWindow : evicted) {
+            clientWindow.destroy(facesContext);
+        }
+    }
+
+    /*
+     * Remove the bean maps and the flow stack of the given client window from the session.
+     */
+    @SuppressWarnings("unchecked")
+    private static EvictedClientWindow removeClientWindow(Map<String, Object> sessionMap, String clientWindowId, List<String> flowBeansForClientWindowKeys) {
+        EvictedClientWindow clientWindow = new EvictedClientWindow();
+        List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
+        List<String> creationalList = (List<String>) sessionMap.get(PER_SESSION_CREATIONAL_LIST);
+
+        for (String flowBeansForClientWindowKey : flowBeansForClientWindowKeys) {
+            String creationalForClientWindowKey = flowBeansForClientWindowKey.substring(0, flowBeansForClientWindowKey.length() - BEANS_SUFFIX.length())
+                    + CREATIONAL_SUFFIX;
+            Map<String, Object> flowScopedBeanMap = (Map<String, Object>) sessionMap.remove(flowBeansForClientWindowKey);
+            Map<String, CreationalContext<?>> creationalMap = (Map<String, CreationalContext<?>>) sessionMap.remove(creationalForClientWindowKey);
+            if (flowScopedBeanMap != null) {
+                clientWindow.flowScopedBeanMaps.add(flowScopedBeanMap);
+                clientWindow.creationalMaps.add(creationalMap != null ? creationalMap : Collections.emptyMap());
+            }
+
+            if (beanMapList != null) {
+                beanMapList.remove(flowBeansForClientWindowKey);
+            }
+            if (creationalList != null) {
+                creationalList.remove(creationalForClientWindowKey);
+            }
+        }
+
+        if (beanMapList != null) {
+            sessionMap.put(PER_SESSION_BEAN_MAP_LIST, beanMapList);
+        }
+        if (creationalList != null) {
+            sessionMap.put(PER_SESSION_CREATIONAL_LIST, creationalList);
+        }
+
+        // The flows of the client window are abandoned
+        clientWindow.flowStack = (Iterable<Flow>) sessionMap.remove(clientWindowId + "_flowStack");
+
+        return clientWindow;
+    }
+
+    /*
+     * The flow scoped beans and flows of a client window which was removed from the session, to be destroyed once the
+     * session lock was released, as the pre destroy methods of the beans may take their time.
+     */
+    private static final class EvictedClientWindow {
+
+        private final List<Map<String, Object>> flowScopedBeanMaps = new ArrayList<>();
+        private final List<Map<String, CreationalContext<?>>> creationalMaps = new ArrayList<>();
+        private Iterable<Flow> flowStack;
+
+        private void destroy(FacesContext facesContext) {
+            BeanManager beanManager = getCdiBeanManager(facesContext);
+            for (int i = 0; i < flowScopedBeanMaps.size(); i++) {
+                destroyBeans(beanManager, flowScopedBeanMaps.get(i), creationalMaps.get(i));
+            }
+
+            if (flowStack != null) {
+                FlowCDIEventFireHelper eventFireHelper = getBeanReference(beanManager, FlowCDIEventFireHelperImpl.class);
+                for (Flow flow : flowStack) {
+                    eventFireHelper.fireDestroyedEvent(flow);
+                }
+            }
+        }
+
+    }
+
+    private static int getNumberOfFlowClientWindows(ExternalContext extContext) {
+        String numberOfFlowClientWindows = WebConfiguration.getInstance(extContext).getOptionValue(NumberOfFlowClientWindows);
+        try {
+            return Integer.parseInt(numberOfFlowClientWindows);
+        } catch (NumberFormatException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Cannot parse " + NumberOfFlowClientWindows.getQualifiedName(), e);
+            }
+            return 0;
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void destroyBeans(BeanManager beanManager, Map<String, Object> flowScopedBeanMap, Map<String, CreationalContext<?>> creationalMap) {
+        for (Entry<String, Object> entry : flowScopedBeanMap.entrySet()) {
+            String passivationCapableId = entry.getKey();
+            if (FLOW_SCOPE_MAP_KEY.equals(passivationCapableId)) {
+                continue;
+            }
+            Contextual owner = beanManager.getPassivationCapableBean(passivationCapableId);
+            Object bean = entry.getValue();
+            CreationalContext creational = creationalMap.get(passivationCapableId);
+
+            owner.destroy(bean, creational);
+        }
+    }
+
+    /*
+     * Get the helper for the current flow. With the request cache enabled, the helper, and the maps it resolved, are kept
+     * in the request for as long as the current flow does not change. Either way, the client window of the flow is marked
+     * as used.
+     */
+    private static FlowScopeMapHelper getMapHelper(FacesContext facesContext) {
+        if (!WebConfiguration.getInstance(facesContext.getExternalContext()).isOptionEnabled(EnableFlowScopeRequestCache)) {
+            FlowScopeMapHelper mapHelper = new FlowScopeMapHelper(facesContext);
+            clientWindowUsed(facesContext, mapHelper);
+            return mapHelper;
+        }
+
+        Flow currentFlow = getCurrentFlow(facesContext);
+        int currentFlowDepth = FlowHandlerImpl.getFlowStack(facesContext).getCurrentFlowDepth();
+
+        Map<Object, Object> attributes = facesContext.getAttributes();
+        FlowScopeMapHelper mapHelper = (FlowScopeMapHelper) attributes.get(REQUEST_FLOW_SCOPE_MAP_HELPER);
+        if (mapHelper == null || !mapHelper.isFor(facesContext, currentFlow, currentFlowDepth)) {
+            mapHelper = new FlowScopeMapHelper(facesContext, currentFlow, currentFlowDepth);
+            attributes.put(REQUEST_FLOW_SCOPE_MAP_HELPER, mapHelper);
+            clientWindowUsed(facesContext, mapHelper);
+        }
+
+        return mapHelper;
+    }
+
+    /*
+     * Mark the client window of the flow of the given helper as the most recently used one, once per request and client
+     * window.
+     */
+    private static void clientWindowUsed(FacesContext facesContext, FlowScopeMapHelper mapHelper) {
+        if (!mapHelper.isFlowExists()) {
+            return;
+        }
+
+        Map<Object, Object> attributes = facesContext.getAttributes();
+        if (!mapHelper.clientWindowId.equals(attributes.put(REQUEST_USED_CLIENT_WINDOW, mapHelper.clientWindowId))) {
+            retainClientWindow(facesContext, mapHelper.clientWindowId, null);
+        }
+    }
+
     private final void assertNotReleased() {
         if (!isActive()) {
             throw new IllegalStateException();
@@ -291,7 +540,7 @@ public class FlowCDIContext implements Context, Serializable {
     }
 
     static Map<Object, Object> getCurrentFlowScopeAndUpdateSession() {
-        return getCurrentFlowScopeAndUpdateSession(new FlowScopeMapHelper(FacesContext.getCurrentInstance()));
+        return getCurrentFlowScopeAndUpdateSession(getMapHelper(FacesContext.getCurrentInstance()));
 
     }
 
@@ -318,17 +567,7 @@ public class FlowCDIContext implements Context, Serializable {
 
         BeanManager beanManager = getCdiBeanManager(facesContext);
 
-        for (Entry<String, Object> entry : flowScopedBeanMap.entrySet()) {
-            String passivationCapableId = entry.getKey();
-            if (FLOW_SCOPE_MAP_KEY.equals(passivationCapableId)) {
-                continue;
-            }
-            Contextual owner = beanManager.getPassivationCapableBean(passivationCapableId);
-            Object bean = entry.getValue();
-            CreationalContext creational = creationalMap.get(passivationCapableId);
-
-            owner.destroy(bean, creational);
-        }
+        destroyBeans(beanManager, flowScopedBeanMap, creationalMap);
 
         flowScopedBeanMap.clear();
         creationalMap.clear();
@@ -338,7 +577,10 @@ public class FlowCDIContext implements Context, Serializable {
 
     static void flowEntered() {
         FacesContext facesContext = FacesContext.getCurrentInstance();
-        FlowScopeMapHelper mapHelper = new FlowScopeMapHelper(facesContext);
+        FlowScopeMapHelper mapHelper = getMapHelper(facesContext);
+        if (mapHelper.isFlowExists()) {
+            retainClientWindow(facesContext, mapHelper.clientWindowId, mapHelper.getFlowBeansForClientWindowKey());
+        }
         mapHelper.createMaps();
 
         getCurrentFlowScopeAndUpdateSession(mapHelper);
@@ -351,7 +593,7 @@ public class FlowCDIContext implements Context, Serializable {
         assertNotReleased();
 
         FacesContext facesContext = FacesContext.getCurrentInstance();
-        FlowScopeMapHelper mapHelper = new FlowScopeMapHelper(facesContext);
+        FlowScopeMapHelper mapHelper = getMapHelper(facesContext);
         T contextualInstance = get(mapHelper, contextual);
 
         if (contextualInstance == null) {
@@ -360,7 +602,11 @@ public class FlowCDIContext implements Context, Serializable {
 
             String passivationCapableId = ((PassivationCapable) contextual).getId();
 
-            synchronized (flowScopedBeanMap) {
+            // The bean maps of sessions of a previous version have no lock of their own
+            Lock lock = flowScopedBeanMap instanceof FlowScopedBeanMap ? ((FlowScopedBeanMap) flowScopedBeanMap).creationLock
+                    : SessionLocks.getLock(facesContext.getExternalContext());
+            lock.lock();
+            try {
                 contextualInstance = (T) flowScopedBeanMap.get(passivationCapableId);
                 if (contextualInstance == null) {
 
@@ -382,6 +628,8 @@ public class FlowCDIContext implements Context, Serializable {
                         mapHelper.updateSession();
                     }
                 }
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -395,7 +643,7 @@ public class FlowCDIContext implements Context, Serializable {
             throw new IllegalArgumentException("FlowScoped bean " + contextual.toString() + " must be PassivationCapable, but is not.");
         }
 
-        return get(new FlowScopeMapHelper(FacesContext.getCurrentInstance()), contextual);
+        return get(getMapHelper(FacesContext.getCurrentInstance()), contextual);
     }
 
     @SuppressWarnings("unchecked")
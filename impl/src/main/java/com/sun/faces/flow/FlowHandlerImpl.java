@@ -16,6 +16,8 @@
 
 package com.sun.faces.flow;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableFlowScopeRequestCache;
+
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayDeque;
@@ -27,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.sun.faces.application.NavigationHandlerImpl;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.Util;
 
 import jakarta.el.ELContext;
@@ -45,6 +48,8 @@ public class FlowHandlerImpl extends FlowHandler {
 
     public static final String ABANDONED_FLOW = "jakarta.faces.flow.AbandonedFlow";
 
+    private static final String REQUEST_FLOW_STACK = FlowHandlerImpl.class.getName() + ".REQUEST_FLOW_STACK";
+
     public FlowHandlerImpl() {
         flowFeatureIsEnabled = false;
         flows = new ConcurrentHashMap<>();
@@ -395,7 +400,18 @@ public class FlowHandlerImpl extends FlowHandler {
     static FlowDeque<Flow> getFlowStack(FacesContext context) {
         FlowDeque<Flow> result = null;
         ExternalContext extContext = context.getExternalContext();
-        String sessionKey = extContext.getClientWindow().getId() + "_flowStack";
+        String clientWindowId = extContext.getClientWindow().getId();
+
+        // The flow stack of the client window is only looked up in the session once per request
+        boolean cacheInRequest = WebConfiguration.getInstance(extContext).isOptionEnabled(EnableFlowScopeRequestCache);
+        if (cacheInRequest) {
+            RequestFlowStack requestFlowStack = (RequestFlowStack) context.getAttributes().get(REQUEST_FLOW_STACK);
+            if (requestFlowStack != null && requestFlowStack.clientWindowId.equals(clientWindowId) && requestFlowStack.session == extContext.getSession(false)) {
+                return requestFlowStack.flowStack;
+            }
+        }
+
+        String sessionKey = clientWindowId + "_flowStack";
         Map<String, Object> sessionMap = extContext.getSessionMap();
         result = (FlowDeque<Flow>) sessionMap.get(sessionKey);
         if (null == result) {
@@ -403,6 +419,10 @@ public class FlowHandlerImpl extends FlowHandler {
             sessionMap.put(sessionKey, result);
         }
 
+        if (cacheInRequest) {
+            context.getAttributes().put(REQUEST_FLOW_STACK, new RequestFlowStack(clientWindowId, extContext.getSession(false), result));
+        }
+
         return result;
     }
 
@@ -412,6 +432,20 @@ public class FlowHandlerImpl extends FlowHandler {
         sessionMap.put(stack.getSessionKey(), stack);
     }
 
+    private static final class RequestFlowStack {
+
+        private final String clientWindowId;
+        private final Object session;
+        private final FlowDeque<Flow> flowStack;
+
+        RequestFlowStack(String clientWindowId, Object session, FlowDeque<Flow> flowStack) {
+            this.clientWindowId = clientWindowId;
+            this.session = session;
+            this.flowStack = flowStack;
+        }
+
+    }
+
     static class FlowDeque<E> implements Iterable<E>, Serializable {
 
         private static final long serialVersionUID = 7915803727932706270L;
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>
+ * A chunk of static markup together with its UTF-8 encoded form. The encoded bytes are computed once, the first time
+ * they are requested by a {@link PreEncodedWriter}, and are shared by every subsequent render of the same chunk.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class PreEncodedText {
+
+    private final String text;
+
+    private volatile byte[] utf8;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param text the static markup, never <code>null</code>
+     */
+    public PreEncodedText(String text) {
+        if (text == null) {
+            throw new NullPointerException();
+        }
+        this.text = text;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the UTF-8 encoded form of this chunk. The returned array must not be modified.
+     */
+    public byte[] getBytes() {
+        byte[] bytes = utf8;
+        if (bytes == null) {
+            bytes = text.getBytes(UTF_8);
+            utf8 = bytes;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * @return the number of chars in this chunk
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * @return the static markup as a <code>String</code>
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
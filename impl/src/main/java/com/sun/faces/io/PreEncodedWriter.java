@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Implemented by {@link java.io.Writer}s that are able to accept {@link PreEncodedText} chunks. Implementations either
+ * write the encoded bytes directly to the underlying byte stream or, if they are not byte oriented (for instance
+ * because the content is currently being buffered), fall back to writing the chars of the chunk.
+ * </p>
+ */
+public interface PreEncodedWriter {
+
+    /**
+     * Write the given chunk of static markup.
+     *
+     * @param text the chunk to write
+     * @throws IOException if an error occurs writing
+     */
+    void write(PreEncodedText text) throws IOException;
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * <p>
+ * A buffered {@link Writer} that encodes chars to UTF-8 itself and writes the resulting bytes to an
+ * {@link OutputStream}, typically the one returned by
+ * {@link jakarta.faces.context.ExternalContext#getResponseOutputStream()}. {@link PreEncodedText} chunks are copied to
+ * the stream as is, so static markup is never encoded more than once.
+ * </p>
+ *
+ * <p>
+ * Unpaired surrogates are replaced with <code>'?'</code>, which is what the JDK encoder does by default.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+public final class Utf8OutputStreamWriter extends Writer implements PreEncodedWriter {
+
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    private static final int NO_SURROGATE = -1;
+
+    private final OutputStream out;
+
+    private final byte[] buf;
+
+    private int count;
+
+    // a high surrogate seen as the last char of a previous write
+    private int pendingHighSurrogate = NO_SURROGATE;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param out the stream the encoded bytes are written to
+     * @param bufferSize the size, in bytes, of the internal buffer
+     */
+    public Utf8OutputStreamWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        buf = new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+    }
+
+    // ----------------------------------------------------- Methods from Writer
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = cbuf[i];
+            if (c < 0x80 && pendingHighSurrogate == NO_SURROGATE) {
+                if (count == buf.length) {
+                    flushBuffer();
+                }
+                buf[count++] = (byte) c;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80 && pendingHighSurrogate == NO_SURROGATE) {
+                if (count == buf.length) {
+                    flushBuffer();
+                }
+                buf[count++] = (byte) c;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    /**
+     * Write any buffered bytes to the underlying stream and flush it.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Write any buffered bytes to the underlying stream. The stream itself is not closed, that is up to the container.
+     */
+    @Override
+    public void close() throws IOException {
+        writeUnpairedSurrogateIfPending();
+        flushBuffer();
+    }
+
+    // ---------------------------------------- Methods from PreEncodedWriter
+
+    @Override
+    public void write(PreEncodedText text) throws IOException {
+        writeUnpairedSurrogateIfPending();
+        byte[] bytes = text.getBytes();
+        int len = bytes.length;
+        if (len > buf.length - count) {
+            flushBuffer();
+            if (len > buf.length) {
+                out.write(bytes, 0, len);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, count, len);
+        count += len;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void encode(char c) throws IOException {
+        if (pendingHighSurrogate != NO_SURROGATE) {
+            if (Character.isLowSurrogate(c)) {
+                writeCodePoint(Character.toCodePoint((char) pendingHighSurrogate, c));
+                pendingHighSurrogate = NO_SURROGATE;
+                return;
+            }
+            writeUnpairedSurrogateIfPending();
+        }
+
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buf[count++] = (byte) c;
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buf[count++] = (byte) (0xC0 | c >> 6);
+            buf[count++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            ensureCapacity(1);
+            buf[count++] = '?';
+        } else {
+            ensureCapacity(3);
+            buf[count++] = (byte) (0xE0 | c >> 12);
+            buf[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buf[count++] = (byte) (0x80 | c & 0x3F);
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensureCapacity(4);
+        buf[count++] = (byte) (0xF0 | codePoint >> 18);
+        buf[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        buf[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        buf[count++] = (byte) (0x80 | codePoint & 0x3F);
+    }
+
+    private void writeUnpairedSurrogateIfPending() throws IOException {
+        if (pendingHighSurrogate != NO_SURROGATE) {
+            pendingHighSurrogate = NO_SURROGATE;
+            ensureCapacity(1);
+            buf[count++] = '?';
+        }
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        if (buf.length - count < len) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+}
@@ -19,6 +19,9 @@ package com.sun.faces.lifecycle;
 import static com.sun.faces.renderkit.RenderKitUtils.PredefinedPostbackParameter.CLIENT_WINDOW_PARAM;
 
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+import com.sun.faces.util.SessionLocks;
 
 import jakarta.faces.component.UINamingContainer;
 import jakarta.faces.context.ExternalContext;
@@ -55,7 +58,9 @@ public class ClientWindowImpl extends ClientWindow {
     }
 
     private String calculateClientWindow(FacesContext context) {
-        synchronized (context.getExternalContext().getSession(true)) {
+        Lock lock = SessionLocks.getLock(context.getExternalContext());
+        lock.lock();
+        try {
             final String clientWindowCounterKey = "com.sun.faces.lifecycle.ClientWindowCounterKey";
             ExternalContext extContext = context.getExternalContext();
             Map<String, Object> sessionAttrs = extContext.getSessionMap();
@@ -67,6 +72,8 @@ public class ClientWindowImpl extends ClientWindow {
             id = extContext.getSessionId(true) + sep + +counter;
 
             sessionAttrs.put(clientWindowCounterKey, ++counter);
+        } finally {
+            lock.unlock();
         }
         return id;
     }
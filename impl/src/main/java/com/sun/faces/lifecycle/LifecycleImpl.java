@@ -16,12 +16,16 @@
 
 package com.sun.faces.lifecycle;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.MessageUtils;
 import com.sun.faces.util.Util;
@@ -29,11 +33,14 @@ import com.sun.faces.util.Util;
 import jakarta.faces.FacesException;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.application.Application;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.event.AbortProcessingException;
 import jakarta.faces.event.PhaseListener;
 import jakarta.faces.event.PostConstructApplicationEvent;
+import jakarta.faces.event.PreDestroyApplicationEvent;
 import jakarta.faces.event.SystemEvent;
 import jakarta.faces.event.SystemEventListener;
 import jakarta.faces.lifecycle.ClientWindow;
@@ -69,6 +76,12 @@ public class LifecycleImpl extends Lifecycle {
     private boolean isClientWindowEnabled = false;
     private WebConfiguration config;
 
+    // The instrumentation of the application, or null if nothing is to be recorded
+    private volatile LifecycleInstrumentation instrumentation;
+
+    // The FacesContext attribute holding the System.nanoTime() at which the lifecycle of the request started
+    private static final String LIFECYCLE_START = LifecycleImpl.class.getName() + ".LIFECYCLE_START";
+
     public LifecycleImpl() {
 
     }
@@ -97,6 +110,34 @@ public class LifecycleImpl extends Lifecycle {
     private void postConstructApplicationInitialization() {
         String optionValue = config.getOptionValue(WebConfiguration.WebContextInitParameter.ClientWindowMode);
         isClientWindowEnabled = null != optionValue && !optionValue.equals(WebConfiguration.WebContextInitParameter.ClientWindowMode.getDefaultValue());
+
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return;
+        }
+
+        instrumentation = LifecycleInstrumentationFactory.createInstance(context);
+        if (instrumentation != null) {
+            context.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, Application.class, new PreDestroyApplicationListener());
+        }
+    }
+
+    private class PreDestroyApplicationListener implements SystemEventListener {
+
+        @Override
+        public boolean isListenerForSource(Object source) {
+            return source instanceof Application;
+        }
+
+        @Override
+        public void processEvent(SystemEvent event) throws AbortProcessingException {
+            LifecycleInstrumentation current = instrumentation;
+            if (current != null) {
+                instrumentation = null;
+                current.destroy(FacesContext.getCurrentInstance());
+            }
+        }
+
     }
 
     // ------------------------------------------------------- Lifecycle Methods
@@ -150,13 +191,24 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("execute(" + context + ")");
         }
 
+        LifecycleInstrumentation instrumentation = startInstrumentation(context);
+
         for (int i = 1, len = phases.length - 1; i < len; i++) { // Skip ANY_PHASE placeholder
 
             if (context.getRenderResponse() || context.getResponseComplete()) {
                 break;
             }
 
-            phases[i].doPhase(context, this, listeners.listIterator());
+            if (instrumentation == null) {
+                phases[i].doPhase(context, this, listeners.listIterator());
+            } else {
+                long start = System.nanoTime();
+                try {
+                    phases[i].doPhase(context, this, listeners.listIterator());
+                } finally {
+                    instrumentation.phaseExecuted(context, phases[i].getId(), System.nanoTime() - start);
+                }
+            }
 
         }
 
@@ -174,8 +226,26 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("render(" + context + ")");
         }
 
-        if (!context.getResponseComplete()) {
-            response.doPhase(context, this, listeners.listIterator());
+        LifecycleInstrumentation instrumentation = startInstrumentation(context);
+        if (instrumentation == null) {
+            if (!context.getResponseComplete()) {
+                response.doPhase(context, this, listeners.listIterator());
+            }
+
+            return;
+        }
+
+        try {
+            if (!context.getResponseComplete()) {
+                long start = System.nanoTime();
+                try {
+                    response.doPhase(context, this, listeners.listIterator());
+                } finally {
+                    instrumentation.phaseExecuted(context, response.getId(), System.nanoTime() - start);
+                }
+            }
+        } finally {
+            completeInstrumentation(context, instrumentation);
         }
 
     }
@@ -227,4 +297,47 @@ public class LifecycleImpl extends Lifecycle {
 
     }
 
+    // --------------------------------------------------------- Private Methods
+
+    private LifecycleInstrumentation startInstrumentation(FacesContext context) {
+        LifecycleInstrumentation current = instrumentation;
+        if (current == null) {
+            return null;
+        }
+
+        Map<Object, Object> attributes = context.getAttributes();
+        if (!attributes.containsKey(LIFECYCLE_START)) {
+            attributes.put(LIFECYCLE_START, System.nanoTime());
+            attributes.put(LifecycleInstrumentationFactory.LIFECYCLE_INSTRUMENTATION, current);
+        }
+
+        return current;
+    }
+
+    private static void completeInstrumentation(FacesContext context, LifecycleInstrumentation instrumentation) {
+        Map<Object, Object> attributes = context.getAttributes();
+        Long start = (Long) attributes.remove(LIFECYCLE_START);
+        attributes.remove(LifecycleInstrumentationFactory.LIFECYCLE_INSTRUMENTATION);
+        if (start == null) {
+            return;
+        }
+
+        UIViewRoot viewRoot = context.getViewRoot();
+        String viewId = viewRoot != null ? viewRoot.getViewId() : null;
+        int componentCount = viewRoot != null ? countComponents(viewRoot) : 0;
+
+        instrumentation.requestCompleted(context, viewId, componentCount, System.nanoTime() - start);
+    }
+
+    private static int countComponents(UIComponent component) {
+        int count = 1;
+        if (component.getFacetCount() > 0 || component.getChildCount() > 0) {
+            for (Iterator<UIComponent> kids = component.getFacetsAndChildren(); kids.hasNext();) {
+                count += countComponents(kids.next());
+            }
+        }
+
+        return count;
+    }
+
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PhaseId;
+
+/**
+ * <p>
+ * The built-in {@link LifecycleInstrumentation}, enabled with the <code>com.sun.faces.enableLifecycleStatistics</code>
+ * context parameter. It keeps histograms of the duration of the requests and their phases, of the number of components
+ * per view and of the size of the serialized state, counts the Facelet and navigation case cache hits and misses, and
+ * keeps the mean duration per view. If the <code>com.sun.faces.lifecycleStatisticsSlowestRenderers</code> context
+ * parameter is larger than zero, the time spent in the renderers is summed up per component class too.
+ * </p>
+ *
+ * <p>
+ * The statistics are registered with the platform MBean server as
+ * <code>com.sun.faces:type=LifecycleStatistics,name="&lt;context path&gt;"</code>, and are available as the
+ * application attribute <code>com.sun.faces.lifecycleInstrumentation</code>.
+ * </p>
+ */
+public class LifecycleStatistics implements LifecycleInstrumentation, LifecycleStatisticsMXBean {
+
+    private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
+
+    private static final int MAX_VIEWS = 256;
+
+    private static final int SLOWEST_VIEWS = 10;
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<PhaseId, LogHistogram> phases = new LinkedHashMap<>();
+
+    private final LogHistogram requests = new LogHistogram();
+
+    private final LogHistogram componentCounts = new LogHistogram();
+
+    private final LogHistogram stateSizes = new LogHistogram();
+
+    private final LongAdder faceletsRequested = new LongAdder();
+
+    private final LongAdder faceletsCompiled = new LongAdder();
+
+    private final LongAdder navigationCasesCached = new LongAdder();
+
+    private final LongAdder navigationCasesResolved = new LongAdder();
+
+    private final ConcurrentMap<String, LogHistogram> views = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongAdder> renderers = new ConcurrentHashMap<>();
+
+    private final int slowestRenderers;
+
+    private ObjectName objectName;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param context the <code>FacesContext</code> of the application startup, or <code>null</code> to not register
+     * with the MBean server
+     * @param slowestRenderers the number of component classes to report the renderer time for, or 0 to not time the
+     * renderers
+     */
+    public LifecycleStatistics(FacesContext context, int slowestRenderers) {
+        this.slowestRenderers = Math.max(slowestRenderers, 0);
+        for (PhaseId phaseId : PhaseId.VALUES) {
+            if (phaseId != PhaseId.ANY_PHASE) {
+                phases.put(phaseId, new LogHistogram());
+            }
+        }
+
+        if (context != null) {
+            register(context);
+        }
+    }
+
+    // ------------------------------------------ Methods from LifecycleInstrumentation
+
+    @Override
+    public void phaseExecuted(FacesContext context, PhaseId phaseId, long durationNanos) {
+        LogHistogram histogram = phases.get(phaseId);
+        if (histogram != null) {
+            histogram.record(durationNanos);
+        }
+    }
+
+    @Override
+    public void requestCompleted(FacesContext context, String viewId, int componentCount, long durationNanos) {
+        requests.record(durationNanos);
+        componentCounts.record(componentCount);
+
+        if (viewId != null) {
+            LogHistogram view = views.get(viewId);
+            if (view == null && views.size() < MAX_VIEWS) {
+                view = views.computeIfAbsent(viewId, id -> new LogHistogram());
+            }
+
+            if (view != null) {
+                view.record(durationNanos);
+            }
+        }
+    }
+
+    @Override
+    public void stateWritten(FacesContext context, int size) {
+        stateSizes.record(size);
+    }
+
+    @Override
+    public void faceletRequested(FacesContext context, URL url) {
+        faceletsRequested.increment();
+    }
+
+    @Override
+    public void faceletCompiled(FacesContext context, URL url) {
+        faceletsCompiled.increment();
+    }
+
+    @Override
+    public void navigationCaseResolved(FacesContext context, boolean cached) {
+        if (cached) {
+            navigationCasesCached.increment();
+        } else {
+            navigationCasesResolved.increment();
+        }
+    }
+
+    @Override
+    public boolean isRenderTimingEnabled() {
+        return slowestRenderers > 0;
+    }
+
+    @Override
+    public void componentRendered(FacesContext context, UIComponent component, long durationNanos) {
+        String componentClass = component.getClass().getName();
+        LongAdder total = renderers.get(componentClass);
+        if (total == null) {
+            total = renderers.computeIfAbsent(componentClass, name -> new LongAdder());
+        }
+
+        total.add(durationNanos);
+    }
+
+    @Override
+    public void destroy(FacesContext context) {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.log(Level.FINE, "Cannot unregister " + objectName, e);
+            }
+
+            objectName = null;
+        }
+    }
+
+    // ------------------------------------------ Methods from LifecycleStatisticsMXBean
+
+    @Override
+    public long getRequestCount() {
+        return requests.getCount();
+    }
+
+    @Override
+    public double getRequestMeanMillis() {
+        return toMillis(requests.getMean());
+    }
+
+    @Override
+    public double getRequest99thPercentileMillis() {
+        return toMillis(requests.getPercentile(99));
+    }
+
+    @Override
+    public double getRequestMaxMillis() {
+        return toMillis(requests.getMax());
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMeanMillis() {
+        return collectPhases(histogram -> toMillis(histogram.getMean()));
+    }
+
+    @Override
+    public Map<String, Double> getPhase99thPercentileMillis() {
+        return collectPhases(histogram -> toMillis(histogram.getPercentile(99)));
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMaxMillis() {
+        return collectPhases(histogram -> toMillis(histogram.getMax()));
+    }
+
+    @Override
+    public double getComponentCountMean() {
+        return componentCounts.getMean();
+    }
+
+    @Override
+    public long getComponentCountMax() {
+        return componentCounts.getMax();
+    }
+
+    @Override
+    public double getStateSizeMean() {
+        return stateSizes.getMean();
+    }
+
+    @Override
+    public long getStateSizeMax() {
+        return stateSizes.getMax();
+    }
+
+    @Override
+    public long getFaceletCacheHits() {
+        return Math.max(faceletsRequested.sum() - faceletsCompiled.sum(), 0);
+    }
+
+    @Override
+    public long getFaceletCacheMisses() {
+        return faceletsCompiled.sum();
+    }
+
+    @Override
+    public long getNavigationCaseCacheHits() {
+        return navigationCasesCached.sum();
+    }
+
+    @Override
+    public long getNavigationCaseCacheMisses() {
+        return navigationCasesResolved.sum();
+    }
+
+    @Override
+    public Map<String, Double> getSlowestViewsMeanMillis() {
+        Map<String, Double> slowest = new LinkedHashMap<>();
+        views.entrySet().stream()
+             .map(entry -> Map.entry(entry.getKey(), toMillis(entry.getValue().getMean())))
+             .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+             .limit(SLOWEST_VIEWS)
+             .forEachOrdered(entry -> slowest.put(entry.getKey(), entry.getValue()));
+
+        return slowest;
+    }
+
+    @Override
+    public Map<String, Double> getSlowestRenderersTotalMillis() {
+        Map<String, Double> slowest = new LinkedHashMap<>();
+        renderers.entrySet().stream()
+                 .map(entry -> Map.entry(entry.getKey(), toMillis(entry.getValue().sum())))
+                 .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                 .limit(slowestRenderers)
+                 .forEachOrdered(entry -> slowest.put(entry.getKey(), entry.getValue()));
+
+        return slowest;
+    }
+
+    @Override
+    public void reset() {
+        phases.values().forEach(LogHistogram::reset);
+        requests.reset();
+        componentCounts.reset();
+        stateSizes.reset();
+        faceletsRequested.reset();
+        faceletsCompiled.reset();
+        navigationCasesCached.reset();
+        navigationCasesResolved.reset();
+        views.clear();
+        renderers.clear();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void register(FacesContext context) {
+        try {
+            ObjectName name = new ObjectName("com.sun.faces:type=LifecycleStatistics,name="
+                    + ObjectName.quote(String.valueOf(context.getExternalContext().getApplicationContextPath())));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                // Left behind by a previous deployment of the application which was not shut down cleanly.
+                server.unregisterMBean(name);
+            }
+
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Cannot register the lifecycle statistics with the MBean server", e);
+        }
+    }
+
+    private Map<String, Double> collectPhases(ToDoubleFunction<LogHistogram> value) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<PhaseId, LogHistogram> phase : phases.entrySet()) {
+            result.put(phase.getKey().getName(), value.applyAsDouble(phase.getValue()));
+        }
+
+        return result;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+}
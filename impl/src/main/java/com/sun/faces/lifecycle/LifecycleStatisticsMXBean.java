@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link LifecycleStatistics}. Durations are in milliseconds, sizes in bytes.
+ */
+public interface LifecycleStatisticsMXBean {
+
+    long getRequestCount();
+
+    double getRequestMeanMillis();
+
+    double getRequest99thPercentileMillis();
+
+    double getRequestMaxMillis();
+
+    /**
+     * @return the mean duration per phase, keyed by the name of the phase
+     */
+    Map<String, Double> getPhaseMeanMillis();
+
+    /**
+     * @return the 99th percentile of the duration per phase, keyed by the name of the phase
+     */
+    Map<String, Double> getPhase99thPercentileMillis();
+
+    /**
+     * @return the maximum duration per phase, keyed by the name of the phase
+     */
+    Map<String, Double> getPhaseMaxMillis();
+
+    double getComponentCountMean();
+
+    long getComponentCountMax();
+
+    double getStateSizeMean();
+
+    long getStateSizeMax();
+
+    long getFaceletCacheHits();
+
+    long getFaceletCacheMisses();
+
+    long getNavigationCaseCacheHits();
+
+    long getNavigationCaseCacheMisses();
+
+    /**
+     * @return the mean duration of the requests of the slowest views, keyed by view id
+     */
+    Map<String, Double> getSlowestViewsMeanMillis();
+
+    /**
+     * @return the total time spent in the renderers of the component classes whose renderers took longest, keyed by the
+     * name of the component class, or an empty map if render timing is not enabled
+     */
+    Map<String, Double> getSlowestRenderersTotalMillis();
+
+    /**
+     * Forget everything recorded so far.
+     */
+    void reset();
+
+}
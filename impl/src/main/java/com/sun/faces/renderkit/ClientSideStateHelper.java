@@ -42,6 +42,8 @@ import java.util.zip.GZIPOutputStream;
 
 import com.sun.faces.RIConstants;
 import com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
 import com.sun.faces.util.DebugObjectOutputStream;
 import com.sun.faces.util.DebugUtil;
 import com.sun.faces.util.FacesLogger;
@@ -352,7 +354,9 @@ public class ClientSideStateHelper extends StateHelper {
                 try {
                     out.writeObject(stateToWrite[1]);
                 } catch (Exception e) {
-                    DebugUtil.printState((Map) stateToWrite[1], LOGGER);
+                    if (stateToWrite[1] instanceof Map) {
+                        DebugUtil.printState((Map) stateToWrite[1], LOGGER);
+                    }
                     throw new FacesException("Serialization error. Path to offending instance: " + out.getStack(), e);
                 }
 
@@ -373,6 +377,11 @@ public class ClientSideStateHelper extends StateHelper {
                 bytes = guard.encrypt(facesContext, bytes);
             }
 
+            LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getCurrentInstance(facesContext);
+            if (instrumentation != null) {
+                instrumentation.stateWritten(facesContext, bytes.length);
+            }
+
             // Base 64 encode
             String encodedBytes = new String(Base64.getEncoder().encode(bytes));
             writer.write(encodedBytes);
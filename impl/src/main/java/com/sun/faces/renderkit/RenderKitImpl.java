@@ -78,7 +78,7 @@ public class RenderKitImpl extends RenderKit {
      */
     private ConcurrentHashMap<String, ClientBehaviorRenderer> behaviorRenderers = new ConcurrentHashMap<>();
 
-    private ResponseStateManager responseStateManager = new ResponseStateManagerImpl();
+    private final ResponseStateManager responseStateManager = new ResponseStateManagerImpl();
 
     private WebConfiguration webConfig;
 
@@ -157,10 +157,7 @@ public class RenderKitImpl extends RenderKit {
     }
 
     @Override
-    public synchronized ResponseStateManager getResponseStateManager() {
-        if (responseStateManager == null) {
-            responseStateManager = new ResponseStateManagerImpl();
-        }
+    public ResponseStateManager getResponseStateManager() {
         return responseStateManager;
     }
 
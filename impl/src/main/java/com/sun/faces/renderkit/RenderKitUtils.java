@@ -1099,13 +1099,35 @@ public class RenderKitUtils {
 
     }
 
+    /**
+     * <p>
+     * If the current view is rendered in streaming mode, send everything rendered so far to the client. This is called
+     * once the head of the view has been rendered, so the browser can start fetching the resources referenced there
+     * while the body is still being rendered. Only the first call per request has an effect.
+     * </p>
+     *
+     * @param ctx the {@link FacesContext} for the current request
+     * @throws IOException if an error occurs flushing the response
+     */
+    public static void flushStreamingResponse(FacesContext ctx) throws IOException {
+        Writer writer = (Writer) RequestStateManager.remove(ctx, RequestStateManager.STREAMING_RENDER_WRITER);
+        if (writer != null) {
+            ctx.getResponseWriter().flush();
+            writer.flush();
+        }
+    }
+
     public static void renderHtmlErrorPage(FacesContext ctx, FacesException fe) {
 
         ExternalContext extContext = ctx.getExternalContext();
         if (!extContext.isResponseCommitted()) {
             extContext.setResponseContentType("text/html; charset=UTF-8");
             try {
-                Writer w = extContext.getResponseOutputWriter();
+                // The view may have been rendered to the response output stream
+                Writer w = RequestStateManager.get(ctx, RequestStateManager.UTF8_RESPONSE_OUTPUT_WRITER);
+                if (w == null) {
+                    w = extContext.getResponseOutputWriter();
+                }
                 if (ctx.isProjectStage(ProjectStage.Development)) {
                     DevTools.debugHtml(w, ctx, fe.getCause());
                 } else {
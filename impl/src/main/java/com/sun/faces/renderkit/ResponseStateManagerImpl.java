@@ -102,6 +102,13 @@ public class ResponseStateManagerImpl extends ResponseStateManager {
         return sb.toString();
     }
 
+    /**
+     * @return the {@link StateHelper} handling the state saving method of this application
+     */
+    public StateHelper getStateHelper() {
+        return helper;
+    }
+
     /**
      * @param facesContext the Faces context.
      * @param viewId the view id.
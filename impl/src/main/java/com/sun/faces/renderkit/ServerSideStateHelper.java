@@ -37,15 +37,19 @@ import java.security.SecureRandom;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.LRUMap;
 import com.sun.faces.util.RequestStateManager;
+import com.sun.faces.util.SessionLocks;
 import com.sun.faces.util.TypedCollections;
 import com.sun.faces.util.Util;
 
@@ -73,6 +77,16 @@ public class ServerSideStateHelper extends StateHelper {
      */
     public static final String LOGICAL_VIEW_MAP = ServerSideStateHelper.class.getName() + ".LogicalViewMap";
 
+    /**
+     * Context attribute under which the composite key written for the current view is stored.
+     */
+    private static final String VIEW_STATE_VALUE = "com.sun.faces.ViewStateValue";
+
+    /**
+     * Context attribute under which the key reserved by {@link #reserveStateId(FacesContext)} is stored.
+     */
+    private static final String RESERVED_STATE_ID = ServerSideStateHelper.class.getName() + ".ReservedStateId";
+
     /**
      * The number of logical views as configured by the user.
      */
@@ -142,59 +156,29 @@ public class ServerSideStateHelper extends StateHelper {
         UIViewRoot viewRoot = ctx.getViewRoot();
 
         if (!viewRoot.isTransient()) {
-            if (!ctx.getAttributes().containsKey("com.sun.faces.ViewStateValue")) {
+            if (!ctx.getAttributes().containsKey(VIEW_STATE_VALUE)) {
                 notNull("state", state);
-                Object[] stateToWrite = (Object[]) state;
-                ExternalContext externalContext = ctx.getExternalContext();
-                Object sessionObj = externalContext.getSession(true);
-                Map<String, Object> sessionMap = externalContext.getSessionMap();
-
-                synchronized (sessionObj) {
-                    Map<String, Map> logicalMap = TypedCollections.dynamicallyCastMap((Map) sessionMap.get(LOGICAL_VIEW_MAP), String.class, Map.class);
-                    if (logicalMap == null) {
-                        logicalMap = Collections.synchronizedMap(new LRUMap<String, Map>(numberOfLogicalViews));
-                        sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
-                    }
-
-                    Object structure = stateToWrite[0];
-                    Object savedState = handleSaveState(stateToWrite[1]);
 
-                    String idInLogicalMap = (String) RequestStateManager.get(ctx, RequestStateManager.LOGICAL_VIEW_MAP);
-                    if (idInLogicalMap == null) {
-                        idInLogicalMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    String idInActualMap = null;
-                    if (ctx.getPartialViewContext().isPartialRequest()) {
-                        // If partial request, do not change actual view Id, because page not actually changed.
-                        // Otherwise partial requests will soon overflow cache with values that would be never used.
-                        idInActualMap = (String) RequestStateManager.get(ctx, RequestStateManager.ACTUAL_VIEW_MAP);
-                    }
-                    if (null == idInActualMap) {
-                        idInActualMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    Map<String, Object[]> actualMap = TypedCollections.dynamicallyCastMap(logicalMap.get(idInLogicalMap), String.class, Object[].class);
-                    if (actualMap == null) {
-                        actualMap = new LRUMap<>(numberOfViews);
-                        logicalMap.put(idInLogicalMap, actualMap);
-                    }
-
-                    id = idInLogicalMap + ':' + idInActualMap;
+                String idInLogicalMap = (String) RequestStateManager.get(ctx, RequestStateManager.LOGICAL_VIEW_MAP);
+                if (idInLogicalMap == null) {
+                    idInLogicalMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+                }
+                String idInActualMap = null;
+                if (ctx.getPartialViewContext().isPartialRequest()) {
+                    // If partial request, do not change actual view Id, because page not actually changed.
+                    // Otherwise partial requests will soon overflow cache with values that would be never used.
+                    idInActualMap = (String) RequestStateManager.get(ctx, RequestStateManager.ACTUAL_VIEW_MAP);
+                }
+                if (null == idInActualMap) {
+                    idInActualMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+                }
 
-                    Object[] stateArray = actualMap.get(idInActualMap);
-                    // reuse the array if possible
-                    if (stateArray != null) {
-                        stateArray[0] = structure;
-                        stateArray[1] = savedState;
-                    } else {
-                        actualMap.put(idInActualMap, new Object[] { structure, savedState });
-                    }
+                storeState(ctx, (Object[]) state, idInLogicalMap, idInActualMap);
 
-                    // always call put/setAttribute as we may be in a clustered environment.
-                    sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
-                    ctx.getAttributes().put("com.sun.faces.ViewStateValue", id);
-                }
+                id = idInLogicalMap + ':' + idInActualMap;
+                ctx.getAttributes().put(VIEW_STATE_VALUE, id);
             } else {
-                id = (String) ctx.getAttributes().get("com.sun.faces.ViewStateValue");
+                id = (String) ctx.getAttributes().get(VIEW_STATE_VALUE);
             }
         } else {
             id = "stateless";
@@ -223,6 +207,61 @@ public class ServerSideStateHelper extends StateHelper {
         }
     }
 
+    /**
+     * <p>
+     * Reserve the composite key under which the state of the current view will be stored, without storing anything yet.
+     * Once a key has been reserved, {@link #writeState(FacesContext, Object, StringBuilder)} writes the reserved key to
+     * the client and does not store the state it is given. The state must be stored afterwards with
+     * {@link #storeReservedState(FacesContext, Object)}.
+     * </p>
+     *
+     * <p>
+     * This allows the view state field to be rendered before the view has been saved, so the response does not have to
+     * be buffered until the end of the render.
+     * </p>
+     *
+     * @param ctx the <code>FacesContext</code> for the current request
+     * @return the reserved composite key
+     */
+    public String reserveStateId(FacesContext ctx) {
+        notNull("context", ctx);
+
+        ctx.getExternalContext().getSession(true);
+
+        String idInLogicalMap = (String) RequestStateManager.get(ctx, RequestStateManager.LOGICAL_VIEW_MAP);
+        if (idInLogicalMap == null) {
+            idInLogicalMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+        }
+        String idInActualMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+
+        String id = idInLogicalMap + ':' + idInActualMap;
+        ctx.getAttributes().put(RESERVED_STATE_ID, new String[] { idInLogicalMap, idInActualMap });
+        ctx.getAttributes().put(VIEW_STATE_VALUE, id);
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * Store the provided state under the key previously returned by {@link #reserveStateId(FacesContext)}.
+     * </p>
+     *
+     * @param ctx the <code>FacesContext</code> for the current request
+     * @param state the state of the view
+     * @throws IllegalStateException if no key has been reserved for the current request
+     */
+    public void storeReservedState(FacesContext ctx, Object state) {
+        notNull("context", ctx);
+        notNull("state", state);
+
+        String[] reservedId = (String[]) ctx.getAttributes().remove(RESERVED_STATE_ID);
+        if (reservedId == null) {
+            throw new IllegalStateException("No state id has been reserved for this request");
+        }
+
+        storeState(ctx, (Object[]) state, reservedId[0], reservedId[1]);
+    }
+
     /**
      * <p>
      * Inspects the incoming request parameters for the standardized state parameter name. In this case, the parameter value
@@ -261,32 +300,36 @@ public class ServerSideStateHelper extends StateHelper {
             return null;
         }
 
-        // noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (sessionObj) {
+        Object[] restoredState = null;
+        Lock lock = SessionLocks.getLock(externalCtx);
+        lock.lock();
+        try {
             Map logicalMap = (Map) externalCtx.getSessionMap().get(LOGICAL_VIEW_MAP);
             if (logicalMap != null) {
                 Map actualMap = (Map) logicalMap.get(idInLogicalMap);
                 if (actualMap != null) {
                     RequestStateManager.set(ctx, RequestStateManager.LOGICAL_VIEW_MAP, idInLogicalMap);
 
-                    Object[] restoredState = new Object[2];
+                    restoredState = new Object[2];
                     Object[] state = (Object[]) actualMap.get(idInActualMap);
                     if (state != null) {
                         restoredState[0] = state[0];
                         restoredState[1] = state[1];
 
                         RequestStateManager.set(ctx, RequestStateManager.ACTUAL_VIEW_MAP, idInActualMap);
-                        if (state.length == 2 && state[1] != null) {
-                            restoredState[1] = handleRestoreState(state[1]);
-                        }
                     }
-
-                    return restoredState;
                 }
             }
+        } finally {
+            lock.unlock();
         }
 
-        return null;
+        // The stored state is never modified, so it is deserialized without holding the lock
+        if (restoredState != null && restoredState[1] != null) {
+            restoredState[1] = handleRestoreState(restoredState[1]);
+        }
+
+        return restoredState;
 
     }
 
@@ -368,21 +411,82 @@ public class ServerSideStateHelper extends StateHelper {
         }
     }
 
+    /**
+     * Store the state within the logical and actual view maps of the session.
+     *
+     * @param ctx the <code>FacesContext</code> for the current request
+     * @param stateToWrite the tree structure and component state of the view
+     * @param idInLogicalMap the key within the logical view map
+     * @param idInActualMap the key within the actual view map
+     */
+    private void storeState(FacesContext ctx, Object[] stateToWrite, String idInLogicalMap, String idInActualMap) {
+        ExternalContext externalContext = ctx.getExternalContext();
+        Lock lock = SessionLocks.getLock(externalContext);
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+
+        // The state of the view belongs to the current request, so it is serialized without holding the lock
+        Object structure = stateToWrite[0];
+        Object savedState = handleSaveState(stateToWrite[1]);
+        if (savedState instanceof byte[]) {
+            LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getCurrentInstance(ctx);
+            if (instrumentation != null) {
+                instrumentation.stateWritten(ctx, ((byte[]) savedState).length);
+            }
+        }
+
+        lock.lock();
+        try {
+            Map<String, Map> logicalMap = TypedCollections.dynamicallyCastMap((Map) sessionMap.get(LOGICAL_VIEW_MAP), String.class, Map.class);
+            if (logicalMap == null) {
+                logicalMap = Collections.synchronizedMap(new LRUMap<String, Map>(numberOfLogicalViews));
+                sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
+            }
+
+            Map<String, Object[]> actualMap = TypedCollections.dynamicallyCastMap(logicalMap.get(idInLogicalMap), String.class, Object[].class);
+            if (actualMap == null) {
+                actualMap = new LRUMap<>(numberOfViews);
+                logicalMap.put(idInLogicalMap, actualMap);
+            }
+
+            Object[] stateArray = actualMap.get(idInActualMap);
+            // reuse the array if possible
+            if (stateArray != null) {
+                stateArray[0] = structure;
+                stateArray[1] = savedState;
+            } else {
+                actualMap.put(idInActualMap, new Object[] { structure, savedState });
+            }
+
+            // always call put/setAttribute as we may be in a clustered environment.
+            sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * @param ctx the <code>FacesContext</code> for the current request
      * @return a unique ID for building the keys used to store views within a session
      */
     private String createIncrementalRequestId(FacesContext ctx) {
-        Map<String, Object> sessionMap = ctx.getExternalContext().getSessionMap();
-        AtomicInteger idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
-        if (idgen == null) {
-            idgen = new AtomicInteger(1);
-        }
+        ExternalContext externalContext = ctx.getExternalContext();
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
 
-        // always call put/setAttribute as we may be in a clustered environment.
-        sessionMap.put(STATEMANAGED_SERIAL_ID_KEY, idgen);
-        return UIViewRoot.UNIQUE_ID_PREFIX + idgen.getAndIncrement();
+        // The generator is created under the session lock, so concurrent first requests do not each start their own
+        Lock lock = SessionLocks.getLock(externalContext);
+        lock.lock();
+        try {
+            AtomicInteger idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
+            if (idgen == null) {
+                idgen = new AtomicInteger(1);
+            }
 
+            // always call put/setAttribute as we may be in a clustered environment.
+            sessionMap.put(STATEMANAGED_SERIAL_ID_KEY, idgen);
+            return UIViewRoot.UNIQUE_ID_PREFIX + idgen.getAndIncrement();
+        } finally {
+            lock.unlock();
+        }
     }
 
     private String createRandomId() {
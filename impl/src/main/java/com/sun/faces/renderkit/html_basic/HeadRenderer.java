@@ -66,6 +66,7 @@ public class HeadRenderer extends Renderer {
         ResponseWriter writer = context.getResponseWriter();
         encodeHeadResources(context);
         writer.endElement("head");
+        RenderKitUtils.flushStreamingResponse(context);
     }
 
     // --------------------------------------------------------- Private Methods
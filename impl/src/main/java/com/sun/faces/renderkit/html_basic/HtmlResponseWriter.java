@@ -28,6 +28,8 @@ import com.sun.faces.RIConstants;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter;
 import com.sun.faces.io.FastStringWriter;
+import com.sun.faces.io.PreEncodedText;
+import com.sun.faces.io.PreEncodedWriter;
 import com.sun.faces.util.HtmlUtils;
 import com.sun.faces.util.MessageUtils;
 
@@ -683,6 +685,24 @@ public class HtmlResponseWriter extends ResponseWriter {
         writer.write(str, off, len);
     }
 
+    /**
+     * <p>
+     * Write a chunk of static markup without escaping it. If the underlying writer is byte oriented, the already encoded
+     * bytes of the chunk are written as is, otherwise this behaves like {@link #write(String)}.
+     * </p>
+     *
+     * @param text the chunk to write
+     * @throws IOException if an input/output error occurs
+     */
+    public void write(PreEncodedText text) throws IOException {
+        closeStartIfNecessary();
+        if (writer instanceof PreEncodedWriter) {
+            ((PreEncodedWriter) writer).write(text);
+        } else {
+            writer.write(text.toString());
+        }
+    }
+
     /**
      * <p>
      * Write a properly escaped attribute name and the corresponding value. The value text will be converted to a String if
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import java.net.URL;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PhaseId;
+
+/**
+ * This interface allows to record what happens while requests are processed, e.g. to find slow views in production.
+ *
+ * <p>
+ * An implementation is configured with the <code>com.sun.faces.lifecycleInstrumentation</code> context parameter, or
+ * the built-in one is enabled with the <code>com.sun.faces.enableLifecycleStatistics</code> context parameter. Without
+ * either, nothing is recorded and the hooks cost nothing.
+ *
+ * <p>
+ * The methods are called on the request threads, so they must be cheap and must not block. The implementation of this
+ * interface *must* be thread-safe and must have a no-arg constructor.
+ *
+ * @see LifecycleInstrumentationFactory
+ */
+public interface LifecycleInstrumentation {
+
+    /**
+     * Called when a phase, including the <code>PhaseListener</code>s for it, was executed.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param phaseId the phase
+     * @param durationNanos how long the phase took, in nanoseconds
+     */
+    default void phaseExecuted(FacesContext context, PhaseId phaseId, long durationNanos) {
+    }
+
+    /**
+     * Called when the lifecycle of a request is complete.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param viewId the id of the current view, or <code>null</code> if there is none
+     * @param componentCount the number of components in the current view
+     * @param durationNanos how long the lifecycle took, in nanoseconds
+     */
+    default void requestCompleted(FacesContext context, String viewId, int componentCount, long durationNanos) {
+    }
+
+    /**
+     * Called when the state of a view was serialized.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param size the size of the serialized state, in bytes
+     */
+    default void stateWritten(FacesContext context, int size) {
+    }
+
+    /**
+     * Called when a Facelet is requested from the Facelet cache.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param url the URL of the Facelet
+     */
+    default void faceletRequested(FacesContext context, URL url) {
+    }
+
+    /**
+     * Called when a Facelet requested from the Facelet cache was not cached, and had to be compiled.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param url the URL of the Facelet
+     */
+    default void faceletCompiled(FacesContext context, URL url) {
+    }
+
+    /**
+     * Called when the navigation handler resolved a navigation case, if it caches the resolved navigation cases.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param cached whether the navigation case was taken from the cache
+     */
+    default void navigationCaseResolved(FacesContext context, boolean cached) {
+    }
+
+    /**
+     * @return <code>true</code> if {@link #componentRendered(FacesContext, UIComponent, long)} is to be called, which has
+     * a cost for every rendered component
+     */
+    default boolean isRenderTimingEnabled() {
+        return false;
+    }
+
+    /**
+     * Called when the renderer of a component was called to encode the beginning or the end of the component. The
+     * duration does not include the encoding of the children.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param component the component
+     * @param durationNanos how long the renderer took, in nanoseconds
+     */
+    default void componentRendered(FacesContext context, UIComponent component, long durationNanos) {
+    }
+
+    /**
+     * Called when the application is shut down.
+     *
+     * @param context the <code>FacesContext</code> for the shutdown
+     */
+    default void destroy(FacesContext context) {
+    }
+
+}
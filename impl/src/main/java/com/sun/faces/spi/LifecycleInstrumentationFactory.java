@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableLifecycleStatistics;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.LifecycleInstrumentationClass;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.LifecycleStatisticsSlowestRenderers;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.lifecycle.LifecycleStatistics;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * A factory for the {@link LifecycleInstrumentation} of an application, and the access point for the code that calls
+ * it.
+ * </p>
+ *
+ * <p>
+ * The instrumentation is kept as an application attribute with the name {@link #LIFECYCLE_INSTRUMENTATION}, and as a
+ * {@link FacesContext} attribute with the same name while a request is processed.
+ * </p>
+ */
+public final class LifecycleInstrumentationFactory {
+
+    private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
+
+    /**
+     * The name of the application and <code>FacesContext</code> attributes holding the instrumentation.
+     */
+    public static final String LIFECYCLE_INSTRUMENTATION = RIConstants.FACES_PREFIX + "lifecycleInstrumentation";
+
+    /**
+     * Whether any application uses render timing, so that components don't have to look for the instrumentation
+     * otherwise.
+     */
+    private static volatile boolean renderTimingEnabled;
+
+    private LifecycleInstrumentationFactory() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Return the instrumentation of the application, creating it on the first call. This is the class configured with
+     * the <code>com.sun.faces.lifecycleInstrumentation</code> context parameter if there is one, otherwise
+     * {@link LifecycleStatistics} if the <code>com.sun.faces.enableLifecycleStatistics</code> context parameter is set.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @return the instrumentation, or <code>null</code> if nothing is to be recorded
+     */
+    public static LifecycleInstrumentation createInstance(FacesContext context) {
+        Map<String, Object> applicationMap = context.getExternalContext().getApplicationMap();
+        LifecycleInstrumentation instrumentation = (LifecycleInstrumentation) applicationMap.get(LIFECYCLE_INSTRUMENTATION);
+        if (instrumentation != null) {
+            return instrumentation;
+        }
+
+        WebConfiguration config = WebConfiguration.getInstance(context.getExternalContext());
+        String className = config.getOptionValue(LifecycleInstrumentationClass);
+
+        if (className != null && !className.isEmpty()) {
+            instrumentation = newInstance(className);
+        } else if (config.isOptionEnabled(EnableLifecycleStatistics)) {
+            int slowestRenderers = 0;
+            try {
+                slowestRenderers = Integer.parseInt(config.getOptionValue(LifecycleStatisticsSlowestRenderers));
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Cannot parse " + LifecycleStatisticsSlowestRenderers.getQualifiedName(), e);
+            }
+
+            instrumentation = new LifecycleStatistics(context, slowestRenderers);
+        }
+
+        if (instrumentation != null) {
+            applicationMap.put(LIFECYCLE_INSTRUMENTATION, instrumentation);
+            if (instrumentation.isRenderTimingEnabled()) {
+                renderTimingEnabled = true;
+            }
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Lifecycle instrumentation {0} configured", instrumentation.getClass().getName());
+            }
+        }
+
+        return instrumentation;
+    }
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @return the instrumentation of the current request, or <code>null</code> if nothing is to be recorded
+     */
+    public static LifecycleInstrumentation getCurrentInstance(FacesContext context) {
+        return (LifecycleInstrumentation) context.getAttributes().get(LIFECYCLE_INSTRUMENTATION);
+    }
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @return the instrumentation of the current request if it records the rendering of components, otherwise
+     * <code>null</code>
+     */
+    public static LifecycleInstrumentation getRenderTimingInstance(FacesContext context) {
+        if (!renderTimingEnabled) {
+            return null;
+        }
+
+        LifecycleInstrumentation instrumentation = getCurrentInstance(context);
+
+        return instrumentation != null && instrumentation.isRenderTimingEnabled() ? instrumentation : null;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static LifecycleInstrumentation newInstance(String className) {
+        try {
+            Class<?> clazz = Util.loadClass(className, LifecycleInstrumentationFactory.class);
+            if (LifecycleInstrumentation.class.isAssignableFrom(clazz)) {
+                return (LifecycleInstrumentation) clazz.getDeclaredConstructor().newInstance();
+            }
+
+            LOGGER.log(Level.SEVERE, "{0} does not implement " + LifecycleInstrumentation.class.getName(), className);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.SEVERE, "Cannot create lifecycle instrumentation " + className, e);
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Collections.unmodifiableMap;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * The JavaBeans properties of a class, discovered the same way <code>java.beans.Introspector</code> discovers them
+ * from the public getters and setters of the class, but without explicit <code>BeanInfo</code> classes, indexed
+ * properties and the internal locking of the <code>Introspector</code>.
+ * </p>
+ *
+ * <p>
+ * The properties of a class are computed once and cached in a {@link ClassValue}, so the cache does not keep classes,
+ * or the class loaders of web applications, from being garbage collected. Renderers, <code>ELResolver</code>s and other
+ * implementation classes that need to access bean properties should use this class instead of the
+ * <code>Introspector</code>.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class BeanProperties {
+
+    private static final ClassValue<BeanProperties> CACHE = new ClassValue<BeanProperties>() {
+        @Override
+        protected BeanProperties computeValue(Class<?> type) {
+            return new BeanProperties(type);
+        }
+    };
+
+    private final Map<String, BeanProperty> properties;
+
+    // ------------------------------------------------------------ Constructors
+
+    private BeanProperties(Class<?> type) {
+        Map<String, Method> getters = new HashMap<>();
+        Map<String, List<Method>> setters = new HashMap<>();
+
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            String name = method.getName();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Class<?> returnType = method.getReturnType();
+
+            if (parameterTypes.length == 0) {
+                String propertyName = null;
+                if (name.startsWith("get") && returnType != void.class) {
+                    propertyName = decapitalize(name.substring(3));
+                } else if (name.startsWith("is") && returnType == boolean.class) {
+                    propertyName = decapitalize(name.substring(2));
+                }
+
+                if (propertyName != null && !propertyName.isEmpty()) {
+                    getters.merge(propertyName, method, BeanProperties::preferredGetter);
+                }
+            } else if (parameterTypes.length == 1 && returnType == void.class && name.startsWith("set")) {
+                String propertyName = decapitalize(name.substring(3));
+                if (!propertyName.isEmpty()) {
+                    setters.computeIfAbsent(propertyName, k -> new ArrayList<>(1)).add(method);
+                }
+            }
+        }
+
+        // Sorted by name, like the descriptors returned by the Introspector
+        Map<String, BeanProperty> sorted = new TreeMap<>();
+
+        for (Map.Entry<String, Method> entry : getters.entrySet()) {
+            Method getter = entry.getValue();
+            Class<?> propertyType = getter.getReturnType();
+            Method setter = null;
+            List<Method> candidates = setters.remove(entry.getKey());
+            if (candidates != null) {
+                for (Method candidate : candidates) {
+                    if (candidate.getParameterTypes()[0] == propertyType) {
+                        setter = candidate;
+                        break;
+                    }
+                }
+            }
+            sorted.put(entry.getKey(), new BeanProperty(entry.getKey(), propertyType, getter, setter));
+        }
+
+        for (Map.Entry<String, List<Method>> entry : setters.entrySet()) {
+            Method setter = entry.getValue().get(0);
+            for (Method candidate : entry.getValue()) {
+                // Prefer the most specific type if the setter is overloaded, which only bridge methods do in practice
+                if (setter.getParameterTypes()[0].isAssignableFrom(candidate.getParameterTypes()[0])) {
+                    setter = candidate;
+                }
+            }
+            sorted.put(entry.getKey(), new BeanProperty(entry.getKey(), setter.getParameterTypes()[0], null, setter));
+        }
+
+        properties = unmodifiableMap(new LinkedHashMap<>(sorted));
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param type the class to obtain the properties of
+     * @return the properties of the given class
+     */
+    public static BeanProperties forClass(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @param name the name of a property
+     * @return the property with the given name, or <code>null</code> if there is no such property
+     */
+    public BeanProperty get(String name) {
+        return properties.get(name);
+    }
+
+    /**
+     * @return all properties, ordered by name
+     */
+    public Collection<BeanProperty> getAll() {
+        return unmodifiableCollection(properties.values());
+    }
+
+    /**
+     * @return all properties keyed by name, as an unmodifiable map
+     */
+    public Map<String, BeanProperty> asMap() {
+        return properties;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Choose between two getters for the same property: an <code>is</code> getter wins over a <code>get</code> getter,
+     * and a covariant override wins over the bridge method the compiler generated for it.
+     */
+    private static Method preferredGetter(Method current, Method other) {
+        boolean currentIs = current.getName().startsWith("is");
+        if (currentIs != other.getName().startsWith("is")) {
+            return currentIs ? current : other;
+        }
+
+        return current.getReturnType().isAssignableFrom(other.getReturnType()) ? other : current;
+    }
+
+    /**
+     * @see java.beans.Introspector#decapitalize(String)
+     */
+    private static String decapitalize(String name) {
+        if (name.isEmpty() || name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+
+        char[] chars = name.toCharArray();
+        chars[0] = Character.toLowerCase(chars[0]);
+
+        return new String(chars);
+    }
+
+}
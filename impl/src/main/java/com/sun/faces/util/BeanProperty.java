@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * A JavaBeans property of a class, as described by {@link BeanProperties}. The accessors are invoked through
+ * {@link MethodHandle}s that are created once per property.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class BeanProperty {
+
+    private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final Method readMethod;
+
+    private final Method writeMethod;
+
+    private final MethodHandle getter;
+
+    private final MethodHandle setter;
+
+    // ------------------------------------------------------------ Constructors
+
+    BeanProperty(String name, Class<?> type, Method readMethod, Method writeMethod) {
+        this.name = name;
+        this.type = type;
+        this.readMethod = readMethod;
+        this.writeMethod = writeMethod;
+        getter = readMethod != null ? unreflect(readMethod, GETTER_TYPE) : null;
+        setter = writeMethod != null ? unreflect(writeMethod, SETTER_TYPE) : null;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the name of this property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the type of this property
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the getter of this property, or <code>null</code> if it is write only
+     */
+    public Method getReadMethod() {
+        return readMethod;
+    }
+
+    /**
+     * @return the setter of this property, or <code>null</code> if it is read only
+     */
+    public Method getWriteMethod() {
+        return writeMethod;
+    }
+
+    /**
+     * @return <code>true</code> if this property has a getter
+     */
+    public boolean isReadable() {
+        return readMethod != null;
+    }
+
+    /**
+     * @return <code>true</code> if this property has a setter
+     */
+    public boolean isWritable() {
+        return writeMethod != null;
+    }
+
+    /**
+     * Invoke the getter of this property.
+     *
+     * @param bean the bean to get the value from
+     * @return the value of the property
+     * @throws IllegalStateException if the property is not readable
+     * @throws IllegalArgumentException if the bean is not an instance of the class declaring the getter
+     * @throws InvocationTargetException wrapping anything thrown by the getter
+     */
+    public Object getValue(Object bean) throws InvocationTargetException {
+        if (readMethod == null) {
+            throw new IllegalStateException("Property '" + name + "' is not readable");
+        }
+
+        checkBean(readMethod, bean);
+        if (getter == null) {
+            return invoke(readMethod, bean);
+        }
+
+        try {
+            return getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Invoke the setter of this property.
+     *
+     * @param bean the bean to set the value on
+     * @param value the new value of the property
+     * @throws IllegalStateException if the property is not writable
+     * @throws IllegalArgumentException if the bean is not an instance of the class declaring the setter, or if the value
+     * cannot be assigned to the parameter of the setter
+     * @throws InvocationTargetException wrapping anything thrown by the setter
+     */
+    public void setValue(Object bean, Object value) throws InvocationTargetException {
+        if (writeMethod == null) {
+            throw new IllegalStateException("Property '" + name + "' is not writable");
+        }
+
+        checkBean(writeMethod, bean);
+        checkValue(writeMethod.getParameterTypes()[0], value);
+        if (setter == null) {
+            invoke(writeMethod, bean, value);
+            return;
+        }
+
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + type.getName() + ")";
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * @return a handle of the given type for the method, or <code>null</code> if the method is not accessible, which
+     * happens for public methods declared by a class which is not public itself
+     */
+    private static MethodHandle unreflect(Method method, MethodType genericType) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(genericType);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The handles adapt the bean and the value with casts that would otherwise fail inside the invocation, and be
+     * reported as if the accessor had thrown, so they are checked beforehand like {@link Method#invoke} does.
+     */
+    private void checkBean(Method method, Object bean) {
+        if (!method.getDeclaringClass().isInstance(bean)) {
+            throw new IllegalArgumentException("Property '" + name + "' cannot be accessed on " + (bean == null ? "null" : bean.getClass().getName()));
+        }
+    }
+
+    private void checkValue(Class<?> parameterType, Object value) {
+        if (value == null ? parameterType.isPrimitive() : !methodType(parameterType).wrap().returnType().isInstance(value)) {
+            throw new IllegalArgumentException("Property '" + name + "' of type " + parameterType.getName() + " cannot be set to "
+                    + (value == null ? "null" : value.getClass().getName()));
+        }
+    }
+
+    /**
+     * Reflective fallback for methods that could not be unreflected, which reports the access failure at invocation
+     * time, exactly like plain reflection would, and only wraps what the method itself throws.
+     */
+    private static Object invoke(Method method, Object bean, Object... args) throws InvocationTargetException {
+        try {
+            return method.invoke(bean, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+}
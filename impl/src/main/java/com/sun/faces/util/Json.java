@@ -25,10 +25,6 @@ import static java.util.Arrays.asList;
 import static java.util.EnumSet.copyOf;
 import static java.util.EnumSet.noneOf;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
@@ -51,7 +47,7 @@ import jakarta.json.stream.JsonGenerator;
  * <p>
  * This supports the standard types {@link Boolean}, {@link Number}, {@link Character}, {@link CharSequence},
  * {@link Date}, {@link LocalDate} and {@link Instant}. If the given object type does not match any of them, then it
- * will attempt to inspect the object as a JavaBean using the {@link Introspector}, whereby the public properties
+ * will attempt to inspect the object as a JavaBean using {@link BeanProperties}, whereby the public properties
  * (public getters) will be encoded as a JS object. It also supports arrays, {@link Collection}s and {@link Map}s of
  * them, even nested ones. The dates are formatted as ISO8601 instant via {@link DateTimeFormatter#ISO_INSTANT}, so you
  * can if necessary just pass the value straight to <code>new Date(value)</code> in JavaScript.
@@ -69,7 +65,6 @@ import jakarta.json.stream.JsonGenerator;
  */
 public class Json {
 
-    private static final String ERROR_INVALID_BEAN = "Cannot introspect object of type '%s' as bean.";
     private static final String ERROR_INVALID_GETTER = "Cannot invoke getter of property '%s' of bean '%s'.";
 
     public enum Option {
@@ -282,14 +277,6 @@ public class Json {
     }
 
     private static void encodeBean(String name, Object bean, JsonGenerator generator, EnumSet<Option> options) {
-        BeanInfo beanInfo;
-
-        try {
-            beanInfo = Introspector.getBeanInfo(bean.getClass());
-        } catch (IntrospectionException e) {
-            throw new IllegalArgumentException(String.format(ERROR_INVALID_BEAN, bean.getClass()), e);
-        }
-
         if (name == null) {
             generator.writeStartObject();
         } else {
@@ -298,15 +285,15 @@ public class Json {
 
         boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
 
-        for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
-            if (property.getReadMethod() == null || "class".equals(property.getName())) {
+        for (BeanProperty property : BeanProperties.forClass(bean.getClass()).getAll()) {
+            if (!property.isReadable() || "class".equals(property.getName())) {
                 continue;
             }
 
             Object value;
 
             try {
-                value = property.getReadMethod().invoke(bean);
+                value = property.getValue(bean);
             } catch (Exception e) {
                 throw new IllegalArgumentException(String.format(ERROR_INVALID_GETTER, property.getName(), bean.getClass()), e);
             }
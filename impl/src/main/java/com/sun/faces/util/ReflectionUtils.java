@@ -16,13 +16,8 @@
 
 package com.sun.faces.util;
 
-import static java.beans.Introspector.getBeanInfo;
 import static java.beans.PropertyEditorManager.findEditor;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -35,8 +30,6 @@ import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * <p>
@@ -45,8 +38,6 @@ import java.util.logging.Logger;
  */
 public final class ReflectionUtils {
 
-    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
-
     /**
      * <p>
      * Cache
@@ -80,16 +71,13 @@ public final class ReflectionUtils {
     public static void setProperties(Object object, Map<String, Object> propertiesToSet) {
 
         try {
-            Map<String, PropertyDescriptor> availableProperties = new HashMap<>();
-            for (PropertyDescriptor propertyDescriptor : getBeanInfo(object.getClass()).getPropertyDescriptors()) {
-                availableProperties.put(propertyDescriptor.getName(), propertyDescriptor);
-            }
+            BeanProperties availableProperties = BeanProperties.forClass(object.getClass());
 
             for (Map.Entry<String, Object> propertyToSet : propertiesToSet.entrySet()) {
-                availableProperties.get(propertyToSet.getKey()).getWriteMethod().invoke(object, propertyToSet.getValue());
+                availableProperties.get(propertyToSet.getKey()).setValue(object, propertyToSet.getValue());
             }
 
-        } catch (IntrospectionException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+        } catch (IllegalArgumentException | InvocationTargetException e) {
             throw new IllegalStateException(e);
         }
     }
@@ -124,26 +112,24 @@ public final class ReflectionUtils {
      */
     public static void setPropertiesWithCoercion(Object object, Map<String, Object> propertiesToSet) {
         try {
-            for (PropertyDescriptor property : getBeanInfo(object.getClass()).getPropertyDescriptors()) {
-                Method setter = property.getWriteMethod();
-
-                if (setter == null) {
+            for (BeanProperty property : BeanProperties.forClass(object.getClass()).getAll()) {
+                if (!property.isWritable()) {
                     continue;
                 }
 
                 if (propertiesToSet.containsKey(property.getName())) {
 
                     Object value = propertiesToSet.get(property.getName());
-                    if (value instanceof String && !property.getPropertyType().equals(String.class)) {
+                    if (value instanceof String && !property.getType().equals(String.class)) {
 
                         // Try to convert Strings to the type expected by the converter
 
-                        PropertyEditor editor = findEditor(property.getPropertyType());
+                        PropertyEditor editor = findEditor(property.getType());
                         editor.setAsText((String) value);
                         value = editor.getValue();
                     }
 
-                    property.getWriteMethod().invoke(object, value);
+                    property.setValue(object, value);
                 }
 
             }
@@ -489,7 +475,7 @@ public final class ReflectionUtils {
         Map<Integer, Constructor> constructors;
         Map<String, HashMap<Integer, Method>> methods;
         Map<String, HashMap<Integer, Method>> declaredMethods;
-        Map<String, PropertyDescriptor> propertyDescriptors;
+        BeanProperties properties;
         Class<?> clazz;
 
         // ------------------------------------------------------------ Constructors
@@ -534,22 +520,7 @@ public final class ReflectionUtils {
                 declaredMethodsMap.put(getKey(meths[i].getParameterTypes()), meths[i]);
             }
 
-            try {
-                BeanInfo info = Introspector.getBeanInfo(clazz);
-                PropertyDescriptor[] pds = info.getPropertyDescriptors();
-                if (pds != null) {
-                    if (propertyDescriptors == null) {
-                        propertyDescriptors = new HashMap<>(pds.length, 1.0f);
-                    }
-                    for (PropertyDescriptor pd : pds) {
-                        propertyDescriptors.put(pd.getName(), pd);
-                    }
-                }
-            } catch (IntrospectionException ie) {
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    LOGGER.log(Level.SEVERE, ie.toString(), ie);
-                }
-            }
+            properties = BeanProperties.forClass(clazz);
 
         }
 
@@ -611,13 +582,9 @@ public final class ReflectionUtils {
          */
         public Method lookupWriteMethod(String propName) {
 
-            if (propertyDescriptors == null) {
-                return null;
-            }
-
-            PropertyDescriptor pd = propertyDescriptors.get(propName);
-            if (pd != null) {
-                return pd.getWriteMethod();
+            BeanProperty property = properties.get(propName);
+            if (property != null) {
+                return property.getWriteMethod();
             }
             return null;
 
@@ -630,13 +597,9 @@ public final class ReflectionUtils {
          */
         public Method lookupReadMethod(String propName) {
 
-            if (propertyDescriptors == null) {
-                return null;
-            }
-
-            PropertyDescriptor pd = propertyDescriptors.get(propName);
-            if (pd != null) {
-                return pd.getReadMethod();
+            BeanProperty property = properties.get(propName);
+            if (property != null) {
+                return property.getReadMethod();
             }
             return null;
 
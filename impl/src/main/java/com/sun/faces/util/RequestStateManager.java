@@ -123,6 +123,22 @@ public class RequestStateManager {
      */
     public static final String RENDERED_RESOURCE_DEPENDENCIES = ResourceHandler.RESOURCE_IDENTIFIER;
 
+    /**
+     * Used to store the byte oriented response writer, if any, that was created for rendering the current view.
+     */
+    public static final String UTF8_RESPONSE_OUTPUT_WRITER = "com.sun.faces.UTF8_RESPONSE_OUTPUT_WRITER";
+
+    /**
+     * Used to store the <code>Writer</code> to flush once the head of a view has been rendered, if the view is rendered
+     * in streaming mode.
+     */
+    public static final String STREAMING_RENDER_WRITER = "com.sun.faces.STREAMING_RENDER_WRITER";
+
+    /**
+     * Used to store the <code>WriteBehindStateWriter</code> that the current view is rendered with.
+     */
+    public static final String STATE_WRITER = "com.sun.faces.STATE_WRITER";
+
     // TODO: refactor this thing to common map.
     private static final String[] ATTRIBUTES_TO_CLEAR_ON_CHANGE_OF_VIEW = { SCRIPT_STATE, PROCESSED_RESOURCE_DEPENDENCIES, PROCESSED_RADIO_BUTTON_GROUPS };
 
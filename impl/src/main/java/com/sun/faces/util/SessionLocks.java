@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.util;
+
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sun.faces.RIConstants;
+
+import jakarta.faces.context.ExternalContext;
+
+/**
+ * <p>
+ * Provides the lock which guards the implementation specific state of a session, such as the views stored by server
+ * side state saving.
+ * </p>
+ *
+ * <p>
+ * The state used to be guarded by the monitor of the session object. A thread blocking while it holds a monitor pins
+ * its carrier when the container runs requests on virtual threads, and the work done while holding the lock, such as
+ * serializing views or creating beans, can take a while. A {@link ReentrantLock} doesn't pin. The lock is kept as a
+ * session attribute, and only its creation, once per session, still synchronizes on the session.
+ * </p>
+ */
+public final class SessionLocks {
+
+    /**
+     * The name of the session attribute holding the lock.
+     */
+    private static final String SESSION_LOCK = RIConstants.FACES_PREFIX + "sessionLock";
+
+    private SessionLocks() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param externalContext the <code>ExternalContext</code> for the current request
+     * @return the lock of the session of the current request, which is created if there is none yet
+     */
+    public static Lock getLock(ExternalContext externalContext) {
+        Object session = externalContext.getSession(true);
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+
+        Lock lock = (Lock) sessionMap.get(SESSION_LOCK);
+        if (lock == null) {
+            // noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (session) {
+                lock = (Lock) sessionMap.get(SESSION_LOCK);
+                if (lock == null) {
+                    // A ReentrantLock is serializable, and is unlocked when it is deserialized
+                    lock = new ReentrantLock();
+                    sessionMap.put(SESSION_LOCK, lock);
+                }
+            }
+        }
+
+        return lock;
+    }
+
+}
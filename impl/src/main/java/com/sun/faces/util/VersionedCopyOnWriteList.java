@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * A copy-on-write list, like <code>CopyOnWriteArrayList</code>, which exposes the array backing it. Every modification
+ * replaces the array, so the array returned by {@link #getSnapshot()} is an immutable snapshot of the list and its
+ * identity doubles as the version of the list: if a later call returns the same array, the list has not been modified
+ * in between.
+ * </p>
+ *
+ * <p>
+ * This allows listeners to be dispatched straight from the snapshot, without copying the list up front, while still
+ * detecting listeners that are added or removed during the dispatch.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe. The list iterators returned by {@link #listIterator()} are not snapshots and do not
+ * support modifications, use {@link #iterator()} to iterate over a snapshot instead.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+public final class VersionedCopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final Object[] EMPTY = {};
+
+    private volatile Object[] elements = EMPTY;
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the array backing this list, which must not be modified
+     */
+    public Object[] getSnapshot() {
+        return elements;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<>(elements);
+    }
+
+    @Override
+    public synchronized boolean add(E element) {
+        Object[] current = elements;
+        Object[] replacement = Arrays.copyOf(current, current.length + 1);
+        replacement[current.length] = element;
+        elements = replacement;
+
+        return true;
+    }
+
+    @Override
+    public synchronized void add(int index, E element) {
+        Object[] current = elements;
+        if (index < 0 || index > current.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+        }
+
+        Object[] replacement = new Object[current.length + 1];
+        System.arraycopy(current, 0, replacement, 0, index);
+        replacement[index] = element;
+        System.arraycopy(current, index, replacement, index + 1, current.length - index);
+        elements = replacement;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E set(int index, E element) {
+        Object[] current = elements;
+        Object previous = current[index];
+        if (previous != element) {
+            Object[] replacement = current.clone();
+            replacement[index] = element;
+            elements = replacement;
+        }
+
+        return (E) previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E remove(int index) {
+        Object[] current = elements;
+        Object previous = current[index];
+        Object[] replacement = new Object[current.length - 1];
+        System.arraycopy(current, 0, replacement, 0, index);
+        System.arraycopy(current, index + 1, replacement, index, current.length - index - 1);
+        elements = replacement;
+
+        return (E) previous;
+    }
+
+    @Override
+    public synchronized boolean remove(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+
+        remove(index);
+
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        return removeMatching(filter);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeMatching(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeMatching(element -> !c.contains(element));
+    }
+
+    @Override
+    public synchronized void clear() {
+        elements = EMPTY;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * The bulk removals of the collection framework go through {@link Iterator#remove()}, which the snapshot iterator does
+     * not support, so they replace the array once instead.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized boolean removeMatching(Predicate<? super E> filter) {
+        Object[] current = elements;
+        Object[] replacement = new Object[current.length];
+        int size = 0;
+        for (Object element : current) {
+            if (!filter.test((E) element)) {
+                replacement[size++] = element;
+            }
+        }
+
+        if (size == current.length) {
+            return false;
+        }
+
+        elements = size == 0 ? EMPTY : Arrays.copyOf(replacement, size);
+
+        return true;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class SnapshotIterator<E> implements Iterator<E> {
+
+        private final Object[] snapshot;
+
+        private int cursor;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+
+            return (E) snapshot[cursor++];
+        }
+
+    }
+
+}
@@ -31,6 +31,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
+import com.sun.faces.component.DirtyComponentTracker;
+
 import jakarta.el.ValueExpression;
 import jakarta.faces.component.UIComponent.PropertyKeys;
 import jakarta.faces.context.FacesContext;
@@ -72,6 +74,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
     public Object put(Serializable key, Object value) {
 
         if (component.initialStateMarked() || value instanceof PartialStateHolder) {
+            DirtyComponentTracker.markDirty(component);
             Object retVal = deltaMap.put(key, value);
 
             if (retVal == null) {
@@ -95,6 +98,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
     @Override
     public Object remove(Serializable key) {
         if (component.initialStateMarked()) {
+            DirtyComponentTracker.markDirty(component);
             Object retVal = deltaMap.remove(key);
 
             if (retVal == null) {
@@ -127,6 +131,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
 
         Object ret = null;
         if (component.initialStateMarked()) {
+            DirtyComponentTracker.markDirty(component);
             Map<String, Object> dMap = (Map<String, Object>) deltaMap.get(key);
             ret = dMap.put(mapKey, value);
         }
@@ -225,6 +230,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
         initList(key);
 
         if (component.initialStateMarked()) {
+            DirtyComponentTracker.markDirty(component);
             ((List<Object>) deltaMap.get(key)).add(value);
         }
 
@@ -425,6 +431,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
     private Object removeFromList(Serializable key, Object value) {
         Object ret = null;
         if (component.initialStateMarked() || value instanceof PartialStateHolder) {
+            DirtyComponentTracker.markDirty(component);
             Collection<Object> deltaList = (Collection<Object>) deltaMap.get(key);
             if (deltaList != null) {
                 ret = deltaList.remove(value);
@@ -453,6 +460,7 @@ class ComponentStateHelper implements StateHelper, TransientStateHelper {
     private Object removeFromMap(Serializable key, String mapKey) {
         Object ret = null;
         if (component.initialStateMarked()) {
+            DirtyComponentTracker.markDirty(component);
             Map<String, Object> dMap = (Map<String, Object>) deltaMap.get(key);
             if (dMap != null) {
                 ret = dMap.remove(mapKey);
@@ -46,6 +46,8 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.component.DirtyComponentTracker;
+
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ValueExpression;
@@ -431,6 +433,7 @@ public abstract class UIComponent implements PartialStateHolder, TransientStateH
     @Override
     public void clearInitialState() {
         initialState = false;
+        DirtyComponentTracker.markDirty(this);
     }
 
     /**
@@ -22,24 +22,19 @@ import static com.sun.faces.facelets.tag.faces.ComponentSupport.removeFromDescen
 import static com.sun.faces.util.Util.isAllNull;
 import static com.sun.faces.util.Util.isAnyNull;
 import static com.sun.faces.util.Util.isEmpty;
-import static java.beans.Introspector.getBeanInfo;
 import static java.lang.Boolean.TRUE;
 import static java.lang.Character.isDigit;
 import static java.lang.Character.isLetter;
-import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableList;
 import static java.util.logging.Level.FINE;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
@@ -56,10 +51,16 @@ import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.component.ClientIdIndex;
+import com.sun.faces.component.DirtyComponentTracker;
+import com.sun.faces.spi.LifecycleInstrumentation;
+import com.sun.faces.spi.LifecycleInstrumentationFactory;
+import com.sun.faces.util.BeanProperties;
+import com.sun.faces.util.BeanProperty;
+
 import jakarta.el.ELException;
 import jakarta.el.ValueExpression;
 import jakarta.faces.FacesException;
@@ -109,30 +110,8 @@ public abstract class UIComponentBase extends UIComponent {
     private static final int MY_STATE = 0;
     private static final int CHILD_STATE = 1;
 
-    /**
-     * <p>
-     * Each entry is an map of <code>PropertyDescriptor</code>s describing the properties of a concrete {@link UIComponent}
-     * implementation, keyed by the corresponding <code>java.lang.Class</code>.
-     * </p>
-     * 
-     */
-    private Map<Class<?>, Map<String, PropertyDescriptor>> descriptors;
-
-    /**
-     * Reference to the map of <code>PropertyDescriptor</code>s for this class in the <code>descriptors<code>
-     * <code>Map<code>.
-     */
-    private Map<String, PropertyDescriptor> propertyDescriptorMap;
-
     private Map<Class<? extends SystemEvent>, List<SystemEventListener>> listenersByEventClass;
 
-    /**
-     * <p>
-     * An EMPTY_OBJECT_ARRAY argument list to be passed to reflection methods.
-     * </p>
-     */
-    private static final Object EMPTY_OBJECT_ARRAY[] = new Object[0];
-
     /**
      * <p>
      * The <code>Map</code> containing our attributes, keyed by attribute name.
@@ -179,10 +158,9 @@ public abstract class UIComponentBase extends UIComponent {
     private boolean transientFlag;
 
     /**
-     * Default constructor, populates the descriptor map.
+     * Default constructor.
      */
     public UIComponentBase() {
-        populateDescriptorsMapIfNecessary();
     }
 
     @Override
@@ -265,7 +243,16 @@ public abstract class UIComponentBase extends UIComponent {
         // as it has already been validated.
         if (this.id == null || !this.id.equals(id)) {
             validateId(id);
+            String oldId = this.id;
             this.id = id;
+
+            if (parent != null && isInView()) {
+                FacesContext context = FacesContext.getCurrentInstance();
+                ClientIdIndex index = context == null ? null : ClientIdIndex.getCurrentInstance(context);
+                if (index != null) {
+                    index.idChanged(this, oldId);
+                }
+            }
         }
 
         clientId = null; // Erase any cached value
@@ -528,7 +515,14 @@ public abstract class UIComponentBase extends UIComponent {
         if (rendererType != null) {
             Renderer renderer = getRenderer(context);
             if (renderer != null) {
-                renderer.encodeBegin(context, this);
+                LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getRenderTimingInstance(context);
+                if (instrumentation == null) {
+                    renderer.encodeBegin(context, this);
+                } else {
+                    long start = System.nanoTime();
+                    renderer.encodeBegin(context, this);
+                    instrumentation.componentRendered(context, this, System.nanoTime() - start);
+                }
             } else {
                 if (LOGGER.isLoggable(FINE)) {
                     LOGGER.fine("Can't get Renderer for type " + rendererType);
@@ -583,7 +577,14 @@ public abstract class UIComponentBase extends UIComponent {
         if (getRendererType() != null) {
             Renderer renderer = getRenderer(context);
             if (renderer != null) {
-                renderer.encodeEnd(context, this);
+                LifecycleInstrumentation instrumentation = LifecycleInstrumentationFactory.getRenderTimingInstance(context);
+                if (instrumentation == null) {
+                    renderer.encodeEnd(context, this);
+                } else {
+                    long start = System.nanoTime();
+                    renderer.encodeEnd(context, this);
+                    instrumentation.componentRendered(context, this, System.nanoTime() - start);
+                }
             }
 
             // We've already logged for this component
@@ -645,6 +646,7 @@ public abstract class UIComponentBase extends UIComponent {
         }
 
         listeners.add(listener);
+        DirtyComponentTracker.markDirty(this);
     }
 
     /**
@@ -697,6 +699,7 @@ public abstract class UIComponentBase extends UIComponent {
 
         if (listeners != null) {
             listeners.remove(listener);
+            DirtyComponentTracker.markDirty(this);
         }
     }
 
@@ -758,6 +761,8 @@ public abstract class UIComponentBase extends UIComponent {
             initialState = false;
         }
 
+        DirtyComponentTracker.markDirty(this);
+
         if (listenersByEventClass == null) {
             listenersByEventClass = new HashMap<>(3, 1.0f);
         }
@@ -808,6 +813,7 @@ public abstract class UIComponentBase extends UIComponent {
 
                 if (existingListener.equals(componentListener)) {
                     i.remove();
+                    DirtyComponentTracker.markDirty(this);
                     break;
                 }
             }
@@ -1092,6 +1098,8 @@ public abstract class UIComponentBase extends UIComponent {
                 }
             }
         }
+
+        DirtyComponentTracker.initialStateMarked(this, listeners != null || listenersByEventClass != null || behaviors != null);
     }
 
     /**
@@ -1507,14 +1515,10 @@ public abstract class UIComponentBase extends UIComponent {
         return m;
     }
 
-    Map<String, PropertyDescriptor> getDescriptorMap() {
-        return propertyDescriptorMap;
-    }
-
     private void doPostAddProcessing(FacesContext context, UIComponent added) {
 
         if (parent.isInView()) {
-            publishAfterViewEvents(context, context.getApplication(), added);
+            publishAfterViewEvents(context, context.getApplication(), added, ClientIdIndex.getCurrentInstance(context));
         }
 
     }
@@ -1522,7 +1526,7 @@ public abstract class UIComponentBase extends UIComponent {
     private void doPreRemoveProcessing(FacesContext context, UIComponent toRemove) {
 
         if (parent.isInView()) {
-            disconnectFromView(context, context.getApplication(), toRemove);
+            disconnectFromView(context, context.getApplication(), toRemove, ClientIdIndex.getCurrentInstance(context));
         }
 
     }
@@ -1602,6 +1606,7 @@ public abstract class UIComponentBase extends UIComponent {
             }
 
             eventBehaviours.add(behavior);
+            DirtyComponentTracker.markDirty(this);
         }
     }
 
@@ -1804,23 +1809,26 @@ public abstract class UIComponentBase extends UIComponent {
         }
     }
 
-    private static void publishAfterViewEvents(FacesContext context, Application application, UIComponent component) {
+    private static void publishAfterViewEvents(FacesContext context, Application application, UIComponent component, ClientIdIndex index) {
 
         component.setInView(true);
+        if (index != null) {
+            index.add(component);
+        }
         try {
             component.pushComponentToEL(context, component);
             application.publishEvent(context, PostAddToViewEvent.class, component);
             if (component.getChildCount() > 0) {
                 Collection<UIComponent> clist = new ArrayList<>(component.getChildren());
                 for (UIComponent c : clist) {
-                    publishAfterViewEvents(context, application, c);
+                    publishAfterViewEvents(context, application, c, index);
                 }
             }
 
             if (component.getFacetCount() > 0) {
                 Collection<UIComponent> clist = new ArrayList<>(component.getFacets().values());
                 for (UIComponent c : clist) {
-                    publishAfterViewEvents(context, application, c);
+                    publishAfterViewEvents(context, application, c, index);
                 }
             }
         } finally {
@@ -1829,21 +1837,24 @@ public abstract class UIComponentBase extends UIComponent {
 
     }
 
-    private static void disconnectFromView(FacesContext context, Application application, UIComponent component) {
+    private static void disconnectFromView(FacesContext context, Application application, UIComponent component, ClientIdIndex index) {
 
         application.publishEvent(context, PreRemoveFromViewEvent.class, component);
         component.setInView(false);
+        if (index != null) {
+            index.remove(component);
+        }
         component.compositeParent = null;
         if (component.getChildCount() > 0) {
             List<UIComponent> children = component.getChildren();
             for (UIComponent c : children) {
-                disconnectFromView(context, application, c);
+                disconnectFromView(context, application, c, index);
             }
         }
         if (component.getFacetCount() > 0) {
             Map<String, UIComponent> facets = component.getFacets();
             for (UIComponent c : facets.values()) {
-                disconnectFromView(context, application, c);
+                disconnectFromView(context, application, c, index);
             }
         }
 
@@ -1893,8 +1904,7 @@ public abstract class UIComponentBase extends UIComponent {
         private static final String ATTRIBUTES_THAT_ARE_SET_KEY = UIComponentBase.class.getName() + ".attributesThatAreSet";
 
         // private Map<String, Object> attributes;
-        private transient Map<String, PropertyDescriptor> pdMap;
-        private transient ConcurrentMap<String, Method> readMap;
+        private transient BeanProperties properties;
         private transient UIComponent component;
         private static final long serialVersionUID = -6773035086539772945L;
 
@@ -1903,7 +1913,7 @@ public abstract class UIComponentBase extends UIComponent {
         private AttributesMap(UIComponent component) {
 
             this.component = component;
-            pdMap = ((UIComponentBase) component).getDescriptorMap();
+            properties = BeanProperties.forClass(component.getClass());
         }
 
         @Override
@@ -1912,8 +1922,8 @@ public abstract class UIComponentBase extends UIComponent {
                 return true;
             }
             String key = (String) keyObj;
-            PropertyDescriptor pd = getPropertyDescriptor(key);
-            if (pd == null) {
+            BeanProperty property = getProperty(key);
+            if (property == null) {
                 Map<String, Object> attributes = (Map<String, Object>) component.getStateHelper().get(PropertyKeys.attributes);
                 if (attributes != null) {
                     return attributes.containsKey(key);
@@ -1937,28 +1947,13 @@ public abstract class UIComponentBase extends UIComponent {
             }
             Map<String, Object> attributes = (Map<String, Object>) component.getStateHelper().get(PropertyKeys.attributes);
             if (null == result) {
-                PropertyDescriptor pd = getPropertyDescriptor(key);
-                if (pd != null) {
+                BeanProperty property = getProperty(key);
+                if (property != null) {
+                    if (!property.isReadable()) {
+                        throw new IllegalArgumentException(key);
+                    }
                     try {
-                        if (null == readMap) {
-                            readMap = new ConcurrentHashMap<>();
-                        }
-                        Method readMethod = readMap.get(key);
-                        if (null == readMethod) {
-                            readMethod = pd.getReadMethod();
-                            Method putResult = readMap.putIfAbsent(key, readMethod);
-                            if (null != putResult) {
-                                readMethod = putResult;
-                            }
-                        }
-
-                        if (readMethod != null) {
-                            result = readMethod.invoke(component, EMPTY_OBJECT_ARRAY);
-                        } else {
-                            throw new IllegalArgumentException(key);
-                        }
-                    } catch (IllegalAccessException e) {
-                        throw new FacesException(e);
+                        result = property.getValue(component);
                     } catch (InvocationTargetException e) {
                         throw new FacesException(e.getTargetException());
                     }
@@ -1997,24 +1992,20 @@ public abstract class UIComponentBase extends UIComponent {
                 return null;
             }
 
-            PropertyDescriptor pd = getPropertyDescriptor(keyValue);
-            if (pd != null) {
+            BeanProperty property = getProperty(keyValue);
+            if (property != null) {
                 try {
                     Object result = null;
-                    Method readMethod = pd.getReadMethod();
-                    if (readMethod != null) {
-                        result = readMethod.invoke(component, EMPTY_OBJECT_ARRAY);
+                    if (property.isReadable()) {
+                        result = property.getValue(component);
                     }
-                    Method writeMethod = pd.getWriteMethod();
-                    if (writeMethod != null) {
-                        writeMethod.invoke(component, value);
+                    if (property.isWritable()) {
+                        property.setValue(component, value);
                     } else {
                         // TODO: i18n
                         throw new IllegalArgumentException("Setter not found for property " + keyValue);
                     }
                     return result;
-                } catch (IllegalAccessException e) {
-                    throw new FacesException(e);
                 } catch (InvocationTargetException e) {
                     throw new FacesException(e.getTargetException());
                 }
@@ -2053,8 +2044,8 @@ public abstract class UIComponentBase extends UIComponent {
             if (ATTRIBUTES_THAT_ARE_SET_KEY.equals(key)) {
                 return null;
             }
-            PropertyDescriptor pd = getPropertyDescriptor(key);
-            if (pd != null) {
+            BeanProperty property = getProperty(key);
+            if (property != null) {
                 throw new IllegalArgumentException(key);
             } else {
                 Map<String, Object> attributes = getAttributes();
@@ -2173,18 +2164,17 @@ public abstract class UIComponentBase extends UIComponent {
 
         /**
          * <p>
-         * Return the <code>PropertyDescriptor</code> for the specified property name for this {@link UIComponent}'s
-         * implementation class, if any; otherwise, return <code>null</code>.
+         * Return the bean property with the specified name of this {@link UIComponent}'s implementation class, if any;
+         * otherwise, return <code>null</code>.
          * </p>
          *
-         * @param name Name of the property to return a descriptor for
-         * @throws FacesException if an introspection exception occurs
+         * @param name Name of the property to return
          */
-        PropertyDescriptor getPropertyDescriptor(String name) {
-            if (pdMap != null) {
-                return pdMap.get(name);
+        BeanProperty getProperty(String name) {
+            if (properties == null) {
+                properties = BeanProperties.forClass(component.getClass());
             }
-            return null;
+            return properties.get(name);
         }
 
         // ----------------------------------------------- Serialization Methods
@@ -3091,64 +3081,6 @@ public abstract class UIComponentBase extends UIComponent {
 
     }
 
-    @SuppressWarnings("unchecked")
-    private void populateDescriptorsMapIfNecessary() {
-        FacesContext facesContext = FacesContext.getCurrentInstance();
-        Class<?> clazz = getClass();
-
-        /*
-         * If we can find a valid FacesContext we are going to use it to get access to the property descriptor map.
-         */
-        if (facesContext != null && facesContext.getExternalContext() != null && facesContext.getExternalContext().getApplicationMap() != null) {
-
-            Map<String, Object> applicationMap = facesContext.getExternalContext().getApplicationMap();
-
-            if (!applicationMap.containsKey("com.sun.faces.compnent.COMPONENT_DESCRIPTORS_MAP")) {
-                applicationMap.put("com.sun.faces.compnent.COMPONENT_DESCRIPTORS_MAP", new ConcurrentHashMap<>());
-            }
-
-            descriptors = (Map<Class<?>, Map<String, PropertyDescriptor>>) applicationMap.get("com.sun.faces.compnent.COMPONENT_DESCRIPTORS_MAP");
-            propertyDescriptorMap = descriptors.get(clazz);
-        }
-
-        if (propertyDescriptorMap == null) {
-
-            // We did not find the property descriptor map so we are now going to load it.
-
-            PropertyDescriptor propertyDescriptors[] = getPropertyDescriptors();
-            if (propertyDescriptors != null) {
-                propertyDescriptorMap = new HashMap<>(propertyDescriptors.length, 1.0f);
-                for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-                    propertyDescriptorMap.put(propertyDescriptor.getName(), propertyDescriptor);
-                }
-
-                if (LOGGER.isLoggable(FINE)) {
-                    LOGGER.log(FINE, "fine.component.populating_descriptor_map", new Object[] { clazz, currentThread().getName() });
-                }
-
-                if (descriptors != null && !descriptors.containsKey(clazz)) {
-                    descriptors.put(clazz, propertyDescriptorMap);
-                }
-            }
-        }
-    }
-
-    /**
-     * <p>
-     * Return an array of <code>PropertyDescriptors</code> for this {@link UIComponent}'s implementation class. If no
-     * descriptors can be identified, a zero-length array will be returned.
-     * </p>
-     *
-     * @throws FacesException if an introspection exception occurs
-     */
-    private PropertyDescriptor[] getPropertyDescriptors() {
-        try {
-            return getBeanInfo(getClass()).getPropertyDescriptors();
-        } catch (IntrospectionException e) {
-            throw new FacesException(e);
-        }
-    }
-
     private String addParentId(FacesContext context, String parentId, String childId) {
         return new StringBuilder(parentId.length() + 1 + childId.length()).append(parentId).append(UINamingContainer.getSeparatorChar(context)).append(childId)
                 .toString();
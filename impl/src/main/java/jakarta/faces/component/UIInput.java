@@ -21,6 +21,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.sun.faces.component.DirtyComponentTracker;
+
 import jakarta.el.ELException;
 import jakarta.el.ValueExpression;
 import jakarta.faces.FacesException;
@@ -511,6 +513,7 @@ public class UIInput extends UIOutput implements EditableValueHolder {
         super.markInitialState();
         if (validators != null) {
             validators.markInitialState();
+            DirtyComponentTracker.markDirty(this);
         }
 
     }
@@ -1167,6 +1170,7 @@ public class UIInput extends UIOutput implements EditableValueHolder {
             validators = new AttachedObjectListHolder<>();
         }
         validators.add(validator);
+        DirtyComponentTracker.markDirty(this);
 
     }
 
@@ -1200,6 +1204,7 @@ public class UIInput extends UIOutput implements EditableValueHolder {
 
         if (validators != null) {
             validators.remove(validator);
+            DirtyComponentTracker.markDirty(this);
         }
 
     }
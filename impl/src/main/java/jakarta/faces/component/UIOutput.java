@@ -16,6 +16,8 @@
 
 package jakarta.faces.component;
 
+import com.sun.faces.component.DirtyComponentTracker;
+
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.convert.Converter;
 
@@ -165,6 +167,10 @@ public class UIOutput extends UIComponentBase implements ValueHolder {
         if (c instanceof PartialStateHolder) {
             ((PartialStateHolder) c).markInitialState();
         }
+
+        if (converter != null) {
+            DirtyComponentTracker.markDirty(this);
+        }
     }
 
     @Override
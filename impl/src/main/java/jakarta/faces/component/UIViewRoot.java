@@ -30,10 +30,12 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.component.ClientIdIndex;
+import com.sun.faces.util.VersionedCopyOnWriteList;
+
 import jakarta.el.MethodExpression;
 import jakarta.faces.FacesException;
 import jakarta.faces.FactoryFinder;
@@ -1630,7 +1632,7 @@ public class UIViewRoot extends UIComponentBase implements UniqueIdVendor {
         }
         List<SystemEventListener> listeners = viewListeners.get(systemEvent);
         if (listeners == null) {
-            listeners = new CopyOnWriteArrayList<>();
+            listeners = new VersionedCopyOnWriteList<>();
             viewListeners.put(systemEvent, listeners);
         }
         listeners.add(listener);
@@ -1693,6 +1695,30 @@ public class UIViewRoot extends UIComponentBase implements UniqueIdVendor {
         return null;
     }
 
+    /**
+     * <p>
+     * If the client id index of the view is enabled, the component with the given client id is looked up in the index
+     * instead of walking the whole tree. Otherwise, or if the index cannot resolve the client id, this method behaves like
+     * {@link UIComponent#invokeOnComponent}.
+     * </p>
+     *
+     * @throws NullPointerException {@inheritDoc}
+     * @throws FacesException {@inheritDoc}
+     */
+    @Override
+    public boolean invokeOnComponent(FacesContext context, String clientId, ContextCallback callback) throws FacesException {
+        if (context == null || clientId == null || callback == null) {
+            throw new NullPointerException();
+        }
+
+        ClientIdIndex index = ClientIdIndex.getInstance(context, this);
+        if (index != null && index.invokeOnComponent(context, clientId, callback)) {
+            return true;
+        }
+
+        return super.invokeOnComponent(context, clientId, callback);
+    }
+
     private void encodeViewParameters(FacesContext context) {
         ViewDeclarationLanguage vdl = context.getApplication().getViewHandler().getViewDeclarationLanguage(context, getViewId());
         if (vdl == null) {
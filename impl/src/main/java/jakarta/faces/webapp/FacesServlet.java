@@ -38,6 +38,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import com.sun.faces.context.AsyncWritingResponse;
+
 import jakarta.faces.FacesException;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.application.ResourceHandler;
@@ -324,6 +326,13 @@ public final class FacesServlet implements Servlet {
      */
     private boolean initFacesContextReleased;
 
+    /**
+     * Whether the response is written asynchronously after the request has been processed.
+     */
+    private boolean asyncResponseWriting;
+
+    private int asyncResponseBufferLimit;
+
     /**
      * <p>
      * Acquire the factory instances we will require.
@@ -345,6 +354,11 @@ public final class FacesServlet implements Servlet {
         lifecycle = acquireLifecycle();
 
         initHttpMethodValidityVerificationWithCatch();
+
+        asyncResponseWriting = AsyncWritingResponse.isEnabled(servletConfig.getServletContext());
+        if (asyncResponseWriting) {
+            asyncResponseBufferLimit = AsyncWritingResponse.getBufferLimit(servletConfig.getServletContext());
+        }
     }
 
     /**
@@ -441,15 +455,28 @@ public final class FacesServlet implements Servlet {
 
         releaseFacesInitContextIfNeeded();
 
+        AsyncWritingResponse asyncResponse = asyncResponseWriting ? AsyncWritingResponse.wrap(request, response, asyncResponseBufferLimit) : null;
+
         // Acquire the FacesContext instance for this request
-        FacesContext context = acquireFacesContext(request, response);
+        FacesContext context = acquireFacesContext(request, asyncResponse != null ? asyncResponse : response);
 
         // Execute the request processing lifecycle for this request
+        boolean processed = false;
         try {
             executeLifecyle(context);
+            processed = true;
         } finally {
             // Release the FacesContext instance for this request
             context.release();
+
+            if (asyncResponse != null && !processed) {
+                asyncResponse.discardBody();
+            }
+        }
+
+        if (asyncResponse != null) {
+            // Leave writing the response to the container, so this thread is free for other requests
+            asyncResponse.writeAsync();
         }
     }
 
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.flow.FlowHandlerImpl;
+import com.sun.faces.flow.FlowImpl;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.application.NavigationCase;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.flow.FlowHandler;
+
+public class NavigationHandlerImplTest {
+
+    private MockFacesContext facesContext;
+
+    private NavigationHandlerImpl navigationHandler;
+
+    @Before
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.enableNavigationCaseCache", "true");
+        facesContext = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        FlowHandler flowHandler = new FlowHandlerImpl();
+        facesContext.setApplication(new MockApplication() {
+            @Override
+            public FlowHandler getFlowHandler() {
+                return flowHandler;
+            }
+        });
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/list.xhtml");
+        facesContext.setViewRoot(viewRoot);
+        navigationHandler = new NavigationHandlerImpl();
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testResolvedCaseIsCached() {
+        CountingCase edit = addCase("edit", null, "/edit.xhtml");
+
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+        assertEquals(1, edit.resolutions);
+
+        // Another action is another key
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, "#{bean.edit}", "edit"));
+        assertEquals(2, edit.resolutions);
+    }
+
+    @Test
+    public void testConditionalCaseIsNotCached() {
+        CountingCase edit = addCase("edit", Boolean.TRUE, "/edit.xhtml");
+
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+        assertEquals(2, edit.resolutions);
+    }
+
+    @Test
+    public void testCacheIsClearedWhenRulesChange() {
+        CountingCase edit = addCase("edit", null, "/edit.xhtml");
+        navigationHandler.getNavigationCase(facesContext, null, "edit");
+
+        addCase("view", null, "/view.xhtml");
+        navigationHandler.getNavigationCase(facesContext, null, "edit");
+        assertEquals(2, edit.resolutions);
+
+        navigationHandler.inspectFlow(facesContext, new FlowImpl());
+        navigationHandler.getNavigationCase(facesContext, null, "edit");
+        assertEquals(3, edit.resolutions);
+    }
+
+    @Test
+    public void testCacheIsClearedWhenReturnedCasesAreModified() {
+        CountingCase edit = addCase("edit", null, "/edit.xhtml");
+        navigationHandler.getNavigationCase(facesContext, null, "edit");
+
+        Set<NavigationCase> cases = navigationHandler.getNavigationCases().get("/list.xhtml");
+        cases.remove(edit);
+        CountingCase replacement = new CountingCase("edit", null, "/editor.xhtml");
+        cases.add(replacement);
+        assertSame(replacement, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+
+        for (Map.Entry<String, Set<NavigationCase>> entry : navigationHandler.getNavigationCases().entrySet()) {
+            entry.getValue().clear();
+            entry.getValue().add(edit);
+        }
+        assertSame(edit, navigationHandler.getNavigationCase(facesContext, null, "edit"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedCaseIsEvicted() {
+        // Matches any outcome
+        CountingCase any = addCase(null, null, "/any.xhtml");
+
+        navigationHandler.getNavigationCase(facesContext, null, "outcome0");
+        for (int i = 1; i <= 1024; i++) {
+            navigationHandler.getNavigationCase(facesContext, null, "outcome" + i);
+            navigationHandler.getNavigationCase(facesContext, null, "outcome0");
+        }
+        assertEquals(1025, any.resolutions);
+
+        navigationHandler.getNavigationCase(facesContext, null, "outcome1024");
+        assertEquals(1025, any.resolutions);
+        navigationHandler.getNavigationCase(facesContext, null, "outcome1");
+        assertEquals(1026, any.resolutions);
+    }
+
+    private CountingCase addCase(String fromOutcome, Boolean condition, String toViewId) {
+        CountingCase navigationCase = new CountingCase(fromOutcome, condition, toViewId);
+        Set<NavigationCase> cases = new HashSet<>();
+        cases.add(navigationCase);
+        navigationHandler.getNavigationCases().put("/list.xhtml", cases);
+        return navigationCase;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Counts how often the case is considered while resolving an outcome.
+     */
+    private static final class CountingCase extends NavigationCase {
+
+        private final Boolean condition;
+
+        private final String toViewId;
+
+        int resolutions;
+
+        CountingCase(String fromOutcome, Boolean condition, String toViewId) {
+            super("/list.xhtml", null, fromOutcome, null, toViewId, null, false, false);
+            this.condition = condition;
+            this.toViewId = toViewId;
+        }
+
+        @Override
+        public String getFromAction() {
+            resolutions++;
+            return null;
+        }
+
+        @Override
+        public boolean hasCondition() {
+            return condition != null;
+        }
+
+        @Override
+        public Boolean getCondition(FacesContext context) {
+            return condition;
+        }
+
+        @Override
+        public String getToViewId(FacesContext context) {
+            return toViewId;
+        }
+
+    }
+
+}
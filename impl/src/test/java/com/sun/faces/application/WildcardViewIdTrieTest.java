@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class WildcardViewIdTrieTest {
+
+    @Test
+    public void testMatchesFromLongestToShortestPrefix() {
+        WildcardViewIdTrie trie = new WildcardViewIdTrie();
+        trie.add("/admin/users/");
+        trie.add("/admin/");
+        trie.add("/adm");
+        trie.add("/shop/");
+        trie.add("");
+        trie.add("/admin/");
+
+        assertEquals(5, trie.size());
+        assertEquals(asList("/admin/users/*", "/admin/*", "/adm*", "*"), trie.getMatches("/admin/users/edit.xhtml"));
+        assertEquals(asList("/admin/*", "/adm*", "*"), trie.getMatches("/admin/"));
+        assertEquals(asList("*"), trie.getMatches("/index.xhtml"));
+    }
+
+    @Test
+    public void testNoMatches() {
+        WildcardViewIdTrie trie = new WildcardViewIdTrie();
+        assertTrue(trie.getMatches("/index.xhtml").isEmpty());
+
+        trie.add("/b/");
+        trie.add("/a/");
+        trie.add("/c/");
+        assertTrue(trie.getMatches("/d/index.xhtml").isEmpty());
+        assertEquals(asList("/c/*"), trie.getMatches("/c/index.xhtml"));
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.applicationimpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.html.HtmlInputText;
+import jakarta.faces.convert.EnumConverter;
+
+public class InstanceCreatorTest {
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    public static class FailingCast {
+        public FailingCast() {
+            throw new ClassCastException("failing");
+        }
+
+        public FailingCast(Class<?> targetClass) {
+            throw new ClassCastException(targetClass.getName());
+        }
+    }
+
+    public static class FailingError {
+        public FailingError() {
+            throw new AssertionError("failing");
+        }
+    }
+
+    @Test
+    public void testNewInstance() throws Exception {
+        InstanceCreator creator = InstanceCreator.forClass(HtmlInputText.class);
+
+        assertSame(creator, InstanceCreator.forClass(HtmlInputText.class));
+        assertTrue(creator.newInstance() instanceof HtmlInputText);
+        assertFalse(creator.hasClassConstructor());
+    }
+
+    @Test
+    public void testNewInstanceWithTargetClass() throws Exception {
+        InstanceCreator creator = InstanceCreator.forClass(EnumConverter.class);
+
+        assertTrue(creator.hasClassConstructor());
+        assertTrue(creator.newInstance(Thread.State.class) instanceof EnumConverter);
+    }
+
+    @Test
+    public void testConstructorExceptionIsWrapped() throws Exception {
+        try {
+            InstanceCreator.forClass(Failing.class).newInstance();
+        } catch (InvocationTargetException e) {
+            assertEquals("failing", e.getCause().getMessage());
+            return;
+        }
+        throw new AssertionError();
+    }
+
+    @Test
+    public void testConstructorClassCastExceptionIsWrapped() throws Exception {
+        InstanceCreator creator = InstanceCreator.forClass(FailingCast.class);
+        try {
+            creator.newInstance();
+            throw new AssertionError();
+        } catch (InvocationTargetException e) {
+            assertEquals("failing", e.getCause().getMessage());
+        }
+
+        try {
+            creator.newInstance(String.class);
+            throw new AssertionError();
+        } catch (InvocationTargetException e) {
+            assertEquals("java.lang.String", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testConstructorErrorIsNotWrapped() throws Exception {
+        try {
+            InstanceCreator.forClass(FailingError.class).newInstance();
+        } catch (AssertionError e) {
+            assertEquals("failing", e.getMessage());
+            return;
+        }
+        throw new AssertionError();
+    }
+
+    @Test(expected = InstantiationException.class)
+    public void testAbstractClass() throws Exception {
+        InstanceCreator.forClass(UIComponent.class).newInstance();
+    }
+
+}
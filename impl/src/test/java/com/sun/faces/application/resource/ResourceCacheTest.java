@@ -23,7 +23,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class ResourceCacheTest {
 
@@ -39,4 +41,48 @@ public class ResourceCacheTest {
         assertThat(cachedResourceInfo, is(resourceInfo));
     }
 
+    @Test
+    public void missingResourcesAreCached() {
+        ResourceCache cache = new ResourceCache(0L, true);
+        List<String> contracts = new ArrayList<>(Arrays.asList("foo"));
+        assertFalse(cache.isMissing("missing.gif", "lib", null, contracts, false));
+
+        cache.addMissing("missing.gif", "lib", null, contracts, false);
+        contracts.clear();
+
+        assertTrue(cache.isMissing("missing.gif", "lib", null, Arrays.asList("foo"), false));
+        assertFalse(cache.isMissing("missing.gif", "lib", null, Arrays.asList("foo"), true));
+        assertFalse(cache.isMissing("missing.gif", "lib", "de", Arrays.asList("foo"), false));
+
+        cache.clear();
+        assertFalse(cache.isMissing("missing.gif", "lib", null, Arrays.asList("foo"), false));
+    }
+
+    @Test
+    public void leastRecentlyRequestedMissingResourceIsEvicted() {
+        ResourceCache cache = new ResourceCache(0L, true);
+        cache.addMissing("missing0.gif", null, null, Arrays.asList(), false);
+        for (int i = 1; i <= 1024; i++) {
+            cache.addMissing("missing" + i + ".gif", null, null, Arrays.asList(), false);
+            assertTrue(cache.isMissing("missing0.gif", null, null, Arrays.asList(), false));
+        }
+
+        // A crawler requesting ever new names does not fill the cache for good
+        assertTrue(cache.isMissing("missing1024.gif", null, null, Arrays.asList(), false));
+        assertFalse(cache.isMissing("missing1.gif", null, null, Arrays.asList(), false));
+        cache.addMissing("missing1.gif", null, null, Arrays.asList(), false);
+        assertTrue(cache.isMissing("missing1.gif", null, null, Arrays.asList(), false));
+    }
+
+    @Test
+    public void missingResourcesAreNotCachedWithoutCaching() {
+        ResourceCache cache = new ResourceCache(-1L, true);
+        cache.addMissing("missing.gif", null, null, Arrays.asList(), false);
+        assertFalse(cache.isMissing("missing.gif", null, null, Arrays.asList(), false));
+
+        cache = new ResourceCache(5L);
+        cache.addMissing("missing.gif", null, null, Arrays.asList(), false);
+        assertFalse(cache.isMissing("missing.gif", null, null, Arrays.asList(), false));
+    }
+
 }
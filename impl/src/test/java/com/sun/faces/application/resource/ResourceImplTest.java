@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application.resource;
+
+import static jakarta.servlet.http.MappingMatch.EXTENSION;
+import static jakarta.servlet.http.MappingMatch.PATH;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.MappingMatch;
+
+public class ResourceImplTest {
+
+    private final MappedRequest request = new MappedRequest();
+
+    private MockFacesContext facesContext;
+
+    private ResourceInfo info;
+
+    private ResourceImpl resource;
+
+    @Before
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.enableResourceRequestPathCache", "true");
+        facesContext = new MockFacesContext(new MockExternalContext(servletContext, request, new MockHttpServletResponse()) {
+            @Override
+            public String getRequestContextPath() {
+                return "/app";
+            }
+        });
+        facesContext.setApplication(new MockApplication());
+
+        info = new ResourceInfo(null, "style.css", null, null);
+        resource = new ResourceImpl(info, "text/css", 0, 0);
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testRequestPathIsCached() {
+        request.mapping = mapping(EXTENSION, "*.xhtml");
+        assertEquals("/app/jakarta.faces.resource/style.css.xhtml", resource.getRequestPath());
+
+        // A change the cached path does not reflect shows that it was not built again
+        info.localePrefix = "de";
+        assertEquals("/app/jakarta.faces.resource/style.css.xhtml", resource.getRequestPath());
+    }
+
+    @Test
+    public void testRequestPathIsBuiltForAnotherMapping() {
+        request.mapping = mapping(EXTENSION, "*.xhtml");
+        resource.getRequestPath();
+        info.localePrefix = "de";
+
+        request.mapping = mapping(EXTENSION, "*.jsf");
+        assertEquals("/app/jakarta.faces.resource/style.css.jsf?loc=de", resource.getRequestPath());
+
+        request.mapping = mapping(PATH, "/faces/*");
+        assertEquals("/app/faces/jakarta.faces.resource/style.css?loc=de", resource.getRequestPath());
+    }
+
+    @Test
+    public void testCopyResetsRequestPath() {
+        request.mapping = mapping(EXTENSION, "*.xhtml");
+        resource.getRequestPath();
+
+        ResourceInfo refreshed = new ResourceInfo(null, "style.css", null, null);
+        refreshed.localePrefix = "en";
+        info.copy(refreshed);
+
+        assertEquals("/app/jakarta.faces.resource/style.css.xhtml?loc=en", resource.getRequestPath());
+    }
+
+    private static HttpServletMapping mapping(MappingMatch mappingMatch, String pattern) {
+        return new HttpServletMapping() {
+            @Override
+            public String getMatchValue() {
+                return "";
+            }
+
+            @Override
+            public String getPattern() {
+                return pattern;
+            }
+
+            @Override
+            public String getServletName() {
+                return "FacesServlet";
+            }
+
+            @Override
+            public MappingMatch getMappingMatch() {
+                return mappingMatch;
+            }
+        };
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class MappedRequest extends MockHttpServletRequest {
+
+        HttpServletMapping mapping;
+
+        @Override
+        public HttpServletMapping getHttpServletMapping() {
+            return mapping;
+        }
+
+    }
+
+}
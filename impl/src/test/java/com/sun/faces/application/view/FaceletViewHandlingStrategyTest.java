@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application.view;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import com.sun.faces.context.flash.ELFlash;
+import com.sun.faces.context.flash.FlashFactoryImpl;
+import com.sun.faces.io.Utf8OutputStreamWriter;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.renderkit.RenderKitUtils;
+import com.sun.faces.util.RequestStateManager;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.application.ProjectStage;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.Flash;
+import jakarta.faces.event.PhaseId;
+import jakarta.servlet.http.Cookie;
+
+public class FaceletViewHandlingStrategyTest {
+
+    @Test
+    public void testBufferedBytesAreDrainedWhenRenderingFails() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(out, 1024);
+        writer.write("<html><body>café");
+
+        FaceletViewHandlingStrategy.drainResponseOutputWriter(writer, new IllegalStateException());
+
+        assertEquals("<html><body>café", out.toString(UTF_8));
+    }
+
+    @Test
+    public void testFailureToDrainIsSuppressed() throws Exception {
+        IOException failure = new IOException();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw failure;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw failure;
+            }
+        }, 1024);
+        writer.write("<html>");
+        IllegalStateException e = new IllegalStateException();
+
+        FaceletViewHandlingStrategy.drainResponseOutputWriter(writer, e);
+
+        assertSame(failure, e.getSuppressed()[0]);
+    }
+
+    @Test
+    public void testErrorPageIsWrittenToResponseOutputStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(out, 1024);
+        writer.write("<html>");
+        FaceletViewHandlingStrategy.drainResponseOutputWriter(writer, new IllegalStateException());
+
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put(RequestStateManager.UTF8_RESPONSE_OUTPUT_WRITER, writer);
+        FacesContext facesContext = PowerMock.createPartialMockForAllMethodsExcept(FacesContext.class, "getCurrentInstance");
+        ExternalContext externalContext = PowerMock.createMock(ExternalContext.class);
+        expect(facesContext.getExternalContext()).andReturn(externalContext).anyTimes();
+        expect(facesContext.getAttributes()).andReturn(attributes).anyTimes();
+        expect(facesContext.isProjectStage(ProjectStage.Development)).andReturn(false).anyTimes();
+        facesContext.responseComplete();
+        expect(externalContext.isResponseCommitted()).andReturn(false);
+        externalContext.setResponseContentType("text/html; charset=UTF-8");
+        expectLastCall();
+
+        PowerMock.replay(facesContext, externalContext);
+        RenderKitUtils.renderHtmlErrorPage(facesContext, new FacesException());
+        PowerMock.verify(facesContext, externalContext);
+
+        assertEquals("<html>Please see your server log for the actual error", out.toString(UTF_8));
+    }
+
+    @Test
+    public void testFlashSurvivesStreamedRender() {
+        MockServletContext servletContext = new MockServletContext();
+        MockHttpSession session = new MockHttpSession(servletContext);
+
+        // A postback putting a message in the flash and redirecting
+        FlashExternalContext postback = new FlashExternalContext(servletContext, session, Collections.emptyMap());
+        MockFacesContext facesContext = new MockFacesContext(postback);
+        facesContext.setApplication(new MockApplication());
+        try {
+            Flash flash = postback.getFlash();
+            flash.doPrePhaseActions(facesContext);
+            facesContext.setCurrentPhaseId(PhaseId.INVOKE_APPLICATION);
+            flash.put("message", "saved");
+            facesContext.getAttributes().put(ELFlash.ACT_AS_DO_LAST_PHASE_ACTIONS, true);
+            flash.doPostPhaseActions(facesContext);
+        } finally {
+            facesContext.release();
+        }
+
+        // The redirected request, rendering the message after the head
+        FlashExternalContext redirected = new FlashExternalContext(servletContext, session, postback.addedCookies);
+        facesContext = new MockFacesContext(redirected);
+        facesContext.setApplication(new MockApplication());
+        try {
+            Flash flash = redirected.getFlash();
+            flash.doPrePhaseActions(facesContext);
+            facesContext.setCurrentPhaseId(PhaseId.RENDER_RESPONSE);
+
+            // The head is not flushed, so the expired cookie can still be written at the end
+            assertTrue(FaceletViewHandlingStrategy.isFlashCookiePending(facesContext));
+            assertEquals("saved", flash.get("message"));
+
+            flash.doPostPhaseActions(facesContext);
+            assertFalse(FaceletViewHandlingStrategy.isFlashCookiePending(facesContext));
+            assertTrue(redirected.addedCookies.containsKey(postback.addedCookies.keySet().iterator().next()));
+        } finally {
+            facesContext.release();
+        }
+    }
+
+    @Test
+    public void testStreamingIsAllowedWithoutFlash() {
+        MockServletContext servletContext = new MockServletContext();
+        FlashExternalContext externalContext = new FlashExternalContext(servletContext, new MockHttpSession(servletContext), Collections.emptyMap());
+        MockFacesContext facesContext = new MockFacesContext(externalContext);
+        try {
+            externalContext.getFlash().doPrePhaseActions(facesContext);
+            facesContext.setCurrentPhaseId(PhaseId.RENDER_RESPONSE);
+
+            assertFalse(FaceletViewHandlingStrategy.isFlashCookiePending(facesContext));
+        } finally {
+            facesContext.release();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Keeps the cookies the flash writes, and provides the flash of the mock application.
+     */
+    private static final class FlashExternalContext extends MockExternalContext {
+
+        private final MockHttpSession session;
+
+        private final Map<String, Object> requestCookies = new HashMap<>();
+
+        final Map<String, String> addedCookies = new HashMap<>();
+
+        FlashExternalContext(MockServletContext servletContext, MockHttpSession session, Map<String, String> cookies) {
+            super(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse());
+            this.session = session;
+            for (Entry<String, String> cookie : cookies.entrySet()) {
+                requestCookies.put(cookie.getKey(), new Cookie(cookie.getKey(), cookie.getValue()));
+            }
+        }
+
+        @Override
+        public Object getSession(boolean create) {
+            return session;
+        }
+
+        @Override
+        public String getRequestContextPath() {
+            return "/test";
+        }
+
+        @Override
+        public Map<String, Object> getRequestCookieMap() {
+            return requestCookies;
+        }
+
+        @Override
+        public void addResponseCookie(String name, String value, Map<String, Object> properties) {
+            addedCookies.put(name, value);
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public boolean isResponseCommitted() {
+            return false;
+        }
+
+        @Override
+        public Flash getFlash() {
+            return new FlashFactoryImpl().getFlash(true);
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.application.view;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.application.ApplicationStateInfo;
+import com.sun.faces.component.visit.VisitContextFactoryImpl;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockRenderKit;
+import com.sun.faces.mock.MockResponseStateManager;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIInput;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKit;
+import jakarta.faces.render.ResponseStateManager;
+
+public class PositionalStateTest {
+
+    private static final int INPUTS = 50;
+
+    private MockFacesContext facesContext;
+
+    private Object[] rawState;
+
+    @Before
+    public void setUp() {
+        RenderKit renderKit = new MockRenderKit() {
+            @Override
+            public ResponseStateManager getResponseStateManager() {
+                return new MockResponseStateManager() {
+                    @Override
+                    public Object getState(FacesContext context, String viewId) {
+                        return rawState;
+                    }
+                };
+            }
+        };
+        facesContext = new MockFacesContext(new MockExternalContext(new MockServletContext(), new MockHttpServletRequest(), new MockHttpServletResponse())) {
+            @Override
+            public RenderKit getRenderKit() {
+                return renderKit;
+            }
+        };
+        facesContext.setApplication(new MockApplication());
+        FactoryFinder.setFactory(FactoryFinder.VISIT_CONTEXT_FACTORY, VisitContextFactoryImpl.class.getName());
+    }
+
+    @After
+    public void tearDown() {
+        FactoryFinder.releaseFactories();
+        facesContext.release();
+    }
+
+    @Test
+    public void testStateIsRestoredIntoRebuiltView() {
+        UIViewRoot saved = buildView(false);
+        UIInput input = (UIInput) saved.getChildren().get(0).getChildren().get(7);
+        input.setValue("changed");
+        input.setRequired(true);
+
+        PositionalState state = PositionalState.save(facesContext, saved, null);
+
+        UIViewRoot restored = buildView(false);
+        assertTrue(state.restore(facesContext, restored));
+        UIInput restoredInput = (UIInput) restored.getChildren().get(0).getChildren().get(7);
+        assertEquals("changed", restoredInput.getValue());
+        assertTrue(restoredInput.isRequired());
+        assertNull(((UIInput) restored.getChildren().get(0).getChildren().get(8)).getValue());
+    }
+
+    @Test
+    public void testDifferentViewIsNotRestored() {
+        UIViewRoot saved = buildView(false);
+        ((UIInput) saved.getChildren().get(0).getChildren().get(7)).setValue("changed");
+
+        PositionalState state = PositionalState.save(facesContext, saved, null);
+
+        assertFalse(state.restore(facesContext, buildView(true)));
+    }
+
+    @Test
+    public void testDifferentViewIsRestoredByClientId() {
+        UIViewRoot saved = buildView(false);
+        ((UIInput) saved.getChildren().get(0).getChildren().get(7)).setValue("changed");
+        rawState = new Object[] { null, PositionalState.save(facesContext, saved, null) };
+
+        UIViewRoot rebuilt = buildView(true);
+        facesContext.setViewRoot(rebuilt);
+        ApplicationAssociate associate = PowerMock.createMock(ApplicationAssociate.class);
+        expect(associate.getApplicationStateInfo()).andReturn(new ApplicationStateInfo());
+        PowerMock.replay(associate);
+        ApplicationAssociate.setCurrentInstance(associate);
+        try {
+            assertSame(rebuilt, new FaceletPartialStateManagementStrategy(facesContext).restoreView(facesContext, "/contact.xhtml", "HTML_BASIC"));
+        } finally {
+            ApplicationAssociate.setCurrentInstance(null);
+        }
+
+        // The header moved the input to another position, but not to another client id
+        assertEquals("changed", ((UIInput) rebuilt.getChildren().get(0).getChildren().get(8)).getValue());
+        assertNull(((UIInput) rebuilt.getChildren().get(0).getChildren().get(7)).getValue());
+    }
+
+    @Test
+    public void testStateIsSmallerThanStateKeyedByClientId() throws IOException {
+        UIViewRoot saved = buildView(false);
+        Map<String, Object> stateMap = new HashMap<>();
+        for (UIComponent child : saved.getChildren().get(0).getChildren()) {
+            ((UIOutput) child).setValue("changed");
+            stateMap.put(child.getClientId(facesContext), child.saveState(facesContext));
+        }
+
+        PositionalState state = PositionalState.save(facesContext, saved, null);
+
+        assertTrue(serializedSize(state) < serializedSize(stateMap));
+    }
+
+    private UIViewRoot buildView(boolean withHeader) {
+        UIViewRoot root = new UIViewRoot();
+        UIForm form = new UIForm();
+        form.setId("contactForm");
+        form.setRendererType(null);
+        root.getChildren().add(form);
+        if (withHeader) {
+            UIOutput header = new UIOutput();
+            header.setId("header");
+            header.setRendererType(null);
+            form.getChildren().add(header);
+        }
+        for (int i = 0; i < INPUTS; i++) {
+            UIInput input = new UIInput();
+            input.setId("input" + i);
+            input.setRendererType(null);
+            form.getChildren().add(input);
+        }
+
+        markInitialState(root);
+        return root;
+    }
+
+    private static void markInitialState(UIComponent component) {
+        component.markInitialState();
+        for (UIComponent child : component.getChildren()) {
+            markInitialState(child);
+        }
+    }
+
+    private static int serializedSize(Object state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        return bytes.size();
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.view;
+
+import static com.sun.faces.application.view.ViewScopeManager.ACTIVE_VIEW_MAPS;
+import static com.sun.faces.application.view.ViewScopeManager.ACTIVE_VIEW_MAPS_SIZE;
+import static com.sun.faces.application.view.ViewScopeManager.VIEW_MAP_ID;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.faces.component.UIViewRoot;
+
+public class ViewScopeContextManagerTest {
+
+    private static final String ACTIVE_VIEW_CONTEXTS = "com.sun.faces.application.view.activeViewContexts";
+
+    private final Map<String, Contextual<?>> beans = new HashMap<>();
+
+    private final List<Object> destroyed = new ArrayList<>();
+
+    private MockHttpSession session;
+
+    private MockFacesContext facesContext;
+
+    private Map<String, Object> activeViewMaps;
+
+    private ViewScopeContextManager manager;
+
+    @Before
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        session = new MockHttpSession(servletContext);
+        MockExternalContext externalContext = new MockExternalContext(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse()) {
+            @Override
+            public Object getSession(boolean create) {
+                return session;
+            }
+        };
+        facesContext = new MockFacesContext(externalContext);
+        facesContext.getAttributes().put(RIConstants.CDI_BEAN_MANAGER, Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { BeanManager.class }, (proxy, method, args) -> "getPassivationCapableBean".equals(method.getName()) ? beans.get(args[0]) : null));
+
+        activeViewMaps = new HashMap<>();
+        session.setAttribute(ACTIVE_VIEW_MAPS, activeViewMaps);
+        session.setAttribute(ACTIVE_VIEW_MAPS_SIZE, 1);
+        manager = new ViewScopeContextManager();
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testBeansOfEvictedViewAreDestroyed() {
+        Object first = new Object();
+        Contextual<Object> firstBean = bean("first", first);
+        setView("firstView");
+        assertSame(first, manager.createBean(facesContext, firstBean, null));
+        Map<String, Object> firstViewMap = facesContext.getViewRoot().getViewMap(false);
+
+        Contextual<Object> secondBean = bean("second", new Object());
+        setView("secondView");
+        manager.createBean(facesContext, secondBean, null);
+
+        assertEquals(1, destroyed.size());
+        assertSame(first, destroyed.get(0));
+        assertTrue(firstViewMap.isEmpty());
+    }
+
+    @Test
+    public void testContextsOfPreviousVersionAreMigrated() {
+        Object instance = new Object();
+        Contextual<Object> bean = bean("legacy", instance);
+        Map<String, Object> contextMaps = new HashMap<>();
+        contextMaps.put("legacyView", new HashMap<>(singletonMap("legacy", new ViewScopeContextObject("legacy", "object"))));
+        session.setAttribute(ACTIVE_VIEW_CONTEXTS, contextMaps);
+
+        setView("legacyView");
+        facesContext.getViewRoot().getViewMap(false).put("object", instance);
+
+        assertSame(instance, manager.getBean(facesContext, bean));
+        assertFalse(session.getAttribute(ACTIVE_VIEW_CONTEXTS) instanceof HashMap);
+
+        manager.clear(facesContext);
+        assertSame(instance, destroyed.get(0));
+        assertNull(facesContext.getViewRoot().getViewMap(false).get("object"));
+    }
+
+    private void setView(String viewMapId) {
+        UIViewRoot viewRoot = new UIViewRoot();
+        Map<String, Object> viewMap = new HashMap<>();
+        viewRoot.getTransientStateHelper().putTransient(VIEW_MAP_ID, viewMapId);
+        viewRoot.getTransientStateHelper().putTransient("com.sun.faces.application.view.viewMap", viewMap);
+        activeViewMaps.put(viewMapId, viewMap);
+        facesContext.setViewRoot(viewRoot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Contextual<Object> bean(String id, Object instance) {
+        Contextual<Object> bean = (Contextual<Object>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bean.class, PassivationCapable.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getId":
+                        return id;
+                    case "create":
+                        return instance;
+                    case "destroy":
+                        destroyed.add(args[0]);
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                    }
+                });
+        beans.put(id, bean);
+        return bean;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ViewScopeContextStoreTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedView() {
+        ViewScopeContextStore store = new ViewScopeContextStore(2);
+        List<ViewScopeContextObjects> evicted = new ArrayList<>();
+        ViewScopeContextObjects first = store.getOrCreate("first", evicted::add);
+        ViewScopeContextObjects second = store.getOrCreate("second", evicted::add);
+
+        assertSame(first, store.get("first"));
+        assertTrue(evicted.isEmpty());
+        store.getOrCreate("third", evicted::add);
+
+        assertEquals(Collections.singletonList(second), evicted);
+
+        assertSame(first, store.get("first"));
+        assertNull(store.get("second"));
+        assertNotNull(store.get("third"));
+
+        assertSame(first, store.remove("first"));
+        assertNull(store.get("first"));
+    }
+
+    @Test
+    public void testContextObjectsAreSlottedAgainAfterDeserialization() throws Exception {
+        int slot = ViewScopeContextObjects.getSlot("bean");
+        assertEquals(slot, ViewScopeContextObjects.getSlot("bean"));
+
+        ViewScopeContextStore store = new ViewScopeContextStore(2);
+        store.getOrCreate("view", evicted -> fail()).put(slot, new ViewScopeContextObject("bean", "myBean"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(store);
+        }
+
+        ViewScopeContextStore restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (ViewScopeContextStore) in.readObject();
+        }
+
+        ViewScopeContextObjects contextObjects = restored.get("view");
+        assertEquals("view", contextObjects.getViewMapId());
+        assertEquals("myBean", contextObjects.get(slot).getName());
+        assertNull(contextObjects.get(slot + 1));
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.component;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIViewRoot;
+
+public class DirtyComponentTrackerTest {
+
+    private MockFacesContext facesContext;
+
+    private UIViewRoot root;
+
+    private UIOutput clean;
+
+    private UIOutput modified;
+
+    @Before
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.enableDirtyStateTracking", "true");
+        facesContext = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        facesContext.setApplication(new MockApplication());
+
+        root = new UIViewRoot();
+        DirtyComponentTracker.startTracking(facesContext, root);
+        clean = new UIOutput();
+        modified = new UIOutput();
+        root.getChildren().add(clean);
+        root.getChildren().add(modified);
+        clean.setValue("initial");
+        modified.setValue("initial");
+        root.markInitialState();
+        clean.markInitialState();
+        modified.markInitialState();
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testOnlyModifiedComponentsAreTracked() {
+        modified.setValue("changed");
+
+        assertEquals(asList(root, modified), DirtyComponentTracker.getComponents(facesContext, root));
+    }
+
+    @Test
+    public void testRemovedAndTransientComponentsAreSkipped() {
+        modified.setValue("changed");
+        clean.setValue("changed");
+        root.getChildren().remove(modified);
+        clean.setTransient(true);
+
+        assertEquals(asList(root), DirtyComponentTracker.getComponents(facesContext, root));
+    }
+
+    @Test
+    public void testViewsWithDynamicComponentsAreVisited() {
+        root.getAttributes().put(RIConstants.TREE_HAS_DYNAMIC_COMPONENTS, true);
+
+        assertNull(DirtyComponentTracker.getComponents(facesContext, root));
+    }
+
+    @Test
+    public void testUntrackedViewsAreVisited() {
+        assertNull(DirtyComponentTracker.getComponents(facesContext, new UIViewRoot()));
+    }
+
+}
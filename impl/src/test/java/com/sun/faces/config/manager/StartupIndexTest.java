@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.config.manager;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.InputSource;
+
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.config.manager.documents.DocumentOrderingWrapper;
+import com.sun.faces.config.manager.tasks.ParseConfigResourceToDOMTask;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.spi.ConfigurationResourceProvider;
+
+import jakarta.servlet.ServletContext;
+
+public class StartupIndexTest {
+
+    private static final String INDEX_FILE_NAME = "mojarra-startup-index.properties";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private MockServletContext servletContext;
+
+    private CountingProvider provider;
+
+    @Before
+    public void setUp() {
+        servletContext = new MockServletContext();
+        servletContext.setAttribute("jakarta.servlet.context.tempdir", tempDir.getRoot());
+        provider = new CountingProvider();
+    }
+
+    @Test
+    public void testScannedResourcesAreReusedAfterRestart() {
+        StartupIndex index = StartupIndex.load(servletContext);
+        assertNotNull(index);
+        assertEquals(provider.resources, index.indexed(provider).getResources(servletContext));
+        index.store();
+
+        index = StartupIndex.load(servletContext);
+        assertEquals(provider.resources, index.indexed(provider).getResources(servletContext));
+        assertEquals(1, provider.scans);
+    }
+
+    @Test
+    public void testResourcesOfAnotherJarSetAreRescanned() throws Exception {
+        StartupIndex index = StartupIndex.load(servletContext);
+        index.indexed(provider).getResources(servletContext);
+        index.store();
+
+        File indexFile = new File(tempDir.getRoot(), INDEX_FILE_NAME);
+        String content = new String(Files.readAllBytes(indexFile.toPath()), ISO_8859_1);
+        Files.write(indexFile.toPath(), content.replaceAll("jarSetHash=\\w+", "jarSetHash=0").getBytes(ISO_8859_1));
+
+        StartupIndex.load(servletContext).indexed(provider).getResources(servletContext);
+        assertEquals(2, provider.scans);
+    }
+
+    @Test
+    public void testCorruptIndexIsIgnored() throws Exception {
+        StartupIndex index = StartupIndex.load(servletContext);
+        index.indexed(provider).getResources(servletContext);
+        DocumentOrderingWrapper[] documents = documents("a", "b");
+        index.putDocumentOrder(documents, null, documents);
+        index.store();
+
+        File indexFile = new File(tempDir.getRoot(), INDEX_FILE_NAME);
+        String content = new String(Files.readAllBytes(indexFile.toPath()), ISO_8859_1);
+        Files.write(indexFile.toPath(), content.replaceAll("order=.*", "order=0 x").replaceAll("(resources\\.[^=]+)=.*", "$1=::").getBytes(ISO_8859_1));
+
+        index = StartupIndex.load(servletContext);
+        assertNull(index.getDocumentOrder(documents, null));
+        index.indexed(provider).getResources(servletContext);
+        assertEquals(2, provider.scans);
+    }
+
+    @Test
+    public void testDocumentOrderIsReusedAfterRestart() throws Exception {
+        DocumentOrderingWrapper[] documents = documents("a", "b", "c");
+        DocumentOrderingWrapper[] sorted = { documents[2], documents[0], documents[1] };
+        StartupIndex index = StartupIndex.load(servletContext);
+        index.putDocumentOrder(documents, asList("c", "others"), sorted);
+        index.store();
+
+        DocumentOrderingWrapper[] reparsed = documents("a", "b", "c");
+        index = StartupIndex.load(servletContext);
+        assertArrayEquals(new DocumentOrderingWrapper[] { reparsed[2], reparsed[0], reparsed[1] }, index.getDocumentOrder(reparsed, asList("c", "others")));
+        assertNull(index.getDocumentOrder(reparsed, asList("others", "c")));
+        assertNull(index.getDocumentOrder(documents("a", "b", "d"), asList("c", "others")));
+    }
+
+    @Test
+    public void testSortDocumentsUsesRecordedOrder() throws Exception {
+        DocumentInfo[] facesDocuments = { document("impl", ""), document("a", ""), document("b", "") };
+        FacesConfigInfo webInfFacesConfig = new FacesConfigInfo(document("c", ""));
+
+        StartupIndex index = StartupIndex.load(servletContext);
+        DocumentOrderingWrapper[] ordering = { new DocumentOrderingWrapper(facesDocuments[1]), new DocumentOrderingWrapper(facesDocuments[2]) };
+        index.putDocumentOrder(ordering, null, new DocumentOrderingWrapper[] { ordering[1], ordering[0] });
+
+        DocumentInfo[] sorted = Documents.sortDocuments(facesDocuments.clone(), webInfFacesConfig, index);
+        assertEquals(asList(facesDocuments[0], facesDocuments[2], facesDocuments[1]), asList(sorted));
+    }
+
+    @Test
+    public void testAbsoluteOrderingMayExcludeDocuments() throws Exception {
+        DocumentInfo webInf = document("web", "<absolute-ordering><name>b</name></absolute-ordering>");
+        webInf.getDocument().getDocumentElement().setAttribute(ParseConfigResourceToDOMTask.WEB_INF_MARKER, "true");
+        DocumentInfo[] facesDocuments = { document("impl", ""), document("a", ""), document("b", ""), document("c", ""), webInf };
+
+        DocumentInfo[] sorted = Documents.sortDocuments(facesDocuments, new FacesConfigInfo(webInf));
+
+        assertEquals(asList(facesDocuments[0], facesDocuments[2], webInf), asList(sorted));
+    }
+
+    private static DocumentOrderingWrapper[] documents(String... names) throws Exception {
+        DocumentOrderingWrapper[] documents = new DocumentOrderingWrapper[names.length];
+        for (int i = 0; i < names.length; i++) {
+            documents[i] = new DocumentOrderingWrapper(document(names[i], ""));
+        }
+
+        return documents;
+    }
+
+    private static DocumentInfo document(String name, String content) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        String xml = "<faces-config xmlns='https://jakarta.ee/xml/ns/jakartaee' version='4.0'><name>" + name + "</name>" + content + "</faces-config>";
+
+        return new DocumentInfo(factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml))),
+                URI.create("jar:file:/lib/" + name + ".jar!/META-INF/faces-config.xml"));
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Counts how often the classpath is scanned.
+     */
+    private static final class CountingProvider implements ConfigurationResourceProvider {
+
+        final List<URI> resources = Collections.singletonList(URI.create("jar:file:/lib/a.jar!/META-INF/faces-config.xml"));
+
+        int scans;
+
+        @Override
+        public Collection<URI> getResources(ServletContext context) {
+            scans++;
+            return resources;
+        }
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.context;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+
+public class AsyncWritingResponseTest {
+
+    private final AsyncRequest request = new AsyncRequest();
+
+    private final SlowClientResponse response = new SlowClientResponse();
+
+    @Test
+    public void testRenderedOutputIsWrittenWhenClientIsReady() throws Exception {
+        AsyncWritingResponse asyncResponse = AsyncWritingResponse.wrap(request, response);
+        asyncResponse.setCharacterEncoding("UTF-8");
+        StringBuilder page = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            page.append("<p>élément ").append(i).append("</p>");
+        }
+        asyncResponse.getWriter().write(page.toString());
+        asyncResponse.flushBuffer();
+
+        asyncResponse.writeAsync();
+
+        assertTrue(request.asyncStarted);
+        assertEquals(page.toString().getBytes(UTF_8).length, response.contentLength);
+        drain();
+        assertEquals(page.toString(), new String(response.out.client.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testBodyStreamIsWrittenAfterOutput() throws Exception {
+        AsyncWritingResponse asyncResponse = AsyncWritingResponse.wrap(request, response);
+        byte[] resource = new byte[100000];
+        for (int i = 0; i < resource.length; i++) {
+            resource[i] = (byte) i;
+        }
+        ClosingInputStream body = new ClosingInputStream(resource);
+        asyncResponse.setBody(body);
+
+        asyncResponse.writeAsync();
+
+        assertEquals(-1, response.contentLength);
+        drain();
+        assertTrue(body.closed);
+        assertEquals(resource.length, response.out.client.size());
+    }
+
+    @Test
+    public void testOutputOutgrowingResponseBufferIsWrittenAsync() throws Exception {
+        response.bufferSize = 8192;
+        AsyncWritingResponse asyncResponse = AsyncWritingResponse.wrap(request, response);
+        byte[] page = new byte[100000];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = (byte) i;
+        }
+        for (int i = 0; i < page.length; i += 1000) {
+            asyncResponse.getOutputStream().write(page, i, 1000);
+        }
+        asyncResponse.flushBuffer();
+        assertEquals(0, response.out.client.size());
+
+        asyncResponse.writeAsync();
+
+        assertTrue(request.asyncStarted);
+        drain();
+        assertArrayEquals(page, response.out.client.toByteArray());
+    }
+
+    @Test
+    public void testOutputOutgrowingBufferLimitIsWrittenBlocking() throws Exception {
+        response.bufferSize = 8192;
+        response.out.blocking = true;
+        AsyncWritingResponse asyncResponse = AsyncWritingResponse.wrap(request, response, 16384);
+        byte[] page = new byte[50000];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = (byte) i;
+        }
+        for (int i = 0; i < page.length; i += 1000) {
+            asyncResponse.getOutputStream().write(page, i, 1000);
+        }
+        assertEquals(page.length, response.out.client.size());
+
+        asyncResponse.writeAsync();
+
+        assertFalse(request.asyncStarted);
+        assertArrayEquals(page, response.out.client.toByteArray());
+    }
+
+    @Test
+    public void testBufferLimitIsConfigurable() {
+        assertEquals(256 * 1024, getBufferLimit(new MockServletContext()));
+
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter("jakarta.faces.FACELETS_BUFFER_SIZE", "4096");
+        assertEquals(256 * 4096, getBufferLimit(servletContext));
+
+        servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.asyncResponseWritingBufferSize", "65536");
+        assertEquals(65536, getBufferLimit(servletContext));
+    }
+
+    @Test
+    public void testDiscardedBodyIsClosed() {
+        AsyncWritingResponse asyncResponse = AsyncWritingResponse.wrap(request, response);
+        ClosingInputStream body = new ClosingInputStream(new byte[10]);
+        asyncResponse.setBody(body);
+
+        asyncResponse.discardBody();
+
+        assertTrue(body.closed);
+    }
+
+    @Test
+    public void testNothingIsWrittenWithoutBody() throws Exception {
+        AsyncWritingResponse.wrap(request, response).writeAsync();
+
+        assertFalse(request.asyncStarted);
+    }
+
+    @Test
+    public void testNotWrappedWhenAsyncIsNotSupported() {
+        request.asyncSupported = false;
+
+        assertNull(AsyncWritingResponse.wrap(request, response));
+        request.asyncSupported = true;
+        assertNotNull(AsyncWritingResponse.wrap(request, response));
+    }
+
+    private static int getBufferLimit(MockServletContext servletContext) {
+        MockFacesContext facesContext = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        try {
+            return AsyncWritingResponse.getBufferLimit(servletContext);
+        } finally {
+            facesContext.release();
+        }
+    }
+
+    /**
+     * Let the client read whatever was written, until the response is complete.
+     */
+    private void drain() throws Exception {
+        int rounds = 0;
+        while (!request.completed) {
+            assertTrue("The response was not completed", rounds++ < 1000);
+            response.out.ready = true;
+            response.out.listener.onWritePossible();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class AsyncRequest extends MockHttpServletRequest {
+
+        boolean asyncSupported = true;
+
+        boolean asyncStarted;
+
+        boolean completed;
+
+        @Override
+        public boolean isAsyncSupported() {
+            return asyncSupported;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return asyncStarted;
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+            asyncStarted = true;
+            return (AsyncContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AsyncContext.class }, (proxy, method, args) -> {
+                if ("complete".equals(method.getName())) {
+                    completed = true;
+                }
+                return null;
+            });
+        }
+
+    }
+
+    private static final class SlowClientResponse extends MockHttpServletResponse {
+
+        final SlowClientOutputStream out = new SlowClientOutputStream();
+
+        int contentLength = -1;
+
+        int bufferSize = 1 << 20;
+
+        @Override
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return false;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            contentLength = length;
+        }
+
+    }
+
+    /**
+     * Accepts one write at a time, like a client which reads slower than the response is written.
+     */
+    private static final class SlowClientOutputStream extends ServletOutputStream {
+
+        final ByteArrayOutputStream client = new ByteArrayOutputStream();
+
+        WriteListener listener;
+
+        boolean ready;
+
+        boolean blocking;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            assertTrue("Written while not ready", ready || blocking);
+            client.write(b, off, len);
+            ready = false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+
+    }
+
+    private static final class ClosingInputStream extends ByteArrayInputStream {
+
+        boolean closed;
+
+        ClosingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockLifecycle;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.context.FacesContext;
+
+public class ContextPoolTest {
+
+    private final MockServletContext servletContext = new MockServletContext();
+
+    @Before
+    public void setUp() {
+        FactoryFinder.setFactory(FactoryFinder.RENDER_KIT_FACTORY, "com.sun.faces.mock.MockRenderKitFactory");
+    }
+
+    @After
+    public void tearDown() {
+        FactoryFinder.releaseFactories();
+    }
+
+    @Test
+    public void testReleasedContextsAreReused() {
+        ContextPool<FacesContextImpl> facesContextPool = new ContextPool<>(true, false);
+        ContextPool<ExternalContextImpl> externalContextPool = new ContextPool<>(true, false);
+
+        MockHttpServletRequest firstRequest = new MockHttpServletRequest();
+        ExternalContextImpl externalContext = new ExternalContextImpl(servletContext, firstRequest, new MockHttpServletResponse(), externalContextPool);
+        FacesContextImpl facesContext = new FacesContextImpl(externalContext, new MockLifecycle(), facesContextPool);
+        facesContext.getAttributes().put("first", Boolean.TRUE);
+        facesContext.getExternalContext().getRequestMap().put("first", Boolean.TRUE);
+        facesContext.release();
+
+        assertNull(FacesContext.getCurrentInstance());
+        assertSame(externalContext, externalContextPool.poll());
+        assertSame(facesContext, facesContextPool.poll());
+        assertNull(facesContextPool.poll());
+
+        MockHttpServletRequest secondRequest = new MockHttpServletRequest();
+        externalContext.reuse(servletContext, secondRequest, new MockHttpServletResponse());
+        facesContext.reuse(externalContext, new MockLifecycle());
+
+        assertSame(facesContext, FacesContext.getCurrentInstance());
+        assertTrue(facesContext.getAttributes().isEmpty());
+        assertSame(secondRequest, facesContext.getExternalContext().getRequest());
+        assertNull(facesContext.getExternalContext().getRequestMap().get("first"));
+        assertEquals(Boolean.TRUE, firstRequest.getAttribute("first"));
+        facesContext.release();
+    }
+
+    @Test
+    public void testReleasedContextsAreNotReusedInDebugMode() {
+        ContextPool<FacesContextImpl> facesContextPool = new ContextPool<>(true, true);
+        ContextPool<ExternalContextImpl> externalContextPool = new ContextPool<>(true, true);
+
+        ExternalContextImpl externalContext = new ExternalContextImpl(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse(),
+                externalContextPool);
+        FacesContextImpl facesContext = new FacesContextImpl(externalContext, new MockLifecycle(), facesContextPool);
+        facesContext.release();
+
+        assertNull(externalContextPool.poll());
+        assertNull(facesContextPool.poll());
+
+        try {
+            facesContext.getAttributes();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("The FacesContext was released here", e.getCause().getMessage());
+        }
+
+        try {
+            externalContext.getRequestMap();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("The ExternalContext was released here", e.getCause().getMessage());
+        }
+
+        try {
+            facesContext.release();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("The FacesContext was released here", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testSecondReleaseLeavesPooledContextsIntact() {
+        ContextPool<FacesContextImpl> facesContextPool = new ContextPool<>(true, false);
+        ContextPool<ExternalContextImpl> externalContextPool = new ContextPool<>(true, false);
+
+        ExternalContextImpl externalContext = new ExternalContextImpl(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse(),
+                externalContextPool);
+        FacesContextImpl facesContext = new FacesContextImpl(externalContext, new MockLifecycle(), facesContextPool);
+        Map<Object, Object> attributes = facesContext.getAttributes();
+        Map<String, Object> applicationMap = externalContext.getApplicationMap();
+        facesContext.release();
+        facesContext.release();
+        externalContext.release();
+
+        assertSame(externalContext, externalContextPool.poll());
+        assertSame(facesContext, facesContextPool.poll());
+
+        externalContext.reuse(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse());
+        facesContext.reuse(externalContext, new MockLifecycle());
+        assertSame(attributes, facesContext.getAttributes());
+        assertSame(applicationMap, externalContext.getApplicationMap());
+        facesContext.release();
+    }
+
+    @Test
+    public void testClosedPoolDropsContextsOfAllThreads() throws Exception {
+        ContextPool<Object> pool = new ContextPool<>(true, false);
+        CountDownLatch offered = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicReference<Object> polled = new AtomicReference<>(this);
+        Thread thread = new Thread(() -> {
+            pool.offer(new Object());
+            offered.countDown();
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            polled.set(pool.poll());
+        });
+        thread.start();
+        offered.await();
+        pool.offer(new Object());
+
+        pool.close();
+        closed.countDown();
+        thread.join();
+        assertNull(polled.get());
+        assertNull(pool.poll());
+
+        pool.offer(new Object());
+        assertNull(pool.poll());
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.context;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+public class UrlBuilderTest {
+
+    private static final String[] VALUES = { "", "plain-value_1.*", "a b+c", "a&b=c?d#e/f%g", "élément", "日本語 テキスト",
+            "emoji 😀!", "lone \uD800 surrogate", "\uDC00", "mixed é&ü=ß", "~'()!" };
+
+    @Test
+    public void testEncodeAsUrlEncoder() {
+        for (Charset charset : new Charset[] { UTF_8, ISO_8859_1, US_ASCII, UTF_16, Charset.forName("windows-1252") }) {
+            for (String value : VALUES) {
+                assertEquals(charset + " " + value, URLEncoder.encode(value, charset), UrlBuilder.encode(value, charset));
+            }
+        }
+    }
+
+    @Test
+    public void testValueWithoutCharactersToEncodeIsReturned() {
+        String value = "plain-value_1.*";
+
+        assertSame(value, UrlBuilder.encode(value, UTF_8));
+    }
+
+}
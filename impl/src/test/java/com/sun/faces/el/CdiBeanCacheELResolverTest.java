@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockFacesContext;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.VariableMapper;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.faces.context.FacesContext;
+
+public class CdiBeanCacheELResolverTest {
+
+    private final Map<String, Integer> calls = new HashMap<>();
+
+    private final Map<String, Bean<?>> namedBeans = new HashMap<>();
+
+    private final Object reference = new Object();
+
+    private MockFacesContext facesContext;
+
+    private CdiBeanCacheELResolver resolver;
+
+    @Before
+    public void setUp() {
+        namedBeans.put("requestScope", bean("requestScope", RequestScoped.class));
+        namedBeans.put("dependent", bean("dependent", Dependent.class));
+        namedBeans.put("com.acme.bean", bean("com.acme.bean", RequestScoped.class));
+
+        BeanManager beanManager = (BeanManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BeanManager.class },
+                (proxy, method, args) -> {
+                    calls.merge(method.getName(), 1, Integer::sum);
+                    switch (method.getName()) {
+                    case "getBeans":
+                        if (args[0] instanceof String) {
+                            Bean<?> bean = namedBeans.get(args[0]);
+                            return bean != null ? Collections.singleton(bean) : Collections.emptySet();
+                        }
+                        return Set.copyOf(namedBeans.values());
+                    case "resolve":
+                        return ((Set<?>) args[0]).iterator().next();
+                    case "isNormalScope":
+                        return args[0] == RequestScoped.class;
+                    case "getReference":
+                        return reference;
+                    default:
+                        return null;
+                    }
+                });
+
+        ELResolver wrapped = new ELResolver() {
+            @Override
+            public Object getValue(ELContext context, Object base, Object property) {
+                calls.merge("wrapped", 1, Integer::sum);
+                context.setPropertyResolved(true);
+                return property;
+            }
+
+            @Override
+            public Class<?> getType(ELContext context, Object base, Object property) {
+                return null;
+            }
+
+            @Override
+            public void setValue(ELContext context, Object base, Object property, Object value) {
+            }
+
+            @Override
+            public boolean isReadOnly(ELContext context, Object base, Object property) {
+                return true;
+            }
+
+            @Override
+            public Class<?> getCommonPropertyType(ELContext context, Object base) {
+                return null;
+            }
+        };
+
+        facesContext = new MockFacesContext();
+        resolver = new CdiBeanCacheELResolver(beanManager, wrapped);
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testNormalScopedBeanIsLookedUpOncePerRequest() {
+        assertSame(reference, resolver.getValue(newELContext(), null, "requestScope"));
+        ELContext context = newELContext();
+        assertSame(reference, resolver.getValue(context, null, "requestScope"));
+        assertTrue(context.isPropertyResolved());
+
+        assertEquals(1, (int) calls.get("getBeans"));
+        assertEquals(1, (int) calls.get("getReference"));
+        assertNull(calls.get("wrapped"));
+    }
+
+    @Test
+    public void testDependentBeanAndNamespaceAreDelegated() {
+        assertEquals("dependent", resolver.getValue(newELContext(), null, "dependent"));
+        assertEquals("com", resolver.getValue(newELContext(), null, "com"));
+        assertEquals("com.acme", resolver.getValue(newELContext(), null, "com.acme"));
+
+        assertEquals(3, (int) calls.get("wrapped"));
+        assertNull(calls.get("getReference"));
+    }
+
+    @Test
+    public void testUnknownNameIsNotResolved() {
+        ELContext context = newELContext();
+        assertNull(resolver.getValue(context, null, "item"));
+        assertNull(resolver.getValue(context, null, "item"));
+
+        assertFalse(context.isPropertyResolved());
+        assertEquals(2, (int) calls.get("getBeans"));
+        assertNull(calls.get("wrapped"));
+    }
+
+    private ELContext newELContext() {
+        ELContext context = new ELContext() {
+            @Override
+            public ELResolver getELResolver() {
+                return resolver;
+            }
+
+            @Override
+            public FunctionMapper getFunctionMapper() {
+                return null;
+            }
+
+            @Override
+            public VariableMapper getVariableMapper() {
+                return null;
+            }
+        };
+        context.putContext(FacesContext.class, facesContext);
+        return context;
+    }
+
+    private static Bean<?> bean(String name, Class<?> scope) {
+        return (Bean<?>) Proxy.newProxyInstance(CdiBeanCacheELResolverTest.class.getClassLoader(), new Class<?>[] { Bean.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getName":
+                        return name;
+                    case "getScope":
+                        return scope;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                    }
+                });
+    }
+
+}
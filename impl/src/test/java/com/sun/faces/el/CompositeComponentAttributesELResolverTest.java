@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Map;
 import jakarta.el.ELContext;
 import jakarta.el.MapELResolver;
+import jakarta.el.ValueExpression;
 
 import org.easymock.EasyMock;
 import org.junit.Test;
@@ -89,4 +90,35 @@ public class CompositeComponentAttributesELResolverTest {
         
         verify(elContext1, facesContext1, elContext2, facesContext2);
     }
+
+    @Test
+    public void testDeclaredDefaultValue() throws Exception {
+        ELContext elContext = EasyMock.createNiceMock(ELContext.class);
+        FacesContext facesContext = EasyMock.createNiceMock(FacesContext.class);
+        ValueExpression defaultValue = EasyMock.createNiceMock(ValueExpression.class);
+
+        UIPanel composite = new UIPanel();
+        CompositeComponentBeanInfo compositeBeanInfo = new CompositeComponentBeanInfo();
+        compositeBeanInfo.setBeanDescriptor(new BeanDescriptor(composite.getClass()));
+        PropertyDescriptor foo = new PropertyDescriptor("foo", null, null);
+        foo.setValue("default", defaultValue);
+        compositeBeanInfo.getPropertyDescriptorsList().add(foo);
+        composite.getAttributes().put(Resource.COMPONENT_RESOURCE_KEY, "dummy");
+        composite.getAttributes().put(UIComponent.BEANINFO_KEY, compositeBeanInfo);
+
+        expect(elContext.getContext(FacesContext.class)).andReturn(facesContext);
+        expect(facesContext.getAttributes()).andReturn(new HashMap<Object, Object>());
+        expect(facesContext.getELContext()).andReturn(elContext).anyTimes();
+        expect(defaultValue.getValue(elContext)).andReturn("bar");
+        replay(elContext, facesContext, defaultValue);
+
+        Map<String, Object> evalMap = (Map<String, Object>) new CompositeComponentAttributesELResolver().getValue(elContext, composite, "attrs");
+        assertEquals("bar", evalMap.get("foo"));
+        assertTrue(evalMap.containsKey("foo"));
+        assertFalse(evalMap.containsKey("baz"));
+        assertNull(evalMap.get("baz"));
+        assertSame(compositeBeanInfo.getAttributeIndex(), compositeBeanInfo.getAttributeIndex());
+
+        verify(defaultValue);
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.el;
+
+import static com.sun.faces.el.FacesCompositeELResolver.ELResolverChainType.Faces;
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.VariableMapper;
+
+public class DemuxCompositeELResolverTest {
+
+    private final DemuxCompositeELResolver composite = new DemuxCompositeELResolver(Faces);
+
+    private final NameResolver first = new NameResolver("bean");
+
+    private final NameResolver second = new NameResolver("item");
+
+    private final ELContext context = new ELContext() {
+        @Override
+        public ELResolver getELResolver() {
+            return composite;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return null;
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return null;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        composite.add(first);
+        composite.add(second);
+    }
+
+    @Test
+    public void testResolverAfterPredictableResolversIsMemoized() {
+        composite.setPredictable(first);
+        composite.setMemoizationEnabled(true);
+
+        assertEquals("item", composite.getValue(context, null, "item"));
+        assertEquals("item", composite.getValue(context, null, "item"));
+        assertEquals("bean", composite.getValue(context, null, "bean"));
+
+        assertEquals(2, first.calls);
+        assertEquals(2, second.calls);
+    }
+
+    @Test
+    public void testResolverAfterUnpredictableResolverIsNotMemoized() {
+        composite.setMemoizationEnabled(true);
+
+        composite.getValue(context, null, "item");
+        composite.getValue(context, null, "item");
+
+        assertEquals(2, first.calls);
+        assertEquals(2, second.calls);
+    }
+
+    @Test
+    public void testChainIsTriedWhenMemoizedResolverDeclines() {
+        composite.setPredictable(first);
+        composite.setMemoizationEnabled(true);
+        composite.getValue(context, null, "item");
+
+        second.names.remove("item");
+        first.names.put("item", "first");
+
+        assertEquals("first", composite.getValue(context, null, "item"));
+        assertEquals(true, context.isPropertyResolved());
+    }
+
+    @Test
+    public void testMemoIsClearedWhenResolverChanged() {
+        composite.setPredictable(first);
+        composite.setMemoizationEnabled(true);
+        composite.getValue(context, null, "item");
+
+        composite.elResolverChanged(first);
+        composite.getValue(context, null, "item");
+        composite.getValue(context, null, "item");
+
+        assertEquals(3, first.calls);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Resolves the given root identifiers.
+     */
+    private static final class NameResolver extends ELResolver {
+
+        final Map<String, Object> names = new HashMap<>();
+
+        int calls;
+
+        NameResolver(String name) {
+            names.put(name, name);
+        }
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            calls++;
+            if (base == null && names.containsKey(property)) {
+                context.setPropertyResolved(true);
+                return names.get(property);
+            }
+
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return true;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return null;
+        }
+
+    }
+
+}
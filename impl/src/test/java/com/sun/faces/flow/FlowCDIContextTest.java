@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.flow;
+
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.flow.FlowHandlerImpl.FlowDeque;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.util.SessionLocks;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.flow.Flow;
+import jakarta.faces.flow.FlowHandler;
+import jakarta.faces.lifecycle.ClientWindow;
+
+public class FlowCDIContextTest {
+
+    private final Map<String, Contextual<?>> beans = new HashMap<>();
+
+    private final List<Object> destroyed = new ArrayList<>();
+
+    private final List<Flow> destroyedFlows = new ArrayList<>();
+
+    private boolean destroyedUnderSessionLock;
+
+    private MockServletContext servletContext;
+
+    private MockFacesContext facesContext;
+
+    private String clientWindowId = "w1";
+
+    @Before
+    public void setUp() {
+        servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.enableFlowScopeRequestCache", "true");
+        facesContext = new MockFacesContext(externalContext(new MockHttpSession(servletContext)));
+        FlowHandler flowHandler = new FlowHandlerImpl() {
+            @Override
+            public Flow getCurrentFlow(FacesContext context) {
+                return getFlowStack(context).peekFirst();
+            }
+        };
+        facesContext.setApplication(new MockApplication() {
+            @Override
+            public FlowHandler getFlowHandler() {
+                return flowHandler;
+            }
+        });
+
+        FlowCDIEventFireHelper eventFireHelper = new FlowCDIEventFireHelperImpl() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void fireInitializedEvent(Flow currentFlow) {
+            }
+
+            @Override
+            public void fireDestroyedEvent(Flow currentFlow) {
+                destroyedFlows.add(currentFlow);
+            }
+        };
+        Bean<?> eventFireHelperBean = (Bean<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bean.class }, (proxy, method, args) -> null);
+        facesContext.getAttributes().put(RIConstants.CDI_BEAN_MANAGER,
+                Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BeanManager.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getPassivationCapableBean":
+                        return beans.get(args[0]);
+                    case "getBeans":
+                        return emptySet();
+                    case "resolve":
+                        return eventFireHelperBean;
+                    case "getReference":
+                        return eventFireHelper;
+                    default:
+                        return null;
+                    }
+                }));
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testFlowStackIsLookedUpOncePerRequest() {
+        FlowDeque<Flow> flowStack = FlowHandlerImpl.getFlowStack(facesContext);
+        Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
+        assertSame(flowStack, sessionMap.remove("w1_flowStack"));
+        assertSame(flowStack, FlowHandlerImpl.getFlowStack(facesContext));
+
+        // Another client window has another flow stack
+        clientWindowId = "w2";
+        FlowDeque<Flow> otherFlowStack = FlowHandlerImpl.getFlowStack(facesContext);
+        assertNotSame(flowStack, otherFlowStack);
+        assertSame(otherFlowStack, sessionMap.get("w2_flowStack"));
+
+        // As has the same client window in another session
+        facesContext.setExternalContext(externalContext(new MockHttpSession(servletContext)));
+        assertNotSame(otherFlowStack, FlowHandlerImpl.getFlowStack(facesContext));
+    }
+
+    @Test
+    public void testFlowScopeIsResolvedAgainWhenCurrentFlowChanges() {
+        Flow flow = flow("a");
+        enter(flow);
+        Map<Object, Object> flowScope = FlowCDIContext.getCurrentFlowScopeAndUpdateSession();
+
+        // A map replaced in the session shows whether the maps were resolved again
+        facesContext.getExternalContext().getSessionMap().put("w1_a:1_beans", new ConcurrentHashMap<>());
+        assertSame(flowScope, FlowCDIContext.getCurrentFlowScopeAndUpdateSession());
+
+        enter(flow);
+        Map<Object, Object> nestedFlowScope = FlowCDIContext.getCurrentFlowScopeAndUpdateSession();
+        assertNotSame(flowScope, nestedFlowScope);
+
+        enter(flow("b"));
+        Map<Object, Object> otherFlowScope = FlowCDIContext.getCurrentFlowScopeAndUpdateSession();
+        assertNotSame(nestedFlowScope, otherFlowScope);
+
+        facesContext.setExternalContext(externalContext(new MockHttpSession(servletContext)));
+        enter(flow);
+        assertNotSame(otherFlowScope, FlowCDIContext.getCurrentFlowScopeAndUpdateSession());
+    }
+
+    @Test
+    public void testBeansOfEvictedClientWindowAreDestroyed() {
+        servletContext.addInitParameter("com.sun.faces.numberOfFlowClientWindows", "1");
+        FlowCDIContext context = new FlowCDIContext(Collections.emptyMap());
+
+        Flow first = flow("a");
+        enter(first);
+        FlowCDIContext.flowEntered();
+        Object firstInstance = new Object();
+        context.get(bean("first", firstInstance), creationalContext());
+
+        clientWindowId = "w2";
+        Flow second = flow("a");
+        enter(second);
+        FlowCDIContext.flowEntered();
+        context.get(bean("second", new Object()), creationalContext());
+
+        assertEquals(Arrays.asList(firstInstance), destroyed);
+        assertFalse(destroyedUnderSessionLock);
+        assertEquals(Arrays.asList(first), destroyedFlows);
+
+        Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
+        assertFalse(sessionMap.containsKey("w1_flowStack"));
+        assertFalse(sessionMap.containsKey("w1_a:1_beans"));
+        assertFalse(sessionMap.containsKey("w1_a:1_creational"));
+        assertTrue(sessionMap.containsKey("w2_flowStack"));
+        assertTrue(sessionMap.containsKey("w2_a:1_beans"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClientWindowIsEvictedWithoutRequestCache() {
+        servletContext.addInitParameter("com.sun.faces.enableFlowScopeRequestCache", "false");
+        servletContext.addInitParameter("com.sun.faces.numberOfFlowClientWindows", "2");
+        FlowCDIContext context = new FlowCDIContext(Collections.emptyMap());
+
+        Object firstInstance = new Object();
+        Contextual<Object> firstBean = bean("first", firstInstance);
+        Object secondInstance = new Object();
+        for (String window : Arrays.asList("w1", "w2")) {
+            clientWindowId = window;
+            enter(flow("a"));
+            FlowCDIContext.flowEntered();
+            context.get("w1".equals(window) ? firstBean : bean("second", secondInstance), creationalContext());
+        }
+
+        // A later request of the first client window, which was entered before the second one
+        newRequest();
+        clientWindowId = "w1";
+        assertSame(firstInstance, context.get(firstBean, creationalContext()));
+
+        newRequest();
+        clientWindowId = "w3";
+        enter(flow("a"));
+        FlowCDIContext.flowEntered();
+
+        assertEquals(Arrays.asList(secondInstance), destroyed);
+        Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
+        assertTrue(sessionMap.containsKey("w1_a:1_beans"));
+        assertFalse(sessionMap.containsKey("w2_a:1_beans"));
+    }
+
+    @Test
+    public void testClientWindowsAreUnboundedByDefault() {
+        FlowCDIContext context = new FlowCDIContext(Collections.emptyMap());
+
+        for (int i = 1; i <= 3; i++) {
+            clientWindowId = "w" + i;
+            enter(flow("a"));
+            FlowCDIContext.flowEntered();
+            context.get(bean("bean" + i, new Object()), creationalContext());
+        }
+
+        assertTrue(destroyed.isEmpty());
+        assertTrue(destroyedFlows.isEmpty());
+        Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(sessionMap.containsKey("w" + i + "_flowStack"));
+            assertTrue(sessionMap.containsKey("w" + i + "_a:1_beans"));
+        }
+    }
+
+    private void newRequest() {
+        Object beanManager = facesContext.getAttributes().get(RIConstants.CDI_BEAN_MANAGER);
+        facesContext.getAttributes().clear();
+        facesContext.getAttributes().put(RIConstants.CDI_BEAN_MANAGER, beanManager);
+    }
+
+    private void enter(Flow flow) {
+        FlowHandlerImpl.getFlowStack(facesContext).addFirst(flow, "/start.xhtml");
+    }
+
+    private static Flow flow(String id) {
+        FlowImpl flow = new FlowImpl();
+        flow.setId("", id);
+        return flow;
+    }
+
+    private ExternalContext externalContext(MockHttpSession session) {
+        return new MockExternalContext(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse()) {
+            @Override
+            public Object getSession(boolean create) {
+                return session;
+            }
+
+            @Override
+            public ClientWindow getClientWindow() {
+                String id = clientWindowId;
+                return new ClientWindow() {
+                    @Override
+                    public Map<String, String> getQueryURLParameters(FacesContext context) {
+                        return null;
+                    }
+
+                    @Override
+                    public String getId() {
+                        return id;
+                    }
+
+                    @Override
+                    public void decode(FacesContext context) {
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CreationalContext<Object> creationalContext() {
+        return (CreationalContext<Object>) Proxy.newProxyInstance(FlowCDIContextTest.class.getClassLoader(), new Class<?>[] { CreationalContext.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Contextual<Object> bean(String id, Object instance) {
+        Contextual<Object> bean = (Contextual<Object>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bean.class, PassivationCapable.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getId":
+                        return id;
+                    case "create":
+                        return instance;
+                    case "destroy":
+                        destroyed.add(args[0]);
+                        destroyedUnderSessionLock |= ((ReentrantLock) SessionLocks.getLock(facesContext.getExternalContext())).isHeldByCurrentThread();
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                    }
+                });
+        beans.put(id, bean);
+        return bean;
+    }
+
+}
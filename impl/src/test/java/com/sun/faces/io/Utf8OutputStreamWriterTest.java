@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class Utf8OutputStreamWriterTest {
+
+    private static final String MIXED = "<p>ascii, café, €, 😀 & more</p>";
+
+    @Test
+    public void testEncodesLikeTheJdk() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bytes, 64);
+        for (int i = 0; i < 20; i++) {
+            writer.write(MIXED);
+        }
+        writer.close();
+
+        assertArrayEquals(MIXED.repeat(20).getBytes(UTF_8), bytes.toByteArray());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossWrites() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bytes, 64);
+        writer.write('\ud83d');
+        writer.write(new char[] { '\ude00', 'x' }, 0, 2);
+        writer.close();
+
+        assertArrayEquals("😀x".getBytes(UTF_8), bytes.toByteArray());
+    }
+
+    @Test
+    public void testUnpairedSurrogatesAreReplaced() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bytes, 64);
+        writer.write("a\ud83db\ude00c\ud83d");
+        writer.close();
+
+        assertArrayEquals("a?b?c?".getBytes(UTF_8), bytes.toByteArray());
+    }
+
+    @Test
+    public void testPreEncodedTextIsInterleavedInOrder() throws Exception {
+        PreEncodedText large = new PreEncodedText("<div class=\"é\">".repeat(10));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bytes, 64);
+        writer.write("before €");
+        writer.write(new PreEncodedText("<br/>"));
+        writer.write(large);
+        writer.write("after");
+        writer.close();
+
+        assertArrayEquals(("before €<br/>" + large + "after").getBytes(UTF_8), bytes.toByteArray());
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.event.PhaseId;
+
+public class LifecycleStatisticsTest {
+
+    @Test
+    public void testHistogramPercentiles() {
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean(), 0);
+        assertEquals(100, histogram.getMax());
+        assertEquals(63, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+        assertEquals(1, histogram.getPercentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void testRecordsRequests() {
+        LifecycleStatistics statistics = new LifecycleStatistics(null, 1);
+        long millis = TimeUnit.MILLISECONDS.toNanos(1);
+
+        statistics.phaseExecuted(null, PhaseId.RENDER_RESPONSE, 4 * millis);
+        statistics.requestCompleted(null, "/fast.xhtml", 10, 2 * millis);
+        statistics.requestCompleted(null, "/slow.xhtml", 20, 8 * millis);
+        statistics.stateWritten(null, 100);
+        statistics.faceletRequested(null, null);
+        statistics.faceletRequested(null, null);
+        statistics.faceletCompiled(null, null);
+        statistics.navigationCaseResolved(null, false);
+        statistics.navigationCaseResolved(null, true);
+        statistics.navigationCaseResolved(null, true);
+        statistics.componentRendered(null, new UIOutput(), millis);
+        statistics.componentRendered(null, new UIPanel(), 3 * millis);
+
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(5.0, statistics.getRequestMeanMillis(), 0);
+        assertEquals(4.0, statistics.getPhaseMeanMillis().get(PhaseId.RENDER_RESPONSE.getName()), 0);
+        assertEquals(0.0, statistics.getPhaseMeanMillis().get(PhaseId.RESTORE_VIEW.getName()), 0);
+        assertEquals(20, statistics.getComponentCountMax());
+        assertEquals(100, statistics.getStateSizeMax());
+        assertEquals(1, statistics.getFaceletCacheHits());
+        assertEquals(1, statistics.getFaceletCacheMisses());
+        assertEquals(2, statistics.getNavigationCaseCacheHits());
+        assertEquals(1, statistics.getNavigationCaseCacheMisses());
+        assertEquals(Arrays.asList("/slow.xhtml", "/fast.xhtml"), Arrays.asList(statistics.getSlowestViewsMeanMillis().keySet().toArray()));
+
+        assertTrue(statistics.isRenderTimingEnabled());
+        assertEquals(Arrays.asList(UIPanel.class.getName()), Arrays.asList(statistics.getSlowestRenderersTotalMillis().keySet().toArray()));
+
+        statistics.reset();
+        assertEquals(0, statistics.getRequestCount());
+        assertTrue(statistics.getSlowestViewsMeanMillis().isEmpty());
+        assertFalse(new LifecycleStatistics(null, 0).isRenderTimingEnabled());
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.renderkit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.component.UIViewRoot;
+
+public class ServerSideStateHelperTest {
+
+    private MockHttpSession session;
+
+    private MockFacesContext facesContext;
+
+    private ServerSideStateHelper helper;
+
+    @Before
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        session = new MockHttpSession(servletContext);
+        facesContext = facesContext(servletContext);
+        helper = new ServerSideStateHelper();
+    }
+
+    @After
+    public void tearDown() {
+        facesContext.release();
+    }
+
+    @Test
+    public void testStateIsStoredUnderReservedId() throws Exception {
+        String id = helper.reserveStateId(facesContext);
+        Object[] state = { "structure", "state" };
+
+        StringBuilder capture = new StringBuilder();
+        helper.writeState(facesContext, state, capture);
+        assertEquals(id, capture.toString());
+        assertNull(session.getAttribute(ServerSideStateHelper.LOGICAL_VIEW_MAP));
+
+        helper.storeReservedState(facesContext, state);
+        assertArrayEquals(state, getStoredState(id));
+    }
+
+    @Test
+    public void testReservedIdsAreDistinct() {
+        String id = helper.reserveStateId(facesContext);
+        facesContext.getAttributes().clear();
+
+        assertNotEquals(id, helper.reserveStateId(facesContext));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStateIsStoredOnlyOnce() {
+        helper.reserveStateId(facesContext);
+        helper.storeReservedState(facesContext, new Object[] { "structure", "state" });
+
+        helper.storeReservedState(facesContext, new Object[] { "structure", "state" });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStateCannotBeStoredWithoutReservedId() {
+        helper.storeReservedState(facesContext, new Object[] { "structure", "state" });
+    }
+
+    @Test
+    public void testConcurrentFirstRequestsReserveDistinctIncrementalIds() throws Exception {
+        facesContext.release();
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.generateUniqueServerStateIds", "false");
+        session = new SlowSerialIdSession(servletContext);
+        facesContext = facesContext(servletContext);
+        helper = new ServerSideStateHelper();
+
+        int requests = 4;
+        CyclicBarrier barrier = new CyclicBarrier(requests);
+        Callable<String> request = () -> {
+            MockFacesContext context = facesContext(servletContext);
+            try {
+                barrier.await();
+                return helper.reserveStateId(context);
+            } finally {
+                context.release();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            // Neither the logical nor the actual key of one request may be handed out to another
+            Set<String> ids = new HashSet<>();
+            for (Future<String> id : executor.invokeAll(Collections.nCopies(requests, request), 10, TimeUnit.SECONDS)) {
+                ids.addAll(Arrays.asList(id.get().split(":")));
+            }
+            assertEquals(2 * requests, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockFacesContext facesContext(MockServletContext servletContext) {
+        MockHttpServletRequest request = new MockHttpServletRequest(session);
+        MockExternalContext externalContext = new MockExternalContext(servletContext, request, new MockHttpServletResponse()) {
+            @Override
+            public Object getSession(boolean create) {
+                return session;
+            }
+        };
+        MockFacesContext context = new MockFacesContext(externalContext);
+        context.setViewRoot(new UIViewRoot());
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] getStoredState(String id) {
+        int sep = id.indexOf(':');
+        Map<String, Map<String, Object[]>> logicalMap = (Map<String, Map<String, Object[]>>) session.getAttribute(ServerSideStateHelper.LOGICAL_VIEW_MAP);
+        return logicalMap.get(id.substring(0, sep)).get(id.substring(sep + 1));
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Takes its time to look up the id generator, so concurrent requests overlap while creating it. The attributes are
+     * guarded, as those of the session of a container.
+     */
+    private static final class SlowSerialIdSession extends MockHttpSession {
+
+        SlowSerialIdSession(MockServletContext servletContext) {
+            super(servletContext);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            if (ServerSideStateHelper.STATEMANAGED_SERIAL_ID_KEY.equals(name)) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (attributes) {
+                return super.getAttribute(name);
+            }
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            synchronized (attributes) {
+                super.setAttribute(name, value);
+            }
+        }
+
+    }
+
+}
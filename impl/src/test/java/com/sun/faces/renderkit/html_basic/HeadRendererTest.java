@@ -18,7 +18,13 @@ package com.sun.faces.renderkit.html_basic;
 
 import java.io.StringWriter;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.sun.faces.util.RequestStateManager;
+
+import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertTrue;
 import static org.easymock.EasyMock.expect;
 import org.junit.Test;
@@ -92,6 +98,7 @@ public class HeadRendererTest {
         
         expect(facesContext.getResponseWriter()).andReturn(testResponseWriter).anyTimes();
         expect(facesContext.getViewRoot()).andReturn(viewRoot).anyTimes();
+        expect(facesContext.getAttributes()).andReturn(new HashMap<>()).anyTimes();
         expect(viewRoot.getComponentResources(facesContext, "head")).andReturn(Collections.EMPTY_LIST).anyTimes();
         
         PowerMock.replay(facesContext, viewRoot);
@@ -100,4 +107,40 @@ public class HeadRendererTest {
         String html = writer.toString();
         assertTrue(html.contains("</head>"));
     }
+
+    /**
+     * Test encodeEnd method flushes the head when streaming.
+     *
+     * @throws Exception when a serious error occurs.
+     */
+    @Test
+    public void testEncodeEndStreaming() throws Exception {
+        StringWriter writer = new StringWriter();
+        ResponseWriter testResponseWriter = new TestResponseWriter(writer);
+        FacesContext facesContext = PowerMock.createPartialMockForAllMethodsExcept(FacesContext.class, "getCurrentInstance");
+        UIViewRoot viewRoot = PowerMock.createMock(UIViewRoot.class);
+        AtomicInteger flushes = new AtomicInteger();
+        StringWriter streamingWriter = new StringWriter() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put(RequestStateManager.STREAMING_RENDER_WRITER, streamingWriter);
+        HeadRenderer headRenderer = new HeadRenderer();
+        HtmlHead htmlHead = new HtmlHead();
+
+        expect(facesContext.getResponseWriter()).andReturn(testResponseWriter).anyTimes();
+        expect(facesContext.getViewRoot()).andReturn(viewRoot).anyTimes();
+        expect(facesContext.getAttributes()).andReturn(attributes).anyTimes();
+        expect(viewRoot.getComponentResources(facesContext, "head")).andReturn(Collections.EMPTY_LIST).anyTimes();
+
+        PowerMock.replay(facesContext, viewRoot);
+        headRenderer.encodeEnd(facesContext, htmlHead);
+        headRenderer.encodeEnd(facesContext, htmlHead);
+        PowerMock.verify(facesContext, viewRoot);
+        assertEquals(1, flushes.get());
+        assertTrue(attributes.isEmpty());
+    }
 }
@@ -50,7 +50,7 @@ public class TestResponseWriter extends ResponseWriter {
 
     @Override
     public void flush() throws IOException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        writer.flush();
     }
 
     @Override
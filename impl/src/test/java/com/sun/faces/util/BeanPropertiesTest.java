@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jakarta.faces.component.html.HtmlInputText;
+
+public class BeanPropertiesTest {
+
+    public static class Base {
+        public Object getValue() {
+            return null;
+        }
+    }
+
+    public static class Bean extends Base {
+        private String value;
+        private int count;
+        private boolean active;
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public void setURL(String url) {
+        }
+
+        public static String getStatic() {
+            return null;
+        }
+
+        public String getBroken() {
+            throw new IllegalArgumentException("broken");
+        }
+    }
+
+    @Test
+    public void testPropertiesMatchIntrospector() throws Exception {
+        for (Class<?> type : new Class<?>[] { Bean.class, HtmlInputText.class }) {
+            List<String> expected = new ArrayList<>();
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (descriptor.getPropertyType() != null) {
+                    expected.add(descriptor.getName() + ":" + descriptor.getPropertyType().getName() + ":" + (descriptor.getReadMethod() != null) + ":"
+                            + (descriptor.getWriteMethod() != null));
+                }
+            }
+
+            List<String> actual = new ArrayList<>();
+            for (BeanProperty property : BeanProperties.forClass(type).getAll()) {
+                actual.add(property.getName() + ":" + property.getType().getName() + ":" + property.isReadable() + ":" + property.isWritable());
+            }
+
+            assertEquals(type.getName(), expected, actual);
+        }
+    }
+
+    @Test
+    public void testGetAndSetValue() throws Exception {
+        Bean bean = new Bean();
+        BeanProperties properties = BeanProperties.forClass(Bean.class);
+
+        properties.get("value").setValue(bean, "foo");
+        properties.get("count").setValue(bean, 42);
+        properties.get("active").setValue(bean, true);
+
+        assertEquals("foo", properties.get("value").getValue(bean));
+        assertEquals(42, properties.get("count").getValue(bean));
+        assertEquals(true, properties.get("active").getValue(bean));
+        assertEquals(String.class, properties.get("value").getType());
+        assertTrue(properties.get("URL").isWritable());
+        assertFalse(properties.get("URL").isReadable());
+        assertNull(properties.get("static"));
+        assertSame(properties, BeanProperties.forClass(Bean.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNullOnPrimitive() throws Exception {
+        BeanProperties.forClass(Bean.class).get("count").setValue(new Bean(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetValueOfWrongType() throws Exception {
+        BeanProperties.forClass(Bean.class).get("value").setValue(new Bean(), 42);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueOfWrongBean() throws Exception {
+        BeanProperties.forClass(Bean.class).get("value").getValue(new Base());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueOfNullBean() throws Exception {
+        BeanProperties.forClass(Bean.class).get("value").getValue(null);
+    }
+
+    @Test
+    public void testExceptionOfAccessorIsWrapped() throws Exception {
+        try {
+            BeanProperties.forClass(Bean.class).get("broken").getValue(new Bean());
+            fail();
+        } catch (InvocationTargetException e) {
+            assertEquals("broken", e.getTargetException().getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.servlet.http.HttpServletRequest;
+
+public class SessionLocksTest {
+
+    private static final int REQUESTS = 10000;
+
+    private static final String LOGICAL_VIEW_ID = "logical";
+
+    private static final int NUMBER_OF_VIEWS = 15;
+
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private final MockHttpSession session = new MockHttpSession(servletContext) {
+        @Override
+        public synchronized Object getAttribute(String name) {
+            return super.getAttribute(name);
+        }
+
+        @Override
+        public synchronized void setAttribute(String name, Object value) {
+            super.setAttribute(name, value);
+        }
+    };
+
+    /**
+     * Simulates concurrent requests of one session, which all store the state of the same logical view with server side
+     * state saving, so they all update the same actual view map under the lock of the session. The requests run on
+     * virtual threads if the JDK has them.
+     */
+    @Test(timeout = 120000)
+    public void testConcurrentRequestsOfOneSession() throws Exception {
+        Set<Lock> locks = ConcurrentHashMap.newKeySet();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        MockFacesContext initContext = new MockFacesContext(createExternalContext());
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        initContext.release();
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<?>> requests = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                requests.add(executor.submit(() -> {
+                    MockFacesContext facesContext = new MockFacesContext(createExternalContext());
+                    try {
+                        facesContext.setViewRoot(new UIViewRoot());
+                        RequestStateManager.set(facesContext, RequestStateManager.LOGICAL_VIEW_MAP, LOGICAL_VIEW_ID);
+                        locks.add(SessionLocks.getLock(facesContext.getExternalContext()));
+
+                        StringBuilder id = new StringBuilder();
+                        helper.writeState(facesContext, new Object[] { "structure", "state" }, id);
+                        ids.add(id.toString());
+                    } finally {
+                        facesContext.release();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> request : requests) {
+                request.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, locks.size());
+        assertEquals(REQUESTS, ids.size());
+
+        Map<?, ?> logicalMap = (Map<?, ?>) session.getAttribute(ServerSideStateHelper.LOGICAL_VIEW_MAP);
+        Map<?, ?> actualMap = (Map<?, ?>) logicalMap.get(LOGICAL_VIEW_ID);
+        assertEquals(1, logicalMap.size());
+        assertEquals(NUMBER_OF_VIEWS, actualMap.size());
+        assertEquals(NUMBER_OF_VIEWS, new ArrayList<>(actualMap.keySet()).size());
+    }
+
+    private ExternalContext createExternalContext() {
+        return new MockExternalContext(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse()) {
+            @Override
+            public Object getSession(boolean create) {
+                return ((HttpServletRequest) getRequest()).getSession(create);
+            }
+        };
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Virtual threads are not available before Java 21
+            return Executors.newFixedThreadPool(64);
+        }
+    }
+
+}
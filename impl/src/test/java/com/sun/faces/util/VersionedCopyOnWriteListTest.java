@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class VersionedCopyOnWriteListTest {
+
+    @Test
+    public void testSnapshotChangesOnlyOnModification() {
+        VersionedCopyOnWriteList<String> list = new VersionedCopyOnWriteList<>();
+        list.add("a");
+        list.add("c");
+        list.add(1, "b");
+
+        Object[] snapshot = list.getSnapshot();
+        assertArrayEquals(new Object[] { "a", "b", "c" }, snapshot);
+        assertEquals(asList("a", "b", "c"), list);
+        assertSame(snapshot, list.getSnapshot());
+
+        assertFalse(list.remove("d"));
+        assertSame(snapshot, list.getSnapshot());
+
+        assertTrue(list.remove("b"));
+        assertNotSame(snapshot, list.getSnapshot());
+        assertArrayEquals(new Object[] { "a", "b", "c" }, snapshot);
+        assertEquals(asList("a", "c"), list);
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        VersionedCopyOnWriteList<String> list = new VersionedCopyOnWriteList<>();
+        list.add("a");
+        list.add("b");
+
+        List<String> iterated = new ArrayList<>();
+        for (Iterator<String> iterator = list.iterator(); iterator.hasNext();) {
+            String element = iterator.next();
+            iterated.add(element);
+            list.add(element + element);
+        }
+
+        assertEquals(asList("a", "b"), iterated);
+        assertEquals(asList("a", "b", "aa", "bb"), list);
+    }
+
+    @Test
+    public void testBulkRemovals() {
+        VersionedCopyOnWriteList<String> list = new VersionedCopyOnWriteList<>();
+        list.addAll(asList("a", "b", "c", "d", "e"));
+
+        Object[] snapshot = list.getSnapshot();
+        assertFalse(list.removeIf("z"::equals));
+        assertFalse(list.removeAll(asList("y", "z")));
+        assertFalse(list.retainAll(list));
+        assertSame(snapshot, list.getSnapshot());
+
+        assertTrue(list.removeIf("a"::equals));
+        assertEquals(asList("b", "c", "d", "e"), list);
+
+        assertTrue(list.removeAll(asList("b", "z")));
+        assertEquals(asList("c", "d", "e"), list);
+
+        assertTrue(list.retainAll(asList("c", "e")));
+        assertEquals(asList("c", "e"), list);
+        assertArrayEquals(new Object[] { "a", "b", "c", "d", "e" }, snapshot);
+
+        assertTrue(list.removeIf(element -> true));
+        assertTrue(list.isEmpty());
+    }
+
+}
@@ -584,6 +584,53 @@ public class SearchExpressionHandlerTest extends JUnitFacesTestCaseBase {
         assertEquals("Failed", "form:outerContainer:innerContainer:other", resolveClientId(source, " other "));
     }
 
+    public void test_ResolveClientId_RelativeInViewIsRevalidated() {
+
+        UIViewRoot viewRoot = facesContext.getViewRoot();
+
+        UIForm form = new UIForm();
+        form.setId("form");
+        viewRoot.getChildren().add(form);
+
+        UINamingContainer container = new UINamingContainer();
+        container.setId("container");
+        form.getChildren().add(container);
+
+        UIComponent component = new UIOutput();
+        component.setId("other");
+        container.getChildren().add(component);
+
+        UIComponent source = new UICommand();
+        source.setId("source");
+        container.getChildren().add(source);
+
+        assertTrue(component.isInView());
+        assertEquals("form:container:other", resolveClientId(source, "other"));
+        assertEquals("form:container:other", resolveClientId(source, " other "));
+        assertEquals("form:container:other form:container:other", resolveClientIds(source, "other @this:@parent:other"));
+
+        // the id of the target changed
+        component.setId("renamed");
+        UIComponent replacement = new UIOutput();
+        replacement.setId("other");
+        container.getChildren().add(replacement);
+        assertSame(replacement, resolveComponent(source, "other"));
+
+        // the target was removed
+        container.getChildren().remove(replacement);
+        assertEquals("", resolveClientIds(source, "other", SearchExpressionHint.IGNORE_NO_RESULT, SearchExpressionHint.SKIP_VIRTUAL_COMPONENTS));
+
+        // the source moved to another naming container
+        container.getChildren().add(replacement);
+        assertEquals("form:container:other", resolveClientId(source, "other"));
+        container.getChildren().remove(source);
+        form.getChildren().add(source);
+        UIComponent formOther = new UIOutput();
+        formOther.setId("other");
+        form.getChildren().add(formOther);
+        assertEquals("form:other", resolveClientId(source, "other"));
+    }
+
     public void test_ResolveComponents_RelativeAndParentParent() {
 
         UIComponent root = new UIPanel();
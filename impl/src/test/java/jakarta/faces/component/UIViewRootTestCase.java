@@ -18,15 +18,23 @@ package jakarta.faces.component;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
+import com.sun.faces.component.ClientIdIndex;
+import com.sun.faces.component.visit.PartialVisitContext;
 import com.sun.faces.mock.MockRenderKit;
 
 import jakarta.el.MethodExpression;
 import jakarta.el.ValueExpression;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.application.ResourceHandler;
+import jakarta.faces.component.visit.VisitCallback;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.component.visit.VisitContextWrapper;
+import jakarta.faces.component.visit.VisitResult;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.event.PhaseEvent;
 import jakarta.faces.event.PhaseId;
@@ -750,6 +758,60 @@ public class UIViewRootTestCase extends UIComponentBaseTestCase {
         // and there should always only be on UIViewRoot in a tree
     }
 
+    public void testClientIdIndex() throws Exception {
+        servletContext.addInitParameter("com.sun.faces.enableClientIdIndex", "true");
+        servletContext.removeAttribute("com.sun.faces.config.WebConfiguration");
+
+        UIViewRoot root = facesContext.getViewRoot();
+        assertNotNull(ClientIdIndex.getInstance(facesContext, root));
+
+        // Added after the index was installed
+        UIForm form = new UIForm();
+        form.setId("form");
+        root.getChildren().add(form);
+        UIPanel left = new UIPanel();
+        left.setId("left");
+        form.getChildren().add(left);
+        UIOutput other = new UIOutput();
+        other.setId("other");
+        left.getChildren().add(other);
+        UIPanel right = new UIPanel();
+        right.setId("right");
+        form.getChildren().add(right);
+        UIOutput target = new UIOutput();
+        target.setId("target");
+        right.getChildren().add(target);
+
+        List<UIComponent> found = new ArrayList<>();
+        assertTrue(root.invokeOnComponent(facesContext, "form:target", (context, component) -> found.add(component)));
+        assertEquals(Collections.singletonList(target), found);
+
+        // Only the path to the target is visited
+        List<UIComponent> invoked = new ArrayList<>();
+        VisitContext visitContext = new VisitContextWrapper(new PartialVisitContext(facesContext, Collections.singleton("form:target"))) {
+            @Override
+            public VisitResult invokeVisitCallback(UIComponent component, VisitCallback callback) {
+                invoked.add(component);
+                return super.invokeVisitCallback(component, callback);
+            }
+        };
+        found.clear();
+        root.visitTree(visitContext, (context, component) -> {
+            found.add(component);
+            return VisitResult.REJECT;
+        });
+        assertEquals(Collections.singletonList(target), found);
+        assertFalse(invoked.contains(other));
+
+        // Renamed and removed components are tracked
+        target.setId("renamed");
+        assertFalse(root.invokeOnComponent(facesContext, "form:target", (context, component) -> fail()));
+        assertTrue(root.invokeOnComponent(facesContext, "form:renamed", (context, component) -> {
+        }));
+        right.getChildren().remove(target);
+        assertFalse(root.invokeOnComponent(facesContext, "form:renamed", (context, component) -> fail()));
+    }
+
     // Check that the properties on the specified components are equal
     @Override
     protected void checkProperties(UIComponent comp1, UIComponent comp2) {